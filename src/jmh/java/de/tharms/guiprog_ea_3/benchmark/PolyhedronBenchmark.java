@@ -0,0 +1,100 @@
+package de.tharms.guiprog_ea_3.benchmark;
+
+import de.tharms.guiprog_ea_3.controller.GeometryAnalyzer;
+import de.tharms.guiprog_ea_3.controller.MeshViewFactory;
+import de.tharms.guiprog_ea_3.controller.PolyhedronController;
+import de.tharms.guiprog_ea_3.controller.TopologyAnalyzer;
+import de.tharms.guiprog_ea_3.model.Face;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.MeshStatistics;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.utility.MeshBuilder;
+import javafx.scene.shape.MeshView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Analyse- und Aufbaupfade des {@link PolyhedronController} auf einem bereits eingelesenen,
+ * synthetischen Polyeder: Oberfläche seriell und parallel, Volumen, Geschlossenheit, Sortierung und MeshView.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PolyhedronBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    int triangles;
+
+    private SyntheticMesh mesh;
+    private Polyhedron polyhedron;
+
+    @Setup(Level.Trial)
+    public void createPolyhedron()
+    {
+        mesh = new SyntheticMesh(triangles);
+        polyhedron = new Polyhedron(MeshBuilder.createMeshData(mesh.getSoup(), mesh.getNormals(),
+                mesh.getNumberOfTriangles()), mesh.getName());
+    }
+
+    @Benchmark
+    public MeshData buildMesh()
+    {
+        return MeshBuilder.createMeshData(mesh.getSoup(), mesh.getNormals(), mesh.getNumberOfTriangles());
+    }
+
+    @Benchmark
+    public float calculateSurfaceArea()
+    {
+        return PolyhedronController.calculateSurfaceArea(polyhedron);
+    }
+
+    @Benchmark
+    public float calculateSurfaceAreaUsingThreads()
+    {
+        return PolyhedronController.calculateSurfaceAreaUsingThreads(polyhedron);
+    }
+
+    @Benchmark
+    public float calculateVolume()
+    {
+        return PolyhedronController.calculateVolume(polyhedron);
+    }
+
+    @Benchmark
+    public MeshStatistics analyzeGeometrySerial()
+    {
+        return GeometryAnalyzer.analyze(polyhedron.getMeshData(), polyhedron.getTopology(), false);
+    }
+
+    @Benchmark
+    public MeshStatistics analyzeGeometryParallel()
+    {
+        return GeometryAnalyzer.analyze(polyhedron.getMeshData(), polyhedron.getTopology(), true);
+    }
+
+    /**
+     * Misst die Prüfung auf Geschlossenheit ohne die im Polyeder zwischengespeicherte Topologie.
+     */
+    @Benchmark
+    public int isClosed()
+    {
+        return TopologyAnalyzer.analyze(polyhedron.getMeshData()).getEulerCharacteristic();
+    }
+
+    @Benchmark
+    public ArrayList<Face> sortFacesBySize()
+    {
+        return PolyhedronController.sortFacesBySize(polyhedron);
+    }
+
+    @Benchmark
+    public MeshView createMesh()
+    {
+        return MeshViewFactory.createMesh(polyhedron);
+    }
+}
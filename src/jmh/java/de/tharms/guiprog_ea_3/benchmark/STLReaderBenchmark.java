@@ -0,0 +1,63 @@
+package de.tharms.guiprog_ea_3.benchmark;
+
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.utility.STLReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Einlesen synthetischer ASCII- und Binär-STL-Dateien inklusive Verschweißen und Analyse.
+ * Die Dateien werden einmal pro Parametersatz in ein temporäres Verzeichnis geschrieben.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class STLReaderBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    int triangles;
+
+    private Path directory;
+    private Path asciiFile;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException
+    {
+        SyntheticMesh mesh = new SyntheticMesh(triangles);
+
+        directory = Files.createTempDirectory("stl-benchmark");
+        asciiFile = directory.resolve("synthetic_ascii.stl");
+        binaryFile = directory.resolve("synthetic_binary.stl");
+
+        mesh.writeASCIISTL(asciiFile);
+        mesh.writeBinarySTL(binaryFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException
+    {
+        Files.deleteIfExists(asciiFile);
+        Files.deleteIfExists(binaryFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Polyhedron readASCII() throws IOException
+    {
+        return STLReader.createPolyhedronFromASCIISTL(asciiFile.toString());
+    }
+
+    @Benchmark
+    public Polyhedron readBinary() throws IOException
+    {
+        return STLReader.createPolyhedronFromBinarySTL(binaryFile.toString());
+    }
+}
@@ -0,0 +1,201 @@
+package de.tharms.guiprog_ea_3.benchmark;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Erzeugt geschlossene, synthetische Dreiecksnetze (Torus) mit einer vorgegebenen Anzahl an Dreiecken als
+ * Dreieckssuppe und schreibt sie bei Bedarf als ASCII- oder Binär-STL-Datei.
+ */
+public class SyntheticMesh
+{
+    private static final float MAJOR_RADIUS = 10.0f;
+    private static final float MINOR_RADIUS = 3.0f;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final String NAME = "synthetic";
+
+    private final float[] soup;
+    private final float[] normals;
+    private final int numberOfTriangles;
+
+    /**
+     * Erzeugt einen Torus, dessen Dreiecksanzahl möglichst nahe an der gewünschten Anzahl liegt.
+     *
+     * @param targetTriangles Die gewünschte Anzahl an Dreiecken.
+     * @Vorbedingung targetTriangles >= 18.
+     * @Nachbedingung Das Netz ist geschlossen und besitzt 2 * rings * segments Dreiecke.
+     */
+    public SyntheticMesh(int targetTriangles)
+    {
+        int segments = Math.max(Constants.INDEX_THREE, (int) Math.sqrt(targetTriangles / (double) Constants.INDEX_TWO));
+        int rings = Math.max(Constants.INDEX_THREE, targetTriangles / (Constants.INDEX_TWO * segments));
+
+        this.numberOfTriangles = Constants.INDEX_TWO * rings * segments;
+        this.soup = new float[numberOfTriangles * Constants.STL_FACET_NUMBER_OF_COORDINATES];
+        this.normals = new float[numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+
+        int triangle = 0;
+        for (int ring = 0; ring < rings; ring++)
+        {
+            for (int segment = 0; segment < segments; segment++)
+            {
+                int nextRing = (ring + 1) % rings;
+                int nextSegment = (segment + 1) % segments;
+
+                putTriangle(triangle++, rings, segments, ring, segment, nextRing, segment, nextRing, nextSegment);
+                putTriangle(triangle++, rings, segments, ring, segment, nextRing, nextSegment, ring, nextSegment);
+            }
+        }
+    }
+
+    /**
+     * Schreibt das Netz als Binär-STL-Datei.
+     *
+     * @param path Der Zielpfad.
+     * @throws IOException Falls die Datei nicht geschrieben werden kann.
+     */
+    public void writeBinarySTL(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(NAME.getBytes(StandardCharsets.US_ASCII));
+            buffer.position(Constants.STL_BINARY_HEADER_LENGTH);
+            buffer.putInt(numberOfTriangles);
+
+            for (int triangle = 0; triangle < numberOfTriangles; triangle++)
+            {
+                if (buffer.remaining() < Constants.STL_BINARY_FACET_LENGTH)
+                {
+                    flush(channel, buffer);
+                }
+
+                for (int i = 0; i < Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS; i++)
+                {
+                    buffer.putFloat(normals[triangle * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS + i]);
+                }
+                for (int i = 0; i < Constants.STL_FACET_NUMBER_OF_COORDINATES; i++)
+                {
+                    buffer.putFloat(soup[triangle * Constants.STL_FACET_NUMBER_OF_COORDINATES + i]);
+                }
+                buffer.putShort((short) 0);
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Schreibt das Netz als ASCII-STL-Datei.
+     *
+     * @param path Der Zielpfad.
+     * @throws IOException Falls die Datei nicht geschrieben werden kann.
+     */
+    public void writeASCIISTL(Path path) throws IOException
+    {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII))
+        {
+            writer.write("solid " + NAME + "\n");
+
+            for (int triangle = 0; triangle < numberOfTriangles; triangle++)
+            {
+                int normal = triangle * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+                writer.write("  facet normal " + normals[normal] + " " + normals[normal + 1] + " " +
+                        normals[normal + 2] + "\n    outer loop\n");
+
+                for (int vertex = 0; vertex < Constants.STL_NUMBER_OF_VERTICES; vertex++)
+                {
+                    int offset = triangle * Constants.STL_FACET_NUMBER_OF_COORDINATES +
+                            vertex * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+                    writer.write("      vertex " + soup[offset] + " " + soup[offset + 1] + " " +
+                            soup[offset + 2] + "\n");
+                }
+
+                writer.write("    endloop\n  endfacet\n");
+            }
+
+            writer.write("endsolid " + NAME + "\n");
+        }
+    }
+
+    public float[] getSoup()
+    {
+        return soup;
+    }
+
+    public float[] getNormals()
+    {
+        return normals;
+    }
+
+    public int getNumberOfTriangles()
+    {
+        return numberOfTriangles;
+    }
+
+    public String getName()
+    {
+        return NAME;
+    }
+
+    /**
+     * Legt ein Dreieck aus drei Gitterpunkten (Ring, Segment) an und berechnet dessen Normale.
+     */
+    private void putTriangle(int triangle, int rings, int segments, int ringA, int segmentA,
+                             int ringB, int segmentB, int ringC, int segmentC)
+    {
+        int offset = triangle * Constants.STL_FACET_NUMBER_OF_COORDINATES;
+        putPoint(offset, rings, segments, ringA, segmentA);
+        putPoint(offset + Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS, rings, segments, ringB, segmentB);
+        putPoint(offset + Constants.INDEX_TWO * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS, rings, segments,
+                ringC, segmentC);
+
+        float edge1X = soup[offset + 3] - soup[offset], edge1Y = soup[offset + 4] - soup[offset + 1];
+        float edge1Z = soup[offset + 5] - soup[offset + 2];
+        float edge2X = soup[offset + 6] - soup[offset], edge2Y = soup[offset + 7] - soup[offset + 1];
+        float edge2Z = soup[offset + 8] - soup[offset + 2];
+        float normalX = edge1Y * edge2Z - edge1Z * edge2Y;
+        float normalY = edge1Z * edge2X - edge1X * edge2Z;
+        float normalZ = edge1X * edge2Y - edge1Y * edge2X;
+        float length = (float) Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+
+        int normal = triangle * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+        normals[normal] = length > 0 ? normalX / length : 0;
+        normals[normal + 1] = length > 0 ? normalY / length : 0;
+        normals[normal + 2] = length > 0 ? normalZ / length : 0;
+    }
+
+    /**
+     * Schreibt einen Gitterpunkt des Torus in die Dreieckssuppe.
+     */
+    private void putPoint(int offset, int rings, int segments, int ring, int segment)
+    {
+        double theta = Constants.INDEX_TWO * Math.PI * ring / rings;
+        double phi = Constants.INDEX_TWO * Math.PI * segment / segments;
+        double radius = MAJOR_RADIUS + MINOR_RADIUS * Math.cos(phi);
+
+        soup[offset] = (float) (radius * Math.cos(theta));
+        soup[offset + 1] = (float) (radius * Math.sin(theta));
+        soup[offset + 2] = (float) (MINOR_RADIUS * Math.sin(phi));
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Dieses Package enthält die JMH-Benchmarks für Einlesen, Analyse und Aufbau der Dreiecksnetze. Sie liegen neben
+ * dem Programm und werden gegen dessen übersetzte Klassen gebaut; benötigt werden jmh-core und zum Übersetzen
+ * jmh-generator-annprocess (beide org.openjdk.jmh, 1.37). Mit {@code CP} als Klassenpfad aus JavaFX und Gson:
+ * <pre>
+ * javac -d out/main -cp $CP $(find src/main/java -name '*.java')
+ * javac -d out/jmh -cp out/main:$CP:jmh-core-1.37.jar:jmh-generator-annprocess-1.37.jar \
+ *       -processor org.openjdk.jmh.generators.BenchmarkProcessor $(find src/jmh/java -name '*.java')
+ * java -cp out/jmh:out/main:$CP:jmh-core-1.37.jar:jopt-simple-5.0.4.jar:commons-math3-3.6.1.jar \
+ *       org.openjdk.jmh.Main -p triangles=1000,100000
+ * </pre>
+ * Standardmäßig laufen 1.000 bis 1 Million Dreiecke mit dem Standard-Heap der JVM. Größere Netze brauchen
+ * entsprechend mehr Heap und werden nur ausdrücklich gestartet, z. B. 10 Millionen Dreiecke mit etwa 8 GB und
+ * 50 Millionen mit etwa 24 GB: {@code org.openjdk.jmh.Main -p triangles=50000000 -jvmArgsAppend -Xmx24g}.
+ * @author Thilo Harms
+ * @version 1.0
+ */
+package de.tharms.guiprog_ea_3.benchmark;
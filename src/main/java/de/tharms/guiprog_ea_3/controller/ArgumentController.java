@@ -1,13 +1,34 @@
 package de.tharms.guiprog_ea_3.controller;
 
 import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.ConversionFormat;
+import de.tharms.guiprog_ea_3.model.OutputFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Steuert die Validierung und Verarbeitung der Programmargumente für den STL-Viewer.
+ * Beginnen die Argumente mit {@link Constants#ARGUMENT_HEADLESS}, wird statt des Viewers die Stapelanalyse
+ * gestartet; dann folgen optional {@link Constants#ARGUMENT_FORMAT}{@code csv|json},
+ * {@link Constants#ARGUMENT_MEMORY}{@code <MiB>}, {@link Constants#ARGUMENT_CACHE} und beliebig viele Dateien oder
+ * Verzeichnisse. Beginnen sie mit {@link Constants#ARGUMENT_CONVERT}, werden die folgenden Dateien und Verzeichnisse
+ * in das Binärformat umgewandelt, optional in das Verzeichnis {@link Constants#ARGUMENT_OUTPUT}{@code <Pfad>};
+ * mit {@link Constants#ARGUMENT_FORMAT}{@code smesh} entstehen stattdessen Netzdateien im eigenen Format.
+ * Andernfalls erwartet der Viewer genau eine Datei und optional {@link Constants#ARGUMENT_CACHE}.
  */
 public class ArgumentController
 {
     String filepath;
+    boolean headless;
+    boolean conversion;
+    String outputDirectory;
+    boolean cacheEnabled;
+    OutputFormat outputFormat = OutputFormat.CSV;
+    ConversionFormat conversionFormat = ConversionFormat.STL;
+    long memoryBudget = (long) (Runtime.getRuntime().maxMemory() * Constants.ANALYSIS_DEFAULT_MEMORY_SHARE);
+    List<String> inputPaths = new ArrayList<>();
 
     /**
      * Initialisiert einen {@link ArgumentController} mit den übergebenen Programmargumenten.
@@ -15,7 +36,8 @@ public class ArgumentController
      *
      * @param args Array der Programmargumente.
      * @Vorbedingung Das args-Array darf nicht leer sein.
-     * @Nachbedingung Der Dateipfad wurde auf Basis des ersten Arguments gesetzt oder es wurde eine IllegalArgumentException geworfen.
+     * @Nachbedingung Der Dateipfad bzw. die Eingabepfade der Stapelanalyse wurden auf Basis der Argumente gesetzt
+     * oder es wurde eine IllegalArgumentException geworfen.
      */
     public ArgumentController(String[] args)
     {
@@ -23,18 +45,208 @@ public class ArgumentController
         {
             throw new IllegalArgumentException(Constants.NO_ARGUMENT);
         }
-        else if (args.length != Constants.ALLOWED_ARGS)
+        else if (args[Constants.INDEX_ZERO].equals(Constants.ARGUMENT_HEADLESS))
         {
-            throw new IllegalArgumentException(Constants.INVALID_NUMBER_OF_ARGS);
+            parseHeadlessArguments(args);
+        }
+        else if (args[Constants.INDEX_ZERO].equals(Constants.ARGUMENT_CONVERT))
+        {
+            parseConversionArguments(args);
         }
         else
         {
-            filepath = Constants.DEFAULT_FILEPATH + args[Constants.INDEX_ZERO];
+            parseViewerArguments(args);
+        }
+    }
+
+    /**
+     * Liest die Datei des Viewers und ob der Cache verwendet wird.
+     *
+     * @param args Array der Programmargumente.
+     * @Vorbedingung args ist nicht leer.
+     * @Nachbedingung filepath ist gesetzt oder es wurde eine IllegalArgumentException geworfen.
+     */
+    private void parseViewerArguments(String[] args)
+    {
+        List<String> files = new ArrayList<>();
+
+        for (String argument : args)
+        {
+            if (argument.equals(Constants.ARGUMENT_CACHE))
+            {
+                cacheEnabled = true;
+            }
+            else
+            {
+                files.add(argument);
+            }
+        }
+
+        if (files.size() != Constants.ALLOWED_ARGS)
+        {
+            throw new IllegalArgumentException(Constants.INVALID_NUMBER_OF_ARGS);
+        }
+
+        filepath = Constants.DEFAULT_FILEPATH + files.get(Constants.INDEX_ZERO);
+    }
+
+    /**
+     * Liest Ausgabeformat und Eingabepfade der Stapelanalyse.
+     *
+     * @param args Array der Programmargumente, beginnend mit {@link Constants#ARGUMENT_HEADLESS}.
+     * @Vorbedingung args[0] ist {@link Constants#ARGUMENT_HEADLESS}.
+     * @Nachbedingung headless ist true und mindestens ein Eingabepfad ist gesetzt.
+     */
+    private void parseHeadlessArguments(String[] args)
+    {
+        headless = true;
+
+        for (int i = Constants.INDEX_ONE; i < args.length; i++)
+        {
+            if (args[i].startsWith(Constants.ARGUMENT_FORMAT))
+            {
+                String format = args[i].substring(Constants.ARGUMENT_FORMAT.length());
+
+                try
+                {
+                    outputFormat = OutputFormat.valueOf(format.toUpperCase(Locale.ROOT));
+                }
+                catch (IllegalArgumentException illegalArgumentException)
+                {
+                    throw new IllegalArgumentException(Constants.INVALID_OUTPUT_FORMAT + format);
+                }
+            }
+            else if (args[i].equals(Constants.ARGUMENT_CACHE))
+            {
+                cacheEnabled = true;
+            }
+            else if (args[i].startsWith(Constants.ARGUMENT_MEMORY))
+            {
+                memoryBudget = parseMemoryBudget(args[i].substring(Constants.ARGUMENT_MEMORY.length()));
+            }
+            else
+            {
+                // Pfade der Stapelanalyse sind relativ zum Arbeitsverzeichnis
+                inputPaths.add(args[i]);
+            }
+        }
+
+        if (inputPaths.isEmpty())
+        {
+            throw new IllegalArgumentException(Constants.NO_ARGUMENT);
         }
     }
 
+    /**
+     * Liest Zielformat, Zielverzeichnis und Eingabepfade der Stapelumwandlung.
+     *
+     * @param args Array der Programmargumente, beginnend mit {@link Constants#ARGUMENT_CONVERT}.
+     * @Vorbedingung args[0] ist {@link Constants#ARGUMENT_CONVERT}.
+     * @Nachbedingung conversion ist true und mindestens ein Eingabepfad ist gesetzt.
+     */
+    private void parseConversionArguments(String[] args)
+    {
+        conversion = true;
+
+        for (int i = Constants.INDEX_ONE; i < args.length; i++)
+        {
+            if (args[i].startsWith(Constants.ARGUMENT_OUTPUT))
+            {
+                outputDirectory = args[i].substring(Constants.ARGUMENT_OUTPUT.length());
+            }
+            else if (args[i].startsWith(Constants.ARGUMENT_FORMAT))
+            {
+                String format = args[i].substring(Constants.ARGUMENT_FORMAT.length());
+
+                try
+                {
+                    conversionFormat = ConversionFormat.valueOf(format.toUpperCase(Locale.ROOT));
+                }
+                catch (IllegalArgumentException illegalArgumentException)
+                {
+                    throw new IllegalArgumentException(Constants.INVALID_CONVERSION_FORMAT + format);
+                }
+            }
+            else
+            {
+                inputPaths.add(args[i]);
+            }
+        }
+
+        if (inputPaths.isEmpty())
+        {
+            throw new IllegalArgumentException(Constants.NO_ARGUMENT);
+        }
+    }
+
+    /**
+     * Liest das Speicherbudget der Stapelanalyse.
+     *
+     * @param mebibytes Das Budget in MiB als Text.
+     * @return Das Budget in Bytes.
+     * @throws IllegalArgumentException Wenn der Text keine positive ganze Zahl ist.
+     */
+    private static long parseMemoryBudget(String mebibytes)
+    {
+        try
+        {
+            long budget = Long.parseLong(mebibytes);
+
+            if (budget > 0)
+            {
+                return Math.multiplyExact(budget, (long) Constants.BYTES_PER_MIB);
+            }
+        }
+        catch (ArithmeticException | NumberFormatException exception)
+        {
+            // Wird unten als ungültiges Budget gemeldet
+        }
+
+        throw new IllegalArgumentException(Constants.INVALID_MEMORY_BUDGET + mebibytes);
+    }
+
     public String getFilepath()
     {
         return filepath;
     }
+
+    public boolean isHeadless()
+    {
+        return headless;
+    }
+
+    public boolean isConversion()
+    {
+        return conversion;
+    }
+
+    public String getOutputDirectory()
+    {
+        return outputDirectory;
+    }
+
+    public OutputFormat getOutputFormat()
+    {
+        return outputFormat;
+    }
+
+    public ConversionFormat getConversionFormat()
+    {
+        return conversionFormat;
+    }
+
+    public boolean isCacheEnabled()
+    {
+        return cacheEnabled;
+    }
+
+    public long getMemoryBudget()
+    {
+        return memoryBudget;
+    }
+
+    public List<String> getInputPaths()
+    {
+        return inputPaths;
+    }
 }
@@ -0,0 +1,333 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.AnalysisResult;
+import de.tharms.guiprog_ea_3.model.CompressionFormat;
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.LoadProgress;
+import de.tharms.guiprog_ea_3.model.OutputFormat;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.utility.CompressedSTLReader;
+import de.tharms.guiprog_ea_3.utility.NativeMeshFile;
+import de.tharms.guiprog_ea_3.utility.ParseBufferPool;
+import de.tharms.guiprog_ea_3.view.Output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Analysiert viele STL-Dateien ohne grafische Oberfläche, z. B. auf Build-Servern ohne Anzeige.
+ * Die Dateien werden parallel auf alle Prozessorkerne verteilt; jedes Ergebnis wird ausgegeben, sobald es vorliegt,
+ * sodass die Ausgabe bereits während der Analyse weiterverarbeitet werden kann. Diese Klasse und alle von ihr
+ * genutzten Klassen kommen ohne JavaFX aus.
+ * Wie viele Dateien gleichzeitig geladen werden, begrenzt zusätzlich ein Speicherbudget: Jede Datei belegt vor dem
+ * Laden den aus Format und Größe geschätzten Speicherbedarf, sodass viele kleine Dateien parallel, sehr große Dateien
+ * aber nacheinander analysiert werden. Die Dreieckssuppen werden über einen {@link ParseBufferPool} zwischen den
+ * Dateien wiederverwendet.
+ */
+public class BatchAnalysisController
+{
+    private final OutputFormat outputFormat;
+    private final int parallelism;
+    private final Semaphore memoryBudget;
+    private final int memoryBudgetKiB;
+    private final ParseBufferPool bufferPool;
+    private final LongAdder bytesRead = new LongAdder();
+
+    /**
+     * Erzeugt eine Stapelanalyse, die so viele Dateien gleichzeitig analysiert, wie Prozessorkerne verfügbar sind
+     * und das Speicherbudget zulässt.
+     *
+     * @param outputFormat Das Format der Ergebniszeilen.
+     * @param memoryBudget Der Speicher in Bytes, den alle gleichzeitig geladenen Dateien zusammen belegen dürfen.
+     * @Vorbedingung outputFormat darf nicht null sein, memoryBudget > 0.
+     * @Nachbedingung Die Stapelanalyse ist bereit.
+     */
+    public BatchAnalysisController(OutputFormat outputFormat, long memoryBudget)
+    {
+        this(outputFormat, Runtime.getRuntime().availableProcessors(), memoryBudget);
+    }
+
+    /**
+     * Erzeugt eine Stapelanalyse mit fester Anzahl höchstens gleichzeitig analysierter Dateien.
+     * Ein Teil des Speicherbudgets wird für die wiederverwendeten Dreieckssuppen reserviert.
+     *
+     * @param outputFormat Das Format der Ergebniszeilen.
+     * @param parallelism Die maximale Anzahl gleichzeitig analysierter Dateien.
+     * @param memoryBudget Der Speicher in Bytes, den alle gleichzeitig geladenen Dateien zusammen belegen dürfen.
+     * @Vorbedingung outputFormat darf nicht null sein, parallelism > 0, memoryBudget > 0.
+     * @Nachbedingung Die Stapelanalyse ist bereit.
+     */
+    public BatchAnalysisController(OutputFormat outputFormat, int parallelism, long memoryBudget)
+    {
+        long poolBytes = memoryBudget / Constants.ANALYSIS_BUFFER_POOL_SHARE;
+
+        this.outputFormat = outputFormat;
+        this.parallelism = parallelism;
+        this.memoryBudgetKiB = Math.clamp((memoryBudget - poolBytes) / Constants.BYTES_PER_KIB,
+                Constants.INDEX_ONE, Integer.MAX_VALUE);
+        // Faire Vergabe, damit eine große Datei nicht dauerhaft von nachfolgenden kleinen überholt wird
+        this.memoryBudget = new Semaphore(memoryBudgetKiB, true);
+        this.bufferPool = new ParseBufferPool(poolBytes);
+    }
+
+    /**
+     * Analysiert alle angegebenen Dateien und alle STL- und Netzdateien in den angegebenen Verzeichnissen
+     * (rekursiv) und gibt pro Datei eine Ergebniszeile aus. Fehler einer Datei werden als deren Ergebnis ausgegeben
+     * und brechen die Analyse der übrigen Dateien nicht ab. Zum Schluss wird der Durchsatz des gesamten Laufs
+     * ausgegeben.
+     *
+     * @param inputPaths Die Pfade der Dateien und Verzeichnisse.
+     * @return Die Anzahl der Dateien und Pfade, die nicht analysiert werden konnten.
+     * @Vorbedingung inputPaths darf nicht null sein.
+     * @Nachbedingung Für jede gefundene Datei und jeden ungültigen Pfad wurde genau eine Zeile ausgegeben.
+     */
+    public int analyze(List<String> inputPaths)
+    {
+        long startTime = System.nanoTime();
+
+        Output.setLoadingDetailsEnabled(false);
+        Output.printAnalysisHeader(outputFormat);
+
+        int failures = 0;
+        int numberOfResults = 0;
+        long numberOfTriangles = 0;
+        List<String> files = new ArrayList<>();
+
+        for (String inputPath : inputPaths)
+        {
+            try
+            {
+                addFiles(Path.of(inputPath), files);
+            }
+            catch (IOException | RuntimeException exception)
+            {
+                Output.printAnalysisResult(new AnalysisResult(inputPath, describe(exception), 0), outputFormat);
+                numberOfResults++;
+                failures++;
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, createThreadFactory());
+        CompletionService<AnalysisResult> completionService = new ExecutorCompletionService<>(executor);
+
+        try
+        {
+            for (String file : files)
+            {
+                completionService.submit(() -> analyzeFileWithinBudget(file));
+            }
+
+            // Ergebnisse in der Reihenfolge ihrer Fertigstellung ausgeben
+            for (int i = 0; i < files.size(); i++)
+            {
+                AnalysisResult result = completionService.take().get();
+                Output.printAnalysisResult(result, outputFormat);
+                numberOfResults++;
+
+                if (result.isFailed())
+                {
+                    failures++;
+                }
+                else
+                {
+                    numberOfTriangles += result.numberOfFaces;
+                }
+            }
+        }
+        catch (InterruptedException interruptedException)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException executionException)
+        {
+            throw new IllegalStateException(executionException.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Output.printAnalysisSummary(numberOfResults, failures, numberOfTriangles, bytesRead.sum(),
+                System.nanoTime() - startTime);
+
+        return failures;
+    }
+
+    /**
+     * Lädt und analysiert eine einzelne Datei.
+     *
+     * @param file Der Pfad der Datei.
+     * @return Das Ergebnis; bei einem Fehler mit dessen Meldung.
+     * @Vorbedingung file darf nicht null sein.
+     * @Nachbedingung Es wurde keine Ausgabe erzeugt.
+     */
+    public AnalysisResult analyzeFile(String file)
+    {
+        long startTime = System.nanoTime();
+
+        try
+        {
+            Polyhedron polyhedron = PolyhedronController.readPolyhedronFromSTL(file, LoadProgress.NONE, bufferPool);
+            return new AnalysisResult(file, polyhedron, elapsedMillis(startTime));
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            return new AnalysisResult(file, describe(exception), elapsedMillis(startTime));
+        }
+        catch (OutOfMemoryError outOfMemoryError)
+        {
+            // Das Budget beruht auf einer Schätzung; ein einzelnes Teil soll nicht den ganzen Lauf beenden
+            return new AnalysisResult(file, describe(outOfMemoryError), elapsedMillis(startTime));
+        }
+    }
+
+    /**
+     * Belegt den geschätzten Speicherbedarf einer Datei im Budget, analysiert sie und gibt den Speicher wieder frei.
+     * Ist das Budget erschöpft, wartet der aufrufende Thread, bis andere Dateien fertig analysiert sind.
+     *
+     * @param file Der Pfad der Datei.
+     * @return Das Ergebnis; bei einem Fehler mit dessen Meldung.
+     * @throws InterruptedException Wenn der Thread beim Warten auf das Budget unterbrochen wird.
+     * @Vorbedingung file darf nicht null sein.
+     * @Nachbedingung Der belegte Speicher ist wieder im Budget verfügbar.
+     */
+    private AnalysisResult analyzeFileWithinBudget(String file) throws InterruptedException
+    {
+        // Eine Datei, die allein das Budget übersteigt, wird ohne andere Dateien gleichzeitig analysiert
+        int permits = (int) Math.min(estimateMemory(file) / Constants.BYTES_PER_KIB + Constants.INDEX_ONE,
+                memoryBudgetKiB);
+
+        memoryBudget.acquire(permits);
+
+        try
+        {
+            return analyzeFile(file);
+        }
+        finally
+        {
+            memoryBudget.release(permits);
+        }
+    }
+
+    /**
+     * Schätzt den Speicherbedarf für Laden und Analyse einer Datei aus ihrem Format und ihrer Größe.
+     *
+     * @param file Der Pfad der Datei.
+     * @return Der geschätzte Speicherbedarf in Bytes oder 0, falls die Datei nicht gelesen werden kann; der Fehler
+     * wird dann von {@link #analyzeFile(String)} gemeldet.
+     */
+    private long estimateMemory(String file)
+    {
+        try
+        {
+            long fileSize = Files.size(Path.of(file));
+            bytesRead.add(fileSize);
+
+            if (file.endsWith(Constants.MESH_FILE_FORMAT))
+            {
+                return (long) NativeMeshFile.readInfo(file).numberOfTriangles *
+                        Constants.ANALYSIS_MEMORY_PER_BINARY_TRIANGLE;
+            }
+
+            CompressionFormat compression = CompressedSTLReader.detectCompression(file);
+
+            if (compression != CompressionFormat.NONE)
+            {
+                // Das Format der entpackten Datei ist unbekannt; Binär-STL benötigt pro Byte mehr Speicher
+                long uncompressedSize = CompressedSTLReader.getUncompressedSize(file, compression);
+                return Math.max(uncompressedSize, fileSize) / Constants.STL_BINARY_FACET_LENGTH *
+                        Constants.ANALYSIS_MEMORY_PER_BINARY_TRIANGLE;
+            }
+
+            if (PolyhedronController.isASCIISTL(file))
+            {
+                return fileSize / Constants.STL_ASCII_ESTIMATED_FACET_LENGTH *
+                        Constants.ANALYSIS_MEMORY_PER_ASCII_TRIANGLE;
+            }
+
+            return Math.max(fileSize - Constants.STL_BINARY_DATA_OFFSET, 0) / Constants.STL_BINARY_FACET_LENGTH *
+                    Constants.ANALYSIS_MEMORY_PER_BINARY_TRIANGLE;
+        }
+        catch (IOException | IllegalArgumentException exception)
+        {
+            return 0;
+        }
+    }
+
+    /**
+     * Fügt eine Datei bzw. alle STL- und Netzdateien eines Verzeichnisses in sortierter Reihenfolge zur Liste hinzu;
+     * komprimierte STL-Dateien werden in Verzeichnissen an ihrer Endung erkannt.
+     *
+     * @throws IOException Wenn ein Verzeichnis nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn der Pfad nicht existiert.
+     */
+    private static void addFiles(Path inputPath, List<String> files) throws IOException
+    {
+        if (Files.isRegularFile(inputPath))
+        {
+            files.add(inputPath.toString());
+        }
+        else if (Files.isDirectory(inputPath))
+        {
+            try (Stream<Path> paths = Files.walk(inputPath))
+            {
+                paths.filter(Files::isRegularFile)
+                        .map(Path::toString)
+                        .filter(path -> path.endsWith(Constants.FILENAME_VALID_FORMAT) ||
+                                path.endsWith(Constants.MESH_FILE_FORMAT) ||
+                                path.endsWith(Constants.FILENAME_GZIP_FORMAT) ||
+                                path.endsWith(Constants.FILENAME_ZIP_FORMAT))
+                        .sorted()
+                        .forEach(files::add);
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException(Constants.PATH_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Erzeugt benannte Daemon-Threads, damit ein abgebrochener Lauf die JVM nicht am Beenden hindert.
+     */
+    private static ThreadFactory createThreadFactory()
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, Constants.ANALYSIS_THREAD_NAME + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Liefert eine aussagekräftige Fehlermeldung, auch für Ausnahmen ohne Meldung.
+     */
+    private static String describe(Throwable exception)
+    {
+        return exception.getMessage() != null ? exception.getMessage() : exception.getClass().getSimpleName();
+    }
+
+    /**
+     * Liefert die seit startTime vergangene Zeit in Millisekunden.
+     */
+    private static long elapsedMillis(long startTime)
+    {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+}
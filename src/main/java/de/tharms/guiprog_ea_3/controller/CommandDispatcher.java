@@ -0,0 +1,210 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Axis;
+import de.tharms.guiprog_ea_3.model.Command;
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.ModelStatistics;
+import de.tharms.guiprog_ea_3.model.Pose;
+import de.tharms.guiprog_ea_3.model.StateEvent;
+import de.tharms.guiprog_ea_3.model.StateEventType;
+import de.tharms.guiprog_ea_3.utility.Metrics;
+import javafx.animation.AnimationTimer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Überträgt Transformations-Commands aus beliebigen Threads auf den JavaFX Application Thread.
+ * Commands werden einzeln oder als Batch in einen lock-freien Posteingang eingereiht und einmal pro Frame (Pulse)
+ * abgearbeitet; ein Batch wird dabei immer vollständig im selben Frame angewendet.
+ * Da Rotationen und Translationen je Achse nur auf einen Winkel bzw. eine Koordinate addiert werden, werden alle
+ * Deltas eines Frames pro Aktion und Achse aufsummiert und mit höchstens einer Änderung pro Transformation
+ * angewendet. Ein {@link de.tharms.guiprog_ea_3.model.ServerCommands#SET_POSE} wendet zuvor alle bis dahin
+ * aufsummierten Deltas an, damit die Reihenfolge relativer und absoluter Commands erhalten bleibt.
+ * Am Ende jedes Frames wird die Lage des Modells als unveränderlicher Schnappschuss veröffentlicht, den andere
+ * Threads ohne Zugriff auf den JavaFX Application Thread lesen können; jede Änderung wird zusätzlich einem
+ * registrierten Empfänger als {@link StateEvent} gemeldet.
+ */
+public class CommandDispatcher extends AnimationTimer
+{
+    private final ConcurrentLinkedQueue<List<Command>> inbox = new ConcurrentLinkedQueue<>();
+    private final ModelController modelController;
+
+    private final double[] rotationDeltas = new double[Axis.values().length];
+    private final double[] translationDeltas = new double[Axis.values().length];
+
+    private volatile Pose pose = new Pose();
+    private volatile Consumer<StateEvent> stateListener;
+
+    /**
+     * Erzeugt einen Dispatcher für das angegebene Modell.
+     *
+     * @param modelController Der Controller, dessen Transformationen verändert werden.
+     * @Vorbedingung modelController darf nicht null sein.
+     * @Nachbedingung Der Posteingang ist leer; der Dispatcher arbeitet erst nach {@link #start()}.
+     */
+    public CommandDispatcher(ModelController modelController)
+    {
+        this.modelController = modelController;
+    }
+
+    /**
+     * Reiht einen Command zur Ausführung im nächsten Frame ein. Kann aus jedem Thread aufgerufen werden und
+     * blockiert nicht.
+     *
+     * @param command Der auszuführende Command.
+     * @Vorbedingung command und seine action dürfen nicht null sein; axis bzw. pose ist gesetzt.
+     * @Nachbedingung Der Command wird im nächsten Frame angewendet.
+     */
+    public void submit(Command command)
+    {
+        inbox.offer(List.of(command));
+    }
+
+    /**
+     * Reiht mehrere Commands ein, die gemeinsam im nächsten Frame angewendet werden. Kann aus jedem Thread
+     * aufgerufen werden und blockiert nicht.
+     *
+     * @param commands Die auszuführenden Commands.
+     * @Vorbedingung commands und ihre action dürfen nicht null sein, axis bzw. pose ist gesetzt; die Liste wird
+     * danach nicht verändert.
+     * @Nachbedingung Alle Commands werden im selben Frame angewendet.
+     */
+    public void submitAll(List<Command> commands)
+    {
+        inbox.offer(commands);
+    }
+
+    /**
+     * Arbeitet alle bis zu diesem Frame eingegangenen Commands ab.
+     *
+     * @param now Der Zeitstempel des aktuellen Frames in Nanosekunden.
+     * @Vorbedingung Wird vom JavaFX Application Thread einmal pro Frame aufgerufen.
+     * @Nachbedingung Der Posteingang ist (bis auf nebenläufig eingereihte Commands) leer, der Schnappschuss der
+     * Lage ist aktuell.
+     */
+    @Override
+    public void handle(long now)
+    {
+        int numberOfCommands = 0;
+        List<Command> commands;
+
+        while ((commands = inbox.poll()) != null)
+        {
+            for (Command command : commands)
+            {
+                switch (command.action)
+                {
+                    case ROTATE:
+                        rotationDeltas[command.axis.ordinal()] += command.value;
+                        break;
+
+                    case TRANSLATE:
+                        translationDeltas[command.axis.ordinal()] += command.value;
+                        break;
+
+                    case SET_POSE:
+                        applyDeltas();
+                        modelController.setPose(command.pose);
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+
+            numberOfCommands += commands.size();
+        }
+
+        if (numberOfCommands > 0)
+        {
+            applyDeltas();
+            Metrics.getInstance().record(Constants.METRIC_SERVER_COMMANDS_PER_FRAME, numberOfCommands);
+        }
+
+        // Auch Mausinteraktionen verändern die Lage, daher in jedem Frame prüfen
+        if (!modelController.hasPose(pose))
+        {
+            pose = modelController.createPose();
+            notifyStateListener(new StateEvent(StateEventType.POSE, pose, null));
+        }
+    }
+
+    /**
+     * Meldet dem Empfänger, dass ein neues Modell angezeigt wird.
+     *
+     * @param statistics Die Kennwerte des neuen Modells.
+     * @Vorbedingung Aufruf auf dem JavaFX Application Thread; statistics darf nicht null sein.
+     * @Nachbedingung Ein registrierter Empfänger hat ein {@link StateEventType#MODEL}-Ereignis erhalten.
+     */
+    public void publishModelChange(ModelStatistics statistics)
+    {
+        notifyStateListener(new StateEvent(StateEventType.MODEL, pose, statistics));
+    }
+
+    /**
+     * Registriert den Empfänger der Zustandsänderungen. Er wird auf dem JavaFX Application Thread aufgerufen und
+     * darf daher nicht blockieren.
+     *
+     * @param stateListener Der Empfänger oder {@code null}, um ihn zu entfernen.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ab dem nächsten Frame werden Änderungen an stateListener gemeldet.
+     */
+    public void setStateListener(Consumer<StateEvent> stateListener)
+    {
+        this.stateListener = stateListener;
+    }
+
+    /**
+     * Übergibt eine Zustandsänderung an den registrierten Empfänger, sofern vorhanden.
+     */
+    private void notifyStateListener(StateEvent stateEvent)
+    {
+        Consumer<StateEvent> listener = stateListener;
+
+        if (listener != null)
+        {
+            listener.accept(stateEvent);
+        }
+    }
+
+    /**
+     * Liefert die Lage des Modells zum Ende des letzten Frames. Kann aus jedem Thread aufgerufen werden und
+     * blockiert nicht.
+     *
+     * @return Der zuletzt veröffentlichte Schnappschuss; er wird nicht mehr verändert.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Keine.
+     */
+    public Pose getPose()
+    {
+        return pose;
+    }
+
+    /**
+     * Wendet die aufsummierten Deltas an und setzt sie zurück.
+     *
+     * @Vorbedingung Wird auf dem JavaFX Application Thread aufgerufen.
+     * @Nachbedingung Alle Deltas sind 0.
+     */
+    private void applyDeltas()
+    {
+        for (Axis axis : Axis.values())
+        {
+            int index = axis.ordinal();
+
+            if (rotationDeltas[index] != 0)
+            {
+                modelController.rotateObject(axis, rotationDeltas[index]);
+                rotationDeltas[index] = 0;
+            }
+
+            if (translationDeltas[index] != 0)
+            {
+                modelController.translateObject(axis, translationDeltas[index]);
+                translationDeltas[index] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.ConversionFormat;
+import de.tharms.guiprog_ea_3.model.ConversionResult;
+import de.tharms.guiprog_ea_3.model.LoadProgress;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.utility.NativeMeshFile;
+import de.tharms.guiprog_ea_3.utility.STLWriter;
+import de.tharms.guiprog_ea_3.view.Output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Wandelt viele ASCII-STL-Dateien ohne grafische Oberfläche in das Binärformat um, z. B. um ein Archiv einmalig zu
+ * migrieren. Die Dateien werden parallel auf alle Prozessorkerne verteilt; jede Datei wird dabei über den
+ * {@link STLWriter} gestreamt, sodass auch viele große Dateien gleichzeitig umgewandelt werden können, ohne ihre
+ * Dreiecksnetze im Speicher aufzubauen.
+ * Mit dem Zielformat {@link ConversionFormat#SMESH} wird jede STL-Datei stattdessen vollständig geladen, analysiert
+ * und als Netzdatei ({@link Constants#MESH_FILE_FORMAT}) neben der Quelldatei bzw. im Zielverzeichnis abgelegt; die
+ * Quelldatei bleibt dabei erhalten.
+ * Ohne Zielverzeichnis wird jede Datei an ihrem Ort ersetzt; mit Zielverzeichnis wird die Verzeichnisstruktur
+ * darunter nachgebildet und bereits binäre Dateien werden unverändert kopiert. Die Zieldatei entsteht immer zuerst
+ * als temporäre Datei und ersetzt die alte Datei erst nach erfolgreicher Umwandlung. Würden mehrere Dateien dieselbe
+ * Zieldatei erhalten, wird nur die zuerst angegebene umgewandelt; die übrigen werden als Fehler gemeldet.
+ */
+public class ConversionController
+{
+    private final int parallelism;
+    private final ConversionFormat format;
+
+    /**
+     * Erzeugt eine Stapelumwandlung in Binär-STL, die so viele Dateien gleichzeitig umwandelt, wie Prozessorkerne
+     * verfügbar sind.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Stapelumwandlung ist bereit.
+     */
+    public ConversionController()
+    {
+        this(ConversionFormat.STL);
+    }
+
+    /**
+     * Erzeugt eine Stapelumwandlung in das angegebene Format, die so viele Dateien gleichzeitig umwandelt, wie
+     * Prozessorkerne verfügbar sind.
+     *
+     * @param format Das Zielformat.
+     * @Vorbedingung format darf nicht null sein.
+     * @Nachbedingung Die Stapelumwandlung ist bereit.
+     */
+    public ConversionController(ConversionFormat format)
+    {
+        this(Runtime.getRuntime().availableProcessors(), format);
+    }
+
+    /**
+     * Erzeugt eine Stapelumwandlung mit fester Anzahl höchstens gleichzeitig umgewandelter Dateien.
+     *
+     * @param parallelism Die maximale Anzahl gleichzeitig umgewandelter Dateien.
+     * @param format Das Zielformat.
+     * @Vorbedingung parallelism > 0, format darf nicht null sein.
+     * @Nachbedingung Die Stapelumwandlung ist bereit.
+     */
+    public ConversionController(int parallelism, ConversionFormat format)
+    {
+        this.parallelism = parallelism;
+        this.format = format;
+    }
+
+    /**
+     * Wandelt alle angegebenen Dateien und alle STL-Dateien in den angegebenen Verzeichnissen (rekursiv) um und gibt
+     * pro Datei eine Ergebniszeile aus. Fehler einer Datei brechen die Umwandlung der übrigen Dateien nicht ab.
+     *
+     * @param inputPaths Die Pfade der Dateien und Verzeichnisse.
+     * @param outputDirectory Das Zielverzeichnis oder null, um die Dateien an ihrem Ort zu ersetzen.
+     * @return Die Anzahl der Dateien und Pfade, die nicht umgewandelt werden konnten.
+     * @Vorbedingung inputPaths darf nicht null sein.
+     * @Nachbedingung Für jede gefundene Datei und jeden ungültigen Pfad wurde genau eine Zeile ausgegeben.
+     */
+    public int convert(List<String> inputPaths, String outputDirectory)
+    {
+        long startTime = System.nanoTime();
+
+        Output.setLoadingDetailsEnabled(false);
+
+        int failures = 0;
+        int numberOfResults = 0;
+        int numberOfConverted = 0;
+        long sourceBytes = 0;
+        long targetBytes = 0;
+        Map<Path, Path> targets = new LinkedHashMap<>();
+
+        for (String inputPath : inputPaths)
+        {
+            try
+            {
+                // Absolute Pfade, damit eine mehrfach angegebene Datei nur einmal umgewandelt wird
+                addFiles(Path.of(inputPath).toAbsolutePath().normalize(),
+                        outputDirectory == null ? null : Path.of(outputDirectory), targets);
+            }
+            catch (IOException | RuntimeException exception)
+            {
+                Output.printConversionResult(new ConversionResult(inputPath, describe(exception), 0));
+                numberOfResults++;
+                failures++;
+            }
+        }
+
+        for (ConversionResult collision : removeCollisions(targets))
+        {
+            Output.printConversionResult(collision);
+            numberOfResults++;
+            failures++;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, createThreadFactory());
+        CompletionService<ConversionResult> completionService = new ExecutorCompletionService<>(executor);
+
+        try
+        {
+            for (Map.Entry<Path, Path> entry : targets.entrySet())
+            {
+                completionService.submit(() -> convertFile(entry.getKey(), entry.getValue()));
+            }
+
+            // Ergebnisse in der Reihenfolge ihrer Fertigstellung ausgeben
+            for (int i = 0; i < targets.size(); i++)
+            {
+                ConversionResult result = completionService.take().get();
+                Output.printConversionResult(result);
+                numberOfResults++;
+
+                if (result.isFailed())
+                {
+                    failures++;
+                }
+                else
+                {
+                    numberOfConverted += result.converted ? Constants.INDEX_ONE : 0;
+                    sourceBytes += result.sourceBytes;
+                    targetBytes += result.targetBytes;
+                }
+            }
+        }
+        catch (InterruptedException interruptedException)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException executionException)
+        {
+            throw new IllegalStateException(executionException.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Output.printConversionSummary(numberOfResults, numberOfConverted, failures, sourceBytes, targetBytes,
+                System.nanoTime() - startTime);
+
+        return failures;
+    }
+
+    /**
+     * Wandelt eine einzelne Datei über eine temporäre Datei im Zielverzeichnis um. Ist das Zielformat Binär-STL,
+     * werden Binärdateien nur kopiert, falls sich Quelle und Ziel unterscheiden.
+     *
+     * @param source Der Pfad der Quelldatei.
+     * @param target Der Pfad der Zieldatei; darf mit source übereinstimmen.
+     * @return Das Ergebnis; bei einem Fehler mit dessen Meldung.
+     * @Vorbedingung source und target dürfen nicht null sein.
+     * @Nachbedingung Die Zieldatei ist vollständig geschrieben oder unverändert; es bleibt keine temporäre Datei
+     * zurück.
+     */
+    public ConversionResult convertFile(Path source, Path target)
+    {
+        long startTime = System.nanoTime();
+        Path temporaryFile = null;
+
+        try
+        {
+            long sourceBytes = Files.size(source);
+
+            if (target.getParent() != null)
+            {
+                Files.createDirectories(target.getParent());
+            }
+
+            if (format == ConversionFormat.SMESH)
+            {
+                return convertToMeshFile(source, target, sourceBytes, startTime);
+            }
+
+            if (!PolyhedronController.isASCIISTL(source.toString()))
+            {
+                if (!Files.exists(target) || !Files.isSameFile(source, target))
+                {
+                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                return new ConversionResult(source.toString(), target.toString(), false, 0, sourceBytes,
+                        sourceBytes, elapsedMillis(startTime));
+            }
+
+            temporaryFile = createTemporaryFile(source, target);
+            int numberOfTriangles = STLWriter.convertASCIIToBinarySTL(source.toString(), temporaryFile);
+            long targetBytes = Files.size(temporaryFile);
+
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return new ConversionResult(source.toString(), target.toString(), true, numberOfTriangles, sourceBytes,
+                    targetBytes, elapsedMillis(startTime));
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            deleteQuietly(temporaryFile);
+            return new ConversionResult(source.toString(), describe(exception), elapsedMillis(startTime));
+        }
+    }
+
+    /**
+     * Lädt und analysiert eine STL-Datei und schreibt sie samt Kennwerten und Normalen als Netzdatei.
+     *
+     * @throws IOException Wenn die Quelldatei nicht gelesen oder die Netzdatei nicht geschrieben werden kann.
+     */
+    private static ConversionResult convertToMeshFile(Path source, Path target, long sourceBytes, long startTime)
+            throws IOException
+    {
+        Polyhedron polyhedron = PolyhedronController.readPolyhedronFromSTL(source.toString(), LoadProgress.NONE);
+        Path temporaryFile = createTemporaryFile(source, target);
+
+        try
+        {
+            NativeMeshFile.write(polyhedron, temporaryFile, true);
+            long targetBytes = Files.size(temporaryFile);
+
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return new ConversionResult(source.toString(), target.toString(), true,
+                    polyhedron.getMeshData().getNumberOfTriangles(), sourceBytes, targetBytes,
+                    elapsedMillis(startTime));
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            deleteQuietly(temporaryFile);
+            throw exception;
+        }
+    }
+
+    /**
+     * Legt eine eindeutig benannte temporäre Datei im Verzeichnis der Zieldatei an, damit das abschließende
+     * Verschieben atomar bleibt. Sie erhält die Zugriffsrechte der Quelldatei, da createTempFile sie nur für den
+     * Besitzer lesbar anlegt.
+     *
+     * @throws IOException Wenn die Datei nicht angelegt werden kann.
+     */
+    private static Path createTemporaryFile(Path source, Path target) throws IOException
+    {
+        Path temporaryFile = Files.createTempFile(target.toAbsolutePath().getParent(), null,
+                Constants.CONVERSION_TEMPORARY_SUFFIX);
+
+        try
+        {
+            if (temporaryFile.getFileSystem().supportedFileAttributeViews().contains(Constants.CONVERSION_POSIX_VIEW))
+            {
+                Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(source));
+            }
+
+            return temporaryFile;
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            deleteQuietly(temporaryFile);
+            throw exception;
+        }
+    }
+
+    /**
+     * Ordnet einer Datei bzw. allen STL-Dateien eines Verzeichnisses in sortierter Reihenfolge ihre Zieldatei zu.
+     * Unterhalb des Zielverzeichnisses wird der Pfad relativ zum angegebenen Verzeichnis beibehalten.
+     *
+     * @throws IOException Wenn ein Verzeichnis nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn der Pfad nicht existiert.
+     */
+    private void addFiles(Path inputPath, Path outputDirectory, Map<Path, Path> targets) throws IOException
+    {
+        if (Files.isRegularFile(inputPath))
+        {
+            targets.put(inputPath, toTargetFormat(outputDirectory == null ? inputPath :
+                    outputDirectory.resolve(inputPath.getFileName())));
+        }
+        else if (Files.isDirectory(inputPath))
+        {
+            try (Stream<Path> paths = Files.walk(inputPath))
+            {
+                paths.filter(Files::isRegularFile)
+                        .filter(path -> path.toString().endsWith(Constants.FILENAME_VALID_FORMAT))
+                        .sorted()
+                        .forEach(path -> targets.put(path, toTargetFormat(outputDirectory == null ? path :
+                                outputDirectory.resolve(inputPath.relativize(path)))));
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException(Constants.PATH_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Ersetzt für Netzdateien die Endung {@link Constants#FILENAME_VALID_FORMAT} der Zieldatei durch
+     * {@link Constants#MESH_FILE_FORMAT}; andere Endungen, z. B. von komprimierten Dateien, bleiben davor erhalten.
+     */
+    private Path toTargetFormat(Path target)
+    {
+        if (format != ConversionFormat.SMESH)
+        {
+            return target;
+        }
+
+        String filename = target.getFileName().toString();
+
+        if (filename.endsWith(Constants.FILENAME_VALID_FORMAT))
+        {
+            filename = filename.substring(0, filename.length() - Constants.FILENAME_VALID_FORMAT.length());
+        }
+
+        return target.resolveSibling(filename + Constants.MESH_FILE_FORMAT);
+    }
+
+    /**
+     * Entfernt alle Dateien, deren Zieldatei schon einer früher angegebenen Datei zugeordnet ist oder selbst
+     * umgewandelt wird, z. B. gleichnamige Dateien aus verschiedenen Verzeichnissen bei einem gemeinsamen
+     * Zielverzeichnis. Sonst würden mehrere Threads dieselbe Zieldatei schreiben oder eine Quelldatei überschreiben,
+     * während sie noch gelesen wird.
+     *
+     * @return Ein fehlgeschlagenes Ergebnis für jede entfernte Datei.
+     */
+    private static List<ConversionResult> removeCollisions(Map<Path, Path> targets)
+    {
+        Map<Path, Path> claimedTargets = new HashMap<>();
+        List<ConversionResult> collisions = new ArrayList<>();
+        Iterator<Map.Entry<Path, Path>> iterator = targets.entrySet().iterator();
+
+        while (iterator.hasNext())
+        {
+            Map.Entry<Path, Path> entry = iterator.next();
+            Path source = entry.getKey();
+            Path target = entry.getValue().toAbsolutePath().normalize();
+            Path claimingSource = claimedTargets.putIfAbsent(target, source);
+
+            if (claimingSource != null)
+            {
+                collisions.add(new ConversionResult(source.toString(),
+                        String.format(Constants.CONVERSION_TARGET_COLLISION, entry.getValue(), claimingSource), 0));
+                iterator.remove();
+            }
+            else if (!target.equals(source) && targets.containsKey(target))
+            {
+                collisions.add(new ConversionResult(source.toString(),
+                        String.format(Constants.CONVERSION_TARGET_IS_SOURCE, entry.getValue()), 0));
+                iterator.remove();
+            }
+        }
+
+        return collisions;
+    }
+
+    /**
+     * Löscht eine temporäre Datei, falls vorhanden; ein Fehler dabei überdeckt nicht den eigentlichen Fehler.
+     */
+    private static void deleteQuietly(Path file)
+    {
+        if (file == null)
+        {
+            return;
+        }
+
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ioException)
+        {
+            // Die temporäre Datei wird beim nächsten Lauf nicht wiederverwendet
+        }
+    }
+
+    /**
+     * Erzeugt benannte Daemon-Threads, damit ein abgebrochener Lauf die JVM nicht am Beenden hindert.
+     */
+    private static ThreadFactory createThreadFactory()
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, Constants.CONVERSION_THREAD_NAME + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Liefert eine aussagekräftige Fehlermeldung, auch für Ausnahmen ohne Meldung.
+     */
+    private static String describe(Throwable exception)
+    {
+        return exception.getMessage() != null ? exception.getMessage() : exception.getClass().getSimpleName();
+    }
+
+    /**
+     * Liefert die seit startTime vergangene Zeit in Millisekunden.
+     */
+    private static long elapsedMillis(long startTime)
+    {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+}
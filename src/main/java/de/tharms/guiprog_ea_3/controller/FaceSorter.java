@@ -0,0 +1,188 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Sortiert und selektiert Dreiecke anhand ihrer vorab berechneten Flächen, ohne Face-Objekte zu erzeugen.
+ * Fläche und Index werden dazu in einen {@code long} gepackt: Da Flächen nicht negativ sind, entspricht die Ordnung
+ * ihrer Bitmuster der Ordnung der Werte, und gleiche Flächen bleiben nach Index geordnet.
+ */
+public class FaceSorter
+{
+    /**
+     * Sortiert die Indizes aller Dreiecke aufsteigend nach ihrer Fläche.
+     * Große Netze werden mit {@link Arrays#parallelSort(long[])} sortiert.
+     *
+     * @param triangleAreas Die Flächen der Dreiecke.
+     * @return Die Dreiecksindizes in aufsteigender Reihenfolge ihrer Fläche.
+     * @Vorbedingung triangleAreas ist nicht null und enthält keine negativen Werte.
+     * @Nachbedingung Das Ergebnis ist eine Permutation von [0, triangleAreas.length).
+     */
+    public static int[] sortByArea(float[] triangleAreas)
+    {
+        long[] keys = new long[triangleAreas.length];
+
+        for (int triangle = 0; triangle < triangleAreas.length; triangle++)
+        {
+            keys[triangle] = packKey(triangleAreas, triangle);
+        }
+
+        if (keys.length >= Constants.PARALLEL_SORT_THRESHOLD)
+        {
+            Arrays.parallelSort(keys);
+        }
+        else
+        {
+            Arrays.sort(keys);
+        }
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            order[i] = (int) keys[i];
+        }
+
+        return order;
+    }
+
+    /**
+     * Ermittelt die Indizes der k kleinsten Dreiecke.
+     *
+     * @param triangleAreas Die Flächen der Dreiecke.
+     * @param k Die Anzahl der gesuchten Dreiecke.
+     * @return Höchstens k Dreiecksindizes in aufsteigender Reihenfolge ihrer Fläche.
+     * @Vorbedingung triangleAreas ist nicht null und enthält keine negativen Werte, k >= 0.
+     * @Nachbedingung Das Ergebnis stimmt mit dem Anfang von {@link #sortByArea(float[])} überein.
+     */
+    public static int[] selectSmallest(float[] triangleAreas, int k)
+    {
+        return select(triangleAreas, k, false);
+    }
+
+    /**
+     * Ermittelt die Indizes der k größten Dreiecke.
+     *
+     * @param triangleAreas Die Flächen der Dreiecke.
+     * @param k Die Anzahl der gesuchten Dreiecke.
+     * @return Höchstens k Dreiecksindizes in aufsteigender Reihenfolge ihrer Fläche.
+     * @Vorbedingung triangleAreas ist nicht null und enthält keine negativen Werte, k >= 0.
+     * @Nachbedingung Das Ergebnis stimmt mit dem Ende von {@link #sortByArea(float[])} überein.
+     */
+    public static int[] selectLargest(float[] triangleAreas, int k)
+    {
+        return select(triangleAreas, k, true);
+    }
+
+    /**
+     * Selektiert die k kleinsten bzw. größten Dreiecke parallel: Jede Teilaufgabe des {@link ThreadController} führt
+     * einen eigenen, beschränkten Heap, die Heaps werden anschließend zusammengeführt.
+     * Für die größten Dreiecke werden die Schlüssel bitweise invertiert, wodurch sich ihre Ordnung umkehrt.
+     */
+    private static int[] select(float[] triangleAreas, int k, boolean largest)
+    {
+        int limit = Math.min(k, triangleAreas.length);
+
+        BoundedHeap heap = ThreadController.reduce(triangleAreas.length, () -> new BoundedHeap(limit),
+                (partial, from, to) -> {
+                    for (int triangle = from; triangle < to; triangle++)
+                    {
+                        long key = packKey(triangleAreas, triangle);
+                        partial.offer(largest ? ~key : key);
+                    }
+                }, BoundedHeap::combine);
+
+        long[] keys = heap.toSortedArray();
+        int[] selection = new int[keys.length];
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            // Die größten Dreiecke liegen absteigend vor und werden in aufsteigende Reihenfolge gebracht
+            long key = largest ? ~keys[keys.length - 1 - i] : keys[i];
+            selection[i] = (int) key;
+        }
+
+        return selection;
+    }
+
+    private static long packKey(float[] triangleAreas, int triangle)
+    {
+        return ((long) Float.floatToIntBits(triangleAreas[triangle] + 0.0f) << Integer.SIZE) | triangle;
+    }
+
+    /**
+     * Max-Heap fester Kapazität, der die kleinsten angebotenen Schlüssel behält.
+     */
+    private static class BoundedHeap
+    {
+        private final long[] keys;
+        private int size;
+
+        BoundedHeap(int capacity)
+        {
+            this.keys = new long[capacity];
+        }
+
+        void offer(long key)
+        {
+            if (size < keys.length)
+            {
+                // Nach oben einsortieren
+                int child = size++;
+                while (child > 0)
+                {
+                    int parent = (child - 1) >>> 1;
+                    if (keys[parent] >= key)
+                    {
+                        break;
+                    }
+                    keys[child] = keys[parent];
+                    child = parent;
+                }
+                keys[child] = key;
+            }
+            else if (size > 0 && key < keys[0])
+            {
+                // Größten Schlüssel ersetzen und nach unten einsortieren
+                int parent = 0;
+                while (true)
+                {
+                    int child = Constants.INDEX_TWO * parent + 1;
+                    if (child >= size)
+                    {
+                        break;
+                    }
+                    if (child + 1 < size && keys[child + 1] > keys[child])
+                    {
+                        child++;
+                    }
+                    if (keys[child] <= key)
+                    {
+                        break;
+                    }
+                    keys[parent] = keys[child];
+                    parent = child;
+                }
+                keys[parent] = key;
+            }
+        }
+
+        BoundedHeap combine(BoundedHeap other)
+        {
+            for (int i = 0; i < other.size; i++)
+            {
+                offer(other.keys[i]);
+            }
+
+            return this;
+        }
+
+        long[] toSortedArray()
+        {
+            long[] sorted = Arrays.copyOf(keys, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.MeshStatistics;
+import de.tharms.guiprog_ea_3.model.MeshTopology;
+
+/**
+ * Ermittelt die geometrischen Kennwerte eines {@link MeshData} in einem einzigen, allokationsfreien Durchlauf über
+ * die Dreiecke: Oberfläche, vorzeichenbehaftetes Volumen, Bounding Box und Schwerpunkt. Die Anzahl der Kanten wird
+ * nicht erneut gezählt, sondern aus der {@link MeshTopology} desselben Netzes übernommen. Die Flächen der einzelnen
+ * Dreiecke werden nur bei Bedarf, z. B. zum Sortieren, über {@link #calculateTriangleAreas(MeshData)} berechnet.
+ * Der Durchlauf kann seriell oder parallel über den {@link ThreadController} erfolgen.
+ */
+public class GeometryAnalyzer
+{
+    /**
+     * Analysiert ein Dreiecksnetz und wählt abhängig von seiner Größe den seriellen oder parallelen Modus.
+     *
+     * @param meshData Das zu analysierende Dreiecksnetz.
+     * @param topology Die Topologie desselben Netzes, aus der Kantenanzahl und Geschlossenheit übernommen werden.
+     * @return Die ermittelten {@link MeshStatistics}.
+     * @Vorbedingung meshData und topology dürfen nicht null sein.
+     * @Nachbedingung Jedes Dreieck wurde genau einmal besucht.
+     */
+    public static MeshStatistics analyze(MeshData meshData, MeshTopology topology)
+    {
+        return analyze(meshData, topology,
+                meshData.getNumberOfTriangles() >= Constants.PARALLEL_ANALYSIS_THRESHOLD);
+    }
+
+    /**
+     * Analysiert ein Dreiecksnetz im angegebenen Modus.
+     * Pro Dreieck werden Fläche, Teilvolumen, Schwerpunktanteile und Bounding Box in Akkumulatoren pro Teilaufgabe
+     * gesammelt; es werden keine Objekte pro Dreieck oder Kante angelegt.
+     *
+     * @param meshData Das zu analysierende Dreiecksnetz.
+     * @param topology Die Topologie desselben Netzes, aus der Kantenanzahl und Geschlossenheit übernommen werden.
+     * @param parallel {@code true}, um die Dreiecke parallel über den {@link ThreadController} zu verarbeiten.
+     * @return Die ermittelten {@link MeshStatistics}.
+     * @Vorbedingung meshData und topology dürfen nicht null sein.
+     * @Nachbedingung Jedes Dreieck wurde genau einmal besucht.
+     */
+    public static MeshStatistics analyze(MeshData meshData, MeshTopology topology, boolean parallel)
+    {
+        int numberOfTriangles = meshData.getNumberOfTriangles();
+
+        Accumulator accumulator;
+        if (parallel)
+        {
+            accumulator = ThreadController.reduce(numberOfTriangles, Accumulator::new,
+                    (partial, from, to) -> partial.accumulate(meshData, from, to), Accumulator::combine);
+        }
+        else
+        {
+            accumulator = new Accumulator();
+            accumulator.accumulate(meshData, 0, numberOfTriangles);
+        }
+
+        return accumulator.toStatistics(meshData, topology);
+    }
+
+    /**
+     * Berechnet die Flächen aller Dreiecke parallel. Jede Teilaufgabe schreibt nur ihren eigenen Indexbereich.
+     *
+     * @param meshData Das Dreiecksnetz.
+     * @return Die Flächen der Dreiecke in Reihenfolge des Index-Puffers.
+     * @Vorbedingung meshData darf nicht null sein.
+     * @Nachbedingung Das Array enthält eine Fläche pro Dreieck.
+     */
+    public static float[] calculateTriangleAreas(MeshData meshData)
+    {
+        float[] triangleAreas = new float[meshData.getNumberOfTriangles()];
+
+        ThreadController.forEachRange(triangleAreas.length, (from, to) -> {
+            for (int triangle = from; triangle < to; triangle++)
+            {
+                triangleAreas[triangle] = meshData.calculateTriangleArea(triangle);
+            }
+        });
+
+        return triangleAreas;
+    }
+
+    /**
+     * Sammelt die Teilergebnisse eines Bereichs von Dreiecken. Oberfläche, Volumen und Momente werden wie in
+     * {@link ThreadController#sum} kompensiert summiert, damit sie auch bei Millionen Dreiecken mit den übrigen
+     * Berechnungen übereinstimmen; die Bounding Box liegt in primitiven Feldern.
+     */
+    private static class Accumulator
+    {
+        final ThreadController.CompensatedSum area = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum signedVolume = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum areaMomentX = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum areaMomentY = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum areaMomentZ = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum volumeMomentX = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum volumeMomentY = new ThreadController.CompensatedSum();
+        final ThreadController.CompensatedSum volumeMomentZ = new ThreadController.CompensatedSum();
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+
+        /**
+         * Verarbeitet die Dreiecke [from, to).
+         *
+         * @param meshData Das Dreiecksnetz.
+         * @param from Der erste Dreiecksindex.
+         * @param to Der Dreiecksindex hinter dem letzten zu verarbeitenden Dreieck.
+         */
+        void accumulate(MeshData meshData, int from, int to)
+        {
+            float[] positions = meshData.getPositions();
+            int[] indices = meshData.getIndices();
+
+            for (int triangle = from; triangle < to; triangle++)
+            {
+                int corner = triangle * Constants.STL_NUMBER_OF_VERTICES;
+                int a = indices[corner] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+                int b = indices[corner + 1] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+                int c = indices[corner + 2] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+                double ax = positions[a], ay = positions[a + 1], az = positions[a + 2];
+                double bx = positions[b], by = positions[b + 1], bz = positions[b + 2];
+                double cx = positions[c], cy = positions[c + 1], cz = positions[c + 2];
+
+                // Fläche über das Kreuzprodukt zweier Kanten
+                double edge1X = bx - ax, edge1Y = by - ay, edge1Z = bz - az;
+                double edge2X = cx - ax, edge2Y = cy - ay, edge2Z = cz - az;
+                double crossX = edge1Y * edge2Z - edge1Z * edge2Y;
+                double crossY = edge1Z * edge2X - edge1X * edge2Z;
+                double crossZ = edge1X * edge2Y - edge1Y * edge2X;
+                double triangleArea = Constants.NUMBERS_ZERO_DOT_FIVE *
+                        Math.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ);
+
+                // Vorzeichenbehaftetes Volumen des Tetraeders aus Ursprung und Dreieck
+                double triangleVolume = (ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) +
+                        az * (bx * cy - by * cx)) / Constants.TETRAHEDRON_VOLUME_FACTOR;
+
+                double sumX = ax + bx + cx, sumY = ay + by + cy, sumZ = az + bz + cz;
+
+                area.add(triangleArea);
+                signedVolume.add(triangleVolume);
+                areaMomentX.add(triangleArea * sumX);
+                areaMomentY.add(triangleArea * sumY);
+                areaMomentZ.add(triangleArea * sumZ);
+                volumeMomentX.add(triangleVolume * sumX);
+                volumeMomentY.add(triangleVolume * sumY);
+                volumeMomentZ.add(triangleVolume * sumZ);
+
+                minX = Math.min(minX, Math.min(positions[a], Math.min(positions[b], positions[c])));
+                minY = Math.min(minY, Math.min(positions[a + 1], Math.min(positions[b + 1], positions[c + 1])));
+                minZ = Math.min(minZ, Math.min(positions[a + 2], Math.min(positions[b + 2], positions[c + 2])));
+                maxX = Math.max(maxX, Math.max(positions[a], Math.max(positions[b], positions[c])));
+                maxY = Math.max(maxY, Math.max(positions[a + 1], Math.max(positions[b + 1], positions[c + 1])));
+                maxZ = Math.max(maxZ, Math.max(positions[a + 2], Math.max(positions[b + 2], positions[c + 2])));
+            }
+        }
+
+        /**
+         * Übernimmt die Teilergebnisse eines anderen Akkumulators samt ihrer Kompensationsterme.
+         *
+         * @param other Der andere Akkumulator.
+         * @return Dieser Akkumulator.
+         */
+        Accumulator combine(Accumulator other)
+        {
+            area.combine(other.area);
+            signedVolume.combine(other.signedVolume);
+            areaMomentX.combine(other.areaMomentX);
+            areaMomentY.combine(other.areaMomentY);
+            areaMomentZ.combine(other.areaMomentZ);
+            volumeMomentX.combine(other.volumeMomentX);
+            volumeMomentY.combine(other.volumeMomentY);
+            volumeMomentZ.combine(other.volumeMomentZ);
+            minX = Math.min(minX, other.minX);
+            minY = Math.min(minY, other.minY);
+            minZ = Math.min(minZ, other.minZ);
+            maxX = Math.max(maxX, other.maxX);
+            maxY = Math.max(maxY, other.maxY);
+            maxZ = Math.max(maxZ, other.maxZ);
+
+            return this;
+        }
+
+        /**
+         * Erzeugt aus den akkumulierten Werten die {@link MeshStatistics}.
+         * Für Netze mit nennenswertem Volumen wird der Volumenschwerpunkt, sonst der Flächenschwerpunkt verwendet.
+         *
+         * @param meshData Das analysierte Dreiecksnetz.
+         * @param topology Die Topologie des Netzes mit Kantenanzahl und Geschlossenheit.
+         * @return Die fertigen Kennwerte.
+         */
+        MeshStatistics toStatistics(MeshData meshData, MeshTopology topology)
+        {
+            double[] centroid = new double[Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS];
+            double totalArea = area.getSum();
+            double totalVolume = signedVolume.getSum();
+
+            if (Math.abs(totalVolume) > Constants.ANALYSIS_VOLUME_EPSILON * Math.pow(totalArea, 1.5))
+            {
+                double factor = 1.0 / (Constants.INDEX_FOUR * totalVolume);
+                centroid[0] = volumeMomentX.getSum() * factor;
+                centroid[1] = volumeMomentY.getSum() * factor;
+                centroid[2] = volumeMomentZ.getSum() * factor;
+            }
+            else if (totalArea > 0)
+            {
+                double factor = 1.0 / (Constants.INDEX_THREE * totalArea);
+                centroid[0] = areaMomentX.getSum() * factor;
+                centroid[1] = areaMomentY.getSum() * factor;
+                centroid[2] = areaMomentZ.getSum() * factor;
+            }
+
+            return new MeshStatistics(totalArea, totalVolume,
+                    new float[]{minX, minY, minZ}, new float[]{maxX, maxY, maxZ}, centroid,
+                    meshData.getNumberOfVertices(), topology.getNumberOfEdges(), meshData.getNumberOfTriangles(),
+                    topology.isWatertight());
+        }
+    }
+}
@@ -40,6 +40,10 @@ public class InteractionController
     private CheckBox showAxis;
 
     private VBox polyhedronDetails;
+    private VBox loadingStatus;
+    private ProgressBar loadingProgress;
+    private Label loadingMessage;
+    private Button cancelLoading;
 
 
     /**
@@ -171,14 +175,77 @@ public class InteractionController
     public VBox createSidebar(ViewerController viewerController)
     {
         polyhedronDetails = createDefaultPolyhedronDetails();
+        loadingStatus = createLoadingStatus();
         showWireframe = createShowWireframeCheckBox(viewerController);
         showAxis = createShowAxisCheckBox();
 
-        VBox sidebar = new VBox(Constants.SIDEBAR_VBOX_SIZE, polyhedronDetails, showAxis, showWireframe);
+        VBox sidebar = new VBox(Constants.SIDEBAR_VBOX_SIZE, polyhedronDetails, loadingStatus, showAxis,
+                showWireframe);
         sidebar.setStyle(Constants.SIDEBAR_VBOX_STYLE);
         return sidebar;
     }
 
+    /**
+     * Erstellt die zunächst ausgeblendete Fortschrittsanzeige für Ladevorgänge mit Fortschrittsbalken,
+     * Statusmeldung und Abbrechen-Button.
+     *
+     * @return Ein {@link VBox}-Container für die Fortschrittsanzeige.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Fortschrittsanzeige ist erstellt, aber nicht sichtbar.
+     */
+    private VBox createLoadingStatus()
+    {
+        Label title = new Label(Constants.SIDEBAR_LOADING);
+        title.setStyle(Constants.SIDEBAR_POLYHEDRON_INFORMATION_STYLE);
+
+        loadingProgress = new ProgressBar();
+        loadingProgress.setPrefWidth(Constants.SIDEBAR_LOADING_PROGRESS_WIDTH);
+        loadingMessage = new Label();
+        loadingMessage.setWrapText(true);
+        cancelLoading = new Button(Constants.SIDEBAR_CANCEL_LOADING);
+
+        VBox status = new VBox(Constants.TEXTFIELD_MARGIN, title, loadingProgress, loadingMessage, cancelLoading);
+        status.setStyle(Constants.POLYHEDRON_DETAILS_VBOX_STYLE);
+        status.setVisible(false);
+        status.setManaged(false);
+        return status;
+    }
+
+    /**
+     * Zeigt den Fortschritt eines Ladevorgangs in der Seitenleiste an und verknüpft den Abbrechen-Button mit ihm.
+     *
+     * @param loadTask Der laufende Ladevorgang.
+     * @Vorbedingung Wird auf dem JavaFX Application Thread aufgerufen; loadTask darf nicht null sein.
+     * @Nachbedingung Fortschrittsbalken und Statusmeldung folgen dem Ladevorgang.
+     */
+    public void showLoadingStatus(ModelLoadTask loadTask)
+    {
+        loadingProgress.progressProperty().bind(loadTask.progressProperty());
+        loadingMessage.textProperty().bind(loadTask.messageProperty());
+        cancelLoading.setOnAction(actionEvent -> {
+            loadTask.cancel();
+        });
+
+        loadingStatus.setVisible(true);
+        loadingStatus.setManaged(true);
+    }
+
+    /**
+     * Blendet die Fortschrittsanzeige aus und löst sie vom beendeten Ladevorgang.
+     *
+     * @Vorbedingung Wird auf dem JavaFX Application Thread aufgerufen.
+     * @Nachbedingung Die Fortschrittsanzeige ist nicht sichtbar und an keinen Ladevorgang gebunden.
+     */
+    public void hideLoadingStatus()
+    {
+        loadingProgress.progressProperty().unbind();
+        loadingMessage.textProperty().unbind();
+        cancelLoading.setOnAction(null);
+
+        loadingStatus.setVisible(false);
+        loadingStatus.setManaged(false);
+    }
+
     /**
      * Erstellt eine Checkbox zum Umschalten der Wireframe-Ansicht.
      *
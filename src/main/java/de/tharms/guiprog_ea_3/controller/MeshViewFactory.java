@@ -0,0 +1,120 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.shape.VertexFormat;
+
+/**
+ * Erzeugt die JavaFX-Darstellung eines {@link Polyhedron}. Als einzige Klasse der Polyeder-Verarbeitung hängt sie
+ * von JavaFX ab, sodass Laden und Analysieren auch ohne JavaFX möglich sind.
+ */
+public class MeshViewFactory
+{
+    /**
+     * Erzeugt eine {@link MeshView}-Darstellung des gegebenen Polyeders direkt aus dessen {@link MeshData}.
+     * Das {@link TriangleMesh} verwendet das Format {@link VertexFormat#POINT_NORMAL_TEXCOORD} mit einer Normale pro
+     * Dreieck; Punkte, Normalen und Faces werden jeweils mit einem einzigen {@code setAll} aus vorab angelegten
+     * primitiven Arrays übernommen, sodass die beobachtbaren Arrays weder schrittweise wachsen noch mehrfach
+     * Änderungsereignisse auslösen. Glättungsgruppen werden wegen der expliziten Normalen nicht benötigt.
+     *
+     * @param polyhedron Das {@link Polyhedron}-Objekt, aus dem das Mesh erstellt werden soll.
+     * @return Eine neue {@link MeshView} mit dem 3D-Mesh.
+     * @Vorbedingung polyhedron und sein MeshData dürfen nicht null sein.
+     * @Nachbedingung Das MeshView-Objekt wurde erstellt und zurückgegeben.
+     */
+    public static MeshView createMesh(Polyhedron polyhedron)
+    {
+        MeshData meshData = polyhedron.getMeshData();
+        int numberOfTriangles = meshData.getNumberOfTriangles();
+
+        TriangleMesh mesh = new TriangleMesh(VertexFormat.POINT_NORMAL_TEXCOORD);
+        mesh.getTexCoords().setAll(0, 0);
+        mesh.getPoints().setAll(meshData.getPositions(), 0,
+                meshData.getNumberOfVertices() * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS);
+        mesh.getNormals().setAll(createFaceNormals(meshData), 0,
+                numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+        mesh.getFaces().setAll(convertIndicesToFaces(meshData));
+
+        return new MeshView(mesh);
+    }
+
+    /**
+     * Liefert eine Normale pro Dreieck. Die Normalen der STL-Datei werden unverändert übernommen; nur falls
+     * Dreiecke ohne gültige Normale (Nullvektor) vorkommen, wird eine Kopie angelegt und deren Normale aus dem
+     * Kreuzprodukt der Kanten berechnet.
+     *
+     * @param meshData Das Dreiecksnetz.
+     * @return Drei Werte pro Dreieck.
+     * @Vorbedingung meshData darf nicht null sein.
+     * @Nachbedingung Das Normalen-Array des meshData wird nicht verändert.
+     */
+    private static float[] createFaceNormals(MeshData meshData)
+    {
+        float[] normals = meshData.getNormals();
+        float[] positions = meshData.getPositions();
+        int[] indices = meshData.getIndices();
+        float[] result = normals;
+
+        for (int triangle = 0; triangle < meshData.getNumberOfTriangles(); triangle++)
+        {
+            int normal = triangle * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+
+            if (normals[normal] != 0 || normals[normal + 1] != 0 || normals[normal + 2] != 0)
+            {
+                continue;
+            }
+
+            if (result == normals)
+            {
+                result = normals.clone();
+            }
+
+            int corner = triangle * Constants.STL_NUMBER_OF_VERTICES;
+            int a = indices[corner] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+            int b = indices[corner + 1] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+            int c = indices[corner + 2] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+            float edge1X = positions[b] - positions[a];
+            float edge1Y = positions[b + 1] - positions[a + 1];
+            float edge1Z = positions[b + 2] - positions[a + 2];
+            float edge2X = positions[c] - positions[a];
+            float edge2Y = positions[c + 1] - positions[a + 1];
+            float edge2Z = positions[c + 2] - positions[a + 2];
+
+            result[normal] = edge1Y * edge2Z - edge1Z * edge2Y;
+            result[normal + 1] = edge1Z * edge2X - edge1X * edge2Z;
+            result[normal + 2] = edge1X * edge2Y - edge1Y * edge2X;
+        }
+
+        return result;
+    }
+
+    /**
+     * Wandelt den Index-Puffer des {@link MeshData} in ein Face-Array für das {@link TriangleMesh} um.
+     * Jede Ecke erhält ihren Eckpunkt-Index, die Normale ihres Dreiecks und den (einzigen) Textur-Index 0.
+     *
+     * @param meshData Das Dreiecksnetz, dessen Index-Puffer konvertiert werden soll.
+     * @return Ein int-Array mit den Face-Indizes für das TriangleMesh.
+     * @Vorbedingung meshData darf nicht null sein.
+     * @Nachbedingung Das zurückgegebene Array enthält alle Face-Indizes.
+     */
+    private static int[] convertIndicesToFaces(MeshData meshData)
+    {
+        int[] indices = meshData.getIndices();
+        int numberOfCorners = meshData.getNumberOfTriangles() * Constants.STL_NUMBER_OF_VERTICES;
+        int[] faceIndexes = new int[numberOfCorners * Constants.MESH_FACE_VALUES_PER_CORNER];
+        int index = 0;
+
+        for (int corner = 0; corner < numberOfCorners; corner++)
+        {
+            faceIndexes[index++] = indices[corner];
+            faceIndexes[index++] = corner / Constants.STL_NUMBER_OF_VERTICES;
+            faceIndexes[index++] = 0;
+        }
+
+        return faceIndexes;
+    }
+}
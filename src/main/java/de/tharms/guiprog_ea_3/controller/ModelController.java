@@ -3,11 +3,15 @@ package de.tharms.guiprog_ea_3.controller;
 import de.tharms.guiprog_ea_3.model.Axis;
 import de.tharms.guiprog_ea_3.model.Constants;
 import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.model.Pose;
 import javafx.scene.Group;
 import javafx.scene.SubScene;
 import javafx.scene.control.Alert;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Material;
+import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.MeshView;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
@@ -17,6 +21,8 @@ import javafx.scene.transform.Translate;
  */
 public class ModelController
 {
+    private static final Material DEFAULT_MESHVIEW_MATERIAL = new PhongMaterial(Color.DARKGRAY);
+
     private final Group modelGroup = new Group();
     private final Group rotationGroup = new Group();
 
@@ -42,27 +48,20 @@ public class ModelController
     }
 
     /**
-     * Lädt ein Polyeder aus einer STL-Datei und zeigt bei Fehlern einen Dialog an.
+     * Zeigt einen Fehlerdialog für eine STL-Datei an, die nicht geladen werden konnte.
      *
      * @param filepath Pfad zur STL-Datei.
-     * @Vorbedingung Der Dateipfad verweist auf eine existierende STL-Datei.
-     * @Nachbedingung Das interne Polyhedron-Objekt ist gesetzt oder eine Fehlermeldung wurde angezeigt.
+     * @param exception Die Ursache des Fehlers.
+     * @Vorbedingung Wird auf dem JavaFX Application Thread aufgerufen; exception darf nicht null sein.
+     * @Nachbedingung Der Dialog wurde angezeigt und vom Benutzer geschlossen.
      */
-    public void createPolyhedronFromFilepath(String filepath)
+    public void showLoadingError(String filepath, Throwable exception)
     {
-        try
-        {
-            this.polyhedron = PolyhedronController.createPolyhedronFromSTL(filepath);
-        }
-        catch (IllegalArgumentException illegalArgumentException)
-        {
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle(Constants.FILE_READING_ERROR);
-            alert.setHeaderText(Constants.INVALID_STL_FILE);
-            alert.setContentText(String.format(Constants.INVALID_STL_FILE_MESSAGE, filepath,
-                    illegalArgumentException.getMessage()));
-            alert.showAndWait();
-        }
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(Constants.FILE_READING_ERROR);
+        alert.setHeaderText(Constants.INVALID_STL_FILE);
+        alert.setContentText(String.format(Constants.INVALID_STL_FILE_MESSAGE, filepath, exception.getMessage()));
+        alert.showAndWait();
     }
 
     /**
@@ -81,6 +80,51 @@ public class ModelController
         translate.setZ(0);
     }
 
+    /**
+     * Setzt Rotation und Translation des Modells auf eine absolute Lage.
+     *
+     * @param pose Die einzunehmende Lage.
+     * @Vorbedingung pose darf nicht null sein; Aufruf auf dem JavaFX Application Thread.
+     * @Nachbedingung Rotation und Translation entsprechen pose.
+     */
+    public void setPose(Pose pose)
+    {
+        rotateX.setAngle(pose.rotateX);
+        rotateY.setAngle(pose.rotateY);
+        rotateZ.setAngle(pose.rotateZ);
+        translate.setX(pose.translateX);
+        translate.setY(pose.translateY);
+        translate.setZ(pose.translateZ);
+    }
+
+    /**
+     * Prüft, ob das Modell die angegebene Lage einnimmt.
+     *
+     * @param pose Die zu vergleichende Lage.
+     * @return {@code true}, wenn alle Winkel und Verschiebungen mit pose übereinstimmen.
+     * @Vorbedingung pose darf nicht null sein.
+     * @Nachbedingung Keine.
+     */
+    public boolean hasPose(Pose pose)
+    {
+        return rotateX.getAngle() == pose.rotateX && rotateY.getAngle() == pose.rotateY &&
+                rotateZ.getAngle() == pose.rotateZ && translate.getX() == pose.translateX &&
+                translate.getY() == pose.translateY && translate.getZ() == pose.translateZ;
+    }
+
+    /**
+     * Liefert die aktuelle Lage des Modells als unabhängige Kopie.
+     *
+     * @return Die aktuelle Lage.
+     * @Vorbedingung Aufruf auf dem JavaFX Application Thread.
+     * @Nachbedingung Spätere Transformationen verändern das zurückgegebene Objekt nicht.
+     */
+    public Pose createPose()
+    {
+        return new Pose(rotateX.getAngle(), rotateY.getAngle(), rotateZ.getAngle(),
+                translate.getX(), translate.getY(), translate.getZ());
+    }
+
     /**
      * Setzt das MeshView des Modells und wendet Standardmaterial an, falls kein Material definiert ist.
      *
@@ -208,7 +252,7 @@ public class ModelController
     }
 
     /**
-     * Wendet das Standardmaterial aus {@link Constants} auf das MeshView an.
+     * Wendet das Standardmaterial auf das MeshView an.
      *
      * @param meshView Das {@link MeshView}, dem das Material zugewiesen wird.
      * @Vorbedingung meshView darf nicht null sein.
@@ -216,7 +260,7 @@ public class ModelController
      */
     private void setMeshDefaultValues(MeshView meshView)
     {
-        meshView.setMaterial(Constants.DEFAULT_MESHVIEW_MATERIAL);
+        meshView.setMaterial(DEFAULT_MESHVIEW_MATERIAL);
     }
 
     public MeshView getMeshView()
@@ -229,6 +273,11 @@ public class ModelController
         return polyhedron;
     }
 
+    public void setPolyhedron(Polyhedron polyhedron)
+    {
+        this.polyhedron = polyhedron;
+    }
+
     public Group getModelGroup()
     {
         return modelGroup;
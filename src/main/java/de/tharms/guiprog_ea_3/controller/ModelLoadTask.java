@@ -0,0 +1,97 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.LoadProgress;
+import de.tharms.guiprog_ea_3.model.LoadStage;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import javafx.concurrent.Task;
+import javafx.scene.shape.MeshView;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Hintergrundaufgabe, die eine STL-Datei vollständig außerhalb des JavaFX Application Threads lädt:
+ * Einlesen, Aufbau des Dreiecksnetzes, Analyse und Erstellen des {@link MeshView}. Der Fortschritt der einzelnen
+ * Ladestufen wird über {@link #progressProperty()} und {@link #messageProperty()} veröffentlicht; ein Aufruf von
+ * {@link #cancel()} bricht das Laden an der nächsten Prüfstelle ab.
+ * Das fertige {@link MeshView} ist noch keinem Szenengraphen zugeordnet.
+ */
+public class ModelLoadTask extends Task<MeshView> implements LoadProgress
+{
+    private final String filepath;
+    private volatile Polyhedron polyhedron;
+
+    /**
+     * Erzeugt eine neue Ladeaufgabe für eine STL-Datei.
+     *
+     * @param filepath Der Pfad zur STL-Datei.
+     * @Vorbedingung filepath darf nicht null sein.
+     * @Nachbedingung Die Aufgabe ist bereit, in einem Hintergrund-Thread ausgeführt zu werden.
+     */
+    public ModelLoadTask(String filepath)
+    {
+        this.filepath = filepath;
+    }
+
+    /**
+     * Lädt das Polyeder und erstellt dessen {@link MeshView}.
+     *
+     * @return Das noch nicht angezeigte {@link MeshView} des Polyeders.
+     * @throws IllegalArgumentException Wenn die Datei nicht existiert, keine gültige STL-Datei ist oder nicht gelesen
+     * werden kann.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     * @Vorbedingung Wird außerhalb des JavaFX Application Threads ausgeführt.
+     * @Nachbedingung Das geladene Polyeder ist über {@link #getPolyhedron()} abrufbar.
+     */
+    @Override
+    protected MeshView call()
+    {
+        // Auch über das Netzwerk angeforderte Pfade werden erst hier geprüft, nicht auf dem Selector-Thread
+        if (!Files.isRegularFile(Path.of(filepath)))
+        {
+            throw new IllegalArgumentException(Constants.FILE_NOT_FOUND);
+        }
+
+        Polyhedron loadedPolyhedron = PolyhedronController.createPolyhedronFromSTL(filepath, this);
+
+        if (loadedPolyhedron == null)
+        {
+            throw new IllegalArgumentException(Constants.FILE_COULD_NOT_BE_READ);
+        }
+
+        checkCancelled();
+        update(LoadStage.CREATING_VIEW, 0, -1);
+
+        MeshView meshView = MeshViewFactory.createMesh(loadedPolyhedron);
+        this.polyhedron = loadedPolyhedron;
+
+        return meshView;
+    }
+
+    /**
+     * Veröffentlicht den Fortschritt einer Ladestufe; bei unbekanntem Umfang wird der Fortschritt unbestimmt.
+     *
+     * @param stage Die aktuelle Ladestufe.
+     * @param workDone Der erreichte Umfang.
+     * @param totalWork Der gesamte Umfang oder ein negativer Wert, falls er nicht bekannt ist.
+     * @Vorbedingung stage darf nicht null sein.
+     * @Nachbedingung Fortschritt und Nachricht werden auf dem JavaFX Application Thread aktualisiert.
+     */
+    @Override
+    public void update(LoadStage stage, long workDone, long totalWork)
+    {
+        updateProgress(workDone, totalWork);
+        updateMessage(stage.describe(workDone, totalWork));
+    }
+
+    public String getFilepath()
+    {
+        return filepath;
+    }
+
+    public Polyhedron getPolyhedron()
+    {
+        return polyhedron;
+    }
+}
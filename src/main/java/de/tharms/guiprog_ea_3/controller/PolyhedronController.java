@@ -1,17 +1,20 @@
 package de.tharms.guiprog_ea_3.controller;
 
 import de.tharms.guiprog_ea_3.model.*;
-import de.tharms.guiprog_ea_3.utility.Mathmatics;
+import de.tharms.guiprog_ea_3.utility.CompressedSTLReader;
+import de.tharms.guiprog_ea_3.utility.MeshCache;
+import de.tharms.guiprog_ea_3.utility.NativeMeshFile;
+import de.tharms.guiprog_ea_3.utility.ParseBufferPool;
+import de.tharms.guiprog_ea_3.utility.STLFormatDetector;
 import de.tharms.guiprog_ea_3.utility.STLReader;
-import de.tharms.guiprog_ea_3.utility.Stopwatch;
+import de.tharms.guiprog_ea_3.utility.MetricScope;
+import de.tharms.guiprog_ea_3.utility.Metrics;
 import de.tharms.guiprog_ea_3.view.Output;
-import javafx.scene.shape.MeshView;
-import javafx.scene.shape.TriangleMesh;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
 
 /**
@@ -19,8 +22,12 @@ import java.util.*;
  */
 public class PolyhedronController
 {
+    private static volatile MeshCache meshCache;
+
     /**
      * Sortiert die Flächen eines gegebenen Polyeders nach deren Fläche in aufsteigender Reihenfolge.
+     * Es wird über die bei Bedarf einmal berechneten Dreiecksflächen sortiert, die {@link Face}-Objekte werden erst
+     * danach in der sortierten Reihenfolge erzeugt.
      *
      * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Flächen sortiert werden sollen.
      * @return Eine neue {@link ArrayList} von {@link Face}-Objekten, sortiert nach Flächengröße (aufsteigend).
@@ -30,14 +37,68 @@ public class PolyhedronController
      */
     public static ArrayList<Face> sortFacesBySize(Polyhedron polyhedron)
     {
-        ArrayList<Face> faces = new ArrayList<>(polyhedron.getFaces());
+        return createFaces(polyhedron, sortTrianglesBySize(polyhedron));
+    }
+
+    /**
+     * Sortiert die Dreiecksindizes eines Polyeders aufsteigend nach der Fläche der Dreiecke.
+     *
+     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Dreiecke sortiert werden sollen.
+     * @return Die Dreiecksindizes in aufsteigender Reihenfolge ihrer Fläche.
+     * @Vorbedingung polyhedron darf nicht null sein.
+     * @Nachbedingung Es wurden keine Flächen neu berechnet und keine {@link Face}-Objekte erzeugt.
+     */
+    public static int[] sortTrianglesBySize(Polyhedron polyhedron)
+    {
+        return FaceSorter.sortByArea(polyhedron.getTriangleAreas());
+    }
 
-        faces.sort((face1, face2) -> {
-            float area1 = face1.getPolygon().calculateArea();
-            float area2 = face2.getPolygon().calculateArea();
+    /**
+     * Ermittelt die kleinsten Flächen eines Polyeders, ohne alle Flächen zu sortieren.
+     *
+     * @param polyhedron Das {@link Polyhedron}-Objekt.
+     * @param count Die Anzahl der gesuchten Flächen.
+     * @return Höchstens count {@link Face}-Objekte in aufsteigender Reihenfolge ihrer Fläche.
+     * @Vorbedingung polyhedron darf nicht null sein, count >= 0.
+     * @Nachbedingung Die Liste entspricht dem Anfang von {@link #sortFacesBySize(Polyhedron)}.
+     */
+    public static ArrayList<Face> findSmallestFaces(Polyhedron polyhedron, int count)
+    {
+        return createFaces(polyhedron,
+                FaceSorter.selectSmallest(polyhedron.getTriangleAreas(), count));
+    }
+
+    /**
+     * Ermittelt die größten Flächen eines Polyeders, ohne alle Flächen zu sortieren.
+     *
+     * @param polyhedron Das {@link Polyhedron}-Objekt.
+     * @param count Die Anzahl der gesuchten Flächen.
+     * @return Höchstens count {@link Face}-Objekte in aufsteigender Reihenfolge ihrer Fläche.
+     * @Vorbedingung polyhedron darf nicht null sein, count >= 0.
+     * @Nachbedingung Die Liste entspricht dem Ende von {@link #sortFacesBySize(Polyhedron)}.
+     */
+    public static ArrayList<Face> findLargestFaces(Polyhedron polyhedron, int count)
+    {
+        return createFaces(polyhedron,
+                FaceSorter.selectLargest(polyhedron.getTriangleAreas(), count));
+    }
+
+    /**
+     * Erzeugt die {@link Face}-Objekte zu den angegebenen Dreiecksindizes.
+     *
+     * @param polyhedron Das {@link Polyhedron}-Objekt.
+     * @param triangles Die Dreiecksindizes in gewünschter Reihenfolge.
+     * @return Die Flächen in der Reihenfolge der Indizes.
+     */
+    private static ArrayList<Face> createFaces(Polyhedron polyhedron, int[] triangles)
+    {
+        MeshData meshData = polyhedron.getMeshData();
+        ArrayList<Face> faces = new ArrayList<>(triangles.length);
 
-            return Float.compare(area1, area2);
-        });
+        for (int triangle : triangles)
+        {
+            faces.add(meshData.createFace(triangle));
+        }
 
         return faces;
     }
@@ -52,248 +113,388 @@ public class PolyhedronController
      * @Nachbedingung Gibt ein gültiges {@link Polyhedron}-Objekt zurück oder {@code null}, falls ein Fehler auftrat.
      */
     public static Polyhedron createPolyhedronFromSTL(String filepath)
+    {
+        return createPolyhedronFromSTL(filepath, LoadProgress.NONE);
+    }
+
+    /**
+     * Erstellt ein {@link Polyhedron}-Objekt aus einer STL-Datei und meldet den Fortschritt der einzelnen
+     * Ladestufen an eine {@link LoadProgress}.
+     *
+     * @param filepath Der Pfad zur STL-Datei.
+     * @param progress Der Empfänger des Fortschritts, über den der Ladevorgang auch abgebrochen werden kann.
+     * @return Ein {@link Polyhedron}-Objekt, das aus der Datei erzeugt wurde, oder {@code null} bei Fehlern.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     *
+     * @Vorbedingung filepath ist ungleich null und endet mit dem gültigen Dateiformat; progress ist nicht null.
+     * @Nachbedingung Gibt ein gültiges {@link Polyhedron}-Objekt zurück oder {@code null}, falls ein Fehler auftrat.
+     */
+    public static Polyhedron createPolyhedronFromSTL(String filepath, LoadProgress progress)
     {
         Output.printFileReadingStart(filepath);
 
         Polyhedron polyhedron;
 
-        if (filepath == null || !filepath.endsWith(Constants.FILENAME_VALID_FORMAT))
+        try
         {
-            throw new IllegalArgumentException(Constants.INVALID_FILE_FORMAT);
+            polyhedron = readPolyhedronFromSTL(filepath, progress);
+        }
+        catch (IOException e)
+        {
+            System.err.println(e.getMessage());
+            return null;
         }
 
-        // Erstellen des Polyeders
-        try
+        Output.printEulerCharacteristicsInformation(polyhedron,
+                polyhedron.getStatistics().getEulerCharacteristic());
+        Output.printTopologyInformation(polyhedron.getTopology());
+        return polyhedron;
+    }
+
+    /**
+     * Liest ein {@link Polyhedron}-Objekt aus einer STL-Datei, deren Format anhand des Headers erkannt wird, oder aus
+     * einer Netzdatei im eigenen Format ({@link Constants#MESH_FILE_FORMAT}). gzip- und zip-komprimierte STL-Dateien
+     * werden an ihren ersten Bytes erkannt und beim Einlesen entpackt ({@link CompressedSTLReader}). Anders als
+     * {@link #createPolyhedronFromSTL(String, LoadProgress)} werden Lesefehler an den Aufrufer weitergegeben und keine
+     * Kennwerte ausgegeben.
+     *
+     * @param filepath Der Pfad zur STL-Datei.
+     * @param progress Der Empfänger des Fortschritts, über den der Ladevorgang auch abgebrochen werden kann.
+     * @return Das aus der Datei erzeugte {@link Polyhedron}.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn die Datei weder komprimiert ist noch auf
+     * {@link Constants#FILENAME_VALID_FORMAT} oder {@link Constants#MESH_FILE_FORMAT} endet.
+     * @Vorbedingung progress ist nicht null.
+     * @Nachbedingung Das Polyeder samt {@link MeshStatistics} ist erzeugt; bei einem Treffer im Cache ist seine
+     * Topologie noch nicht ermittelt.
+     */
+    public static Polyhedron readPolyhedronFromSTL(String filepath, LoadProgress progress) throws IOException
+    {
+        return readPolyhedronFromSTL(filepath, progress, ParseBufferPool.NONE);
+    }
+
+    /**
+     * Liest ein {@link Polyhedron}-Objekt wie {@link #readPolyhedronFromSTL(String, LoadProgress)} und verwendet
+     * dabei die Dreieckssuppe aus einem {@link ParseBufferPool}, z. B. wenn viele Dateien nacheinander gelesen werden.
+     *
+     * @param filepath Der Pfad zur STL-Datei.
+     * @param progress Der Empfänger des Fortschritts, über den der Ladevorgang auch abgebrochen werden kann.
+     * @param bufferPool Der Pool für die Dreieckssuppe.
+     * @return Das aus der Datei erzeugte {@link Polyhedron}.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn die Datei weder komprimiert ist noch auf
+     * {@link Constants#FILENAME_VALID_FORMAT} oder {@link Constants#MESH_FILE_FORMAT} endet.
+     * @Vorbedingung progress und bufferPool sind nicht null.
+     * @Nachbedingung Das Polyeder samt {@link MeshStatistics} ist erzeugt; bei einem Treffer im Cache ist seine
+     * Topologie noch nicht ermittelt.
+     */
+    public static Polyhedron readPolyhedronFromSTL(String filepath, LoadProgress progress,
+                                                   ParseBufferPool bufferPool) throws IOException
+    {
+        Polyhedron polyhedron;
+
+        if (filepath != null && filepath.endsWith(Constants.MESH_FILE_FORMAT))
         {
-            File file = new File(filepath);
-            byte[] data = new byte[(int) file.length()];
+            // Netzdateien werden ohne Einlesen geladen und daher nicht zusätzlich im Cache abgelegt
+            return readPolyhedronFromMeshFile(filepath, progress);
+        }
 
-            try (FileInputStream fileInputStream = new FileInputStream(file))
-            {
-                int bytesRead = fileInputStream.read(data);
-                if (bytesRead != data.length)
-                {
-                    throw new IOException(Constants.FILE_READING_ERROR + Constants.SEPERATOR + filepath);
-                }
-            }
+        // Komprimierte Dateien werden an ihren ersten Bytes erkannt, unabhängig von ihrer Endung
+        CompressionFormat compression = filepath == null ? CompressionFormat.NONE :
+                CompressedSTLReader.detectCompression(filepath);
 
-            String header = new String(data, 0, Constants.STL_BINARY_HEADER_LENGTH, StandardCharsets.US_ASCII);
+        if (compression == CompressionFormat.NONE &&
+                (filepath == null || !filepath.endsWith(Constants.FILENAME_VALID_FORMAT)))
+        {
+            throw new IllegalArgumentException(Constants.INVALID_FILE_FORMAT);
+        }
 
-            boolean isASCII = header.trim().startsWith(Constants.STL_ASCII_KEYWORD_SOLID);
-            Output.printFileFormat(isASCII);
+        MeshCache cache = meshCache;
+        Path source = Path.of(filepath);
+        // Attribute vor dem Einlesen lesen, damit eine währenddessen geänderte Datei nicht als aktuell gilt
+        BasicFileAttributes sourceAttributes = cache != null ?
+                Files.readAttributes(source, BasicFileAttributes.class) : null;
 
-            if (isASCII)
+        if (cache != null && (polyhedron = loadFromCache(cache, source, sourceAttributes, progress)) != null)
+        {
+            return polyhedron;
+        }
+
+        try (MetricScope loadScope = Metrics.getInstance().startScope(Constants.METRIC_STL_LOAD))
+        {
+            if (compression != CompressionFormat.NONE)
             {
-                polyhedron = STLReader.createPolyhedronFromASCIISTL(filepath);
+                polyhedron = CompressedSTLReader.createPolyhedronFromCompressedSTL(filepath, compression, progress,
+                        bufferPool);
+            }
+            else if (isASCIISTL(filepath))
+            {
+                Output.printFileFormat(true);
+                polyhedron = STLReader.createPolyhedronFromASCIISTL(filepath, progress, bufferPool);
             }
             else
             {
-                polyhedron = STLReader.createPolyhedronFromBinarySTL(data, filepath);
+                Output.printFileFormat(false);
+                polyhedron = STLReader.createPolyhedronFromBinarySTL(filepath, progress, bufferPool);
             }
+
+            Metrics.getInstance().increment(Constants.METRIC_STL_FILES, Constants.INDEX_ONE);
+            Output.timePassed(loadScope.getElapsedMillis(), Constants.STL_LOADING);
         }
-        catch (IOException e)
+
+        if (cache != null)
         {
-            System.err.println(e.getMessage());
-            return null;
+            storeInCache(cache, source, sourceAttributes, polyhedron);
         }
 
-        Output.printEulerCharacteristicsInformation(polyhedron, PolyhedronController.isClosed(polyhedron));
         return polyhedron;
     }
 
     /**
-     * Berechnet die Oberfläche des Polyeders parallel mithilfe mehrerer Threads.
+     * Lädt ein Polyeder aus einer Netzdatei im eigenen Format ({@link NativeMeshFile}).
      *
-     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Oberfläche berechnet werden soll.
-     * @return Die berechnete Gesamtoberfläche des Polyeders.
-     * @Vorbedingung polyhedron darf nicht null sein.
-     * @Nachbedingung Die Gesamtoberfläche wurde berechnet und zurückgegeben.
+     * @param filepath Der Pfad zur Netzdatei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @return Das geladene Polyeder.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
      */
-    public static float calculateSurfaceAreaUsingThreads(Polyhedron polyhedron)
+    private static Polyhedron readPolyhedronFromMeshFile(String filepath, LoadProgress progress) throws IOException
     {
-        Stopwatch.getInstance().start();
-
-        int numberOfThreads = Runtime.getRuntime().availableProcessors();
-        float[] results = new float[numberOfThreads];
-        List<Thread> threads = ThreadController.startAreaCalculation(polyhedron, numberOfThreads, results);
-
-        ThreadController.waitForAllThreads(threads);
-        float surfaceArea = 0;
+        Polyhedron polyhedron;
 
-        for (float area : results)
+        try (MetricScope loadScope = Metrics.getInstance().startScope(Constants.METRIC_STL_LOAD))
         {
-            surfaceArea += area;
+            polyhedron = NativeMeshFile.readPolyhedron(filepath, progress);
+            Metrics.getInstance().increment(Constants.METRIC_STL_FILES, Constants.INDEX_ONE);
+            Output.timePassed(loadScope.getElapsedMillis(), Constants.STL_LOADING);
         }
 
-        Output.timePassed(Stopwatch.getInstance().stop(), Constants.AREA_CALCULATION_PARALLEL);
-        return surfaceArea;
+        return polyhedron;
     }
 
     /**
-     * Berechnet die Oberfläche des Polyeders seriell.
+     * Setzt den {@link MeshCache}, über den {@link #readPolyhedronFromSTL(String, LoadProgress, ParseBufferPool)}
+     * unveränderte Dateien lädt und neu eingelesene Dateien ablegt.
      *
-     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Oberfläche berechnet werden soll.
-     * @return Die berechnete Gesamtoberfläche des Polyeders.
-     * @Vorbedingung polyhedron darf nicht null sein.
-     * @Nachbedingung Die Gesamtoberfläche wurde berechnet und zurückgegeben.
+     * @param cache Der Cache oder {@code null}, um ohne Cache zu lesen.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Alle folgenden Ladevorgänge verwenden den Cache.
      */
-    public static float calculateSurfaceArea(Polyhedron polyhedron)
+    public static void setMeshCache(MeshCache cache)
     {
-        Stopwatch.getInstance().start();
+        meshCache = cache;
+    }
 
-        float surfaceArea = 0;
+    /**
+     * Lädt ein Polyeder aus dem Cache. Ein beschädigter Eintrag wird wie ein fehlender behandelt, da die Datei in
+     * diesem Fall neu eingelesen und der Eintrag ersetzt wird.
+     *
+     * @return Das Polyeder oder {@code null}, falls die Datei eingelesen werden muss.
+     */
+    private static Polyhedron loadFromCache(MeshCache cache, Path source, BasicFileAttributes sourceAttributes,
+                                            LoadProgress progress)
+    {
+        Polyhedron polyhedron = null;
 
-        if (polyhedron.getFaces() == null)
+        try (MetricScope cacheScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_CACHE_LOAD))
         {
-            return 0;
-        }
+            progress.update(LoadStage.READING_BYTES, 0, -1);
+            polyhedron = cache.load(source, sourceAttributes);
 
-        for (Face face : polyhedron.getFaces())
-        {
-            if (face == null || face.getPolygon() == null)
+            if (polyhedron != null)
             {
-                continue;
+                Output.printLoadedFromCache();
+                Output.timePassed(cacheScope.getElapsedMillis(), Constants.MESH_CACHE_LOADING);
             }
-
-            surfaceArea += face.getPolygon().calculateArea();
+        }
+        catch (IOException ioException)
+        {
+            Metrics.getInstance().increment(Constants.METRIC_MESH_CACHE_ERRORS, Constants.INDEX_ONE);
         }
 
-        Output.timePassed(Stopwatch.getInstance().stop(), Constants.AREA_CALCULATION_SERIAL);
+        Metrics.getInstance().increment(polyhedron != null ?
+                Constants.METRIC_MESH_CACHE_HITS : Constants.METRIC_MESH_CACHE_MISSES, Constants.INDEX_ONE);
+        progress.checkCancelled();
 
-        return surfaceArea;
+        return polyhedron;
     }
 
     /**
-     * Berechnet das Volumen des Polyhedrons basierend auf Tetraederung der Flächen.
+     * Legt ein eingelesenes Polyeder im Cache ab. Kann der Cache nicht geschrieben werden, z. B. weil das
+     * Verzeichnis schreibgeschützt ist, bleibt das Einlesen davon unberührt.
+     */
+    private static void storeInCache(MeshCache cache, Path source, BasicFileAttributes sourceAttributes,
+                                     Polyhedron polyhedron)
+    {
+        try (MetricScope cacheScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_CACHE_STORE))
+        {
+            cache.store(source, sourceAttributes, polyhedron);
+            Output.timePassed(cacheScope.getElapsedMillis(), Constants.MESH_CACHE_STORING);
+        }
+        catch (IOException ioException)
+        {
+            Metrics.getInstance().increment(Constants.METRIC_MESH_CACHE_ERRORS, Constants.INDEX_ONE);
+        }
+    }
+
+    /**
+     * Erkennt anhand von Dateigröße und Header, ob eine STL-Datei im ASCII-Format vorliegt
+     * ({@link STLFormatDetector}). Es wird nur ein kurzer Anfang der Datei gelesen.
      *
-     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Volumen berechnet werden soll.
-     * @return Der absolute Gesamtvolumenwert des Polyhedrons.
-     * @Vorbedingung polyhedron darf nicht null sein.
-     * @Nachbedingung Das Gesamtvolumen wurde berechnet und zurückgegeben.
+     * @param filepath Der Pfad zur STL-Datei.
+     * @return {@code true} für ASCII-STL, {@code false} für Binär-STL, auch wenn deren Header mit "solid" beginnt.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @Vorbedingung filepath ist nicht null.
+     * @Nachbedingung Die Datei wurde nicht verändert.
      */
-    public static float calculateVolume(Polyhedron polyhedron)
+    public static boolean isASCIISTL(String filepath) throws IOException
     {
-        Stopwatch.getInstance().start();
+        return STLFormatDetector.isASCIISTL(filepath);
+    }
 
-        float totalVolume = 0;
+    /**
+     * Ermittelt Oberfläche, Volumen, Bounding Box, Schwerpunkt und Euler-Werte eines Dreiecksnetzes in einem
+     * einzigen Durchlauf mit dem {@link GeometryAnalyzer}. Die Kantenanzahl stammt aus der bereits ermittelten
+     * Topologie.
+     *
+     * @param meshData Das zu analysierende Dreiecksnetz.
+     * @param topology Die Topologie desselben Dreiecksnetzes.
+     * @return Die ermittelten {@link MeshStatistics}.
+     * @Vorbedingung meshData und topology dürfen nicht null sein.
+     * @Nachbedingung Die Kennwerte wurden berechnet und die benötigte Zeit ausgegeben.
+     */
+    public static MeshStatistics analyzeGeometry(MeshData meshData, MeshTopology topology)
+    {
+        MeshStatistics statistics;
 
-        for (Face face : polyhedron.getFaces())
+        try (MetricScope scope = Metrics.getInstance().startScope(Constants.METRIC_GEOMETRY_ANALYSIS))
         {
-            List<Vertex> vertices = new ArrayList<>(face.getPolygon().getUniqueVertices());
-
-            Vector3D base = vertices.getFirst().toVector();
+            statistics = GeometryAnalyzer.analyze(meshData, topology);
+            Output.timePassed(scope.getElapsedMillis(), Constants.GEOMETRY_ANALYSIS);
+        }
 
-            for (int i = Constants.NUMBERS_ONE; i < vertices.size() - Constants.INDEX_ONE; i++)
-            {
-                Vector3D vector1 = vertices.get(i).toVector();
-                Vector3D vector2 = vertices.get(i + Constants.NUMBERS_ONE).toVector();
+        return statistics;
+    }
 
-                Vector3D crossProduct = vector1.getCrossProduct(vector2);
-                float signedVolume = base.calculateDotProduct(crossProduct) / Constants.TETRAHEDRON_VOLUME_FACTOR;;
+    /**
+     * Ermittelt Rand- und nicht-mannigfaltige Kanten, Schalen und Geschlecht eines Dreiecksnetzes mit dem
+     * {@link TopologyAnalyzer}.
+     *
+     * @param meshData Das zu analysierende Dreiecksnetz.
+     * @return Die ermittelte {@link MeshTopology}.
+     * @Vorbedingung meshData darf nicht null sein.
+     * @Nachbedingung Die Topologie wurde berechnet und die benötigte Zeit ausgegeben.
+     */
+    public static MeshTopology analyzeTopology(MeshData meshData)
+    {
+        MeshTopology topology;
 
-                totalVolume += signedVolume;
-            }
+        try (MetricScope scope = Metrics.getInstance().startScope(Constants.METRIC_TOPOLOGY_ANALYSIS))
+        {
+            topology = TopologyAnalyzer.analyze(meshData);
+            Output.timePassed(scope.getElapsedMillis(), Constants.TOPOLOGY_ANALYSIS);
         }
-        Output.timePassed(Stopwatch.getInstance().stop(), Constants.VOLUME_CALCULATION);
 
-        return Math.abs(totalVolume);
+        return topology;
     }
 
     /**
-     * Prüft, ob das Polyeder geschlossen ist, basierend auf Euler-Charakteristik.
+     * Berechnet die Flächen aller Dreiecke eines Dreiecksnetzes mit dem {@link GeometryAnalyzer}.
+     *
+     * @param meshData Das Dreiecksnetz.
+     * @return Die Flächen in Reihenfolge des Index-Puffers.
+     * @Vorbedingung meshData darf nicht null sein.
+     * @Nachbedingung meshData wurde nicht verändert.
+     */
+    public static float[] calculateTriangleAreas(MeshData meshData)
+    {
+        return GeometryAnalyzer.calculateTriangleAreas(meshData);
+    }
+
+    /**
+     * Berechnet die Oberfläche des Polyeders parallel über die Fork-Join-Aggregation des {@link ThreadController}.
      *
-     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Konvexität geprüft werden soll.
-     * @return true, wenn das Polyeder konvex ist, sonst false.
+     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Oberfläche berechnet werden soll.
+     * @return Die berechnete Gesamtoberfläche des Polyeders.
      * @Vorbedingung polyhedron darf nicht null sein.
-     * @Nachbedingung Ein Wahrheitswert zur Konvexität wurde zurückgegeben.
+     * @Nachbedingung Die Gesamtoberfläche wurde berechnet und zurückgegeben.
      */
-    public static int isClosed(Polyhedron polyhedron)
+    public static float calculateSurfaceAreaUsingThreads(Polyhedron polyhedron)
     {
-        LinkedHashSet<Vertex> uniqueVertices = new LinkedHashSet<>();
-        LinkedHashSet<Edge> uniqueEdges = new LinkedHashSet<>();
+        MeshData meshData = polyhedron.getMeshData();
+        float surfaceArea;
 
-        // Einzigartige Vertices und Edges holen
-        for (Face face : polyhedron.getFaces())
+        try (MetricScope scope = Metrics.getInstance().startScope(Constants.METRIC_AREA_CALCULATION_PARALLEL))
         {
-            Polygon poly = face.getPolygon();
-            uniqueVertices.addAll(poly.getUniqueVertices());
-            uniqueEdges.addAll(poly.getUniqueEdges());
+            surfaceArea = (float) ThreadController.sum(meshData.getNumberOfTriangles(),
+                    meshData::calculateTriangleArea);
+            Output.timePassed(scope.getElapsedMillis(), Constants.AREA_CALCULATION_PARALLEL);
         }
 
-        return Mathmatics.calculateEulerCharacteristics(
-                uniqueVertices.size(), uniqueEdges.size(), polyhedron.getFaces().size());
+        return surfaceArea;
     }
 
     /**
-     * Erzeugt eine {@link MeshView}-Darstellung des gegebenen Polyeders.
+     * Berechnet die Oberfläche des Polyeders seriell direkt aus den primitiven Dreiecksdaten.
      *
-     * @param polyhedron Das {@link Polyhedron}-Objekt, aus dem das Mesh erstellt werden soll.
-     * @return Eine neue {@link MeshView} mit dem 3D-Mesh.
-     * @Vorbedingung polyhedron und seine Vertex- und Face-Listen dürfen nicht null sein.
-     * @Nachbedingung Das MeshView-Objekt wurde erstellt und zurückgegeben.
+     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Oberfläche berechnet werden soll.
+     * @return Die berechnete Gesamtoberfläche des Polyeders.
+     * @Vorbedingung polyhedron darf nicht null sein.
+     * @Nachbedingung Die Gesamtoberfläche wurde berechnet und zurückgegeben.
      */
-    public static MeshView createMesh(Polyhedron polyhedron)
+    public static float calculateSurfaceArea(Polyhedron polyhedron)
     {
-        TriangleMesh mesh = new TriangleMesh();
-        mesh.getTexCoords().addAll(0, 0);
-        mesh.getFaceSmoothingGroups().addAll(new int[polyhedron.getFaces().size()]);
+        float surfaceArea = 0;
+        MeshData meshData = polyhedron.getMeshData();
 
-        Map<Vertex, Integer> vertexIndexMap = convertVerticesToPoints(mesh, polyhedron.getVertices());
-        int[] faceIndexes = convertFacesToIndices(polyhedron, vertexIndexMap);
-        mesh.getFaces().addAll(faceIndexes);
+        try (MetricScope scope = Metrics.getInstance().startScope(Constants.METRIC_AREA_CALCULATION_SERIAL))
+        {
+            for (int i = 0; i < meshData.getNumberOfTriangles(); i++)
+            {
+                surfaceArea += meshData.calculateTriangleArea(i);
+            }
 
-        return new MeshView(mesh);
+            Output.timePassed(scope.getElapsedMillis(), Constants.AREA_CALCULATION_SERIAL);
+        }
+
+        return surfaceArea;
     }
 
     /**
-     * Wandelt die Vertex-Liste in Punkte für das {@link TriangleMesh} um und liefert ein Mapping von {@link Vertex} zu Index.
+     * Berechnet das Volumen des Polyhedrons basierend auf Tetraederung der Flächen.
+     * Die Teilvolumen werden parallel über den {@link ThreadController} summiert.
      *
-     * @param mesh Die {@link TriangleMesh}, die mit Punkten gefüllt werden soll.
-     * @param vertices Die Liste der {@link Vertex}-Objekte.
-     * @return Eine Map von {@link Vertex} auf deren Index in der Mesh-Punktliste.
-     * @Vorbedingung mesh und vertices dürfen nicht null sein.
-     * @Nachbedingung Das TriangleMesh enthält alle Vertex-Koordinaten.
+     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Volumen berechnet werden soll.
+     * @return Der absolute Gesamtvolumenwert des Polyhedrons.
+     * @Vorbedingung polyhedron darf nicht null sein.
+     * @Nachbedingung Das Gesamtvolumen wurde berechnet und zurückgegeben.
      */
-    private static Map<Vertex, Integer> convertVerticesToPoints
-            (TriangleMesh mesh, List<Vertex> vertices)
+    public static float calculateVolume(Polyhedron polyhedron)
     {
-        Map<Vertex, Integer> vertexIndexMap = new HashMap<>();
+        MeshData meshData = polyhedron.getMeshData();
+        float totalVolume;
 
-        for (int i = 0; i < vertices.size(); i++)
+        try (MetricScope scope = Metrics.getInstance().startScope(Constants.METRIC_VOLUME_CALCULATION))
         {
-            Vertex vertex = vertices.get(i);
-            vertexIndexMap.put(vertex, i);
-            mesh.getPoints().addAll(vertex.getX(), vertex.getY(), vertex.getZ());
+            totalVolume = (float) ThreadController.sum(meshData.getNumberOfTriangles(),
+                    meshData::calculateSignedVolume);
+            Output.timePassed(scope.getElapsedMillis(), Constants.VOLUME_CALCULATION);
         }
 
-        return vertexIndexMap;
+        return Math.abs(totalVolume);
     }
 
     /**
-     * Wandelt die Face-Liste des Polyeders in ein Index-Array für das {@link TriangleMesh} um.
+     * Prüft, ob das Polyeder geschlossen ist, basierend auf Euler-Charakteristik.
+     * Die Kanten werden dabei über die indexbasierte Adjazenz der {@link MeshTopology} gezählt.
      *
-     * @param polyhedron Das {@link Polyhedron}, dessen Faces konvertiert werden sollen.
-     * @param vertexIndexMap Eine Map von {@link Vertex} zu deren Index.
-     * @return Ein int-Array mit den Face-Indizes für das TriangleMesh.
-     * @Vorbedingung polyhedron, vertexIndexMap und die Faces dürfen nicht null sein.
-     * @Nachbedingung Das zurückgegebene Array enthält alle Face-Indizes.
+     * @param polyhedron Das {@link Polyhedron}-Objekt, dessen Geschlossenheit geprüft werden soll.
+     * @return Der Wert der Euler-Charakteristik V - E + F.
+     * @Vorbedingung polyhedron darf nicht null sein.
+     * @Nachbedingung Die Euler-Charakteristik wurde berechnet und zurückgegeben.
      */
-    private static int[] convertFacesToIndices
-            (Polyhedron polyhedron, Map<Vertex, Integer> vertexIndexMap)
+    public static int isClosed(Polyhedron polyhedron)
     {
-        int[] faceIndexes = new int[polyhedron.getFaces().size() * Constants.NUMBERS_SIX];
-        int index = 0;
-
-        for (Face face : polyhedron.getFaces())
-        {
-            List<Vertex> faceVertices = face.getPolygon().getVertices();
-
-            for (int i = 0; i < Constants.NUMBERS_THREE; i++)
-            {
-                faceIndexes[index++] = vertexIndexMap.get(faceVertices.get(i));
-                faceIndexes[index++] = 0;
-            }
-        }
-        return faceIndexes;
+        return polyhedron.getTopology().getEulerCharacteristic();
     }
 }
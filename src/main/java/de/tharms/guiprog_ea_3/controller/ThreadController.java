@@ -1,103 +1,249 @@
 package de.tharms.guiprog_ea_3.controller;
 
-import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.model.Constants;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
 
 /**
- * Verwaltet Threads zur parallelen Berechnung der Flächeninhalte von Polyhedron-Flächen.
+ * Stellt eine wiederverwendbare, parallele Aggregation über Indexbereiche auf einem gemeinsamen
+ * {@link ForkJoinPool} bereit. Bereiche werden rekursiv halbiert, sodass freie Threads Arbeit stehlen können;
+ * jede Teilaufgabe sammelt in einem eigenen, lokal erzeugten Akkumulator, wodurch kein gemeinsames Ergebnis-Array
+ * (und damit kein False Sharing) benötigt wird. Schreibt dagegen jeder Index nur sein eigenes Element, genügt
+ * {@link #forEachRange(int, RangeAction)} ohne Zusammenführung.
  */
 public class ThreadController
 {
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
     /**
-     * Startet mehrere Threads zur Berechnung der Flächeninhalte aller Flächen eines Polyeders.
+     * Akkumuliert einen zusammenhängenden Indexbereich in einen Akkumulator.
      *
-     * @param polyhedron Das {@link Polyhedron}, dessen Flächen berechnet werden sollen.
-     * @param numberOfThreads Die Anzahl der Threads, die gestartet werden sollen.
-     * @param threadResults Ein Array, in dem die Ergebnisse für jeden Thread gespeichert werden.
-     * @return Eine Liste der gestarteten {@link Thread}-Objekte.
-     * @Vorbedingung polyhedron darf nicht null sein und numberOfThreads > 0.
-     * @Nachbedingung Jeder Thread in der zurückgegebenen Liste führt die Flächenberechnung durch.
+     * @param <A> Der Typ des Akkumulators.
      */
-    public static List<Thread> startAreaCalculation
-            (Polyhedron polyhedron, int numberOfThreads, float[] threadResults)
+    @FunctionalInterface
+    public interface RangeAccumulator<A>
     {
-        List<Thread> threads = new ArrayList<Thread>();
-        int areasToCalculate = calculateThreadWorkload(polyhedron.getFaces().size(), numberOfThreads);
+        /**
+         * Verarbeitet die Indizes [from, to).
+         *
+         * @param accumulator Der lokale Akkumulator der Teilaufgabe.
+         * @param from Der erste Index.
+         * @param to Der Index hinter dem letzten zu verarbeitenden Element.
+         */
+        void accumulate(A accumulator, int from, int to);
+    }
 
-        for (int i = 0; i < numberOfThreads; i++)
-        {
-            int threadIndex = i;
-            int start = i * areasToCalculate;
-            int end = calculateThreadEndIndex(start, areasToCalculate, polyhedron);
-
-            // Arbeitsbereich für jeden Thread festlegen
-            Runnable task = () -> {
-                float areaCumulated = 0;
-                for (int j = start; j < end; j++)
-                {
-                    areaCumulated += polyhedron.getFaces().get(j).getPolygon().calculateArea();
-                }
-                threadResults[threadIndex] = areaCumulated;
-            };
-
-            Thread thread = new Thread(task);
-            threads.add(thread);
-            thread.start();
-        }
-        return threads;
+    /**
+     * Verarbeitet einen zusammenhängenden Indexbereich ohne Ergebnis, z. B. indem jeder Index sein eigenes Element
+     * eines Arrays schreibt.
+     */
+    @FunctionalInterface
+    public interface RangeAction
+    {
+        /**
+         * Verarbeitet die Indizes [from, to).
+         *
+         * @param from Der erste Index.
+         * @param to Der Index hinter dem letzten zu verarbeitenden Element.
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Summiert die Terme der Indizes [0, size) parallel.
+     * Innerhalb einer Teilaufgabe wird kompensiert (Kahan-Babuška) summiert, die Teilergebnisse werden entlang des
+     * Aufteilungsbaums paarweise zusammengeführt, sodass der Rundungsfehler auch bei Millionen Termen klein bleibt.
+     *
+     * @param size Die Anzahl der Terme.
+     * @param term Liefert den Term zu einem Index.
+     * @return Die Summe aller Terme.
+     * @Vorbedingung size >= 0, term ist threadsicher lesbar.
+     * @Nachbedingung Jeder Term wurde genau einmal ausgewertet.
+     */
+    public static double sum(int size, IntToDoubleFunction term)
+    {
+        return reduce(size, CompensatedSum::new, (compensatedSum, from, to) -> {
+            for (int i = from; i < to; i++)
+            {
+                compensatedSum.add(term.applyAsDouble(i));
+            }
+        }, CompensatedSum::combine).getSum();
+    }
+
+    /**
+     * Reduziert die Indizes [0, size) parallel mit beliebigen Akkumulatoren.
+     *
+     * @param size Die Anzahl der Elemente.
+     * @param identity Erzeugt einen leeren Akkumulator pro Teilaufgabe.
+     * @param accumulator Verarbeitet einen Indexbereich in einen Akkumulator.
+     * @param combiner Führt zwei Akkumulatoren zusammen; linker und rechter Teil bleiben in Indexreihenfolge.
+     * @param <A> Der Typ des Akkumulators.
+     * @return Der zusammengeführte Akkumulator.
+     * @Vorbedingung size >= 0, alle Funktionen sind threadsicher.
+     * @Nachbedingung Jeder Index wurde genau einmal verarbeitet.
+     */
+    public static <A> A reduce(int size, Supplier<A> identity, RangeAccumulator<A> accumulator,
+                               BinaryOperator<A> combiner)
+    {
+        return POOL.invoke(new ReductionTask<>(0, size, getGrainSize(size), identity, accumulator, combiner));
     }
 
     /**
-     * Berechnet das End-Index-Limit für die Flächenberechnung eines einzelnen Threads.
+     * Verarbeitet die Indizes [0, size) parallel in disjunkten Bereichen, ohne Ergebnisse zusammenzuführen.
      *
-     * @param start Der Startindex der Flächen, die der Thread berechnet.
-     * @param areasToCalculate Die Anzahl der Flächen, die pro Thread berechnet werden sollen.
-     * @param polyhedron Das {@link Polyhedron}, dessen Flächen berechnet werden sollen.
-     * @return Der Endindex (exklusiv) für die Flächenberechnung dieses Threads.
-     * @Vorbedingung start >= 0 und polyhedron.getFaces() ist nicht null.
-     * @Nachbedingung Der zurückgegebene Index überschreitet nicht die Gesamtzahl der Flächen.
+     * @param size Die Anzahl der Elemente.
+     * @param action Verarbeitet einen Indexbereich; darf nur auf die Elemente seines Bereichs schreiben.
+     * @Vorbedingung size >= 0, action ist threadsicher.
+     * @Nachbedingung Jeder Index wurde genau einmal verarbeitet.
+     */
+    public static void forEachRange(int size, RangeAction action)
+    {
+        POOL.invoke(new RangeTask(0, size, getGrainSize(size), action));
+    }
+
+    /**
+     * Liefert die Körnung, bis zu der Bereiche halbiert werden: einige Teilaufgaben pro Thread, aber nicht unter
+     * {@link Constants#PARALLEL_MIN_GRAIN_SIZE} Elemente.
      */
-    private static int calculateThreadEndIndex(int start, int areasToCalculate, Polyhedron polyhedron)
+    private static int getGrainSize(int size)
     {
-        return Math.min(start + areasToCalculate, polyhedron.getFaces().size());
+        return Math.max(Constants.PARALLEL_MIN_GRAIN_SIZE,
+                size / (POOL.getParallelism() * Constants.PARALLEL_TASKS_PER_THREAD));
     }
 
     /**
-     * Wartet, bis alle übergebene Threads beendet sind.
+     * Liefert den gemeinsam genutzten {@link ForkJoinPool} für parallele Berechnungen.
      *
-     * @param threads Eine Liste von {@link Thread}-Objekten, auf die gewartet werden soll.
-     * @Vorbedingung threads darf nicht null sein.
-     * @Nachbedingung Alle Threads in der Liste sind beendet.
-     * @throws RuntimeException Wenn ein Thread unterbrochen wurde.
+     * @return Der gemeinsame Pool.
      */
-    public static void waitForAllThreads(List<Thread> threads)
+    public static ForkJoinPool getPool()
     {
-        for (Thread thread : threads)
+        return POOL;
+    }
+
+    /**
+     * Fork-Join-Aufgabe, die ihren Bereich halbiert, bis er die Körnung unterschreitet.
+     *
+     * @param <A> Der Typ des Akkumulators.
+     */
+    private static class ReductionTask<A> extends RecursiveTask<A>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grainSize;
+        // Die Aufgabe wird nie serialisiert; die Funktionen leben nur während der Reduktion
+        private final transient Supplier<A> identity;
+        private final transient RangeAccumulator<A> accumulator;
+        private final transient BinaryOperator<A> combiner;
+
+        ReductionTask(int from, int to, int grainSize, Supplier<A> identity,
+                      RangeAccumulator<A> accumulator, BinaryOperator<A> combiner)
         {
-            try
+            this.from = from;
+            this.to = to;
+            this.grainSize = grainSize;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute()
+        {
+            if (to - from <= grainSize)
             {
-                thread.join();
+                A result = identity.get();
+                accumulator.accumulate(result, from, to);
+                return result;
             }
-            catch (InterruptedException e)
+
+            int middle = (from + to) >>> 1;
+            ReductionTask<A> left = new ReductionTask<>(from, middle, grainSize, identity, accumulator, combiner);
+            ReductionTask<A> right = new ReductionTask<>(middle, to, grainSize, identity, accumulator, combiner);
+            left.fork();
+
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+
+    /**
+     * Fork-Join-Aufgabe ohne Ergebnis, die ihren Bereich halbiert, bis er die Körnung unterschreitet.
+     */
+    private static class RangeTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grainSize;
+        // Die Aufgabe wird nie serialisiert; die Funktion lebt nur während der Verarbeitung
+        private final transient RangeAction action;
+
+        RangeTask(int from, int to, int grainSize, RangeAction action)
+        {
+            this.from = from;
+            this.to = to;
+            this.grainSize = grainSize;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= grainSize)
             {
-                throw new RuntimeException(e);
+                action.apply(from, to);
+                return;
             }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, grainSize, action), new RangeTask(middle, to, grainSize, action));
         }
     }
 
     /**
-     * Berechnet, wie viele Flächen auf jeden Thread verteilt werden.
-     *
-     * @param size Die Gesamtzahl der Flächen.
-     * @param numberOfThreads Die Anzahl der Threads.
-     * @return Die Anzahl der Flächen pro Thread (aufgerundet).
-     * @Vorbedingung size >= 0 und numberOfThreads > 0.
-     * @Nachbedingung Das Ergebnis ist mindestens 1, sofern size > 0.
+     * Kompensierte Summe nach Kahan-Babuška (Neumaier), die den Rundungsfehler separat mitführt. Auch für
+     * Akkumulatoren anderer Reduktionen nutzbar, die mehrere Summen gleichzeitig bilden.
      */
-    private static int calculateThreadWorkload(int size, int numberOfThreads)
+    static class CompensatedSum
     {
-        return (int) Math.ceil((float) size / numberOfThreads);
+        private double sum;
+        private double compensation;
+
+        void add(double value)
+        {
+            double total = sum + value;
+
+            if (Math.abs(sum) >= Math.abs(value))
+            {
+                compensation += (sum - total) + value;
+            }
+            else
+            {
+                compensation += (value - total) + sum;
+            }
+
+            sum = total;
+        }
+
+        CompensatedSum combine(CompensatedSum other)
+        {
+            add(other.sum);
+            compensation += other.compensation;
+            return this;
+        }
+
+        double getSum()
+        {
+            return sum + compensation;
+        }
     }
 }
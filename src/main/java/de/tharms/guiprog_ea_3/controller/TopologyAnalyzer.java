@@ -0,0 +1,245 @@
+package de.tharms.guiprog_ea_3.controller;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.MeshTopology;
+
+import java.util.Arrays;
+
+/**
+ * Baut aus dem Index-Puffer eines {@link MeshData} eine kompakte, indexbasierte Kante-zu-Fläche-Adjazenz auf und
+ * leitet daraus die {@link MeshTopology} ab. Die Halbkanten werden per Counting Sort nach ihrem kleineren Eckpunkt
+ * gruppiert, sodass der Aufbau in linearer Zeit und ohne Objekte pro Kante erfolgt. Schalen und Randschleifen
+ * werden mit Union-Find über die Flächen bzw. die Randpunkte gezählt.
+ */
+public class TopologyAnalyzer
+{
+    private static final int NO_EDGE = -1;
+
+    /**
+     * Analysiert die Topologie eines Dreiecksnetzes.
+     *
+     * @param meshData Das zu analysierende Dreiecksnetz.
+     * @return Die ermittelte {@link MeshTopology}.
+     * @Vorbedingung meshData darf nicht null sein; alle Indizes liegen in [0, Anzahl der Ecken).
+     * @Nachbedingung Jede Halbkante wurde genau einer Kante zugeordnet.
+     */
+    public static MeshTopology analyze(MeshData meshData)
+    {
+        int numberOfVertices = meshData.getNumberOfVertices();
+        int numberOfFaces = meshData.getNumberOfTriangles();
+        int numberOfHalfEdges = numberOfFaces * Constants.STL_NUMBER_OF_VERTICES;
+        int[] indices = meshData.getIndices();
+
+        // Halbkanten per Counting Sort nach ihrem kleineren Eckpunkt gruppieren
+        int[] bucketStart = new int[numberOfVertices + 1];
+        for (int halfEdge = 0; halfEdge < numberOfHalfEdges; halfEdge++)
+        {
+            bucketStart[Math.min(indices[halfEdge], indices[nextCorner(halfEdge)]) + 1]++;
+        }
+        for (int vertex = 0; vertex < numberOfVertices; vertex++)
+        {
+            bucketStart[vertex + 1] += bucketStart[vertex];
+        }
+
+        int[] sortedHalfEdges = new int[numberOfHalfEdges];
+        int[] fillPosition = Arrays.copyOf(bucketStart, numberOfVertices);
+        for (int halfEdge = 0; halfEdge < numberOfHalfEdges; halfEdge++)
+        {
+            sortedHalfEdges[fillPosition[Math.min(indices[halfEdge], indices[nextCorner(halfEdge)])]++] = halfEdge;
+        }
+
+        // Innerhalb einer Gruppe identifiziert der größere Eckpunkt die Kante; die Kanten einer Gruppe sind nach
+        // deren Abarbeitung vollständig und werden sofort ausgewertet, sodass nur gruppenlokale Kantenarrays nötig sind
+        int maxBucketSize = 0;
+        for (int vertex = 0; vertex < numberOfVertices; vertex++)
+        {
+            maxBucketSize = Math.max(maxBucketSize, bucketStart[vertex + 1] - bucketStart[vertex]);
+        }
+
+        int[] localEdgeOfVertex = new int[numberOfVertices];
+        Arrays.fill(localEdgeOfVertex, NO_EDGE);
+        int[] edgeEnd = new int[maxBucketSize];
+        int[] edgeUseCount = new int[maxBucketSize];
+        int[] edgeForwardCount = new int[maxBucketSize];
+        int[] edgeFirstFace = new int[maxBucketSize];
+
+        int[] faceParent = createUnionFind(numberOfFaces);
+        int[] vertexParent = createUnionFind(numberOfVertices);
+        boolean[] isBoundaryVertex = new boolean[numberOfVertices];
+        EdgeList boundaryEdges = new EdgeList();
+        EdgeList nonManifoldEdges = new EdgeList();
+        int numberOfEdges = 0;
+        int numberOfInconsistentEdges = 0;
+        int numberOfShells = numberOfFaces;
+        int numberOfBoundaryLoops = 0;
+
+        for (int vertex = 0; vertex < numberOfVertices; vertex++)
+        {
+            int numberOfLocalEdges = 0;
+
+            for (int i = bucketStart[vertex]; i < bucketStart[vertex + 1]; i++)
+            {
+                int halfEdge = sortedHalfEdges[i];
+                int start = indices[halfEdge];
+                int other = Math.max(start, indices[nextCorner(halfEdge)]);
+                int face = halfEdge / Constants.STL_NUMBER_OF_VERTICES;
+                int edge = localEdgeOfVertex[other];
+
+                if (edge == NO_EDGE)
+                {
+                    edge = numberOfLocalEdges++;
+                    localEdgeOfVertex[other] = edge;
+                    edgeEnd[edge] = other;
+                    edgeUseCount[edge] = 0;
+                    edgeForwardCount[edge] = 0;
+                    edgeFirstFace[edge] = face;
+                }
+                else if (union(faceParent, face, edgeFirstFace[edge]))
+                {
+                    numberOfShells--;
+                }
+
+                edgeUseCount[edge]++;
+                if (start == vertex)
+                {
+                    edgeForwardCount[edge]++;
+                }
+            }
+
+            for (int edge = 0; edge < numberOfLocalEdges; edge++)
+            {
+                int other = edgeEnd[edge];
+                localEdgeOfVertex[other] = NO_EDGE;
+
+                if (edgeUseCount[edge] == Constants.INDEX_ONE)
+                {
+                    // Jede Randschleife ist eine Zusammenhangskomponente der Randkanten
+                    boundaryEdges.add(vertex, other);
+                    numberOfBoundaryLoops += markBoundaryVertex(isBoundaryVertex, vertex) +
+                            markBoundaryVertex(isBoundaryVertex, other);
+
+                    if (union(vertexParent, vertex, other))
+                    {
+                        numberOfBoundaryLoops--;
+                    }
+                }
+                else if (edgeUseCount[edge] > Constants.INDEX_TWO)
+                {
+                    nonManifoldEdges.add(vertex, other);
+                }
+                else if (edgeForwardCount[edge] != Constants.INDEX_ONE)
+                {
+                    numberOfInconsistentEdges++;
+                }
+            }
+
+            numberOfEdges += numberOfLocalEdges;
+        }
+
+        return new MeshTopology(numberOfVertices, numberOfEdges, numberOfFaces, boundaryEdges.toArray(),
+                nonManifoldEdges.toArray(), numberOfInconsistentEdges, numberOfShells, numberOfBoundaryLoops);
+    }
+
+    /**
+     * Liefert die nächste Ecke desselben Dreiecks.
+     *
+     * @param corner Der Index der Ecke.
+     * @return Der Index der Folgeecke.
+     */
+    private static int nextCorner(int corner)
+    {
+        return corner % Constants.STL_NUMBER_OF_VERTICES == Constants.INDEX_TWO
+                ? corner - Constants.INDEX_TWO : corner + Constants.INDEX_ONE;
+    }
+
+    private static int[] createUnionFind(int size)
+    {
+        int[] parent = new int[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            parent[i] = i;
+        }
+
+        return parent;
+    }
+
+    /**
+     * Markiert einen Eckpunkt als Randpunkt.
+     *
+     * @return 1, wenn der Eckpunkt zuvor noch nicht markiert war, sonst 0.
+     */
+    private static int markBoundaryVertex(boolean[] isBoundaryVertex, int vertex)
+    {
+        if (isBoundaryVertex[vertex])
+        {
+            return 0;
+        }
+
+        isBoundaryVertex[vertex] = true;
+        return Constants.INDEX_ONE;
+    }
+
+    /**
+     * Sucht die Wurzel eines Elements mit Pfadhalbierung.
+     *
+     * @param parent Das Elternarray der Union-Find-Struktur.
+     * @param element Das Element.
+     * @return Die Wurzel des Elements.
+     */
+    private static int find(int[] parent, int element)
+    {
+        while (parent[element] != element)
+        {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+
+        return element;
+    }
+
+    /**
+     * Vereinigt die Mengen zweier Elemente.
+     *
+     * @return {@code true}, wenn die Elemente zuvor in verschiedenen Mengen lagen.
+     */
+    private static boolean union(int[] parent, int first, int second)
+    {
+        int firstRoot = find(parent, first);
+        int secondRoot = find(parent, second);
+
+        if (firstRoot == secondRoot)
+        {
+            return false;
+        }
+
+        parent[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+        return true;
+    }
+
+    /**
+     * Wachsende Liste von Kanten als Paare von Eckpunkt-Indizes.
+     */
+    private static class EdgeList
+    {
+        private int[] vertices = new int[Constants.WELD_MIN_CAPACITY];
+        private int size;
+
+        void add(int start, int end)
+        {
+            if (size + Constants.INDEX_TWO > vertices.length)
+            {
+                vertices = Arrays.copyOf(vertices, vertices.length << 1);
+            }
+
+            vertices[size++] = start;
+            vertices[size++] = end;
+        }
+
+        int[] toArray()
+        {
+            return Arrays.copyOf(vertices, size);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package de.tharms.guiprog_ea_3.controller;
 
 import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.ModelStatistics;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
 import de.tharms.guiprog_ea_3.network.Server;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.*;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
@@ -23,6 +26,9 @@ public class ViewerController extends Application
     private CameraController cameraController;
     private ModelController modelController;
     private PolyhedronController polyhedronController;
+    private ModelLoadTask loadTask;
+    private CommandDispatcher commandDispatcher;
+    private volatile ModelStatistics modelStatistics;
 
 
     /**
@@ -30,7 +36,8 @@ public class ViewerController extends Application
      *
      * @param primaryStage Die primäre Stage.
      * @Vorbedingung primaryStage darf nicht null sein.
-     * @Nachbedingung Die Stage zeigt die geladene Szene mit Menüs und 3D-Ansicht und der Server ist gestartet.
+     * @Nachbedingung Die Stage zeigt die geladene Szene mit Menüs und 3D-Ansicht, der Dispatcher für
+     * Server-Commands und der Server sind gestartet.
      */
     @Override
     public void start(Stage primaryStage)
@@ -48,6 +55,8 @@ public class ViewerController extends Application
                 getClass().getResourceAsStream(Constants.STL_VIEWER_ICON_FILEPATH)));
         primaryStage.show();
 
+        commandDispatcher = new CommandDispatcher(modelController);
+        commandDispatcher.start();
         startServer();
     }
 
@@ -172,22 +181,91 @@ public class ViewerController extends Application
 
 
     /**
-     * Lädt ein Polyeder, erstellt ein Mesh und aktualisiert die Anzeige und Details.
+     * Lädt ein Polyeder in einem Hintergrund-Thread, erstellt dort dessen Mesh und aktualisiert anschließend
+     * die Anzeige und Details. Der Fortschritt wird in der Seitenleiste angezeigt; ein noch laufender
+     * Ladevorgang wird abgebrochen. Nur das Einsetzen des fertigen Mesh in den Szenengraphen erfolgt auf dem
+     * JavaFX Application Thread.
      *
      * @param filepath Pfad zur STL-Datei.
-     * @Vorbedingung filepath verweist auf eine gültige STL-Datei.
-     * @Nachbedingung Das Modell, die Darstellungsoptionen und Details werden aktualisiert.
+     * @Vorbedingung filepath verweist auf eine gültige STL-Datei; Aufruf auf dem JavaFX Application Thread.
+     * @Nachbedingung Der Ladevorgang ist gestartet; nach dessen Erfolg werden das Modell, die Darstellungsoptionen
+     * und Details aktualisiert, bei einem Fehler wird ein Dialog angezeigt.
      */
     public void setMeshView(String filepath)
     {
-        modelController.createPolyhedronFromFilepath(filepath);
+        if (loadTask != null)
+        {
+            loadTask.cancel();
+        }
+
+        ModelLoadTask task = new ModelLoadTask(filepath);
+        loadTask = task;
+
+        task.setOnSucceeded(workerStateEvent -> {
+            finishLoading(task);
+            showPolyhedron(task.getPolyhedron(), task.getValue());
+        });
+        task.setOnFailed(workerStateEvent -> {
+            finishLoading(task);
+            modelController.showLoadingError(filepath, task.getException());
+        });
+        task.setOnCancelled(workerStateEvent -> {
+            finishLoading(task);
+        });
+
+        interactionController.showLoadingStatus(task);
+
+        Thread loadThread = new Thread(task, Constants.LOAD_THREAD_NAME);
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
 
-        MeshView mesh = PolyhedronController.createMesh(modelController.getPolyhedron());
+    /**
+     * Lädt ein Polyeder wie {@link #setMeshView(String)}, kann aber aus jedem Thread aufgerufen werden.
+     *
+     * @param filepath Pfad zur STL-Datei.
+     * @Vorbedingung filepath darf nicht null sein.
+     * @Nachbedingung Der Ladevorgang wird auf dem JavaFX Application Thread gestartet.
+     */
+    public void loadModel(String filepath)
+    {
+        Platform.runLater(() -> setMeshView(filepath));
+    }
 
+    /**
+     * Setzt ein fertig geladenes Polyeder samt Mesh in die Szene ein und aktualisiert Darstellungsoptionen,
+     * Details und Fenstertitel.
+     *
+     * @param polyhedron Das geladene Polyeder.
+     * @param mesh Das zugehörige, noch nicht angezeigte {@link MeshView}.
+     * @Vorbedingung Aufruf auf dem JavaFX Application Thread; polyhedron und mesh dürfen nicht null sein.
+     * @Nachbedingung Das Modell wird angezeigt, seine Kennwerte sind über {@link #getModelStatistics()} abrufbar.
+     */
+    private void showPolyhedron(Polyhedron polyhedron, MeshView mesh)
+    {
+        modelStatistics = new ModelStatistics(polyhedron);
+        commandDispatcher.publishModelChange(modelStatistics);
+        modelController.setPolyhedron(polyhedron);
         modelController.setMesh(mesh);
         interactionController.updateDrawMode(mesh);
-        interactionController.updatePolyhedronDetails(modelController.getPolyhedron());
-        setProgramTitle(modelController.getPolyhedron().getName());
+        interactionController.updatePolyhedronDetails(polyhedron);
+        setProgramTitle(polyhedron.getName());
+    }
+
+    /**
+     * Beendet die Fortschrittsanzeige, sofern der beendete Ladevorgang der aktuelle ist.
+     *
+     * @param task Der beendete Ladevorgang.
+     * @Vorbedingung Aufruf auf dem JavaFX Application Thread.
+     * @Nachbedingung Ist task der aktuelle Ladevorgang, ist die Fortschrittsanzeige ausgeblendet.
+     */
+    private void finishLoading(ModelLoadTask task)
+    {
+        if (loadTask == task)
+        {
+            loadTask = null;
+            interactionController.hideLoadingStatus();
+        }
     }
 
     public InteractionController getUiController()
@@ -195,6 +273,21 @@ public class ViewerController extends Application
         return interactionController;
     }
 
+    public CommandDispatcher getCommandDispatcher()
+    {
+        return commandDispatcher;
+    }
+
+    /**
+     * Liefert die Kennwerte des angezeigten Polyeders. Kann aus jedem Thread aufgerufen werden.
+     *
+     * @return Die Kennwerte oder {@code null}, falls noch kein Modell angezeigt wird.
+     */
+    public ModelStatistics getModelStatistics()
+    {
+        return modelStatistics;
+    }
+
     public CameraController getCameraController()
     {
         return cameraController;
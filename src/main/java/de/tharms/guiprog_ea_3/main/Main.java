@@ -1,15 +1,21 @@
 package de.tharms.guiprog_ea_3.main;
 
 import de.tharms.guiprog_ea_3.controller.ArgumentController;
+import de.tharms.guiprog_ea_3.controller.BatchAnalysisController;
+import de.tharms.guiprog_ea_3.controller.ConversionController;
 import de.tharms.guiprog_ea_3.controller.PolyhedronController;
+import de.tharms.guiprog_ea_3.model.Constants;
 import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.utility.MeshCache;
 import de.tharms.guiprog_ea_3.view.Output;
 import de.tharms.guiprog_ea_3.controller.ViewerController;
 import javafx.application.Application;
 
 /**
  * Startklasse des STL-Viewers. Liest eine STL-Datei, berechnet Oberfläche und Volumen
- * eines Polyeders und gibt diese Informationen aus.
+ * eines Polyeders und gibt diese Informationen aus. Mit {@link Constants#ARGUMENT_HEADLESS} werden stattdessen
+ * beliebig viele Dateien ohne grafische Oberfläche analysiert bzw. mit {@link Constants#ARGUMENT_CONVERT} in das
+ * Binärformat umgewandelt; JavaFX wird dabei weder gestartet noch geladen.
  */
 public class Main
 {
@@ -20,19 +26,48 @@ public class Main
      * @param args Argumente der Kommandozeile
      *
      * @Vorbedingung Die Eingabedatei muss existieren und ein gültiges STL-Format besitzen.
-     * @Nachbedingung Die Oberfläche, eine sortierte Liste der Flächen nach Größe und das Volumen werden ausgegeben.
+     * @Nachbedingung Die Oberfläche, eine sortierte Liste der Flächen nach Größe und das Volumen werden ausgegeben;
+     * bei Stapelanalyse und -umwandlung ist das Programm mit {@link Constants#EXIT_CODE_FAILURE} beendet, falls eine
+     * Datei nicht verarbeitet werden konnte.
      */
     public static void main(String[] args)
     {
+        ArgumentController argsController = new ArgumentController(args);
+
+        if (argsController.isHeadless())
+        {
+            if (argsController.isCacheEnabled())
+            {
+                PolyhedronController.setMeshCache(MeshCache.createDefault());
+            }
+
+            int failures = new BatchAnalysisController(argsController.getOutputFormat(),
+                    argsController.getMemoryBudget()).analyze(argsController.getInputPaths());
+            System.exit(failures == 0 ? Constants.EXIT_CODE_SUCCESS : Constants.EXIT_CODE_FAILURE);
+        }
+
+        if (argsController.isConversion())
+        {
+            int failures = new ConversionController(argsController.getConversionFormat())
+                    .convert(argsController.getInputPaths(), argsController.getOutputDirectory());
+            System.exit(failures == 0 ? Constants.EXIT_CODE_SUCCESS : Constants.EXIT_CODE_FAILURE);
+        }
+
+        if (argsController.isCacheEnabled())
+        {
+            PolyhedronController.setMeshCache(MeshCache.createDefault());
+        }
+
         Output.greetUser();
 
-        ArgumentController argsController = new ArgumentController(args);
         Polyhedron polyhedron = PolyhedronController.createPolyhedronFromSTL(
                 argsController.getFilepath());
 
         Output.printSurfaceArea(polyhedron.getSurfaceArea());
         Output.printVolume(polyhedron.getVolume());
-        Output.partiallyPrintSortedList(PolyhedronController.sortFacesBySize(polyhedron));
+        Output.partiallyPrintSortedList(
+                PolyhedronController.findSmallestFaces(polyhedron, Constants.OUTPUT_PARTIAL_SORTED_LIST_SIZE),
+                PolyhedronController.findLargestFaces(polyhedron, Constants.OUTPUT_PARTIAL_SORTED_LIST_SIZE));
 
         Application.launch(ViewerController.class);
     }
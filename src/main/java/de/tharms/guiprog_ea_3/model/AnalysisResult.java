@@ -0,0 +1,71 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Ergebnis der Analyse einer einzelnen STL-Datei in der Stapelanalyse. Konnte die Datei nicht analysiert werden,
+ * ist nur {@code error} gesetzt und alle Kennwerte sind {@code null}.
+ */
+public class AnalysisResult
+{
+    public String file;
+    public Integer numberOfFaces;
+    public Float surfaceArea;
+    public Float volume;
+    public Integer eulerCharacteristic;
+    // Jede Kante grenzt an genau zwei Flächen; anders als "geschlossen" in der Konsolenausgabe nicht über die
+    // Euler-Charakteristik bestimmt, die z. B. für mehrere Körper in einer Datei nicht 2 ist
+    public Boolean watertight;
+    public long millis;
+    public String error;
+
+    /**
+     * Erzeugt das Ergebnis einer erfolgreichen Analyse.
+     *
+     * @param file Der Pfad der analysierten Datei.
+     * @param polyhedron Das geladene Polyeder.
+     * @param millis Die für Laden und Analyse benötigte Zeit in Millisekunden.
+     * @Vorbedingung file und polyhedron dürfen nicht null sein.
+     * @Nachbedingung Alle Kennwerte sind aus den {@link MeshStatistics} gesetzt, ohne die Topologie erneut zu
+     * ermitteln; error ist null.
+     */
+    public AnalysisResult(String file, Polyhedron polyhedron, long millis)
+    {
+        this.file = file;
+        this.numberOfFaces = polyhedron.getStatistics().getNumberOfFaces();
+        this.surfaceArea = polyhedron.getSurfaceArea();
+        this.volume = polyhedron.getVolume();
+        this.eulerCharacteristic = polyhedron.getStatistics().getEulerCharacteristic();
+        this.watertight = polyhedron.getStatistics().isWatertight();
+        this.millis = millis;
+    }
+
+    /**
+     * Erzeugt das Ergebnis einer fehlgeschlagenen Analyse.
+     *
+     * @param file Der Pfad der Datei.
+     * @param error Die Fehlermeldung.
+     * @param millis Die bis zum Fehler benötigte Zeit in Millisekunden.
+     * @Vorbedingung file und error dürfen nicht null sein.
+     * @Nachbedingung Nur file, error und millis sind gesetzt.
+     */
+    public AnalysisResult(String file, String error, long millis)
+    {
+        this.file = file;
+        this.error = error;
+        this.millis = millis;
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein AnalysisResult-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public AnalysisResult()
+    {
+    }
+
+    public boolean isFailed()
+    {
+        return error != null;
+    }
+}
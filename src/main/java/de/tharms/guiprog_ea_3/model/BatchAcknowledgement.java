@@ -0,0 +1,36 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Bestätigung des Servers für {@link CommandBatch}-Nachrichten. Eine Bestätigung mit {@code rejected == false} ist
+ * kumulativ und gilt für alle Batches bis einschließlich der angegebenen Sequenznummer; eine Ablehnung gilt nur für
+ * den Batch mit genau dieser Sequenznummer, der vollständig verworfen wurde.
+ */
+public class BatchAcknowledgement
+{
+    public long sequence;
+    public boolean rejected;
+
+    /**
+     * Erzeugt eine neue Bestätigung.
+     *
+     * @param sequence Die bestätigte Sequenznummer.
+     * @param rejected {@code true}, wenn der Batch abgelehnt wurde.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Bestätigung ist mit den übergebenen Feldern initialisiert.
+     */
+    public BatchAcknowledgement(long sequence, boolean rejected)
+    {
+        this.sequence = sequence;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein BatchAcknowledgement-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public BatchAcknowledgement()
+    {
+    }
+}
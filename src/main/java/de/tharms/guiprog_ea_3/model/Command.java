@@ -2,13 +2,18 @@ package de.tharms.guiprog_ea_3.model;
 
 /**
  * Repräsentiert einen Befehl, der vom Server an den Client gesendet werden kann,
- * und enthält Aktionstyp, Achse und Wert für Transformationen.
+ * und enthält Aktionstyp, Achse und Wert für Transformationen. {@link ServerCommands#SET_POSE} überträgt
+ * stattdessen die absolute Lage in {@code pose}, {@link ServerCommands#LOAD} den Dateipfad in {@code path}.
+ * Für {@link ServerCommands#SUBSCRIBE} ist {@code value} die maximale Anzahl an Zustandsänderungen pro Sekunde
+ * (0 = eine pro Frame).
  */
 public class Command
 {
     public ServerCommands action;
     public Axis axis;
     public double value;
+    public Pose pose;
+    public String path;
 
     /**
      * Erzeugt einen neuen Command mit den angegebenen Parametern.
@@ -26,6 +31,33 @@ public class Command
         this.value = value;
     }
 
+    /**
+     * Erzeugt einen neuen {@link ServerCommands#SET_POSE}-Command.
+     *
+     * @param pose Die absolute Lage, die das Modell einnehmen soll.
+     * @Vorbedingung pose darf nicht null sein.
+     * @Nachbedingung Der Command ist mit action SET_POSE und der übergebenen Lage initialisiert.
+     */
+    public Command(Pose pose)
+    {
+        this.action = ServerCommands.SET_POSE;
+        this.pose = pose;
+    }
+
+    /**
+     * Erzeugt einen neuen Command ohne Achse, z. B. eine Abfrage oder {@link ServerCommands#LOAD}.
+     *
+     * @param action Der vom Server gewünschte Befehlstyp.
+     * @param path Der Pfad der zu ladenden STL-Datei oder {@code null}.
+     * @Vorbedingung action darf nicht null sein; für LOAD ist path nicht null.
+     * @Nachbedingung Der Command ist mit den übergebenen Feldern initialisiert.
+     */
+    public Command(ServerCommands action, String path)
+    {
+        this.action = action;
+        this.path = path;
+    }
+
     /**
      * Standard-Konstruktor für Serialisierung und Deserialisierung.
      *
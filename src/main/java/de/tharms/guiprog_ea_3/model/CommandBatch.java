@@ -0,0 +1,37 @@
+package de.tharms.guiprog_ea_3.model;
+
+import java.util.List;
+
+/**
+ * Repräsentiert eine Folge von Commands, die der Server als Einheit ausführt, zusammen mit einer vom Client
+ * vergebenen, aufsteigenden Sequenznummer, über die der Server den Empfang bestätigt.
+ */
+public class CommandBatch
+{
+    public long sequence;
+    public List<Command> commands;
+
+    /**
+     * Erzeugt einen neuen Batch.
+     *
+     * @param sequence Die Sequenznummer des Batches.
+     * @param commands Die Commands des Batches in Ausführungsreihenfolge.
+     * @Vorbedingung commands darf nicht null sein; sequence ist größer als die des vorherigen Batches.
+     * @Nachbedingung Der Batch ist mit den übergebenen Feldern initialisiert.
+     */
+    public CommandBatch(long sequence, List<Command> commands)
+    {
+        this.sequence = sequence;
+        this.commands = commands;
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein CommandBatch-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public CommandBatch()
+    {
+    }
+}
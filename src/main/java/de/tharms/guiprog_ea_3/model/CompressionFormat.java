@@ -0,0 +1,12 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Enum zur Darstellung der Kompressionsformate, in denen STL-Dateien gelesen werden können. Das Format wird an den
+ * ersten Bytes der Datei erkannt, nicht an ihrer Endung.
+ */
+public enum CompressionFormat
+{
+    NONE,
+    GZIP,
+    ZIP;
+}
@@ -1,9 +1,6 @@
 package de.tharms.guiprog_ea_3.model;
 
 import de.tharms.guiprog_ea_3.view.ColorCodes;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.Material;
-import javafx.scene.paint.PhongMaterial;
 
 /**
  * Dieses Interface enthält alle im Programm benutzten Konstanten.
@@ -25,6 +22,32 @@ public interface Constants
     int STL_NORMAL_NUMBER_OF_DIMENSIONS = 3;
     int STL_NUMBER_OF_VERTICES = 3;
     int STL_VERTEX_NUMBER_OF_DIMENSIONS = 3;
+    int STL_FACET_NUMBER_OF_COORDINATES = 9;
+    int STL_BINARY_FACET_LENGTH = 50;
+    int STL_BINARY_DATA_OFFSET = 84;
+    int STL_BINARY_NORMAL_Y_OFFSET = 4;
+    int STL_BINARY_NORMAL_Z_OFFSET = 8;
+    int STL_BINARY_VERTICES_OFFSET = 12;
+    int STL_BINARY_VERTICES_END = 48;
+    int STL_BINARY_MAPPING_WINDOW_SIZE = 1 << 30;
+    int STL_BINARY_WRITE_BUFFER_SIZE = 1 << 20;
+    String STL_BINARY_NAME_PREFIX = "binary ";
+    int STL_FORMAT_SNIFF_LENGTH = 512;
+    int STL_DECOMPRESSION_CHUNK_SIZE = 1 << 22;
+    int STL_DECOMPRESSION_CHUNKS = 4;
+    int STL_DECOMPRESSION_INPUT_BUFFER_SIZE = 1 << 16;
+    String STL_DECOMPRESSION_THREAD_NAME = "stl-decompression-";
+    int COMPRESSION_MAGIC_LENGTH = 4;
+    int ZIP_LOCAL_HEADER_MAGIC = 0x04034B50;
+    String ZIP_WITHOUT_STL = "Das Archiv enthält keine STL-Datei";
+    int HASH_MULTIPLIER = 31;
+    int PARALLEL_SORT_THRESHOLD = 1 << 16;
+    int OUTPUT_PARTIAL_SORTED_LIST_SIZE = 3;
+    int MESH_FACE_VALUES_PER_CORNER = 3;
+    int WELD_MIN_CAPACITY = 16;
+    float WELD_EXACT_TOLERANCE = 0.0f;
+    long WELD_MAX_CELL = 1L << 52;
+    int STL_MAX_NUMBER_OF_TRIANGLES = (Integer.MAX_VALUE - 8) / STL_FACET_NUMBER_OF_COORDINATES;
     int ERROR_CODE_EXIT = 1;
     int TETRAHEDRON_VOLUME_FACTOR = 6;
     int EULER_CHARACTERISTIC_CLOSED_POLYHEDRON = 2;
@@ -36,36 +59,94 @@ public interface Constants
     String DEFAULT_FILEPATH = "./src/main/resources/";
     String STL_ASCII_KEYWORD_SOLID = "solid";
     String FILENAME_VALID_FORMAT = ".stl";
+    String FILENAME_GZIP_FORMAT = ".stl.gz";
+    String FILENAME_ZIP_FORMAT = ".zip";
     String OUTPUT_SEPARATOR = "  |";
     String INVALID_FILE_FORMAT = "Die Datei hat ein ungültiges Dateiformat";
     String OUTPUT_PARTIAL_SORTED_LIST = "Ausgabe der 3 kleinsten und größten Faces des Polyeders:";
     String OUTPUT_VERTICES = "Vertices: ";
     String OUTPUT_NORMAL = " Normale: ";
     String OUTPUT_AREA = "Flächeninhalt: ";
-    String STL_ASCII_KEYWORD_OUTER_LOOP = "outer loop";
     String STL_ASCII_KEYWORD_ENDLOOP = "endloop";
     String INVALID_FACE_VERTEX = "Vertex vom Face ist ungültig";
     String STL_ASCII_KEYWORD_VERTEX = "vertex";
     String EMPTY_STRING = "";
-    String STL_ASCII_SPLIT_VERTICES_REGEX = "^vertex\\s+";
-    String STL_ASCII_SPLIT_REGEX = "\\s+";
-    String STL_ASCII_SPLIT_NORMAL_REGEX = "^facet normal\\s+";
     String INVALID_FACE_NORMAL = "Normale vom Face ist ungültig";
-    String STL_ASCII_KEYWORD_FACET_NORMAL = "facet normal";
+    String INVALID_WELD_TOLERANCE = "Die Schweißtoleranz muss endlich und nicht negativ sein";
     String STL_ASCII_KEYWORD_ENDFACET = "endfacet";
+    String STL_ASCII_KEYWORD_ENDSOLID = "endsolid";
+    String STL_ASCII_KEYWORD_FACET = "facet";
+    String STL_ASCII_KEYWORD_NORMAL = "normal";
+    String STL_ASCII_KEYWORD_OUTER = "outer";
+    String STL_ASCII_KEYWORD_LOOP = "loop";
+    String INVALID_ASCII_STL_TOKEN = "Die ASCII-STL-Datei enthält ein unbekanntes Schlüsselwort";
+    int STL_ASCII_CHUNKS_PER_THREAD = 4;
+    long STL_ASCII_MIN_CHUNK_SIZE = 1 << 20;
+    long STL_ASCII_MAX_CHUNK_SIZE = 1 << 26;
+    int STL_ASCII_BOUNDARY_SEARCH_WINDOW = 4096;
+    int STL_ASCII_ESTIMATED_FACET_LENGTH = 250;
+    int STL_ASCII_MAX_EXPONENT = 1000;
     String TRIANGLE_ILLEGAL_AMOUNT_OF_EDGES = "Ein Dreieck darf nur genau drei Edges haben";
     String FILE_READING_ERROR = "Fehler beim Einlesen der Datei";
+    String FILE_COULD_NOT_BE_READ = "Die Datei konnte nicht gelesen werden";
+    int STL_PROGRESS_FACET_STEP = 1 << 16;
+    String LOAD_STAGE_READING_BYTES = "Bytes gelesen";
+    String LOAD_STAGE_PARSING_FACETS = "Facetten eingelesen";
+    String LOAD_STAGE_BUILDING_MESH = "Dreiecksnetz wird aufgebaut";
+    String LOAD_STAGE_ANALYZING = "Geometrie und Topologie werden analysiert";
+    String LOAD_STAGE_CREATING_VIEW = "Mesh wird erstellt";
+    String LOAD_PROGRESS_MESSAGE = "%s: %,d / %,d";
+    String LOADING_CANCELLED = "Der Ladevorgang wurde abgebrochen";
+    String LOAD_THREAD_NAME = "stl-loader";
+    String CLIENT_ACK_THREAD_NAME = "command-acks";
+    String STL_BINARY_FILE_TOO_SHORT = "Die Datei ist kürzer als die im Header angegebene Anzahl an Dreiecken";
+    String STL_TOO_MANY_TRIANGLES = "Die Datei enthält mehr Dreiecke, als verarbeitet werden können";
     String OUTPUT_SURFACE_AREA = "Der Oberflächeninhalt beträgt: ";
     String OUTPUT_VOLUME = "Das Volumen beträgt: ";
 
     int ALLOWED_ARGS = 1;
+    String ARGUMENT_HEADLESS = "--headless";
+    String ARGUMENT_FORMAT = "--format=";
+    String ARGUMENT_MEMORY = "--memory=";
+    String ARGUMENT_CACHE = "--cache";
+    String ARGUMENT_CONVERT = "--convert";
+    String ARGUMENT_OUTPUT = "--output=";
+    String INVALID_MEMORY_BUDGET = "Ungültiges Speicherbudget in MiB: ";
+    String INVALID_OUTPUT_FORMAT = "Ungültiges Ausgabeformat, erlaubt sind csv und json: ";
+    String INVALID_CONVERSION_FORMAT = "Ungültiges Zielformat, erlaubt sind stl und smesh: ";
+    String PATH_NOT_FOUND = "Datei oder Verzeichnis nicht gefunden";
+    String ANALYSIS_CSV_HEADER = "file,faces,surfaceArea,volume,eulerCharacteristic,watertight,millis,error";
+    String ANALYSIS_CSV_FORMAT = "%s,%d,%s,%s,%d,%b,%d,";
+    String ANALYSIS_CSV_ERROR_FORMAT = "%s,,,,,,%d,%s";
+    String ANALYSIS_THREAD_NAME = "stl-analysis-";
+    String ANALYSIS_SUMMARY = "%,d Dateien (%,d fehlgeschlagen), %,d Dreiecke, %,.1f MiB in %,.2f s: " +
+            "%,.1f Dateien/s, %,.0f Dreiecke/s, %,.1f MiB/s";
+    double ANALYSIS_DEFAULT_MEMORY_SHARE = 0.75;
+    int ANALYSIS_BUFFER_POOL_SHARE = 4;
+    int ANALYSIS_MEMORY_PER_BINARY_TRIANGLE = 160;
+    int ANALYSIS_MEMORY_PER_ASCII_TRIANGLE = 256;
+    String CONVERSION_RESULT = "%s -> %s: %,d Dreiecke, %,.1f MiB -> %,.1f MiB in %,d ms";
+    String CONVERSION_COPIED = "%s -> %s: bereits binär";
+    String CONVERSION_FAILED = "%s: %s";
+    String CONVERSION_SUMMARY = "%,d Dateien (%,d umgewandelt, %,d fehlgeschlagen), %,.1f MiB -> %,.1f MiB in " +
+            "%,.2f s: %,.1f MiB/s";
+    String CONVERSION_THREAD_NAME = "stl-conversion-";
+    String CONVERSION_TEMPORARY_SUFFIX = ".tmp";
+    String CONVERSION_TARGET_COLLISION = "Zieldatei %s wird bereits aus %s erzeugt";
+    String CONVERSION_POSIX_VIEW = "posix";
+    String CONVERSION_TARGET_IS_SOURCE = "Zieldatei %s ist selbst eine umzuwandelnde Datei";
+    int BYTES_PER_KIB = 1 << 10;
+    int BYTES_PER_MIB = 1 << 20;
+    String CSV_QUOTE = "\"";
+    String CSV_ESCAPED_QUOTE = "\"\"";
+    int EXIT_CODE_SUCCESS = 0;
+    int EXIT_CODE_FAILURE = 1;
     String INVALID_NUMBER_OF_ARGS = "Ungültige Anzahl an Argumenten übergeben";
     String NO_ARGUMENT = "Es wurde kein Argument übergeben";
     String OUTPUT_UNITS_MILLISECONDS = " ms";
     String OUTPUT_TIME_PASSED = "Benötigte Zeit zum %s: ";
     String SAMPLE_STL_FILEPATH = "./src/main/resources/xyz_cube.stl";
     String EXCEPTION_POLYHEDRON_FACES_IS_NULL = "Faces im Polyeder sind null";
-    String STL_ASCII_SPLIT_NAME_REGEX = "^\\s*solid\\s+(name\\s+)?";
     String DEFAULT_PROGRAM_TITLE = "STL-Viewer";
     String SEPERATOR = ": ";
     String UNITS_CM_2 = " cm²";
@@ -73,6 +154,7 @@ public interface Constants
     int NUMBERS_ZERO = 0;
     int NUMBERS_ONE = 1;
     int NUMBERS_SIX = 6;
+    int NUMBERS_SEVEN = 7;
     int NUMBERS_THREE = 3;
     int TRANSLATE_DEFAULT_VALUE = -800;
     int CAMERA_DEFAULT_DISTANCE = 400;
@@ -91,11 +173,85 @@ public interface Constants
     String INVALID_STL_FILE = "Ungültige .stl-Datei";
     String INVALID_STL_FILE_MESSAGE = "Die Datei %n\"%s\"%n konnte nicht als gültige .stl-Datei " +
             "gelesen werden.%n%nFehlermeldung: %s";
-    Material DEFAULT_MESHVIEW_MATERIAL = new PhongMaterial(Color.DARKGRAY);
 
     String AREA_CALCULATION_PARALLEL = "parallelen Berechnen des Oberflächeninhalts";
     String AREA_CALCULATION_SERIAL = "sequentiellen Berechnen des Oberflächeninhalts";
     String VOLUME_CALCULATION = "Berechnen des Volumens";
+    String GEOMETRY_ANALYSIS = "Analysieren der Geometrie";
+    int PARALLEL_ANALYSIS_THRESHOLD = 1 << 16;
+    int PARALLEL_MIN_GRAIN_SIZE = 1 << 12;
+    int PARALLEL_TASKS_PER_THREAD = 8;
+    double ANALYSIS_VOLUME_EPSILON = 1e-9;
+    String TOPOLOGY_ANALYSIS = "Analysieren der Topologie";
+    String STL_LOADING = "vollständigen Laden der Datei";
+    String STL_PARSING = "Einlesen der Facetten";
+    String MESH_BUILDING = "Aufbauen des Dreiecksnetzes";
+    String MESH_CACHE_LOADING = "Laden aus dem Cache";
+    String MESH_CACHE_STORING = "Ablegen im Cache";
+    String OUTPUT_LOADED_FROM_CACHE = "Die Datei ist unverändert und wird aus dem Cache geladen";
+    String USER_HOME_PROPERTY = "user.home";
+    String MESH_CACHE_DIRECTORY = ".stl-viewer/cache";
+    long MESH_CACHE_MAX_BYTES = 8L << 30;
+    String MESH_CACHE_FILE_SUFFIX = ".mesh";
+    String MESH_CACHE_TEMPORARY_SUFFIX = ".tmp";
+    String MESH_CACHE_HASH_ALGORITHM = "SHA-256";
+    String MESH_CACHE_CORRUPT = "Die Cache-Datei ist beschädigt: ";
+    int MESH_CACHE_MAGIC = 0x48534D53;
+    int MESH_CACHE_VERSION = 3;
+    int MESH_CACHE_HEADER_LENGTH = 112;
+    int MESH_FILE_WRITE_BUFFER_SIZE = 1 << 20;
+    int MESH_FILE_MAPPING_WINDOW_SIZE = 1 << 30;
+    String MESH_FILE_TRUNCATED = "Die Datei endet unerwartet";
+    String MESH_FILE_FORMAT = ".smesh";
+    String MESH_FILE_INVALID = "Die Datei ist keine gültige Netzdatei";
+    String MESH_FILE_READING = "Laden der Netzdatei";
+    int MESH_FILE_MAGIC = 0x4D4C5453;
+    int MESH_FILE_VERSION = 2;
+    int MESH_FILE_FLAG_NORMALS = 1;
+    int MESH_FILE_FLAG_WATERTIGHT = 2;
+    int MESH_FILE_HEADER_LENGTH = 96;
+    int MESH_FILE_ALIGNMENT = 8;
+    String METRIC_SCOPE_SEPARATOR = "/";
+    String METRIC_STL_LOAD = "stl.load";
+    String METRIC_STL_PARSE = "stl.parse";
+    String METRIC_MESH_BUILD = "mesh.build";
+    String METRIC_GEOMETRY_ANALYSIS = "geometry.analysis";
+    String METRIC_TOPOLOGY_ANALYSIS = "topology.analysis";
+    String METRIC_AREA_CALCULATION_PARALLEL = "area.parallel";
+    String METRIC_AREA_CALCULATION_SERIAL = "area.serial";
+    String METRIC_VOLUME_CALCULATION = "volume";
+    String METRIC_STL_FILES = "stl.files";
+    String METRIC_STL_BYTES = "stl.bytes";
+    String METRIC_STL_TRIANGLES = "stl.triangles";
+    String METRIC_STL_BYTES_PER_SECOND = "stl.parse.bytesPerSecond";
+    String METRIC_STL_TRIANGLES_PER_SECOND = "stl.parse.trianglesPerSecond";
+    String METRIC_STL_BUFFERS_REUSED = "stl.buffers.reused";
+    String METRIC_MESH_FILE_READ = "mesh.file.read";
+    String METRIC_MESH_CACHE_LOAD = "mesh.cache.load";
+    String METRIC_MESH_CACHE_STORE = "mesh.cache.store";
+    String METRIC_MESH_CACHE_HITS = "mesh.cache.hits";
+    String METRIC_MESH_CACHE_MISSES = "mesh.cache.misses";
+    String METRIC_MESH_CACHE_ERRORS = "mesh.cache.errors";
+    String METRIC_SERVER_COMMAND = "server.command.";
+    String METRIC_SERVER_COMMANDS = "server.commands";
+    String METRIC_SERVER_CONNECTIONS = "server.connections";
+    String METRIC_SERVER_COMMANDS_PER_FRAME = "server.commands.per.frame";
+    String METRIC_SERVER_BINARY_FRAME = "server.frame.binary";
+    String METRIC_SERVER_BATCHES = "server.batches";
+    String METRIC_SERVER_BATCHES_REJECTED = "server.batches.rejected";
+    String METRIC_SERVER_SUBSCRIPTIONS = "server.subscriptions";
+    String METRIC_SERVER_EVENTS = "server.events";
+    String METRIC_SERVER_EVENTS_CONFLATED = "server.events.conflated";
+    double METRIC_PERCENTILE_MEDIAN = 50.0;
+    double METRIC_PERCENTILE_HIGH = 99.0;
+    double METRIC_PERCENT = 100.0;
+    long NANOS_PER_MILLISECOND = 1_000_000L;
+    long NANOS_PER_SECOND = 1_000_000_000L;
+    String METRIC_DUMP_HEADER = "Metriken:";
+    String METRIC_DUMP_TIMER = "  Timer      %-45s n=%d mittel=%.3f ms p50=%.3f ms p99=%.3f ms max=%.3f ms%n";
+    String METRIC_DUMP_COUNTER = "  Zähler     %-45s %d%n";
+    String METRIC_DUMP_HISTOGRAM = "  Histogramm %-45s n=%d mittel=%.1f p50=%d p99=%d max=%d%n";
+    int TOPOLOGY_GENUS_UNDEFINED = -1;
     String CHECKBOX_SHOW_WIREFRAME_ONLY = "Nur Wireframe anzeigen";
     String CHECKBOX_SHOW_COORDINATE_SYSTEM = "Koordinatensystem anzeigen";
     int SIDEBAR_VBOX_SIZE = 15;
@@ -125,6 +281,9 @@ public interface Constants
     String SIDEBAR_NUMBER_OF_FACES = "Anzahl der Faces";
     String SIDEBAR_SURFACE_AREA = "Oberflächeninhalt";
     String SIDEBAR_VOLUME = "Volumen";
+    String SIDEBAR_LOADING = "Modell wird geladen";
+    String SIDEBAR_CANCEL_LOADING = "Laden abbrechen";
+    double SIDEBAR_LOADING_PROGRESS_WIDTH = 250;
     int TEXTFIELD_MARGIN = 5;
     String STL_VIEWER_ICON_FILEPATH = "/stl_viewer_icon.png";
     int STL_VIEWER_WINDOW_WIDTH = 1200;
@@ -148,22 +307,52 @@ public interface Constants
     String TCP_HOSTNAME = "localhost";
     String CLIENT_CONSOLE_INFO = "Befehl oder exit eingeben";
     String COMMAND_EXIT = "exit";
+    String COMMAND_METRICS = "metrics";
+    String JSON_FIELD_COMMANDS = "commands";
     String CLIENT_INPUT_MESSAGE_SPLIT_REGEX = "\\s+";
     String INVALID_COMMAND = "Der eingegebene Befehl ist ungültig";
     String CONNECTION_CLOSED = "Verbindung wird geschlossen";
     String SERVER_RESPONSE_MESSAGE = "Antwort des Servers: ";
     String SERVER_RUNNING_MESSAGE = "Server läuft auf Port ";
     String SERVER_CONNECTION_FROM = "Verbindung von ";
+    String SERVER_CONNECTION_CLOSED_FROM = "Verbindung beendet: ";
+    String SERVER_ACCEPT_FAILURE = "Fehler beim Annehmen einer Verbindung: ";
+    String SERVER_LINE_SEPARATOR = "\n";
+    int SERVER_CONNECTION_BUFFER_SIZE = 8192;
+    int SERVER_MAX_LINE_LENGTH = 1 << 20;
+    long SERVER_MAX_PENDING_OUTPUT = 1 << 22;
+    byte BINARY_PROTOCOL_MAGIC = (byte) 0xB7;
+    byte BINARY_FRAME_COMMANDS = 1;
+    byte BINARY_FRAME_COMMANDS_NO_ACK = 2;
+    byte BINARY_FRAME_ACK = 3;
+    byte BINARY_FRAME_BATCH = 4;
+    byte BINARY_FRAME_BATCH_ACK = 5;
+    byte BINARY_FRAME_BATCH_NACK = 6;
+    int BINARY_FRAME_HEADER_LENGTH = 3;
+    int BINARY_BATCH_HEADER_LENGTH = 11;
+    int BINARY_BATCH_ACK_LENGTH = 9;
+    int BINARY_COMMAND_LENGTH = 10;
+    int BINARY_ACK_LENGTH = 5;
+    int BINARY_MAX_COMMANDS_PER_FRAME = 0xFFFF;
+    String BINARY_TOO_MANY_COMMANDS = "Ein Frame kann höchstens 65535 Befehle enthalten";
+    String BINARY_UNKNOWN_FRAME = "Unbekannter Frame-Typ im Binärprotokoll";
     String COMMAND_EXECUTED = "Befehl wurde ausgeführt";
     String COMMAND_ROTATE = "ROTATE";
     String COMMAND_TRANSLATE = "TRANSLATE";
+    String COMMAND_SET_POSE = "SET_POSE";
+    String COMMAND_GET_POSE = "GET_POSE";
+    String COMMAND_GET_STATS = "GET_STATS";
+    String COMMAND_LOAD = "LOAD";
+    String COMMAND_SUBSCRIBE = "SUBSCRIBE";
     double X_DEFAULT_TRANSLATION_FACTOR = 0.1;
     double Y_DEFAULT_TRANSLATION_FACTOR = 0.1;
     double CAMERA_DEFAULT_Y = 50;
     String CLIENT_START_INFO = "Client gestartet:\nVerbunden mit Server " + ColorCodes.BLUE
             + "%s:%s" + ColorCodes.RESET;
     String COMMAND_SYNTAX = "Befehlssyntax: " + ColorCodes.PURPLE +
-            "\n[Aktion (translate; rotate)]\n[Achse (X; Y; Z)]\n[Wert (Zahl)]" + ColorCodes.RESET;
+            "\n[Aktion (translate; rotate)]\n[Achse (X; Y; Z)]\n[Wert (Zahl)]"
+            + "\noder 'metrics' für die Metriken des Servers"
+            + "\noder 'set_pose rx ry rz tx ty tz', 'get_pose', 'get_stats', 'load [Pfad]'" + ColorCodes.RESET;
     int STL_VIEWER_WINDOW_MIN_WIDTH = 900;
     int STL_VIEWER_WINDOW_MIN_HEIGHT = 700;
     String PROGRAM_INSTRUCTIONS = "Kurzanleitung";
@@ -172,6 +361,11 @@ public interface Constants
             + ColorCodes.RESET + ", womit es sich um einen %s Polyeder handelt.";
     String POLYEDER_EULER_CLOSED = "geschlossenen";
     String POLYEDER_EULER_OPEN = "offenen";
+    String POLYEDER_TOPOLOGY_INFORMATION = "Topologie: " + ColorCodes.GREEN + "%d" + ColorCodes.RESET +
+            " Randkanten, " + ColorCodes.GREEN + "%d" + ColorCodes.RESET + " nicht-mannigfaltige Kanten, " +
+            ColorCodes.GREEN + "%d" + ColorCodes.RESET + " inkonsistent orientierte Kanten, " + ColorCodes.GREEN +
+            "%d" + ColorCodes.RESET + " Schale(n), Geschlecht " + ColorCodes.GREEN + "%s" + ColorCodes.RESET;
+    String POLYEDER_TOPOLOGY_GENUS_UNDEFINED = "nicht definiert";
     String EXCEPTION_ROUND_PLACES_LOWER_THAN_ZERO = "Der gerundete Wert darf nicht kleiner als Null sein";
     int ROUND_VALUE_PLACES = 3;
     String PROGRAM_INSTRUCTIONS_TEXT = "1. Über das Menü 'Datei' lässt sich eine STL-Datei öffnen: " +
@@ -187,5 +381,6 @@ public interface Constants
     double INSTRUCTIONS_TEXTAREA_WIDTH = 450;
     double INSTRUCTIONS_TEXTAREA_HEIGHT = 230;
     String ERROR_READING_COMMAND = "Fehler beim Einlesen des übergebenen Befehls";
+    String ERROR_HANDLING_COMMAND = "Fehler beim Ausführen eines Befehls, die Verbindung wird geschlossen: ";
     String ERROR_CLOSING_SOCKET = "Fehler beim Schließen des Sockets";
 }
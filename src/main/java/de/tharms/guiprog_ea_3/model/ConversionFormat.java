@@ -0,0 +1,11 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Enum zur Darstellung der Zielformate der Stapelumwandlung: Binär-STL oder das eigene, indizierte Netzformat
+ * ({@link Constants#MESH_FILE_FORMAT}).
+ */
+public enum ConversionFormat
+{
+    STL,
+    SMESH;
+}
@@ -0,0 +1,73 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Ergebnis der Umwandlung einer einzelnen STL-Datei in das Binärformat. Liegt die Datei bereits im Binärformat vor,
+ * ist {@code converted} {@code false}; konnte sie nicht umgewandelt werden, ist zusätzlich {@code error} gesetzt.
+ */
+public class ConversionResult
+{
+    public String source;
+    public String target;
+    public boolean converted;
+    public int numberOfTriangles;
+    public long sourceBytes;
+    public long targetBytes;
+    public long millis;
+    public String error;
+
+    /**
+     * Erzeugt das Ergebnis einer erfolgreichen Umwandlung oder einer übersprungenen Binärdatei.
+     *
+     * @param source Der Pfad der Quelldatei.
+     * @param target Der Pfad der Zieldatei.
+     * @param converted {@code true}, wenn die Datei umgewandelt wurde.
+     * @param numberOfTriangles Die Anzahl der geschriebenen Dreiecke.
+     * @param sourceBytes Die Größe der Quelldatei in Bytes.
+     * @param targetBytes Die Größe der Zieldatei in Bytes.
+     * @param millis Die benötigte Zeit in Millisekunden.
+     * @Vorbedingung source und target dürfen nicht null sein.
+     * @Nachbedingung error ist null.
+     */
+    public ConversionResult(String source, String target, boolean converted, int numberOfTriangles, long sourceBytes,
+                            long targetBytes, long millis)
+    {
+        this.source = source;
+        this.target = target;
+        this.converted = converted;
+        this.numberOfTriangles = numberOfTriangles;
+        this.sourceBytes = sourceBytes;
+        this.targetBytes = targetBytes;
+        this.millis = millis;
+    }
+
+    /**
+     * Erzeugt das Ergebnis einer fehlgeschlagenen Umwandlung.
+     *
+     * @param source Der Pfad der Quelldatei.
+     * @param error Die Fehlermeldung.
+     * @param millis Die bis zum Fehler benötigte Zeit in Millisekunden.
+     * @Vorbedingung source und error dürfen nicht null sein.
+     * @Nachbedingung Nur source, error und millis sind gesetzt.
+     */
+    public ConversionResult(String source, String error, long millis)
+    {
+        this.source = source;
+        this.error = error;
+        this.millis = millis;
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein ConversionResult-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public ConversionResult()
+    {
+    }
+
+    public boolean isFailed()
+    {
+        return error != null;
+    }
+}
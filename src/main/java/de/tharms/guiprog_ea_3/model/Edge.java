@@ -2,6 +2,7 @@ package de.tharms.guiprog_ea_3.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Repräsentiert eine Kante, die zwei {@link Vertex}-Objekte verbindet.
@@ -89,6 +90,10 @@ public class Edge
     @Override
     public int hashCode()
     {
-        return this.start.hashCode() + this.end.hashCode();
+        int startHash = this.start.hashCode();
+        int endHash = this.end.hashCode();
+
+        // Richtungsunabhängig, aber ohne die Kollisionen einer reinen Summe
+        return Objects.hash(Math.min(startHash, endHash), Math.max(startHash, endHash));
     }
 }
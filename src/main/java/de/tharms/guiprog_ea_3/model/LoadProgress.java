@@ -0,0 +1,60 @@
+package de.tharms.guiprog_ea_3.model;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Empfängt den Fortschritt eines Ladevorgangs und teilt ihm mit, ob er abgebrochen werden soll.
+ * Meldungen können aus beliebigen Threads, auch aus mehreren gleichzeitig, eintreffen.
+ */
+public interface LoadProgress
+{
+    /**
+     * Fortschritt, der alle Meldungen verwirft und nie abbricht.
+     */
+    LoadProgress NONE = new LoadProgress()
+    {
+        @Override
+        public void update(LoadStage stage, long workDone, long totalWork)
+        {
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return false;
+        }
+    };
+
+    /**
+     * Meldet den Fortschritt innerhalb einer Ladestufe.
+     *
+     * @param stage Die aktuelle Ladestufe.
+     * @param workDone Der erreichte Umfang, z. B. gelesene Bytes oder eingelesene Facetten.
+     * @param totalWork Der gesamte Umfang oder ein negativer Wert, falls er nicht bekannt ist.
+     * @Vorbedingung stage darf nicht null sein.
+     * @Nachbedingung Keine.
+     */
+    void update(LoadStage stage, long workDone, long totalWork);
+
+    /**
+     * Prüft, ob der Ladevorgang abgebrochen werden soll.
+     *
+     * @return {@code true}, wenn der Ladevorgang abgebrochen wurde.
+     */
+    boolean isCancelled();
+
+    /**
+     * Bricht den aufrufenden Ladevorgang ab, falls ein Abbruch angefordert wurde.
+     *
+     * @throws CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Kehrt nur zurück, wenn kein Abbruch angefordert wurde.
+     */
+    default void checkCancelled()
+    {
+        if (isCancelled())
+        {
+            throw new CancellationException(Constants.LOADING_CANCELLED);
+        }
+    }
+}
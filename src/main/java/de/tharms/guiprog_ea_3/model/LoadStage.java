@@ -0,0 +1,51 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Definiert die Stufen eines Ladevorgangs, über die eine {@link LoadProgress} informiert wird.
+ */
+public enum LoadStage
+{
+    READING_BYTES(Constants.LOAD_STAGE_READING_BYTES),
+    PARSING_FACETS(Constants.LOAD_STAGE_PARSING_FACETS),
+    BUILDING_MESH(Constants.LOAD_STAGE_BUILDING_MESH),
+    ANALYZING(Constants.LOAD_STAGE_ANALYZING),
+    CREATING_VIEW(Constants.LOAD_STAGE_CREATING_VIEW);
+
+    private final String description;
+
+    /**
+     * Legt eine neue Ladestufe mit der zugehörigen Beschreibung an.
+     *
+     * @param description Die Beschreibung der Stufe.
+     * @Vorbedingung description darf nicht null sein.
+     * @Nachbedingung Das Enum-Element enthält die angegebene Beschreibung.
+     */
+    LoadStage(String description)
+    {
+        this.description = description;
+    }
+
+    /**
+     * Erzeugt die Beschreibung der Stufe für einen Fortschrittsstand.
+     *
+     * @param workDone Der erreichte Umfang.
+     * @param totalWork Der gesamte Umfang oder ein negativer Wert, falls er nicht bekannt ist.
+     * @return Die formatierte Beschreibung.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Bei unbekanntem Umfang besteht das Ergebnis nur aus der Beschreibung der Stufe.
+     */
+    public String describe(long workDone, long totalWork)
+    {
+        if (totalWork < 0)
+        {
+            return description;
+        }
+
+        return String.format(Constants.LOAD_PROGRESS_MESSAGE, description, workDone, totalWork);
+    }
+
+    public String getDescription()
+    {
+        return description;
+    }
+}
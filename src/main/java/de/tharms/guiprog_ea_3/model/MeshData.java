@@ -0,0 +1,215 @@
+package de.tharms.guiprog_ea_3.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * Kompakte, primitive Speicherung eines indizierten Dreiecksnetzes (Structure of Arrays).
+ * Die Koordinaten jedes Eckpunkts liegen genau einmal im Positions-Array, die Dreiecke verweisen über einen
+ * Index-Puffer darauf und die Normalen liegen als drei Werte pro Dreieck vor.
+ * Pro Dreieck werden so nur wenige Bytes anstelle eines {@link Face}-Objektgraphen benötigt.
+ */
+public class MeshData
+{
+    float[] positions;
+    int numberOfVertices;
+    int[] indices;
+    float[] normals;
+    int numberOfTriangles;
+
+    /**
+     * Konstruktor für ein {@link MeshData}-Objekt aus bereits befüllten Arrays.
+     *
+     * @param positions Die eindeutigen Eckpunkte, drei Werte (x, y, z) pro Eckpunkt.
+     * @param numberOfVertices Die Anzahl der eindeutigen Eckpunkte.
+     * @param indices Die Eckpunkt-Indizes der Dreiecke, drei Werte pro Dreieck.
+     * @param normals Die Normalen der Dreiecke, drei Werte pro Dreieck.
+     * @param numberOfTriangles Die Anzahl der Dreiecke.
+     * @Vorbedingung Die Arrays sind groß genug für die angegebenen Anzahlen, alle Indizes sind kleiner als
+     * numberOfVertices.
+     * @Nachbedingung Das Netz referenziert die übergebenen Arrays, ohne sie zu kopieren.
+     */
+    public MeshData(float[] positions, int numberOfVertices, int[] indices, float[] normals, int numberOfTriangles)
+    {
+        this.positions = positions;
+        this.numberOfVertices = numberOfVertices;
+        this.indices = indices;
+        this.normals = normals;
+        this.numberOfTriangles = numberOfTriangles;
+    }
+
+    /**
+     * Berechnet den Flächeninhalt eines einzelnen Dreiecks direkt aus den primitiven Koordinaten.
+     *
+     * @param triangle Der Index des Dreiecks.
+     * @return Der Flächeninhalt des Dreiecks.
+     * @Vorbedingung 0 <= triangle < numberOfTriangles.
+     * @Nachbedingung Es wurden keine Objekte erzeugt.
+     */
+    public float calculateTriangleArea(int triangle)
+    {
+        int offset = triangle * Constants.STL_NUMBER_OF_VERTICES;
+        int a = indices[offset] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+        int b = indices[offset + 1] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+        int c = indices[offset + 2] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+        float edge1X = positions[b] - positions[a];
+        float edge1Y = positions[b + 1] - positions[a + 1];
+        float edge1Z = positions[b + 2] - positions[a + 2];
+        float edge2X = positions[c] - positions[a];
+        float edge2Y = positions[c + 1] - positions[a + 1];
+        float edge2Z = positions[c + 2] - positions[a + 2];
+
+        float crossX = edge1Y * edge2Z - edge1Z * edge2Y;
+        float crossY = edge1Z * edge2X - edge1X * edge2Z;
+        float crossZ = edge1X * edge2Y - edge1Y * edge2X;
+
+        return (float) (Constants.NUMBERS_ZERO_DOT_FIVE *
+                Math.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ));
+    }
+
+    /**
+     * Berechnet das vorzeichenbehaftete Volumen des Tetraeders aus Ursprung und Dreieck.
+     *
+     * @param triangle Der Index des Dreiecks.
+     * @return Das vorzeichenbehaftete Teilvolumen.
+     * @Vorbedingung 0 <= triangle < numberOfTriangles.
+     * @Nachbedingung Es wurden keine Objekte erzeugt.
+     */
+    public float calculateSignedVolume(int triangle)
+    {
+        int offset = triangle * Constants.STL_NUMBER_OF_VERTICES;
+        int a = indices[offset] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+        int b = indices[offset + 1] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+        int c = indices[offset + 2] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+        float ax = positions[a], ay = positions[a + 1], az = positions[a + 2];
+        float bx = positions[b], by = positions[b + 1], bz = positions[b + 2];
+        float cx = positions[c], cy = positions[c + 1], cz = positions[c + 2];
+
+        return (ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx))
+                / Constants.TETRAHEDRON_VOLUME_FACTOR;
+    }
+
+    /**
+     * Erzeugt ein {@link Vertex}-Objekt für einen eindeutigen Eckpunkt.
+     *
+     * @param vertex Der Index des Eckpunkts.
+     * @return Ein neuer {@link Vertex} mit den Koordinaten des Eckpunkts.
+     * @Vorbedingung 0 <= vertex < numberOfVertices.
+     * @Nachbedingung Der zurückgegebene Vertex ist unabhängig von den primitiven Arrays.
+     */
+    public Vertex createVertex(int vertex)
+    {
+        int offset = vertex * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+        return new Vertex(positions[offset], positions[offset + 1], positions[offset + 2]);
+    }
+
+    /**
+     * Erzeugt ein {@link Face}-Objekt für ein einzelnes Dreieck.
+     *
+     * @param triangle Der Index des Dreiecks.
+     * @return Ein neues {@link Face} mit {@link Triangle} und Normale.
+     * @Vorbedingung 0 <= triangle < numberOfTriangles.
+     * @Nachbedingung Das zurückgegebene Face ist unabhängig von den primitiven Arrays.
+     */
+    public Face createFace(int triangle)
+    {
+        int offset = triangle * Constants.STL_NUMBER_OF_VERTICES;
+        int normalOffset = triangle * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+
+        return new Face(
+                new Triangle(
+                        createVertex(indices[offset]),
+                        createVertex(indices[offset + 1]),
+                        createVertex(indices[offset + 2])),
+                new Vector3D(normals[normalOffset], normals[normalOffset + 1], normals[normalOffset + 2]));
+    }
+
+    /**
+     * Liefert eine Listen-Sicht auf die Dreiecke, deren {@link Face}-Objekte erst beim Zugriff erzeugt werden.
+     *
+     * @return Eine unveränderliche Liste mit wahlfreiem Zugriff.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Es werden keine Faces im Voraus erzeugt oder zwischengespeichert.
+     */
+    public List<Face> asFaceList()
+    {
+        return new LazyListView<>(numberOfTriangles, this::createFace);
+    }
+
+    /**
+     * Liefert eine Listen-Sicht auf die eindeutigen Eckpunkte, deren {@link Vertex}-Objekte erst beim Zugriff
+     * erzeugt werden.
+     *
+     * @return Eine unveränderliche Liste mit wahlfreiem Zugriff.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Es werden keine Vertices im Voraus erzeugt oder zwischengespeichert.
+     */
+    public List<Vertex> asVertexList()
+    {
+        return new LazyListView<>(numberOfVertices, this::createVertex);
+    }
+
+    public float[] getPositions()
+    {
+        return positions;
+    }
+
+    public int getNumberOfVertices()
+    {
+        return numberOfVertices;
+    }
+
+    public int[] getIndices()
+    {
+        return indices;
+    }
+
+    public float[] getNormals()
+    {
+        return normals;
+    }
+
+    public int getNumberOfTriangles()
+    {
+        return numberOfTriangles;
+    }
+
+    /**
+     * Nur-Lese-Sicht, die für jeden Zugriff ein neues Element aus den primitiven Arrays erzeugt.
+     *
+     * @param <T> Der Typ der erzeugten Elemente.
+     */
+    private static class LazyListView<T> extends AbstractList<T> implements RandomAccess
+    {
+        private final int size;
+        private final IntFunction<T> factory;
+
+        LazyListView(int size, IntFunction<T> factory)
+        {
+            this.size = size;
+            this.factory = factory;
+        }
+
+        @Override
+        public T get(int index)
+        {
+            if (index < 0 || index >= size)
+            {
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            return factory.apply(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+    }
+}
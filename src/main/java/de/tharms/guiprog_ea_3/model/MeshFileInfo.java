@@ -0,0 +1,42 @@
+package de.tharms.guiprog_ea_3.model;
+
+import de.tharms.guiprog_ea_3.utility.Mathmatics;
+
+/**
+ * Inhalt des Kopfes einer Netzdatei im eigenen Format ({@link Constants#MESH_FILE_FORMAT}). Die Kennwerte wurden
+ * beim Schreiben vorberechnet und können gelesen werden, ohne das Dreiecksnetz selbst zu laden.
+ */
+public class MeshFileInfo
+{
+    public String name;
+    public int numberOfVertices;
+    public int numberOfTriangles;
+    public int numberOfEdges;
+    public boolean hasNormals;
+    public boolean watertight;
+    public double surfaceArea;
+    public double signedVolume;
+    public float[] boundsMin;
+    public float[] boundsMax;
+    public double[] centroid;
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein MeshFileInfo-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public MeshFileInfo()
+    {
+    }
+
+    /**
+     * Berechnet die Euler-Charakteristik V - E + F aus den gespeicherten Anzahlen.
+     *
+     * @return Der Wert der Euler-Charakteristik.
+     */
+    public int getEulerCharacteristic()
+    {
+        return Mathmatics.calculateEulerCharacteristics(numberOfVertices, numberOfEdges, numberOfTriangles);
+    }
+}
@@ -0,0 +1,114 @@
+package de.tharms.guiprog_ea_3.model;
+
+import de.tharms.guiprog_ea_3.utility.Mathmatics;
+
+/**
+ * Enthält die Kennwerte eines Dreiecksnetzes, die in einem einzigen Durchlauf über alle Dreiecke ermittelt wurden:
+ * Oberfläche, vorzeichenbehaftetes Volumen, Bounding Box, Schwerpunkt sowie die Anzahl der Ecken, Kanten und
+ * Flächen. Kantenanzahl und Geschlossenheit stammen aus der {@link MeshTopology} und bleiben so auch ohne sie
+ * verfügbar, z. B. nach dem Laden aus einem Cache.
+ */
+public class MeshStatistics
+{
+    final double surfaceArea;
+    final double signedVolume;
+    final float[] boundsMin;
+    final float[] boundsMax;
+    final double[] centroid;
+    final int numberOfVertices;
+    final int numberOfEdges;
+    final int numberOfFaces;
+    final boolean watertight;
+
+    /**
+     * Erzeugt ein unveränderliches {@link MeshStatistics}-Objekt.
+     *
+     * @param surfaceArea Die Oberfläche des Netzes.
+     * @param signedVolume Das vorzeichenbehaftete Volumen des Netzes.
+     * @param boundsMin Die minimalen Koordinaten (x, y, z) der Bounding Box.
+     * @param boundsMax Die maximalen Koordinaten (x, y, z) der Bounding Box.
+     * @param centroid Der Schwerpunkt (x, y, z) des Netzes.
+     * @param numberOfVertices Die Anzahl der eindeutigen Ecken.
+     * @param numberOfEdges Die Anzahl der eindeutigen Kanten.
+     * @param numberOfFaces Die Anzahl der Flächen.
+     * @param watertight {@code true}, wenn jede Kante an genau zwei Flächen grenzt.
+     * @Vorbedingung Die Koordinaten-Arrays enthalten jeweils drei Werte.
+     * @Nachbedingung Die Kennwerte sind gesetzt; die Arrays werden nicht kopiert.
+     */
+    public MeshStatistics(double surfaceArea, double signedVolume, float[] boundsMin, float[] boundsMax,
+                          double[] centroid, int numberOfVertices, int numberOfEdges, int numberOfFaces,
+                          boolean watertight)
+    {
+        this.surfaceArea = surfaceArea;
+        this.signedVolume = signedVolume;
+        this.boundsMin = boundsMin;
+        this.boundsMax = boundsMax;
+        this.centroid = centroid;
+        this.numberOfVertices = numberOfVertices;
+        this.numberOfEdges = numberOfEdges;
+        this.numberOfFaces = numberOfFaces;
+        this.watertight = watertight;
+    }
+
+    /**
+     * Berechnet die Euler-Charakteristik V - E + F aus den gezählten Ecken, Kanten und Flächen.
+     *
+     * @return Der Wert der Euler-Charakteristik.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Es wurde kein Durchlauf über das Netz benötigt.
+     */
+    public int getEulerCharacteristic()
+    {
+        return Mathmatics.calculateEulerCharacteristics(numberOfVertices, numberOfEdges, numberOfFaces);
+    }
+
+    public double getSurfaceArea()
+    {
+        return surfaceArea;
+    }
+
+    public double getSignedVolume()
+    {
+        return signedVolume;
+    }
+
+    public double getVolume()
+    {
+        return Math.abs(signedVolume);
+    }
+
+    public float[] getBoundsMin()
+    {
+        return boundsMin;
+    }
+
+    public float[] getBoundsMax()
+    {
+        return boundsMax;
+    }
+
+    public double[] getCentroid()
+    {
+        return centroid;
+    }
+
+    public int getNumberOfVertices()
+    {
+        return numberOfVertices;
+    }
+
+    public int getNumberOfEdges()
+    {
+        return numberOfEdges;
+    }
+
+    public int getNumberOfFaces()
+    {
+        return numberOfFaces;
+    }
+
+    public boolean isWatertight()
+    {
+        return watertight;
+    }
+}
@@ -0,0 +1,148 @@
+package de.tharms.guiprog_ea_3.model;
+
+import de.tharms.guiprog_ea_3.utility.Mathmatics;
+
+/**
+ * Enthält die topologischen Kennwerte eines Dreiecksnetzes, die aus seiner Kante-zu-Fläche-Adjazenz ermittelt wurden:
+ * Rand- und nicht-mannigfaltige Kanten, inkonsistent orientierte Kanten, Anzahl der Schalen und Randschleifen sowie
+ * das daraus abgeleitete Geschlecht.
+ */
+public class MeshTopology
+{
+    final int numberOfVertices;
+    final int numberOfEdges;
+    final int numberOfFaces;
+    final int[] boundaryEdges;
+    final int[] nonManifoldEdges;
+    final int numberOfInconsistentEdges;
+    final int numberOfShells;
+    final int numberOfBoundaryLoops;
+
+    /**
+     * Erzeugt ein unveränderliches {@link MeshTopology}-Objekt.
+     *
+     * @param numberOfVertices Die Anzahl der eindeutigen Ecken.
+     * @param numberOfEdges Die Anzahl der eindeutigen Kanten.
+     * @param numberOfFaces Die Anzahl der Flächen.
+     * @param boundaryEdges Die Randkanten als Paare von Eckpunkt-Indizes.
+     * @param nonManifoldEdges Die Kanten mit mehr als zwei Flächen als Paare von Eckpunkt-Indizes.
+     * @param numberOfInconsistentEdges Die Anzahl der Kanten, deren zwei Flächen sie in gleicher Richtung durchlaufen.
+     * @param numberOfShells Die Anzahl der über Kanten zusammenhängenden Flächenverbände.
+     * @param numberOfBoundaryLoops Die Anzahl der zusammenhängenden Randkurven.
+     * @Vorbedingung Die Kanten-Arrays haben eine gerade Länge.
+     * @Nachbedingung Die Kennwerte sind gesetzt; die Arrays werden nicht kopiert.
+     */
+    public MeshTopology(int numberOfVertices, int numberOfEdges, int numberOfFaces, int[] boundaryEdges,
+                        int[] nonManifoldEdges, int numberOfInconsistentEdges, int numberOfShells,
+                        int numberOfBoundaryLoops)
+    {
+        this.numberOfVertices = numberOfVertices;
+        this.numberOfEdges = numberOfEdges;
+        this.numberOfFaces = numberOfFaces;
+        this.boundaryEdges = boundaryEdges;
+        this.nonManifoldEdges = nonManifoldEdges;
+        this.numberOfInconsistentEdges = numberOfInconsistentEdges;
+        this.numberOfShells = numberOfShells;
+        this.numberOfBoundaryLoops = numberOfBoundaryLoops;
+    }
+
+    /**
+     * Prüft, ob das Netz wasserdicht ist, also jede Kante an genau zwei Flächen grenzt.
+     *
+     * @return {@code true}, wenn es weder Rand- noch nicht-mannigfaltige Kanten gibt.
+     */
+    public boolean isWatertight()
+    {
+        return boundaryEdges.length == 0 && nonManifoldEdges.length == 0;
+    }
+
+    /**
+     * Prüft, ob jede Kante an höchstens zwei Flächen grenzt.
+     *
+     * @return {@code true}, wenn es keine nicht-mannigfaltigen Kanten gibt.
+     */
+    public boolean isManifold()
+    {
+        return nonManifoldEdges.length == 0;
+    }
+
+    /**
+     * Berechnet die Euler-Charakteristik V - E + F.
+     *
+     * @return Der Wert der Euler-Charakteristik.
+     */
+    public int getEulerCharacteristic()
+    {
+        return Mathmatics.calculateEulerCharacteristics(numberOfVertices, numberOfEdges, numberOfFaces);
+    }
+
+    /**
+     * Berechnet das Geschlecht (Anzahl der Henkel) des Netzes über V - E + F = 2 * (S - g) - b mit der
+     * Schalenanzahl S und der Anzahl der Randschleifen b.
+     *
+     * @return Das Geschlecht oder {@link Constants#TOPOLOGY_GENUS_UNDEFINED}, falls das Netz nicht mannigfaltig ist.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Für orientierbare, mannigfaltige Netze ist das Ergebnis nicht negativ.
+     */
+    public int getGenus()
+    {
+        int twiceGenus = Constants.INDEX_TWO * numberOfShells - numberOfBoundaryLoops - getEulerCharacteristic();
+
+        if (!isManifold() || twiceGenus < 0 || twiceGenus % Constants.INDEX_TWO != 0)
+        {
+            return Constants.TOPOLOGY_GENUS_UNDEFINED;
+        }
+
+        return twiceGenus / Constants.INDEX_TWO;
+    }
+
+    public int getNumberOfVertices()
+    {
+        return numberOfVertices;
+    }
+
+    public int getNumberOfEdges()
+    {
+        return numberOfEdges;
+    }
+
+    public int getNumberOfFaces()
+    {
+        return numberOfFaces;
+    }
+
+    public int[] getBoundaryEdges()
+    {
+        return boundaryEdges;
+    }
+
+    public int getNumberOfBoundaryEdges()
+    {
+        return boundaryEdges.length / Constants.INDEX_TWO;
+    }
+
+    public int[] getNonManifoldEdges()
+    {
+        return nonManifoldEdges;
+    }
+
+    public int getNumberOfNonManifoldEdges()
+    {
+        return nonManifoldEdges.length / Constants.INDEX_TWO;
+    }
+
+    public int getNumberOfInconsistentEdges()
+    {
+        return numberOfInconsistentEdges;
+    }
+
+    public int getNumberOfShells()
+    {
+        return numberOfShells;
+    }
+
+    public int getNumberOfBoundaryLoops()
+    {
+        return numberOfBoundaryLoops;
+    }
+}
@@ -0,0 +1,40 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Kennwerte des aktuell angezeigten {@link Polyhedron}, wie sie der Server auf {@link ServerCommands#GET_STATS}
+ * zurückliefert.
+ */
+public class ModelStatistics
+{
+    public String name;
+    public int numberOfFaces;
+    public float surfaceArea;
+    public float volume;
+    public int eulerCharacteristic;
+
+    /**
+     * Übernimmt die bereits beim Laden berechneten Kennwerte eines Polyeders.
+     *
+     * @param polyhedron Das angezeigte Polyeder.
+     * @Vorbedingung polyhedron und seine {@link MeshStatistics} dürfen nicht null sein.
+     * @Nachbedingung Die Kennwerte sind gesetzt, ohne das Dreiecksnetz erneut zu durchlaufen.
+     */
+    public ModelStatistics(Polyhedron polyhedron)
+    {
+        this.name = polyhedron.getName();
+        this.numberOfFaces = polyhedron.getStatistics().getNumberOfFaces();
+        this.surfaceArea = polyhedron.getSurfaceArea();
+        this.volume = polyhedron.getVolume();
+        this.eulerCharacteristic = polyhedron.getStatistics().getEulerCharacteristic();
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein ModelStatistics-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public ModelStatistics()
+    {
+    }
+}
@@ -0,0 +1,10 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Enum zur Darstellung der Ausgabeformate der Stapelanalyse: eine CSV-Zeile oder ein JSON-Objekt pro Datei.
+ */
+public enum OutputFormat
+{
+    CSV,
+    JSON;
+}
@@ -2,66 +2,154 @@ package de.tharms.guiprog_ea_3.model;
 
 import de.tharms.guiprog_ea_3.controller.PolyhedronController;
 import de.tharms.guiprog_ea_3.utility.Mathmatics;
+import de.tharms.guiprog_ea_3.utility.MeshBuilder;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Repräsentiert ein Polyeder, das aus einer Liste aus {@link Face}-Objekten, einem Namen, und seinem Flächeninhalt
- * und Volumen besteht.
+ * Repräsentiert ein Polyeder, das aus einem primitiven, indizierten Dreiecksnetz ({@link MeshData}), einem Namen,
+ * und seinem Flächeninhalt und Volumen besteht. Die {@link Face}- und {@link Vertex}-Objekte werden nur noch als
+ * Sicht auf das Netz bei Bedarf erzeugt.
  */
 public class Polyhedron
 {
-    List<Face> faces;
+    MeshData meshData;
+    MeshStatistics statistics;
+    MeshTopology topology;
+    float[] triangleAreas;
     float surfaceArea;
     float volume;
     String name;
 
     /**
      * Konstruktor für ein {@link Polyhedron}-Objekt mit den gegebenen Flächen und dem Namen.
-     * Berechnet dabei automatisch Oberfläche und Volumen.
+     * Die Flächen werden in ein indiziertes {@link MeshData} überführt; dabei werden Oberfläche und Volumen
+     * automatisch berechnet.
      *
      * @param faces Die Liste der {@link Face}-Objekte, aus denen das Polyeder besteht.
      * @param name Der Name des Polyeders.
      * @Vorbedingung faces und name dürfen nicht null sein.
-     * @Nachbedingung Die Felder faces, surfaceArea und volume wurden gesetzt; name ist initialisiert.
+     * @Nachbedingung Die Felder meshData, surfaceArea und volume wurden gesetzt; name ist initialisiert.
      */
     public Polyhedron(List<Face> faces, String name)
     {
-        this.faces = faces;
-        this.surfaceArea = Mathmatics.roundValue(PolyhedronController.calculateSurfaceArea(this),
-                Constants.ROUND_VALUE_PLACES);
-        this.volume = Mathmatics.roundValue(PolyhedronController.calculateVolume(this),
-                Constants.ROUND_VALUE_PLACES);
+        this(MeshBuilder.createMeshData(faces), name);
+    }
+
+    /**
+     * Konstruktor für ein {@link Polyhedron}-Objekt, dessen Dreiecke primitiv in einem {@link MeshData} vorliegen.
+     * Die {@link MeshTopology} wird einmal ermittelt und liefert die Kantenanzahl; Oberfläche, Volumen und alle
+     * weiteren {@link MeshStatistics} werden in einem einzigen Durchlauf über die Dreiecke berechnet, ohne
+     * {@link Face}-Objekte zu erzeugen.
+     *
+     * @param meshData Die primitiven Dreiecksdaten des Polyeders.
+     * @param name Der Name des Polyeders.
+     * @Vorbedingung meshData und name dürfen nicht null sein.
+     * @Nachbedingung Die Felder meshData, statistics, topology, surfaceArea und volume wurden gesetzt; name ist
+     * initialisiert.
+     */
+    public Polyhedron(MeshData meshData, String name)
+    {
+        this(meshData, PolyhedronController.analyzeTopology(meshData), name);
+    }
+
+    /**
+     * Konstruktor für ein {@link Polyhedron}-Objekt, dessen Topologie bereits ermittelt wurde.
+     */
+    private Polyhedron(MeshData meshData, MeshTopology topology, String name)
+    {
+        this(meshData, PolyhedronController.analyzeGeometry(meshData, topology), name);
+        this.topology = topology;
+    }
+
+    /**
+     * Konstruktor für ein {@link Polyhedron}-Objekt, dessen {@link MeshStatistics} bereits vorliegen, z. B. aus
+     * einem Cache. Es wird kein Durchlauf über die Dreiecke ausgeführt; die Topologie wird erst bei Bedarf ermittelt.
+     *
+     * @param meshData Die primitiven Dreiecksdaten des Polyeders.
+     * @param statistics Die zu meshData gehörenden Kennwerte.
+     * @param name Der Name des Polyeders.
+     * @Vorbedingung meshData, statistics und name dürfen nicht null sein.
+     * @Nachbedingung Die Felder meshData, statistics, surfaceArea und volume wurden gesetzt; name ist initialisiert.
+     */
+    public Polyhedron(MeshData meshData, MeshStatistics statistics, String name)
+    {
+        this.meshData = meshData;
+        this.statistics = statistics;
+        this.surfaceArea = Mathmatics.roundValue((float) statistics.getSurfaceArea(), Constants.ROUND_VALUE_PLACES);
+        this.volume = Mathmatics.roundValue((float) statistics.getVolume(), Constants.ROUND_VALUE_PLACES);
         this.name = name;
     }
 
+    /**
+     * Liefert die Flächen des Polyeders als Sicht auf das Dreiecksnetz.
+     * Jeder Zugriff erzeugt ein neues {@link Face}-Objekt; die Sicht selbst belegt keinen zusätzlichen Speicher.
+     *
+     * @return Eine unveränderliche Liste der Flächen.
+     * @Vorbedingung meshData ist nicht null.
+     * @Nachbedingung Die Liste enthält ein Face pro Dreieck in Reihenfolge des Index-Puffers.
+     */
     public List<Face> getFaces()
     {
-        return faces;
+        return meshData.asFaceList();
     }
 
     /**
-     * Ermittelt alle {@link Vertex}-Objekte aus den Kanten aller Flächen des Polyeders.
-     * Fügt alle Vertices jeder Kante zur Rückgabeliste hinzu.
+     * Ermittelt alle eindeutigen {@link Vertex}-Objekte des Polyeders als Sicht auf das Dreiecksnetz.
      *
-     * @return Eine Liste aller {@link Vertex}-Objekte aus den Kanten aller Flächen.
-     * @Vorbedingung Die interne Liste "faces" und deren Polygone mit Kanten dürfen nicht null sein.
-     * @Nachbedingung Die zurückgegebene Liste enthält alle Vertices aller Kanten in der Reihenfolge des Durchlaufs.
+     * @return Eine unveränderliche Liste aller eindeutigen Eckpunkte.
+     * @Vorbedingung meshData ist nicht null.
+     * @Nachbedingung Die Liste enthält jeden Eckpunkt genau einmal, in Reihenfolge des Positions-Arrays.
      */
     public List<Vertex> getVertices()
     {
-        List<Vertex> vertices = new ArrayList<Vertex>();
+        return meshData.asVertexList();
+    }
+
+    public MeshData getMeshData()
+    {
+        return meshData;
+    }
 
-        for (Face face : faces)
+    public MeshStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    /**
+     * Liefert die {@link MeshTopology} des Polyeders. Sie wird beim Analysieren des Dreiecksnetzes mit ermittelt,
+     * bei aus einem Cache geladenen Polyedern erst beim ersten Zugriff, und danach wiederverwendet.
+     *
+     * @return Die topologischen Kennwerte des Dreiecksnetzes.
+     * @Vorbedingung meshData ist nicht null.
+     * @Nachbedingung Die Topologie wurde höchstens einmal berechnet.
+     */
+    public synchronized MeshTopology getTopology()
+    {
+        if (topology == null)
+        {
+            topology = PolyhedronController.analyzeTopology(meshData);
+        }
+
+        return topology;
+    }
+
+    /**
+     * Liefert die Flächen der einzelnen Dreiecke. Sie werden erst beim ersten Zugriff, z. B. zum Sortieren,
+     * berechnet und danach wiederverwendet.
+     *
+     * @return Die Flächen in Reihenfolge des Index-Puffers.
+     * @Vorbedingung meshData ist nicht null.
+     * @Nachbedingung Die Flächen wurden höchstens einmal berechnet.
+     */
+    public synchronized float[] getTriangleAreas()
+    {
+        if (triangleAreas == null)
         {
-            for (Edge edge : face.getPolygon().getEdges())
-            {
-                vertices.addAll(edge.getVertices());
-            }
+            triangleAreas = PolyhedronController.calculateTriangleAreas(meshData);
         }
 
-        return vertices;
+        return triangleAreas;
     }
 
     public float getSurfaceArea()
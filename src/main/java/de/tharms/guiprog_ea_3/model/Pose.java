@@ -0,0 +1,48 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Repräsentiert die absolute Lage des Modells: die Rotationswinkel (in Grad) um die drei Achsen und die
+ * Verschiebung entlang der drei Achsen.
+ */
+public class Pose
+{
+    public double rotateX;
+    public double rotateY;
+    public double rotateZ;
+    public double translateX;
+    public double translateY;
+    public double translateZ;
+
+    /**
+     * Erzeugt eine neue Lage mit den angegebenen Werten.
+     *
+     * @param rotateX Der Winkel um die X-Achse.
+     * @param rotateY Der Winkel um die Y-Achse.
+     * @param rotateZ Der Winkel um die Z-Achse.
+     * @param translateX Die Verschiebung entlang der X-Achse.
+     * @param translateY Die Verschiebung entlang der Y-Achse.
+     * @param translateZ Die Verschiebung entlang der Z-Achse.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Lage ist mit den übergebenen Feldern initialisiert.
+     */
+    public Pose(double rotateX, double rotateY, double rotateZ,
+                double translateX, double translateY, double translateZ)
+    {
+        this.rotateX = rotateX;
+        this.rotateY = rotateY;
+        this.rotateZ = rotateZ;
+        this.translateX = translateX;
+        this.translateY = translateY;
+        this.translateZ = translateZ;
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein Pose-Objekt ist erstellt, alle Werte sind 0.
+     */
+    public Pose()
+    {
+    }
+}
@@ -1,30 +1,71 @@
 package de.tharms.guiprog_ea_3.model;
 
 /**
- * Definiert die vom Server unterstützten Befehle für Modelltransformationen oder Programmende.
+ * Definiert die vom Server unterstützten Befehle für Modelltransformationen, Abfragen des Modellzustands oder
+ * Programmende. Befehle mit dem Code 0 werden nur im JSON-Protokoll unterstützt.
  */
 public enum ServerCommands
 {
-    ROTATE(Constants.COMMAND_ROTATE),
-    TRANSLATE(Constants.COMMAND_TRANSLATE),
-    EXIT(Constants.COMMAND_EXIT);
+    ROTATE(Constants.COMMAND_ROTATE, 1),
+    TRANSLATE(Constants.COMMAND_TRANSLATE, 2),
+    EXIT(Constants.COMMAND_EXIT, 3),
+    METRICS(Constants.COMMAND_METRICS, 4),
+    SET_POSE(Constants.COMMAND_SET_POSE, 0),
+    GET_POSE(Constants.COMMAND_GET_POSE, 0),
+    GET_STATS(Constants.COMMAND_GET_STATS, 0),
+    LOAD(Constants.COMMAND_LOAD, 0),
+    SUBSCRIBE(Constants.COMMAND_SUBSCRIBE, 0);
+
+    private static final ServerCommands[] BY_CODE = new ServerCommands[Byte.MAX_VALUE + 1];
+
+    static
+    {
+        for (ServerCommands serverCommand : values())
+        {
+            if (serverCommand.code > 0)
+            {
+                BY_CODE[serverCommand.code] = serverCommand;
+            }
+        }
+    }
 
     private final String command;
+    private final byte code;
 
     /**
-     * Legt einen neuen ServerCommand mit dem zugehörigen String-Repräsentanten an.
+     * Legt einen neuen ServerCommand mit dem zugehörigen String-Repräsentanten und Binärcode an.
      *
      * @param command Der String, mit dem dieser Befehl identifiziert wird.
-     * @Vorbedingung command darf nicht null sein.
+     * @param code Der Code, mit dem dieser Befehl im Binärprotokoll übertragen wird.
+     * @Vorbedingung command darf nicht null sein, code ist 0 oder eindeutig und liegt in [1, 127].
      * @Nachbedingung Das Enum-Element enthält den angegebenen String in der {@code command}-Variable.
      */
-    ServerCommands(String command)
+    ServerCommands(String command, int code)
     {
         this.command = command;
+        this.code = (byte) code;
+    }
+
+    /**
+     * Liefert den ServerCommand zu einem Code des Binärprotokolls.
+     *
+     * @param code Der empfangene Code.
+     * @return Der zugehörige ServerCommand oder {@code null}, falls der Code unbekannt ist.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Keine.
+     */
+    public static ServerCommands fromCode(byte code)
+    {
+        return code > 0 ? BY_CODE[code] : null;
     }
 
     public String getCommand()
     {
         return command;
     }
+
+    public byte getCode()
+    {
+        return code;
+    }
 }
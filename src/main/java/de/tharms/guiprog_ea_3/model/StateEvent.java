@@ -0,0 +1,38 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Zustandsänderung des Viewers, die der Server an alle Verbindungen sendet, die
+ * {@link ServerCommands#SUBSCRIBE} ausgeführt haben.
+ */
+public class StateEvent
+{
+    public StateEventType event;
+    public Pose pose;
+    public ModelStatistics statistics;
+
+    /**
+     * Erzeugt eine neue Zustandsänderung.
+     *
+     * @param event Die Art der Änderung.
+     * @param pose Die Lage des Modells zum Zeitpunkt der Änderung.
+     * @param statistics Die Kennwerte des angezeigten Modells oder {@code null}, falls sie nicht übertragen werden.
+     * @Vorbedingung event und pose dürfen nicht null sein.
+     * @Nachbedingung Die Zustandsänderung ist mit den übergebenen Feldern initialisiert.
+     */
+    public StateEvent(StateEventType event, Pose pose, ModelStatistics statistics)
+    {
+        this.event = event;
+        this.pose = pose;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Standard-Konstruktor für Serialisierung und Deserialisierung.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ein StateEvent-Objekt ist erstellt, Felder sind auf Default-Werte gesetzt.
+     */
+    public StateEvent()
+    {
+    }
+}
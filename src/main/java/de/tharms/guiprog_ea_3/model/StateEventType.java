@@ -0,0 +1,11 @@
+package de.tharms.guiprog_ea_3.model;
+
+/**
+ * Enum zur Darstellung der Zustandsänderungen, die der Server an Abonnenten sendet: eine geänderte Lage des
+ * Modells (POSE) oder ein neu angezeigtes Modell (MODEL).
+ */
+public enum StateEventType
+{
+    POSE,
+    MODEL;
+}
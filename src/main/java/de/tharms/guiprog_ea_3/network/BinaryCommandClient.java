@@ -0,0 +1,135 @@
+package de.tharms.guiprog_ea_3.network;
+
+import de.tharms.guiprog_ea_3.model.BatchAcknowledgement;
+import de.tharms.guiprog_ea_3.model.Command;
+import de.tharms.guiprog_ea_3.model.CommandBatch;
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Client für das {@link BinaryProtocol}, mit dem z. B. Bewegungssteuerungen Commands mit hoher Rate an den
+ * {@link Server} senden. Mehrere Commands werden als ein Frame übertragen; ohne Bestätigung kann der Client
+ * beliebig viele Frames senden, ohne auf den Server zu warten.
+ */
+public class BinaryCommandClient implements AutoCloseable
+{
+    private final Socket socket;
+    private final OutputStream output;
+    private final DataInputStream input;
+
+    /**
+     * Verbindet sich mit dem Server und wählt das Binärprotokoll.
+     *
+     * @param host Hostname oder IP-Adresse des Servers.
+     * @param port Port, auf dem der Server lauscht.
+     * @throws IOException Wenn die Verbindung nicht aufgebaut werden kann.
+     * @Vorbedingung host darf nicht null sein, port liegt im gültigen Bereich.
+     * @Nachbedingung Die Verbindung ist geöffnet und das Magic-Byte gesendet.
+     */
+    public BinaryCommandClient(String host, int port) throws IOException
+    {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.output = new BufferedOutputStream(socket.getOutputStream(), Constants.SERVER_CONNECTION_BUFFER_SIZE);
+        this.input = new DataInputStream(socket.getInputStream());
+
+        output.write(Constants.BINARY_PROTOCOL_MAGIC);
+    }
+
+    /**
+     * Sendet Commands als einen Frame.
+     *
+     * @param commands Die zu sendenden Commands.
+     * @param acknowledge {@code true}, wenn der Server den Frame bestätigen soll; die Bestätigung muss dann mit
+     *                    {@link #receiveAck()} gelesen werden.
+     * @throws IOException Wenn nicht gesendet werden kann.
+     * @Vorbedingung commands enthält höchstens {@link Constants#BINARY_MAX_COMMANDS_PER_FRAME} Commands.
+     * @Nachbedingung Der Frame wurde an den Server übergeben.
+     */
+    public void sendCommands(List<Command> commands, boolean acknowledge) throws IOException
+    {
+        ByteBuffer frame = BinaryProtocol.encodeCommands(commands, acknowledge);
+        output.write(frame.array(), frame.position(), frame.remaining());
+        output.flush();
+    }
+
+    /**
+     * Sendet einen Batch als einen Frame, ohne auf dessen Bestätigung zu warten. Die Antworten des Servers werden
+     * mit {@link #receiveBatchAcknowledgement()} gelesen.
+     *
+     * @param batch Der zu sendende Batch.
+     * @param flush {@code true}, wenn der Frame sofort gesendet werden soll; sonst werden weitere Frames im
+     *              Puffer gesammelt.
+     * @throws IOException Wenn nicht gesendet werden kann.
+     * @Vorbedingung batch enthält höchstens {@link Constants#BINARY_MAX_COMMANDS_PER_FRAME} Commands.
+     * @Nachbedingung Der Frame wurde an den Server übergeben bzw. gepuffert.
+     */
+    public void sendBatch(CommandBatch batch, boolean flush) throws IOException
+    {
+        ByteBuffer frame = BinaryProtocol.encodeBatch(batch);
+        output.write(frame.array(), frame.position(), frame.remaining());
+
+        if (flush)
+        {
+            output.flush();
+        }
+    }
+
+    /**
+     * Liest die nächste Antwort des Servers auf gesendete Batches.
+     *
+     * @return Die kumulative Bestätigung oder die Ablehnung eines einzelnen Batches.
+     * @throws IOException Wenn nicht gelesen werden kann oder keine Batch-Antwort empfangen wurde.
+     * @Vorbedingung Mindestens ein Batch wurde gesendet und noch nicht bestätigt.
+     * @Nachbedingung Die Antwort wurde vollständig gelesen.
+     */
+    public BatchAcknowledgement receiveBatchAcknowledgement() throws IOException
+    {
+        byte type = input.readByte();
+
+        if (type != Constants.BINARY_FRAME_BATCH_ACK && type != Constants.BINARY_FRAME_BATCH_NACK)
+        {
+            throw new IOException(Constants.BINARY_UNKNOWN_FRAME);
+        }
+
+        return new BatchAcknowledgement(input.readLong(), type == Constants.BINARY_FRAME_BATCH_NACK);
+    }
+
+    /**
+     * Liest die nächste Bestätigung des Servers.
+     *
+     * @return Die Anzahl der ausgeführten Commands des bestätigten Frames.
+     * @throws IOException Wenn nicht gelesen werden kann oder keine Bestätigung empfangen wurde.
+     * @Vorbedingung Ein Frame mit Bestätigung wurde gesendet und noch nicht bestätigt.
+     * @Nachbedingung Die Bestätigung wurde vollständig gelesen.
+     */
+    public int receiveAck() throws IOException
+    {
+        if (input.readByte() != Constants.BINARY_FRAME_ACK)
+        {
+            throw new IOException(Constants.BINARY_UNKNOWN_FRAME);
+        }
+
+        int executed = input.readUnsignedShort();
+        input.readUnsignedShort();
+        return executed;
+    }
+
+    /**
+     * Schließt die Verbindung zum Server.
+     *
+     * @throws IOException Wenn die Verbindung nicht geschlossen werden kann.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        socket.close();
+    }
+}
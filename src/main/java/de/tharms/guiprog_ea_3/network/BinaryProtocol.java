@@ -0,0 +1,236 @@
+package de.tharms.guiprog_ea_3.network;
+
+import de.tharms.guiprog_ea_3.model.Axis;
+import de.tharms.guiprog_ea_3.model.BatchAcknowledgement;
+import de.tharms.guiprog_ea_3.model.Command;
+import de.tharms.guiprog_ea_3.model.CommandBatch;
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.ServerCommands;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Kodiert und dekodiert das kompakte Binärprotokoll des {@link Server}. Eine Verbindung wählt es, indem sie als
+ * erstes Byte {@link Constants#BINARY_PROTOCOL_MAGIC} sendet; danach folgen ausschließlich Frames.
+ * Alle Werte werden in Netzwerk-Byte-Reihenfolge (Big Endian) übertragen:
+ * <pre>
+ * Command-Frame:  [Typ: 1 Byte][Anzahl n: 2 Byte, vorzeichenlos][n x (Aktion: 1 Byte, Achse: 1 Byte, Wert: 8 Byte)]
+ * Batch-Frame:    [Typ: 1 Byte][Anzahl n: 2 Byte, vorzeichenlos][Sequenznummer: 8 Byte][n x Command wie oben]
+ * Bestätigung:    [Typ: 1 Byte][ausgeführt: 2 Byte][abgelehnt: 2 Byte]
+ * Batch-Antwort:  [Typ: 1 Byte][Sequenznummer: 8 Byte]
+ * </pre>
+ * Command-Frames vom Typ {@link Constants#BINARY_FRAME_COMMANDS_NO_ACK} werden nicht bestätigt. Batch-Frames werden
+ * entweder vollständig oder gar nicht ausgeführt und kumulativ mit {@link Constants#BINARY_FRAME_BATCH_ACK} bestätigt;
+ * abgelehnte Batches werden zusätzlich einzeln mit {@link Constants#BINARY_FRAME_BATCH_NACK} gemeldet.
+ */
+public class BinaryProtocol
+{
+    private static final Axis[] AXES = Axis.values();
+
+    /**
+     * Kodiert Commands als einen einzigen Frame.
+     *
+     * @param commands Die zu sendenden Commands.
+     * @param acknowledge {@code true}, wenn der Server den Frame bestätigen soll.
+     * @return Ein zum Lesen bereiter Puffer mit dem Frame.
+     * @Vorbedingung commands enthält höchstens {@link Constants#BINARY_MAX_COMMANDS_PER_FRAME} Commands mit
+     * gesetzter action und axis.
+     * @Nachbedingung Der Puffer enthält genau einen Frame.
+     */
+    public static ByteBuffer encodeCommands(List<Command> commands, boolean acknowledge)
+    {
+        if (commands.size() > Constants.BINARY_MAX_COMMANDS_PER_FRAME)
+        {
+            throw new IllegalArgumentException(Constants.BINARY_TOO_MANY_COMMANDS);
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(Constants.BINARY_FRAME_HEADER_LENGTH +
+                commands.size() * Constants.BINARY_COMMAND_LENGTH);
+        frame.put(acknowledge ? Constants.BINARY_FRAME_COMMANDS : Constants.BINARY_FRAME_COMMANDS_NO_ACK);
+        frame.putShort((short) commands.size());
+        putCommands(frame, commands);
+
+        return frame.flip();
+    }
+
+    /**
+     * Kodiert Commands als einen Batch-Frame mit Sequenznummer.
+     *
+     * @param batch Der zu sendende Batch.
+     * @return Ein zum Lesen bereiter Puffer mit dem Frame.
+     * @Vorbedingung batch enthält höchstens {@link Constants#BINARY_MAX_COMMANDS_PER_FRAME} Commands mit
+     * gesetzter action und axis.
+     * @Nachbedingung Der Puffer enthält genau einen Frame.
+     */
+    public static ByteBuffer encodeBatch(CommandBatch batch)
+    {
+        if (batch.commands.size() > Constants.BINARY_MAX_COMMANDS_PER_FRAME)
+        {
+            throw new IllegalArgumentException(Constants.BINARY_TOO_MANY_COMMANDS);
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(Constants.BINARY_BATCH_HEADER_LENGTH +
+                batch.commands.size() * Constants.BINARY_COMMAND_LENGTH);
+        frame.put(Constants.BINARY_FRAME_BATCH);
+        frame.putShort((short) batch.commands.size());
+        frame.putLong(batch.sequence);
+        putCommands(frame, batch.commands);
+
+        return frame.flip();
+    }
+
+    /**
+     * Liefert die Länge des Frames am Anfang des Puffers.
+     *
+     * @param buffer Der Puffer, dessen position auf dem Beginn eines Frames steht.
+     * @return Die Länge des Frames in Bytes oder -1, falls der Kopf noch nicht vollständig empfangen wurde.
+     * @throws IllegalArgumentException Wenn der Frame-Typ unbekannt ist.
+     * @Vorbedingung buffer darf nicht null sein.
+     * @Nachbedingung Die position des Puffers bleibt unverändert.
+     */
+    public static int getFrameLength(ByteBuffer buffer)
+    {
+        if (buffer.remaining() < Constants.BINARY_FRAME_HEADER_LENGTH)
+        {
+            return -1;
+        }
+
+        byte type = buffer.get(buffer.position());
+        int count = Short.toUnsignedInt(buffer.getShort(buffer.position() + 1));
+
+        return getHeaderLength(type) + count * Constants.BINARY_COMMAND_LENGTH;
+    }
+
+    /**
+     * Prüft, ob es sich um einen Batch-Frame mit Sequenznummer handelt.
+     *
+     * @param frame Der vollständige Frame.
+     * @return {@code true}, wenn der Frame ein Batch-Frame ist.
+     */
+    public static boolean isBatch(ByteBuffer frame)
+    {
+        return frame.get(0) == Constants.BINARY_FRAME_BATCH;
+    }
+
+    /**
+     * Liefert die Sequenznummer eines Batch-Frames.
+     *
+     * @param frame Der vollständige Batch-Frame.
+     * @return Die Sequenznummer.
+     * @Vorbedingung {@link #isBatch(ByteBuffer)} liefert {@code true}.
+     */
+    public static long getSequence(ByteBuffer frame)
+    {
+        return frame.getLong(Constants.BINARY_FRAME_HEADER_LENGTH);
+    }
+
+    /**
+     * Prüft, ob ein Frame bestätigt werden soll.
+     *
+     * @param frame Der vollständige Frame.
+     * @return {@code true}, wenn der Absender eine Bestätigung erwartet.
+     */
+    public static boolean isAcknowledged(ByteBuffer frame)
+    {
+        return frame.get(0) == Constants.BINARY_FRAME_COMMANDS;
+    }
+
+    /**
+     * Liefert die Anzahl der Commands eines Frames.
+     *
+     * @param frame Der vollständige Frame.
+     * @return Die Anzahl der Commands.
+     */
+    public static int getNumberOfCommands(ByteBuffer frame)
+    {
+        return Short.toUnsignedInt(frame.getShort(1));
+    }
+
+    /**
+     * Dekodiert einen einzelnen Command eines Frames.
+     *
+     * @param frame Der vollständige Frame, beginnend bei Index 0.
+     * @param index Der Index des Commands innerhalb des Frames.
+     * @return Der Command oder {@code null}, falls Aktion oder Achse unbekannt sind.
+     * @Vorbedingung 0 <= index < {@link #getNumberOfCommands(ByteBuffer)}.
+     * @Nachbedingung Der Frame bleibt unverändert.
+     */
+    public static Command decodeCommand(ByteBuffer frame, int index)
+    {
+        int offset = getHeaderLength(frame.get(0)) + index * Constants.BINARY_COMMAND_LENGTH;
+        ServerCommands action = ServerCommands.fromCode(frame.get(offset));
+        int axis = frame.get(offset + 1);
+
+        if (action == null || axis < 0 || axis >= AXES.length)
+        {
+            return null;
+        }
+
+        return new Command(action, AXES[axis], frame.getDouble(offset + Constants.INDEX_TWO));
+    }
+
+    /**
+     * Kodiert die Bestätigung eines Frames.
+     *
+     * @param executed Die Anzahl der ausgeführten Commands.
+     * @param rejected Die Anzahl der abgelehnten Commands.
+     * @return Ein zum Lesen bereiter Puffer mit der Bestätigung.
+     */
+    public static ByteBuffer encodeAck(int executed, int rejected)
+    {
+        return ByteBuffer.allocate(Constants.BINARY_ACK_LENGTH)
+                .put(Constants.BINARY_FRAME_ACK)
+                .putShort((short) executed)
+                .putShort((short) rejected)
+                .flip();
+    }
+
+    /**
+     * Kodiert die Antwort auf Batch-Frames.
+     *
+     * @param acknowledgement Die kumulative Bestätigung oder die Ablehnung eines einzelnen Batches.
+     * @return Ein zum Lesen bereiter Puffer mit der Antwort.
+     */
+    public static ByteBuffer encodeBatchAcknowledgement(BatchAcknowledgement acknowledgement)
+    {
+        return ByteBuffer.allocate(Constants.BINARY_BATCH_ACK_LENGTH)
+                .put(acknowledgement.rejected ? Constants.BINARY_FRAME_BATCH_NACK : Constants.BINARY_FRAME_BATCH_ACK)
+                .putLong(acknowledgement.sequence)
+                .flip();
+    }
+
+    /**
+     * Liefert die Länge des Frame-Kopfes eines Frame-Typs.
+     *
+     * @throws IllegalArgumentException Wenn der Frame-Typ unbekannt ist.
+     */
+    private static int getHeaderLength(byte type)
+    {
+        switch (type)
+        {
+            case Constants.BINARY_FRAME_COMMANDS:
+            case Constants.BINARY_FRAME_COMMANDS_NO_ACK:
+                return Constants.BINARY_FRAME_HEADER_LENGTH;
+
+            case Constants.BINARY_FRAME_BATCH:
+                return Constants.BINARY_BATCH_HEADER_LENGTH;
+
+            default:
+                throw new IllegalArgumentException(Constants.BINARY_UNKNOWN_FRAME);
+        }
+    }
+
+    /**
+     * Schreibt Commands im Format des Binärprotokolls in einen Puffer.
+     */
+    private static void putCommands(ByteBuffer frame, List<Command> commands)
+    {
+        for (Command command : commands)
+        {
+            frame.put(command.action.getCode());
+            frame.put((byte) command.axis.ordinal());
+            frame.putDouble(command.value);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package de.tharms.guiprog_ea_3.network;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Zustand einer einzelnen, nicht-blockierenden Client-Verbindung des {@link Server}: ein eigener Lesepuffer, aus dem
+ * vollständige Zeilen (JSON) bzw. Frames ({@link BinaryProtocol}) herausgelöst werden, und eine Warteschlange noch
+ * nicht gesendeter Antworten. Das Protokoll wird anhand des ersten empfangenen Bytes festgelegt.
+ * Alle Methoden werden ausschließlich vom Selector-Thread des Servers aufgerufen.
+ */
+class ClientConnection
+{
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final SocketAddress remoteAddress;
+    private final ArrayDeque<ByteBuffer> pendingOutput = new ArrayDeque<>();
+
+    private ByteBuffer readBuffer = ByteBuffer.allocate(Constants.SERVER_CONNECTION_BUFFER_SIZE);
+    private long pendingBytes;
+    private boolean closed;
+    private boolean protocolSelected;
+    private boolean binaryProtocol;
+    private boolean acknowledgementPending;
+    private long pendingAcknowledgement;
+
+    /**
+     * Erzeugt den Verbindungszustand für einen angenommenen, beim Selector registrierten Kanal.
+     *
+     * @param channel Der nicht-blockierende Kanal des Clients.
+     * @param key Der Registrierungsschlüssel des Kanals.
+     * @param remoteAddress Die Adresse des Clients.
+     * @Vorbedingung channel ist verbunden und nicht-blockierend, key gehört zu channel.
+     * @Nachbedingung Lesepuffer und Ausgabewarteschlange sind leer.
+     */
+    ClientConnection(SocketChannel channel, SelectionKey key, SocketAddress remoteAddress)
+    {
+        this.channel = channel;
+        this.key = key;
+        this.remoteAddress = remoteAddress;
+    }
+
+    /**
+     * Liest alle verfügbaren Bytes und übergibt jede vollständige Zeile (ohne Zeilenende) bzw. jeden vollständigen
+     * Frame an den jeweiligen Empfänger. Unvollständige Zeilen und Frames bleiben bis zum nächsten Aufruf im
+     * Lesepuffer.
+     *
+     * @param lineConsumer Der Empfänger der gelesenen Zeilen im JSON-Protokoll.
+     * @param frameConsumer Der Empfänger der gelesenen Frames im Binärprotokoll; der Frame beginnt bei Index 0 und
+     *                      ist nur während des Aufrufs gültig.
+     * @return {@code false}, wenn der Client die Verbindung beendet hat, eine Zeile oder ein Frame zu lang ist oder
+     * ein unbekannter Frame-Typ empfangen wurde.
+     * @throws IOException Wenn vom Kanal nicht gelesen werden kann.
+     * @Vorbedingung lineConsumer und frameConsumer dürfen nicht null sein.
+     * @Nachbedingung Der Lesepuffer enthält höchstens eine unvollständige Zeile bzw. einen unvollständigen Frame.
+     */
+    boolean read(Consumer<String> lineConsumer, Consumer<ByteBuffer> frameConsumer) throws IOException
+    {
+        int bytesRead = 0;
+
+        while (!closed && (bytesRead = channel.read(readBuffer)) > 0)
+        {
+            if (!protocolSelected)
+            {
+                selectProtocol();
+            }
+
+            if (binaryProtocol)
+            {
+                if (!extractFrames(frameConsumer))
+                {
+                    return false;
+                }
+            }
+            else
+            {
+                extractLines(lineConsumer);
+            }
+
+            if (!readBuffer.hasRemaining() && !growReadBuffer())
+            {
+                return false;
+            }
+        }
+
+        return !closed && bytesRead >= 0;
+    }
+
+    /**
+     * Reiht eine Antwortzeile zum Senden ein; das Zeilenende wird angehängt.
+     *
+     * @param line Die zu sendende Zeile.
+     * @Vorbedingung line darf nicht null sein.
+     * @Nachbedingung Die Zeile wird gesendet, sobald der Kanal schreibbar ist.
+     */
+    void sendLine(String line)
+    {
+        send(ByteBuffer.wrap((line + Constants.SERVER_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Reiht bereits kodierte Bytes zum Senden ein. Überschreiten die ausstehenden Bytes
+     * {@link Constants#SERVER_MAX_PENDING_OUTPUT}, liest der Client offensichtlich nicht mehr und die Verbindung wird
+     * geschlossen, statt weiter Speicher zu belegen.
+     *
+     * @param data Die zu sendenden Bytes zwischen position und limit.
+     * @Vorbedingung data darf nach dem Aufruf nicht mehr verändert werden.
+     * @Nachbedingung Die Bytes werden gesendet, sobald der Kanal schreibbar ist, oder die Verbindung ist geschlossen.
+     */
+    void send(ByteBuffer data)
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        pendingOutput.addLast(data);
+        pendingBytes += data.remaining();
+
+        if (pendingBytes > Constants.SERVER_MAX_PENDING_OUTPUT)
+        {
+            close();
+            return;
+        }
+
+        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Schreibt so viele ausstehende Bytes wie der Kanal ohne Blockieren aufnimmt.
+     *
+     * @throws IOException Wenn nicht in den Kanal geschrieben werden kann.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Ist die Warteschlange leer, wird nicht mehr auf Schreibbarkeit gewartet.
+     */
+    void flush() throws IOException
+    {
+        while (!pendingOutput.isEmpty())
+        {
+            ByteBuffer data = pendingOutput.peekFirst();
+            int bytesWritten = channel.write(data);
+            pendingBytes -= bytesWritten;
+
+            if (data.hasRemaining())
+            {
+                // Sendepuffer des Betriebssystems ist voll, auf den nächsten OP_WRITE warten
+                return;
+            }
+
+            pendingOutput.removeFirst();
+        }
+
+        if (key.isValid())
+        {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Schließt den Kanal und verwirft ausstehende Antworten.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Der Kanal ist geschlossen und beim Selector abgemeldet.
+     */
+    void close()
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        closed = true;
+        pendingOutput.clear();
+        pendingBytes = 0;
+        key.cancel();
+
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ioException)
+        {
+            // Der Kanal ist in jedem Fall unbrauchbar
+        }
+    }
+
+    boolean hasPendingOutput()
+    {
+        return !pendingOutput.isEmpty();
+    }
+
+    boolean isClosed()
+    {
+        return closed;
+    }
+
+    SocketAddress getRemoteAddress()
+    {
+        return remoteAddress;
+    }
+
+    /**
+     * Merkt eine verarbeitete Batch-Sequenznummer für die nächste kumulative Bestätigung vor.
+     *
+     * @param sequence Die Sequenznummer des verarbeiteten Batches.
+     */
+    void acknowledgeLater(long sequence)
+    {
+        pendingAcknowledgement = sequence;
+        acknowledgementPending = true;
+    }
+
+    boolean hasPendingAcknowledgement()
+    {
+        return acknowledgementPending;
+    }
+
+    /**
+     * Liefert die zuletzt verarbeitete Batch-Sequenznummer und setzt die vorgemerkte Bestätigung zurück.
+     *
+     * @return Die zu bestätigende Sequenznummer.
+     */
+    long takePendingAcknowledgement()
+    {
+        acknowledgementPending = false;
+        return pendingAcknowledgement;
+    }
+
+    boolean isBinaryProtocol()
+    {
+        return binaryProtocol;
+    }
+
+    /**
+     * Legt das Protokoll anhand des ersten empfangenen Bytes fest; das Magic-Byte des Binärprotokolls wird
+     * dabei verbraucht.
+     */
+    private void selectProtocol()
+    {
+        protocolSelected = true;
+        binaryProtocol = readBuffer.get(0) == Constants.BINARY_PROTOCOL_MAGIC;
+
+        if (binaryProtocol)
+        {
+            readBuffer.flip();
+            readBuffer.position(1);
+            readBuffer.compact();
+        }
+    }
+
+    /**
+     * Löst alle vollständigen Frames aus dem Lesepuffer und verschiebt den Rest an dessen Anfang.
+     *
+     * @return {@code false}, wenn ein Frame einen unbekannten Typ besitzt.
+     */
+    private boolean extractFrames(Consumer<ByteBuffer> frameConsumer)
+    {
+        readBuffer.flip();
+
+        try
+        {
+            int frameLength;
+
+            while (!closed && (frameLength = BinaryProtocol.getFrameLength(readBuffer)) >= 0 &&
+                    readBuffer.remaining() >= frameLength)
+            {
+                int frameStart = readBuffer.position();
+                frameConsumer.accept(readBuffer.slice(frameStart, frameLength));
+                readBuffer.position(frameStart + frameLength);
+            }
+        }
+        catch (IllegalArgumentException illegalArgumentException)
+        {
+            return false;
+        }
+        finally
+        {
+            readBuffer.compact();
+        }
+
+        return true;
+    }
+
+    /**
+     * Löst alle vollständigen Zeilen aus dem Lesepuffer und verschiebt den Rest an dessen Anfang.
+     */
+    private void extractLines(Consumer<String> lineConsumer)
+    {
+        readBuffer.flip();
+        byte[] data = readBuffer.array();
+        int lineStart = readBuffer.position();
+
+        for (int i = lineStart; i < readBuffer.limit() && !closed; i++)
+        {
+            if (data[i] == '\n')
+            {
+                int lineEnd = i > lineStart && data[i - 1] == '\r' ? i - 1 : i;
+                lineConsumer.accept(new String(data, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+                lineStart = i + 1;
+            }
+        }
+
+        readBuffer.position(lineStart);
+        readBuffer.compact();
+    }
+
+    /**
+     * Verdoppelt den Lesepuffer für eine lange Zeile bis höchstens {@link Constants#SERVER_MAX_LINE_LENGTH}.
+     *
+     * @return {@code false}, wenn die Zeile die maximale Länge überschreitet.
+     */
+    private boolean growReadBuffer()
+    {
+        if (readBuffer.capacity() >= Constants.SERVER_MAX_LINE_LENGTH)
+        {
+            return false;
+        }
+
+        ByteBuffer grownBuffer = ByteBuffer.allocate(Math.min(readBuffer.capacity() << 1,
+                Constants.SERVER_MAX_LINE_LENGTH));
+        readBuffer.flip();
+        grownBuffer.put(readBuffer);
+        readBuffer = grownBuffer;
+        return true;
+    }
+}
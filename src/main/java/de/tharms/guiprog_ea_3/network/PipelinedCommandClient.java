@@ -0,0 +1,205 @@
+package de.tharms.guiprog_ea_3.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import de.tharms.guiprog_ea_3.model.BatchAcknowledgement;
+import de.tharms.guiprog_ea_3.model.Command;
+import de.tharms.guiprog_ea_3.model.CommandBatch;
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * JSON-Client, der {@link CommandBatch}-Nachrichten ohne Warten auf die jeweilige Antwort an den {@link Server}
+ * sendet. Bis zu {@code maxInFlight} Batches dürfen gleichzeitig unbestätigt sein; ein eigener Thread liest die
+ * kumulativen Bestätigungen des Servers und gibt die entsprechenden Plätze im Sendefenster wieder frei.
+ */
+public class PipelinedCommandClient implements AutoCloseable
+{
+    private final Socket socket;
+    private final Writer output;
+    private final BufferedReader input;
+    private final Gson gson = new Gson();
+    private final Semaphore window;
+    private final int maxInFlight;
+    private final ConcurrentLinkedQueue<Long> rejectedSequences = new ConcurrentLinkedQueue<>();
+
+    private long nextSequence = 1;
+    private volatile long acknowledgedSequence;
+    private volatile IOException readFailure;
+
+    /**
+     * Verbindet sich mit dem Server und startet das Lesen der Bestätigungen.
+     *
+     * @param host Hostname oder IP-Adresse des Servers.
+     * @param port Port, auf dem der Server lauscht.
+     * @param maxInFlight Die maximale Anzahl gleichzeitig unbestätigter Batches.
+     * @throws IOException Wenn die Verbindung nicht aufgebaut werden kann.
+     * @Vorbedingung host darf nicht null sein, port liegt im gültigen Bereich, maxInFlight > 0.
+     * @Nachbedingung Die Verbindung ist geöffnet, es ist kein Batch unterwegs.
+     */
+    public PipelinedCommandClient(String host, int port, int maxInFlight) throws IOException
+    {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.output = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8),
+                Constants.SERVER_CONNECTION_BUFFER_SIZE);
+        this.input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.maxInFlight = maxInFlight;
+        this.window = new Semaphore(maxInFlight);
+
+        Thread acknowledgementReader = new Thread(this::readAcknowledgements, Constants.CLIENT_ACK_THREAD_NAME);
+        acknowledgementReader.setDaemon(true);
+        acknowledgementReader.start();
+    }
+
+    /**
+     * Sendet Commands als Batch. Blockiert nur, solange das Sendefenster voll ist.
+     *
+     * @param commands Die Commands des Batches.
+     * @return Die vergebene Sequenznummer.
+     * @throws IOException Wenn nicht gesendet werden kann oder die Verbindung zum Server unterbrochen ist.
+     * @throws InterruptedException Wenn der Thread beim Warten auf das Sendefenster unterbrochen wird.
+     * @Vorbedingung commands darf nicht null sein.
+     * @Nachbedingung Der Batch ist gesendet und belegt einen Platz im Sendefenster.
+     */
+    public long send(List<Command> commands) throws IOException, InterruptedException
+    {
+        checkReadFailure();
+        window.acquire();
+
+        long sequence = nextSequence++;
+        output.write(gson.toJson(new CommandBatch(sequence, commands)));
+        output.write(Constants.SERVER_LINE_SEPARATOR);
+
+        // Nur bei vollem Fenster sofort senden; sonst sammelt der Puffer mehrere Batches pro Paket
+        if (window.availablePermits() == 0)
+        {
+            output.flush();
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Sendet alle gepufferten Batches und wartet, bis der Server sie bestätigt hat.
+     *
+     * @throws IOException Wenn nicht gesendet werden kann oder die Verbindung zum Server unterbrochen ist.
+     * @throws InterruptedException Wenn der Thread beim Warten unterbrochen wird.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Alle bisher gesendeten Batches sind bestätigt oder abgelehnt.
+     */
+    public void awaitAcknowledgements() throws IOException, InterruptedException
+    {
+        output.flush();
+        window.acquire(maxInFlight);
+        window.release(maxInFlight);
+        checkReadFailure();
+    }
+
+    /**
+     * Liefert die höchste vom Server kumulativ bestätigte Sequenznummer.
+     *
+     * @return Die bestätigte Sequenznummer oder 0, falls noch nichts bestätigt wurde.
+     */
+    public long getAcknowledgedSequence()
+    {
+        return acknowledgedSequence;
+    }
+
+    /**
+     * Liefert die Sequenznummern der vom Server abgelehnten Batches.
+     *
+     * @return Die abgelehnten Sequenznummern in der Reihenfolge ihres Eintreffens.
+     */
+    public List<Long> getRejectedSequences()
+    {
+        return List.copyOf(rejectedSequences);
+    }
+
+    /**
+     * Sendet ausstehende Batches und schließt die Verbindung zum Server.
+     *
+     * @throws IOException Wenn die Verbindung nicht geschlossen werden kann.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            output.flush();
+        }
+        finally
+        {
+            socket.close();
+        }
+    }
+
+    /**
+     * Liest die Antworten des Servers und gibt für jede kumulative Bestätigung die bestätigten Plätze im
+     * Sendefenster frei. Läuft im eigenen Thread bis zum Ende der Verbindung.
+     */
+    private void readAcknowledgements()
+    {
+        try
+        {
+            String line;
+
+            while ((line = input.readLine()) != null)
+            {
+                BatchAcknowledgement acknowledgement = gson.fromJson(line, BatchAcknowledgement.class);
+
+                if (acknowledgement.rejected)
+                {
+                    rejectedSequences.add(acknowledgement.sequence);
+                }
+                else if (acknowledgement.sequence > acknowledgedSequence)
+                {
+                    int released = (int) (acknowledgement.sequence - acknowledgedSequence);
+                    acknowledgedSequence = acknowledgement.sequence;
+                    window.release(released);
+                }
+            }
+        }
+        catch (IOException ioException)
+        {
+            readFailure = ioException;
+        }
+        catch (JsonParseException jsonParseException)
+        {
+            readFailure = new IOException(jsonParseException);
+        }
+        finally
+        {
+            // Wartende Sender nicht blockiert zurücklassen
+            if (readFailure == null && !socket.isClosed())
+            {
+                readFailure = new IOException(Constants.CONNECTION_CLOSED);
+            }
+            window.release(maxInFlight);
+        }
+    }
+
+    /**
+     * Wirft den Fehler des Lese-Threads weiter, falls die Verbindung unterbrochen wurde.
+     *
+     * @throws IOException Wenn der Lese-Thread die Verbindung verloren hat.
+     */
+    private void checkReadFailure() throws IOException
+    {
+        if (readFailure != null)
+        {
+            throw readFailure;
+        }
+    }
+}
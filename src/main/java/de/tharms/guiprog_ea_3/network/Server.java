@@ -1,29 +1,55 @@
 package de.tharms.guiprog_ea_3.network;
 
 import com.google.gson.Gson;
-import de.tharms.guiprog_ea_3.model.Axis;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import de.tharms.guiprog_ea_3.model.BatchAcknowledgement;
 import de.tharms.guiprog_ea_3.model.Command;
+import de.tharms.guiprog_ea_3.model.CommandBatch;
 import de.tharms.guiprog_ea_3.model.Constants;
 import de.tharms.guiprog_ea_3.model.ServerCommands;
+import de.tharms.guiprog_ea_3.model.StateEvent;
+import de.tharms.guiprog_ea_3.model.StateEventType;
+import de.tharms.guiprog_ea_3.utility.Metrics;
 import de.tharms.guiprog_ea_3.view.ColorCodes;
 import de.tharms.guiprog_ea_3.view.Output;
 import de.tharms.guiprog_ea_3.controller.ViewerController;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 /**
- * Server-Klasse, die JSON-Befehle entgegennimmt und an den ViewerController weiterleitet.
+ * Server-Klasse, die JSON-Befehle oder Frames des {@link BinaryProtocol} entgegennimmt und an den ViewerController
+ * weiterleitet. Alle Verbindungen werden nicht-blockierend von einem einzigen {@link Selector} bedient, sodass
+ * beliebig viele Clients gleichzeitig verbunden sein können; jede Verbindung besitzt eigene Lese- und Schreibpuffer
+ * ({@link ClientConnection}).
+ * Abfragen ({@link ServerCommands#GET_POSE}, {@link ServerCommands#GET_STATS}) werden aus Schnappschüssen
+ * beantwortet, die der JavaFX Application Thread veröffentlicht, und greifen selbst nicht auf ihn zu.
+ * Nach {@link ServerCommands#SUBSCRIBE} erhält eine Verbindung Zustandsänderungen ohne Anfrage über den
+ * {@link StateBroadcaster}.
  */
 public class Server extends Thread
 {
+    private static final byte[] COMMAND_EXECUTED_RESPONSE = (ColorCodes.GREEN + Constants.COMMAND_EXECUTED +
+            ColorCodes.RESET + Constants.SERVER_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVALID_COMMAND_RESPONSE = (ColorCodes.RED + Constants.INVALID_COMMAND +
+            ColorCodes.RESET + Constants.SERVER_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+
     int port;
-    boolean running;
-    ServerSocket serverSocket;
+    volatile boolean running;
+    Selector selector;
+    StateBroadcaster stateBroadcaster;
     Gson gson;
     ViewerController viewerController;
 
@@ -44,91 +70,446 @@ public class Server extends Thread
     }
 
     /**
-     * Öffnet den ServerSocket und nimmt Verbindungen an,
-     * liest JSON-Commands, führt sie aus und antwortet mit einer Bestätigung.
+     * Öffnet den ServerSocketChannel und bedient in einer Selector-Schleife alle Verbindungen:
+     * Neue Clients werden angenommen, vollständige JSON-Zeilen als Commands ausgeführt und die Bestätigungen
+     * gesendet, sobald der jeweilige Kanal schreibbar ist. Fehler einer Verbindung schließen nur diese Verbindung.
      *
      * @Vorbedingung Dieser Thread wurde gestartet und running ist gleich true.
-     * @Nachbedingung Solange running gleich true ist, akzeptiert und verarbeitet der Server eingehende Befehle.
+     * @Nachbedingung Solange running gleich true ist, akzeptiert und verarbeitet der Server eingehende Befehle;
+     * danach sind alle Verbindungen und der ServerSocketChannel geschlossen.
      */
     @Override
     public void run()
     {
-        // ServerSocket auf dem angegebenen Port öffnen
-        try
+        try (Selector serverSelector = Selector.open();
+             ServerSocketChannel serverChannel = ServerSocketChannel.open())
         {
-            serverSocket = new ServerSocket(port);
+            serverChannel.bind(new InetSocketAddress(port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(serverSelector, SelectionKey.OP_ACCEPT);
+            this.selector = serverSelector;
+            this.stateBroadcaster = new StateBroadcaster(gson, serverSelector::wakeup);
+            this.viewerController.getCommandDispatcher().setStateListener(stateBroadcaster::publish);
+            Output.printServerRunningInfo(port);
+
+            while (running)
+            {
+                // Wartet höchstens bis ein durch seine Rate gebremster Abonnent wieder bedient werden darf
+                serverSelector.select(stateBroadcaster.broadcast(System.nanoTime()));
+
+                Iterator<SelectionKey> selectedKeys = serverSelector.selectedKeys().iterator();
+                while (selectedKeys.hasNext())
+                {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+
+                    if (!key.isValid())
+                    {
+                        continue;
+                    }
+
+                    if (key.isAcceptable())
+                    {
+                        acceptConnection(serverChannel, serverSelector);
+                    }
+                    else
+                    {
+                        handleConnection(key);
+                    }
+                }
+            }
+
+            // Alle noch offenen Verbindungen schließen, sobald running = false
+            for (SelectionKey key : serverSelector.keys())
+            {
+                if (key.attachment() instanceof ClientConnection connection)
+                {
+                    connection.close();
+                }
+            }
         }
         catch (IOException ioException)
         {
-            throw new RuntimeException(ioException);
+            Output.printInformation(Constants.SOCKET_CREATION_FAILURE + ioException.getMessage());
         }
-        Output.printServerRunningInfo(port);
+    }
 
-        // Warte auf eingehende Verbindungen
-        while (running)
+    /**
+     * Nimmt alle wartenden Verbindungen an und registriert sie nicht-blockierend zum Lesen.
+     * Scheitert das Annehmen einer Verbindung, läuft der Server weiter.
+     *
+     * @param serverChannel Der lauschende ServerSocketChannel.
+     * @param serverSelector Der Selector, bei dem die Verbindungen registriert werden.
+     * @Vorbedingung serverChannel ist nicht-blockierend.
+     * @Nachbedingung Jede angenommene Verbindung besitzt eine {@link ClientConnection} als Attachment.
+     */
+    private void acceptConnection(ServerSocketChannel serverChannel, Selector serverSelector)
+    {
+        SocketChannel channel;
+
+        try
         {
-            Socket socket = null;
-            try
+            while ((channel = serverChannel.accept()) != null)
             {
-                socket = serverSocket.accept();
+                SocketAddress remoteAddress = channel.getRemoteAddress();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+
+                SelectionKey key = channel.register(serverSelector, SelectionKey.OP_READ);
+                key.attach(new ClientConnection(channel, key, remoteAddress));
+
+                Output.printServerConnection(remoteAddress);
+                Metrics.getInstance().increment(Constants.METRIC_SERVER_CONNECTIONS, Constants.INDEX_ONE);
             }
-            catch (IOException ioException)
+        }
+        catch (IOException ioException)
+        {
+            Output.printInformation(Constants.SERVER_ACCEPT_FAILURE + ioException.getMessage());
+        }
+    }
+
+    /**
+     * Liest die verfügbaren Befehle einer Verbindung, führt sie aus und sendet ausstehende Antworten.
+     *
+     * @param key Der bereite Registrierungsschlüssel der Verbindung.
+     * @Vorbedingung key ist gültig und besitzt eine {@link ClientConnection} als Attachment.
+     * @Nachbedingung Beendete oder fehlerhafte Verbindungen sind geschlossen, auch wenn das Ausführen eines Befehls
+     * eine Laufzeitausnahme wirft.
+     */
+    private void handleConnection(SelectionKey key)
+    {
+        ClientConnection connection = (ClientConnection) key.attachment();
+
+        try
+        {
+            if (key.isReadable() && !connection.read(line -> handleLine(connection, line),
+                    frame -> handleFrame(connection, frame)))
             {
-                throw new RuntimeException(ioException);
+                closeConnection(connection);
+                return;
             }
-            Output.printServerConnection(socket.getRemoteSocketAddress());
 
-            // JSON-Commands lesen und ausführen
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                 PrintWriter writer = new PrintWriter(socket.getOutputStream(), true))
+            // Alle in diesem Durchlauf verarbeiteten Batches mit einer einzigen kumulativen Bestätigung quittieren
+            if (connection.hasPendingAcknowledgement())
             {
-                String inputMessage;
-                while ((inputMessage = reader.readLine()) != null)
-                {
-                    Command command = gson.fromJson(inputMessage, Command.class);
-                    executeCommand(command);
-                    writer.println(ColorCodes.GREEN + Constants.COMMAND_EXECUTED + ColorCodes.RESET);
-                }
+                sendBatchAcknowledgement(connection,
+                        new BatchAcknowledgement(connection.takePendingAcknowledgement(), false));
             }
-            catch (IOException ioException)
+
+            // Antworten direkt senden; nur was der Kanal nicht aufnimmt, wartet auf OP_WRITE
+            if (!connection.isClosed())
             {
-                Output.printInformation(Constants.ERROR_READING_COMMAND + ioException.getMessage());
+                connection.flush();
             }
         }
-        // Schließe den ServerSocket, sobald running = false
+        catch (IOException ioException)
+        {
+            Output.printInformation(Constants.ERROR_READING_COMMAND + ioException.getMessage());
+            closeConnection(connection);
+        }
+        catch (RuntimeException runtimeException)
+        {
+            // Ein Fehler beim Ausführen betrifft nur diese Verbindung, nicht den Selector-Thread aller Clients
+            Output.printInformation(Constants.ERROR_HANDLING_COMMAND + runtimeException);
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * Wandelt eine empfangene JSON-Zeile in einen Command oder einen {@link CommandBatch} um und führt ihn aus.
+     * Einzelne Commands werden sofort bestätigt, Batches kumulativ am Ende des Lesedurchlaufs; Abfragen werden
+     * mit einer JSON-Zeile beantwortet. Ungültige Zeilen werden mit {@link Constants#INVALID_COMMAND} beantwortet.
+     *
+     * @param connection Die Verbindung, über die die Zeile empfangen wurde.
+     * @param line Die empfangene Zeile.
+     * @Vorbedingung connection und line dürfen nicht null sein.
+     * @Nachbedingung Für einen Command ist genau eine Antwort zum Senden eingereiht.
+     */
+    private void handleLine(ClientConnection connection, String line)
+    {
+        long receivedTime = System.nanoTime();
+        Command command;
+
         try
         {
-            serverSocket.close();
+            JsonElement message = JsonParser.parseString(line);
+
+            if (message.isJsonObject() && message.getAsJsonObject().has(Constants.JSON_FIELD_COMMANDS))
+            {
+                handleBatch(connection, gson.fromJson(message, CommandBatch.class));
+                return;
+            }
+
+            command = gson.fromJson(message, Command.class);
+        }
+        catch (JsonParseException jsonParseException)
+        {
+            command = null;
         }
-        catch (IOException ioException)
+
+        if (!isValid(command))
+        {
+            connection.send(ByteBuffer.wrap(INVALID_COMMAND_RESPONSE));
+            return;
+        }
+
+        if (isQuery(command))
+        {
+            connection.sendLine(answerQuery(command));
+        }
+        else if (command.action == ServerCommands.SUBSCRIBE)
+        {
+            connection.send(ByteBuffer.wrap(COMMAND_EXECUTED_RESPONSE));
+            stateBroadcaster.subscribe(connection, command.value, () -> new StateEvent(StateEventType.MODEL,
+                    viewerController.getCommandDispatcher().getPose(), viewerController.getModelStatistics()));
+        }
+        else
         {
-            throw new RuntimeException(Constants.ERROR_CLOSING_SOCKET + ioException);
+            executeCommand(command);
+            connection.send(ByteBuffer.wrap(COMMAND_EXECUTED_RESPONSE));
         }
+
+        // Latenz vom Empfang bis zur Bestätigung pro Befehlstyp erfassen
+        Metrics.getInstance().recordTime(Constants.METRIC_SERVER_COMMAND + command.action,
+                System.nanoTime() - receivedTime);
+        Metrics.getInstance().increment(Constants.METRIC_SERVER_COMMANDS, Constants.INDEX_ONE);
+    }
+
+    /**
+     * Führt alle Commands eines Frames des {@link BinaryProtocol} aus und bestätigt ihn, sofern der Absender dies
+     * verlangt. Unbekannte Commands werden übersprungen und als abgelehnt gezählt.
+     *
+     * @param connection Die Verbindung, über die der Frame empfangen wurde.
+     * @param frame Der vollständige Frame.
+     * @Vorbedingung connection und frame dürfen nicht null sein.
+     * @Nachbedingung Höchstens eine Bestätigung ist zum Senden eingereiht.
+     */
+    private void handleFrame(ClientConnection connection, ByteBuffer frame)
+    {
+        long receivedTime = System.nanoTime();
+        int numberOfCommands = BinaryProtocol.getNumberOfCommands(frame);
+        List<Command> commands = new ArrayList<>(numberOfCommands);
+
+        for (int i = 0; i < numberOfCommands; i++)
+        {
+            Command command = BinaryProtocol.decodeCommand(frame, i);
+
+            if (command != null)
+            {
+                commands.add(command);
+            }
+        }
+
+        if (BinaryProtocol.isBatch(frame))
+        {
+            // Ein Batch mit unbekannten Commands wird vollständig abgelehnt
+            handleBatch(connection, new CommandBatch(BinaryProtocol.getSequence(frame),
+                    commands.size() == numberOfCommands ? commands : null));
+            return;
+        }
+
+        executeCommands(commands);
+        int executed = commands.size();
+
+        if (BinaryProtocol.isAcknowledged(frame))
+        {
+            connection.send(BinaryProtocol.encodeAck(executed, numberOfCommands - executed));
+        }
+
+        Metrics.getInstance().recordTime(Constants.METRIC_SERVER_BINARY_FRAME, System.nanoTime() - receivedTime);
+        Metrics.getInstance().increment(Constants.METRIC_SERVER_COMMANDS, executed);
     }
 
     /**
-     * Führt einen empfangenen Command anhand des Typs aus, indem er das ModelController-Objekt aufruft.
+     * Führt einen Batch atomar aus: Nur wenn alle Commands gültig sind, werden sie ausgeführt, und alle
+     * Transformationen werden im selben Frame angewendet. Ein abgelehnter Batch wird sofort gemeldet.
+     * In beiden Fällen wird die Sequenznummer in die nächste kumulative Bestätigung aufgenommen.
+     *
+     * @param connection Die Verbindung, über die der Batch empfangen wurde.
+     * @param batch Der empfangene Batch.
+     * @Vorbedingung connection darf nicht null sein.
+     * @Nachbedingung Der Batch ist vollständig ausgeführt oder vollständig verworfen.
+     */
+    private void handleBatch(ClientConnection connection, CommandBatch batch)
+    {
+        if (batch == null)
+        {
+            connection.send(ByteBuffer.wrap(INVALID_COMMAND_RESPONSE));
+            return;
+        }
+
+        // Abfragen und Abonnements beziehen sich auf die Verbindung statt auf das Modell und sind nicht erlaubt
+        boolean valid = batch.commands != null && batch.commands.stream().allMatch(command -> isValid(command) &&
+                !isQuery(command) && command.action != ServerCommands.SUBSCRIBE);
+
+        if (valid)
+        {
+            executeCommands(batch.commands);
+            Metrics.getInstance().increment(Constants.METRIC_SERVER_COMMANDS, batch.commands.size());
+            Metrics.getInstance().increment(Constants.METRIC_SERVER_BATCHES, Constants.INDEX_ONE);
+        }
+        else
+        {
+            sendBatchAcknowledgement(connection, new BatchAcknowledgement(batch.sequence, true));
+            Metrics.getInstance().increment(Constants.METRIC_SERVER_BATCHES_REJECTED, Constants.INDEX_ONE);
+        }
+
+        connection.acknowledgeLater(batch.sequence);
+    }
+
+    /**
+     * Reiht eine Batch-Antwort im Protokoll der Verbindung zum Senden ein.
+     *
+     * @param connection Die Verbindung des Clients.
+     * @param acknowledgement Die zu sendende Antwort.
+     * @Vorbedingung connection und acknowledgement dürfen nicht null sein.
+     * @Nachbedingung Die Antwort ist zum Senden eingereiht.
+     */
+    private void sendBatchAcknowledgement(ClientConnection connection, BatchAcknowledgement acknowledgement)
+    {
+        if (connection.isBinaryProtocol())
+        {
+            connection.send(BinaryProtocol.encodeBatchAcknowledgement(acknowledgement));
+        }
+        else
+        {
+            connection.sendLine(gson.toJson(acknowledgement));
+        }
+    }
+
+    /**
+     * Prüft, ob ein Command ausführbar ist.
+     *
+     * @param command Der zu prüfende Command.
+     * @return {@code true}, wenn command und action sowie die für die action nötigen Felder gesetzt sind. Ob eine
+     * zu ladende Datei existiert, prüft erst die Ladeaufgabe, damit der Selector-Thread nie auf das Dateisystem
+     * wartet.
+     */
+    private boolean isValid(Command command)
+    {
+        if (command == null || command.action == null)
+        {
+            return false;
+        }
+
+        switch (command.action)
+        {
+            case ROTATE:
+            case TRANSLATE:
+                return command.axis != null;
+
+            case SET_POSE:
+                return command.pose != null;
+
+            case LOAD:
+                return command.path != null;
+
+            case SUBSCRIBE:
+                return command.value >= 0;
+
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Prüft, ob ein Command den Modellzustand nur abfragt.
+     *
+     * @param command Der gültige Command.
+     * @return {@code true} für {@link ServerCommands#GET_POSE} und {@link ServerCommands#GET_STATS}.
+     */
+    private boolean isQuery(Command command)
+    {
+        return command.action == ServerCommands.GET_POSE || command.action == ServerCommands.GET_STATS;
+    }
+
+    /**
+     * Beantwortet eine Abfrage aus den zuletzt veröffentlichten Schnappschüssen.
+     *
+     * @param command Die Abfrage.
+     * @return Die Antwort als JSON; für {@link ServerCommands#GET_STATS} ohne geladenes Modell {@code null}.
+     * @Vorbedingung {@link #isQuery(Command)} liefert {@code true}.
+     * @Nachbedingung Der JavaFX Application Thread wurde nicht beansprucht.
+     */
+    private String answerQuery(Command command)
+    {
+        if (command.action == ServerCommands.GET_POSE)
+        {
+            return gson.toJson(this.viewerController.getCommandDispatcher().getPose());
+        }
+
+        return gson.toJson(this.viewerController.getModelStatistics());
+    }
+
+    /**
+     * Führt mehrere Commands in ihrer Reihenfolge aus. Alle Transformationen werden gemeinsam an den
+     * {@link de.tharms.guiprog_ea_3.controller.CommandDispatcher} übergeben und damit im selben Frame angewendet.
+     *
+     * @param commands Die auszuführenden, gültigen Commands.
+     * @Vorbedingung commands darf nicht null sein.
+     * @Nachbedingung Alle Commands sind ausgeführt bzw. eingereiht.
+     */
+    private void executeCommands(List<Command> commands)
+    {
+        List<Command> transformations = new ArrayList<>(commands.size());
+
+        for (Command command : commands)
+        {
+            if (command.action == ServerCommands.ROTATE || command.action == ServerCommands.TRANSLATE ||
+                    command.action == ServerCommands.SET_POSE)
+            {
+                transformations.add(command);
+            }
+            else
+            {
+                executeCommand(command);
+            }
+        }
+
+        if (!transformations.isEmpty())
+        {
+            this.viewerController.getCommandDispatcher().submitAll(transformations);
+        }
+    }
+
+    /**
+     * Schließt eine Verbindung und gibt dies aus.
+     *
+     * @param connection Die zu schließende Verbindung.
+     * @Vorbedingung connection darf nicht null sein.
+     * @Nachbedingung Die Verbindung ist geschlossen.
+     */
+    private void closeConnection(ClientConnection connection)
+    {
+        connection.close();
+        Output.printServerDisconnection(connection.getRemoteAddress());
+    }
+
+    /**
+     * Führt einen empfangenen Command anhand des Typs aus. Transformationen werden nicht direkt am Modell
+     * vorgenommen, sondern an den {@link de.tharms.guiprog_ea_3.controller.CommandDispatcher} übergeben, der sie im
+     * nächsten Frame auf dem JavaFX Application Thread zusammengefasst anwendet.
      *
      * @param command Das Command-Objekt, enthält action, axis und value.
      * @Vorbedingung command darf nicht null sein, action und axis sind gültige Enumerationen.
-     * @Nachbedingung Die entsprechende Methode im ModelController wurde aufgerufen oder eine Fehlermeldung ausgegeben.
+     * @Nachbedingung Die Transformation ist eingereiht oder der Befehl wurde direkt ausgeführt.
      */
     private void executeCommand(Command command)
     {
-        ServerCommands action = command.action;
-        Axis axis = command.axis;
-        double value = command.value;
-
-        switch (action)
+        switch (command.action)
         {
             case ROTATE:
-                this.viewerController.getModelController().
-                        rotateObject(axis, value);
+            case TRANSLATE:
+            case SET_POSE:
+                this.viewerController.getCommandDispatcher().submit(command);
                 break;
 
-            case TRANSLATE:
-                this.viewerController.getModelController().
-                        translateObject(axis, value);
+            case LOAD:
+                this.viewerController.loadModel(command.path);
+                break;
+
+            case METRICS:
+                Output.printMetrics(Metrics.getInstance().dump());
                 break;
 
             case EXIT:
@@ -144,26 +525,20 @@ public class Server extends Thread
     }
 
     /**
-     * Beendet den Server-Loop und schließt den ServerSocket.
+     * Beendet den Server-Loop; der Server-Thread schließt daraufhin alle Verbindungen und den ServerSocketChannel.
      *
      * @Vorbedingung Der Server läuft (running gleich true) oder wurde zuvor gestartet.
-     * @Nachbedingung running ist gleich false und der ServerSocket ist geschlossen.
+     * @Nachbedingung running ist gleich false und der Selector wurde geweckt.
      */
     public void close()
     {
         running = false;
 
-        if (serverSocket != null && !serverSocket.isClosed())
+        Selector serverSelector = selector;
+        if (serverSelector != null)
         {
-            try
-            {
-                serverSocket.close();
-                Output.printInformation(Constants.CONNECTION_CLOSED);
-            }
-            catch (IOException ioException)
-            {
-                throw new RuntimeException(ioException);
-            }
+            serverSelector.wakeup();
+            Output.printInformation(Constants.CONNECTION_CLOSED);
         }
     }
 }
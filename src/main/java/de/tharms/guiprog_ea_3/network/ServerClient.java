@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import de.tharms.guiprog_ea_3.model.Axis;
 import de.tharms.guiprog_ea_3.model.Command;
 import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.Pose;
 import de.tharms.guiprog_ea_3.model.ServerCommands;
 import de.tharms.guiprog_ea_3.view.ColorCodes;
 import de.tharms.guiprog_ea_3.view.Output;
@@ -97,8 +98,25 @@ public class ServerClient
                     break;
                 }
 
+                if (inputMessage.equalsIgnoreCase(Constants.COMMAND_METRICS))
+                {
+                    // Command zur Ausgabe der Metriken auf dem Server, Achse und Wert sind Platzhalter
+                    sendCommand(output, gson.toJson(new Command(ServerCommands.METRICS, Axis.X, 0)));
+                    receiveCommand(input);
+                    continue;
+                }
+
                 // Aufteilen der Eingabe in Command, Axis und Wert
                 String[] inputValues = inputMessage.split(Constants.CLIENT_INPUT_MESSAGE_SPLIT_REGEX);
+
+                Command stateCommand = createStateCommand(inputMessage, inputValues);
+                if (stateCommand != null)
+                {
+                    sendCommand(output, gson.toJson(stateCommand));
+                    receiveCommand(input);
+                    continue;
+                }
+
                 if (inputValues.length != Constants.NUMBERS_THREE)
                 {
                     Output.printInformation(ColorCodes.RED + Constants.INVALID_COMMAND + ColorCodes.RESET);
@@ -130,6 +148,48 @@ public class ServerClient
         Output.printInformation(Constants.CONNECTION_CLOSED);
     }
 
+    /**
+     * Erzeugt aus einer Konsoleneingabe einen Command für Lage, Abfragen oder Laden eines Modells:
+     * {@code set_pose rx ry rz tx ty tz}, {@code get_pose}, {@code get_stats} oder {@code load <Pfad>}.
+     *
+     * @param inputMessage Die vollständige Eingabe.
+     * @param inputValues Die an Leerzeichen getrennte Eingabe.
+     * @return Der Command oder {@code null}, falls die Eingabe keinen dieser Befehle enthält.
+     * @throws NumberFormatException Wenn ein Wert von set_pose keine Zahl ist.
+     * @Vorbedingung inputMessage und inputValues dürfen nicht null sein.
+     * @Nachbedingung Keine.
+     */
+    private static Command createStateCommand(String inputMessage, String[] inputValues)
+    {
+        String action = inputValues[Constants.INDEX_ZERO].toUpperCase();
+
+        if (action.equals(Constants.COMMAND_GET_POSE) || action.equals(Constants.COMMAND_GET_STATS))
+        {
+            return new Command(ServerCommands.valueOf(action), null);
+        }
+
+        if (action.equals(Constants.COMMAND_LOAD) && inputValues.length > Constants.INDEX_ONE)
+        {
+            // Der Pfad darf Leerzeichen enthalten
+            String path = inputMessage.split(Constants.CLIENT_INPUT_MESSAGE_SPLIT_REGEX, Constants.INDEX_TWO)
+                    [Constants.INDEX_ONE];
+            return new Command(ServerCommands.LOAD, path);
+        }
+
+        if (action.equals(Constants.COMMAND_SET_POSE) && inputValues.length == Constants.NUMBERS_SEVEN)
+        {
+            return new Command(new Pose(
+                    Double.parseDouble(inputValues[Constants.INDEX_ONE]),
+                    Double.parseDouble(inputValues[Constants.INDEX_TWO]),
+                    Double.parseDouble(inputValues[Constants.INDEX_THREE]),
+                    Double.parseDouble(inputValues[Constants.INDEX_FOUR]),
+                    Double.parseDouble(inputValues[Constants.INDEX_FIVE]),
+                    Double.parseDouble(inputValues[Constants.NUMBERS_SIX])));
+        }
+
+        return null;
+    }
+
     /**
      * Liest eine Antwortzeile vom Server und gibt sie aus.
      *
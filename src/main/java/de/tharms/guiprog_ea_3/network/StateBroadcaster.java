@@ -0,0 +1,239 @@
+package de.tharms.guiprog_ea_3.network;
+
+import com.google.gson.Gson;
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.StateEvent;
+import de.tharms.guiprog_ea_3.model.StateEventType;
+import de.tharms.guiprog_ea_3.utility.Metrics;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Verteilt Zustandsänderungen des Viewers an alle abonnierten Verbindungen des {@link Server}.
+ * Der JavaFX Application Thread legt Änderungen nur in einem Fach je {@link StateEventType} ab; eine noch nicht
+ * verteilte Änderung wird dabei durch die neuere ersetzt. Der Selector-Thread serialisiert jede Änderung genau
+ * einmal und schreibt dieselben Bytes an jeden Abonnenten.
+ * Abonnenten erhalten höchstens so viele Änderungen wie ihre Rate erlaubt und nur, wenn ihre vorherige Nachricht
+ * bereits gesendet ist; andernfalls erhalten sie später den dann neuesten Zustand statt aller Zwischenstände.
+ */
+class StateBroadcaster
+{
+    private final Gson gson;
+    private final Runnable wakeup;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    private final AtomicReference<StateEvent> pendingPoseEvent = new AtomicReference<>();
+    private final AtomicReference<StateEvent> pendingModelEvent = new AtomicReference<>();
+    private volatile boolean hasSubscriptions;
+
+    private byte[] poseMessage;
+    private byte[] modelMessage;
+    private long poseVersion;
+    private long modelVersion;
+
+    /**
+     * Erzeugt einen Verteiler ohne Abonnenten.
+     *
+     * @param gson Der Serialisierer für die Nachrichten.
+     * @param wakeup Weckt den Selector-Thread, wenn eine neue Änderung vorliegt.
+     * @Vorbedingung gson und wakeup dürfen nicht null sein.
+     * @Nachbedingung Es liegen keine Änderungen vor.
+     */
+    StateBroadcaster(Gson gson, Runnable wakeup)
+    {
+        this.gson = gson;
+        this.wakeup = wakeup;
+    }
+
+    /**
+     * Legt eine Zustandsänderung zur Verteilung ab. Kann aus jedem Thread aufgerufen werden und blockiert nicht.
+     *
+     * @param stateEvent Die Zustandsänderung.
+     * @Vorbedingung stateEvent darf nicht null sein und wird danach nicht verändert.
+     * @Nachbedingung Die Änderung wird beim nächsten {@link #broadcast(long)} verteilt.
+     */
+    void publish(StateEvent stateEvent)
+    {
+        if (!hasSubscriptions)
+        {
+            return;
+        }
+
+        if (stateEvent.event == StateEventType.MODEL)
+        {
+            pendingModelEvent.set(stateEvent);
+        }
+        else
+        {
+            pendingPoseEvent.set(stateEvent);
+        }
+
+        wakeup.run();
+    }
+
+    /**
+     * Abonniert die Zustandsänderungen für eine Verbindung und sendet ihr den aktuellen Zustand.
+     *
+     * @param connection Die abonnierende Verbindung.
+     * @param maxEventsPerSecond Die maximale Anzahl an Nachrichten pro Sekunde; 0 für eine pro Frame.
+     * @param currentState Liefert den aktuellen Zustand als erste Nachricht.
+     * @Vorbedingung Aufruf auf dem Selector-Thread; maxEventsPerSecond >= 0.
+     * @Nachbedingung Die Verbindung erhält alle folgenden Änderungen.
+     */
+    void subscribe(ClientConnection connection, double maxEventsPerSecond, Supplier<StateEvent> currentState)
+    {
+        long interval = maxEventsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxEventsPerSecond) : 0;
+
+        subscriptions.removeIf(subscription -> subscription.connection == connection);
+        subscriptions.add(new Subscription(connection, interval, poseVersion, modelVersion));
+        hasSubscriptions = true;
+
+        // Erst nach dem Setzen von hasSubscriptions lesen, damit keine gleichzeitige Änderung verloren geht
+        connection.sendLine(gson.toJson(currentState.get()));
+        Metrics.getInstance().increment(Constants.METRIC_SERVER_SUBSCRIPTIONS, Constants.INDEX_ONE);
+    }
+
+    /**
+     * Serialisiert neue Änderungen und sendet sie an alle Abonnenten, deren Rate und Sendewarteschlange es zulassen.
+     * Geschlossene Verbindungen werden dabei entfernt.
+     *
+     * @param now Der aktuelle Zeitpunkt aus {@link System#nanoTime()}.
+     * @return Die Zeit in Millisekunden, nach der ein durch seine Rate gebremster Abonnent wieder Nachrichten
+     * erhalten darf, oder 0, falls kein Abonnent darauf wartet.
+     * @Vorbedingung Aufruf auf dem Selector-Thread.
+     * @Nachbedingung Jeder Abonnent hat den neuesten Zustand erhalten oder erhält ihn bei einem späteren Aufruf.
+     */
+    long broadcast(long now)
+    {
+        if (subscriptions.isEmpty())
+        {
+            return 0;
+        }
+
+        serializePendingEvents();
+
+        long nextDelay = Long.MAX_VALUE;
+        Iterator<Subscription> iterator = subscriptions.iterator();
+
+        while (iterator.hasNext())
+        {
+            Subscription subscription = iterator.next();
+
+            if (subscription.connection.isClosed())
+            {
+                iterator.remove();
+                continue;
+            }
+
+            if (!subscription.isBehind(poseVersion, modelVersion) || subscription.connection.hasPendingOutput())
+            {
+                // Ein langsamer Abonnent wird nach dem Senden seiner Warteschlange über OP_WRITE wieder bedient
+                continue;
+            }
+
+            if (now < subscription.nextEventTime)
+            {
+                nextDelay = Math.min(nextDelay, subscription.nextEventTime - now);
+                continue;
+            }
+
+            send(subscription, now);
+        }
+
+        hasSubscriptions = !subscriptions.isEmpty();
+
+        return nextDelay == Long.MAX_VALUE ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDelay));
+    }
+
+    /**
+     * Übernimmt die abgelegten Änderungen und serialisiert sie einmalig für alle Abonnenten.
+     */
+    private void serializePendingEvents()
+    {
+        StateEvent modelEvent = pendingModelEvent.getAndSet(null);
+        StateEvent poseEvent = pendingPoseEvent.getAndSet(null);
+
+        if (modelEvent != null)
+        {
+            modelMessage = serialize(modelEvent);
+            modelVersion++;
+        }
+
+        if (poseEvent != null)
+        {
+            poseMessage = serialize(poseEvent);
+            poseVersion++;
+        }
+    }
+
+    /**
+     * Sendet einem Abonnenten die Nachrichten, die er noch nicht erhalten hat.
+     */
+    private void send(Subscription subscription, long now)
+    {
+        long skipped = (poseVersion - subscription.sentPoseVersion) + (modelVersion - subscription.sentModelVersion);
+
+        if (subscription.sentModelVersion < modelVersion)
+        {
+            subscription.connection.send(ByteBuffer.wrap(modelMessage));
+            subscription.sentModelVersion = modelVersion;
+            skipped--;
+        }
+
+        if (subscription.sentPoseVersion < poseVersion)
+        {
+            subscription.connection.send(ByteBuffer.wrap(poseMessage));
+            subscription.sentPoseVersion = poseVersion;
+            skipped--;
+        }
+
+        subscription.nextEventTime = now + subscription.interval;
+
+        Metrics.getInstance().increment(Constants.METRIC_SERVER_EVENTS, Constants.INDEX_ONE);
+
+        if (skipped > 0)
+        {
+            Metrics.getInstance().increment(Constants.METRIC_SERVER_EVENTS_CONFLATED, skipped);
+        }
+    }
+
+    /**
+     * Serialisiert eine Änderung als JSON-Zeile.
+     */
+    private byte[] serialize(StateEvent stateEvent)
+    {
+        return (gson.toJson(stateEvent) + Constants.SERVER_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Abonnement einer Verbindung mit ihrer Rate und den zuletzt gesendeten Versionen.
+     */
+    private static class Subscription
+    {
+        private final ClientConnection connection;
+        private final long interval;
+        private long nextEventTime;
+        private long sentPoseVersion;
+        private long sentModelVersion;
+
+        private Subscription(ClientConnection connection, long interval, long sentPoseVersion, long sentModelVersion)
+        {
+            this.connection = connection;
+            this.interval = interval;
+            this.sentPoseVersion = sentPoseVersion;
+            this.sentModelVersion = sentModelVersion;
+        }
+
+        private boolean isBehind(long poseVersion, long modelVersion)
+        {
+            return sentPoseVersion < poseVersion || sentModelVersion < modelVersion;
+        }
+    }
+}
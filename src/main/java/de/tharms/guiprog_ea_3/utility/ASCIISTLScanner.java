@@ -0,0 +1,376 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Liest ASCII-STL-Daten direkt auf Byte-Ebene aus einem {@link ByteBuffer}.
+ * Schlüsselwörter werden ohne String-Erzeugung verglichen und Zahlen mit einem eigenen Float-Scanner gelesen;
+ * jede vollständige Facette wird an einen {@link FacetSink} übergeben.
+ */
+public class ASCIISTLScanner
+{
+    private static final byte[] KEYWORD_SOLID = bytesOf(Constants.STL_ASCII_KEYWORD_SOLID);
+    private static final byte[] KEYWORD_ENDSOLID = bytesOf(Constants.STL_ASCII_KEYWORD_ENDSOLID);
+    private static final byte[] KEYWORD_FACET = bytesOf(Constants.STL_ASCII_KEYWORD_FACET);
+    private static final byte[] KEYWORD_NORMAL = bytesOf(Constants.STL_ASCII_KEYWORD_NORMAL);
+    private static final byte[] KEYWORD_OUTER = bytesOf(Constants.STL_ASCII_KEYWORD_OUTER);
+    private static final byte[] KEYWORD_LOOP = bytesOf(Constants.STL_ASCII_KEYWORD_LOOP);
+    private static final byte[] KEYWORD_VERTEX = bytesOf(Constants.STL_ASCII_KEYWORD_VERTEX);
+    private static final byte[] KEYWORD_ENDLOOP = bytesOf(Constants.STL_ASCII_KEYWORD_ENDLOOP);
+    private static final byte[] KEYWORD_ENDFACET = bytesOf(Constants.STL_ASCII_KEYWORD_ENDFACET);
+
+    // Zehnerpotenzen, die als double exakt darstellbar sind
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private final ByteBuffer buffer;
+    private final FacetSink sink;
+    private final float[] facet = new float[Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS +
+            Constants.STL_FACET_NUMBER_OF_COORDINATES];
+
+    private int position;
+    private int limit;
+    private int numberOfFacets;
+    private String solidName;
+
+    /**
+     * Erzeugt einen Scanner für den Bereich [position, limit) des Buffers.
+     *
+     * @param buffer Der Buffer mit ASCII-STL-Daten.
+     * @param sink Der Empfänger der eingelesenen Facetten.
+     * @Vorbedingung buffer und sink sind nicht null; der Bereich beginnt und endet an Facettengrenzen.
+     * @Nachbedingung Der Scanner steht am Anfang des Bereichs; der Buffer selbst wird nicht verändert.
+     */
+    public ASCIISTLScanner(ByteBuffer buffer, FacetSink sink)
+    {
+        this.buffer = buffer;
+        this.sink = sink;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Liest alle Facetten des Bereichs und übergibt sie an den {@link FacetSink}.
+     *
+     * @return Die Anzahl der eingelesenen Facetten.
+     * @Vorbedingung Der Bereich enthält nur vollständige Facetten sowie optional solid- und endsolid-Zeilen.
+     * @Nachbedingung Alle Facetten wurden übergeben oder es wurde eine IllegalArgumentException geworfen.
+     */
+    public int scan()
+    {
+        int numberOfVertices = 0;
+
+        while (skipWhitespace())
+        {
+            int tokenStart = position;
+            int tokenLength = skipToken();
+
+            if (tokenEquals(tokenStart, tokenLength, KEYWORD_VERTEX))
+            {
+                if (numberOfVertices == Constants.STL_NUMBER_OF_VERTICES)
+                {
+                    throw new IllegalArgumentException(Constants.INVALID_FACE_VERTEX);
+                }
+
+                int offset = Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS +
+                        numberOfVertices * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+                facet[offset] = scanFloat(Constants.INVALID_FACE_VERTEX);
+                facet[offset + 1] = scanFloat(Constants.INVALID_FACE_VERTEX);
+                facet[offset + 2] = scanFloat(Constants.INVALID_FACE_VERTEX);
+                numberOfVertices++;
+            }
+            else if (tokenEquals(tokenStart, tokenLength, KEYWORD_NORMAL))
+            {
+                facet[0] = scanFloat(Constants.INVALID_FACE_NORMAL);
+                facet[1] = scanFloat(Constants.INVALID_FACE_NORMAL);
+                facet[2] = scanFloat(Constants.INVALID_FACE_NORMAL);
+            }
+            else if (tokenEquals(tokenStart, tokenLength, KEYWORD_FACET))
+            {
+                numberOfVertices = 0;
+                facet[0] = 0;
+                facet[1] = 0;
+                facet[2] = 0;
+            }
+            else if (tokenEquals(tokenStart, tokenLength, KEYWORD_ENDFACET))
+            {
+                if (numberOfVertices != Constants.STL_NUMBER_OF_VERTICES)
+                {
+                    throw new IllegalArgumentException(Constants.INVALID_FACE_VERTEX);
+                }
+
+                sink.acceptFacet(facet);
+                numberOfFacets++;
+                numberOfVertices = 0;
+            }
+            else if (tokenEquals(tokenStart, tokenLength, KEYWORD_SOLID))
+            {
+                solidName = readRestOfLine();
+            }
+            else if (tokenEquals(tokenStart, tokenLength, KEYWORD_ENDSOLID))
+            {
+                readRestOfLine();
+            }
+            else if (!tokenEquals(tokenStart, tokenLength, KEYWORD_OUTER) &&
+                    !tokenEquals(tokenStart, tokenLength, KEYWORD_LOOP) &&
+                    !tokenEquals(tokenStart, tokenLength, KEYWORD_ENDLOOP))
+            {
+                throw new IllegalArgumentException(Constants.INVALID_ASCII_STL_TOKEN);
+            }
+        }
+
+        return numberOfFacets;
+    }
+
+    /**
+     * Liest eine Gleitkommazahl direkt aus den Bytes des Buffers.
+     * Bis zu 18 signifikante Ziffern werden als {@code long} gesammelt und mit einer exakten Zehnerpotenz
+     * skaliert; nur ungewöhnliche Schreibweisen (z. B. NaN, Infinity) fallen auf {@link Float#parseFloat} zurück.
+     *
+     * @param errorMessage Die Fehlermeldung, falls keine gültige Zahl gelesen werden kann.
+     * @return Die gelesene Zahl.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Der Scanner steht hinter der Zahl oder es wurde eine IllegalArgumentException geworfen.
+     */
+    private float scanFloat(String errorMessage)
+    {
+        if (!skipWhitespace())
+        {
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        int start = position;
+        boolean negative = false;
+        byte current = buffer.get(position);
+
+        if (current == '-' || current == '+')
+        {
+            negative = current == '-';
+            position++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+
+        // Ziffern vor dem Dezimalpunkt
+        while (position < limit && isDigit(current = buffer.get(position)))
+        {
+            hasDigits = true;
+            if (significantDigits < MAX_MANTISSA_DIGITS)
+            {
+                mantissa = mantissa * 10 + (current - '0');
+                if (mantissa != 0)
+                {
+                    significantDigits++;
+                }
+            }
+            else
+            {
+                exponent++;
+            }
+            position++;
+        }
+
+        // Ziffern nach dem Dezimalpunkt
+        if (position < limit && buffer.get(position) == '.')
+        {
+            position++;
+            while (position < limit && isDigit(current = buffer.get(position)))
+            {
+                hasDigits = true;
+                if (significantDigits < MAX_MANTISSA_DIGITS)
+                {
+                    mantissa = mantissa * 10 + (current - '0');
+                    exponent--;
+                    if (mantissa != 0)
+                    {
+                        significantDigits++;
+                    }
+                }
+                position++;
+            }
+        }
+
+        // Exponent
+        if (hasDigits && position < limit && ((current = buffer.get(position)) == 'e' || current == 'E'))
+        {
+            position++;
+            boolean negativeExponent = false;
+
+            if (position < limit && ((current = buffer.get(position)) == '-' || current == '+'))
+            {
+                negativeExponent = current == '-';
+                position++;
+            }
+
+            int exponentValue = 0;
+            boolean hasExponentDigits = false;
+            while (position < limit && isDigit(current = buffer.get(position)))
+            {
+                hasExponentDigits = true;
+                exponentValue = Math.min(exponentValue * 10 + (current - '0'), Constants.STL_ASCII_MAX_EXPONENT);
+                position++;
+            }
+
+            if (!hasExponentDigits)
+            {
+                return parseTokenFallback(start, errorMessage);
+            }
+
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        if (!hasDigits || (position < limit && !isWhitespace(buffer.get(position))))
+        {
+            return parseTokenFallback(start, errorMessage);
+        }
+
+        double value = mantissa;
+        if (exponent < 0 && -exponent < POWERS_OF_TEN.length)
+        {
+            value /= POWERS_OF_TEN[-exponent];
+        }
+        else if (exponent > 0 && exponent < POWERS_OF_TEN.length)
+        {
+            value *= POWERS_OF_TEN[exponent];
+        }
+        else if (exponent != 0)
+        {
+            value *= Math.pow(10, exponent);
+        }
+
+        return (float) (negative ? -value : value);
+    }
+
+    /**
+     * Liest das Token ab start als String und wandelt es mit {@link Float#parseFloat} um.
+     *
+     * @param start Der Beginn des Tokens.
+     * @param errorMessage Die Fehlermeldung, falls das Token keine Zahl ist.
+     * @return Die gelesene Zahl.
+     */
+    private float parseTokenFallback(int start, String errorMessage)
+    {
+        position = start;
+        int length = skipToken();
+        byte[] token = new byte[length];
+        buffer.get(start, token);
+
+        try
+        {
+            return Float.parseFloat(new String(token, StandardCharsets.US_ASCII));
+        }
+        catch (NumberFormatException numberFormatException)
+        {
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    /**
+     * Überspringt Leerzeichen und Zeilenumbrüche.
+     *
+     * @return {@code true}, wenn danach noch Daten im Bereich liegen.
+     */
+    private boolean skipWhitespace()
+    {
+        while (position < limit && isWhitespace(buffer.get(position)))
+        {
+            position++;
+        }
+
+        return position < limit;
+    }
+
+    /**
+     * Überspringt das aktuelle Token bis zum nächsten Leerzeichen.
+     *
+     * @return Die Länge des übersprungenen Tokens.
+     */
+    private int skipToken()
+    {
+        int start = position;
+        while (position < limit && !isWhitespace(buffer.get(position)))
+        {
+            position++;
+        }
+
+        return position - start;
+    }
+
+    /**
+     * Liest den Rest der aktuellen Zeile als getrimmten String.
+     *
+     * @return Der Rest der Zeile ohne führende und abschließende Leerzeichen.
+     */
+    private String readRestOfLine()
+    {
+        int start = position;
+        while (position < limit && buffer.get(position) != '\n' && buffer.get(position) != '\r')
+        {
+            position++;
+        }
+
+        byte[] line = new byte[position - start];
+        buffer.get(start, line);
+
+        return new String(line, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Vergleicht ein Token im Buffer mit einem Schlüsselwort, ohne einen String zu erzeugen.
+     *
+     * @param start Der Beginn des Tokens.
+     * @param length Die Länge des Tokens.
+     * @param keyword Das Schlüsselwort als Bytes.
+     * @return {@code true}, wenn Token und Schlüsselwort übereinstimmen.
+     */
+    private boolean tokenEquals(int start, int length, byte[] keyword)
+    {
+        if (length != keyword.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++)
+        {
+            if (buffer.get(start + i) != keyword[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(byte value)
+    {
+        return value >= '0' && value <= '9';
+    }
+
+    private static boolean isWhitespace(byte value)
+    {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t' || value == '\f';
+    }
+
+    private static byte[] bytesOf(String keyword)
+    {
+        return keyword.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public int getNumberOfFacets()
+    {
+        return numberOfFacets;
+    }
+
+    public String getSolidName()
+    {
+        return solidName;
+    }
+}
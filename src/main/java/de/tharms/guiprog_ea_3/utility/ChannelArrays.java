@@ -0,0 +1,127 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Überträgt primitive Arrays blockweise zwischen Dateien und dem Speicher, für die binären Netzformate des
+ * {@link MeshCache}, der {@link NativeMeshFile} und des {@link STLWriter}. Gelesen wird über fensterweise gemappte
+ * Bereiche, sodass auch Dateien über 2 GB verarbeitet werden; geschrieben wird über einen wiederverwendeten Puffer.
+ * Alle Werte liegen in Little Endian vor.
+ */
+class ChannelArrays
+{
+    /**
+     * Kopiert Werte fensterweise aus der gemappten Datei in ein Array.
+     *
+     * @return Die Position hinter den gelesenen Werten.
+     */
+    static long readFloats(FileChannel channel, long position, float[] target) throws IOException
+    {
+        int valuesPerWindow = Constants.MESH_FILE_MAPPING_WINDOW_SIZE / Float.BYTES;
+
+        for (int offset = 0; offset < target.length; offset += valuesPerWindow)
+        {
+            int count = Math.min(valuesPerWindow, target.length - offset);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Float.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(target, offset, count);
+            position += (long) count * Float.BYTES;
+        }
+
+        return position;
+    }
+
+    /**
+     * Kopiert Werte fensterweise aus der gemappten Datei in ein Array.
+     *
+     * @return Die Position hinter den gelesenen Werten.
+     */
+    static long readInts(FileChannel channel, long position, int[] target) throws IOException
+    {
+        int valuesPerWindow = Constants.MESH_FILE_MAPPING_WINDOW_SIZE / Integer.BYTES;
+
+        for (int offset = 0; offset < target.length; offset += valuesPerWindow)
+        {
+            int count = Math.min(valuesPerWindow, target.length - offset);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    (long) count * Integer.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(target, offset, count);
+            position += (long) count * Integer.BYTES;
+        }
+
+        return position;
+    }
+
+    /**
+     * Schreibt die ersten length Werte eines Arrays blockweise über den Puffer in den Kanal.
+     */
+    static void writeFloats(FileChannel channel, ByteBuffer buffer, float[] values, int length)
+            throws IOException
+    {
+        int valuesPerBlock = buffer.capacity() / Float.BYTES;
+
+        for (int offset = 0; offset < length; offset += valuesPerBlock)
+        {
+            int count = Math.min(valuesPerBlock, length - offset);
+            buffer.clear();
+            buffer.asFloatBuffer().put(values, offset, count);
+            buffer.limit(count * Float.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Schreibt die ersten length Werte eines Arrays blockweise über den Puffer in den Kanal.
+     */
+    static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int length)
+            throws IOException
+    {
+        int valuesPerBlock = buffer.capacity() / Integer.BYTES;
+
+        for (int offset = 0; offset < length; offset += valuesPerBlock)
+        {
+            int count = Math.min(valuesPerBlock, length - offset);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.limit(count * Integer.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Schreibt den gesamten Inhalt des Puffers in den Kanal.
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Liest ab einer Position, bis der Puffer voll ist.
+     *
+     * @throws IOException Wenn die Datei vorher endet.
+     */
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            int bytesRead = channel.read(buffer, position);
+
+            if (bytesRead < 0)
+            {
+                throw new EOFException(Constants.MESH_FILE_TRUNCATED);
+            }
+
+            position += bytesRead;
+        }
+    }
+}
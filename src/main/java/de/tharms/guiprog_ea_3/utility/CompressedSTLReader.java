@@ -0,0 +1,425 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.CompressionFormat;
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.LoadProgress;
+import de.tharms.guiprog_ea_3.model.LoadStage;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.view.Output;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Liest gzip- und zip-komprimierte STL-Dateien, ohne sie vorher vollständig zu entpacken. Ein eigener Thread
+ * entpackt die Datei blockweise ({@link ReadAheadInputStream}), während der aufrufende Thread die bereits entpackten
+ * Blöcke einliest. Im Speicher liegen daher nie mehr als einige Blöcke der entpackten Datei.
+ * Aus einem zip-Archiv wird der erste Eintrag mit der Endung {@link Constants#FILENAME_VALID_FORMAT} gelesen.
+ */
+public class CompressedSTLReader
+{
+    /**
+     * Erkennt an den ersten Bytes einer Datei, ob sie gzip- oder zip-komprimiert ist.
+     *
+     * @param filepath Der Pfad der Datei.
+     * @return Das Kompressionsformat; {@link CompressionFormat#NONE} auch für nicht vorhandene oder zu kurze
+     * Dateien.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @Vorbedingung filepath darf nicht null sein.
+     * @Nachbedingung Die Datei wurde nicht verändert.
+     */
+    public static CompressionFormat detectCompression(String filepath) throws IOException
+    {
+        Path path = Path.of(filepath);
+
+        if (!Files.isRegularFile(path))
+        {
+            return CompressionFormat.NONE;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            ByteBuffer magic = ByteBuffer.allocate(Constants.COMPRESSION_MAGIC_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (channel.read(magic, 0) < Constants.COMPRESSION_MAGIC_LENGTH)
+            {
+                return CompressionFormat.NONE;
+            }
+
+            int value = magic.getInt(0);
+
+            if ((value & 0xFFFF) == GZIPInputStream.GZIP_MAGIC)
+            {
+                return CompressionFormat.GZIP;
+            }
+
+            if (value == Constants.ZIP_LOCAL_HEADER_MAGIC)
+            {
+                return CompressionFormat.ZIP;
+            }
+
+            return CompressionFormat.NONE;
+        }
+    }
+
+    /**
+     * Liefert die Größe der entpackten STL-Datei, soweit sie ohne Entpacken bekannt ist: bei gzip aus dem Trailer
+     * (modulo 4 GiB), bei zip aus dem Verzeichnis des Archivs.
+     *
+     * @param filepath Der Pfad der komprimierten Datei.
+     * @param compression Das Kompressionsformat der Datei.
+     * @return Die entpackte Größe in Bytes oder -1, falls sie unbekannt ist.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @Vorbedingung compression ist nicht {@link CompressionFormat#NONE}.
+     * @Nachbedingung Die Datei wurde nicht entpackt.
+     */
+    public static long getUncompressedSize(String filepath, CompressionFormat compression) throws IOException
+    {
+        if (compression == CompressionFormat.ZIP)
+        {
+            try (ZipFile zipFile = new ZipFile(filepath))
+            {
+                return zipFile.stream()
+                        .filter(CompressedSTLReader::isSTLEntry)
+                        .findFirst()
+                        .map(ZipEntry::getSize)
+                        .orElse(-1L);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ))
+        {
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (channel.size() < Integer.BYTES ||
+                    channel.read(trailer, channel.size() - Integer.BYTES) < Integer.BYTES)
+            {
+                return -1;
+            }
+
+            return Integer.toUnsignedLong(trailer.getInt(0));
+        }
+    }
+
+    /**
+     * Liest eine komprimierte STL-Datei im ASCII- oder Binärformat ein. Das Format der entpackten Daten wird wie bei
+     * unkomprimierten Dateien am Header erkannt.
+     *
+     * @param filepath Der Pfad der komprimierten Datei.
+     * @param compression Das Kompressionsformat der Datei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @param bufferPool Der Pool für die Dreieckssuppe binärer Dateien.
+     * @return Das aus der Datei erzeugte {@link Polyhedron}.
+     * @throws IOException Wenn die Datei nicht gelesen oder entpackt werden kann.
+     * @throws IllegalArgumentException Wenn das Archiv keine STL-Datei enthält oder diese ungültig ist.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     * @Vorbedingung compression ist nicht {@link CompressionFormat#NONE}; progress und bufferPool sind nicht null.
+     * @Nachbedingung Das Polyeder samt {@link de.tharms.guiprog_ea_3.model.MeshStatistics} ist erzeugt.
+     */
+    public static Polyhedron createPolyhedronFromCompressedSTL(String filepath, CompressionFormat compression,
+                                                               LoadProgress progress, ParseBufferPool bufferPool)
+            throws IOException
+    {
+        long uncompressedSize = getUncompressedSize(filepath, compression);
+
+        try (InputStream input = new ReadAheadInputStream(openDecompressed(filepath, compression),
+                Constants.STL_DECOMPRESSION_CHUNK_SIZE, Constants.STL_DECOMPRESSION_CHUNKS))
+        {
+            byte[] header = input.readNBytes(Constants.STL_FORMAT_SNIFF_LENGTH);
+            // Die Größe aus dem gzip-Trailer kann übergelaufen sein; dann entscheidet allein der Anfang
+            boolean isASCII = STLFormatDetector.isASCIISTL(header, header.length, uncompressedSize);
+
+            Output.printFileFormat(isASCII);
+
+            if (isASCII)
+            {
+                return readASCII(filepath, input, header, progress);
+            }
+
+            return readBinary(filepath, input, header, uncompressedSize, progress, bufferPool);
+        }
+    }
+
+    /**
+     * Öffnet den entpackten Inhalt einer Datei; bei zip-Archiven den ersten STL-Eintrag.
+     *
+     * @throws IllegalArgumentException Wenn das zip-Archiv keine STL-Datei enthält.
+     */
+    private static InputStream openDecompressed(String filepath, CompressionFormat compression) throws IOException
+    {
+        InputStream file = Files.newInputStream(Path.of(filepath));
+
+        try
+        {
+            if (compression == CompressionFormat.GZIP)
+            {
+                return new GZIPInputStream(file, Constants.STL_DECOMPRESSION_INPUT_BUFFER_SIZE);
+            }
+
+            ZipInputStream zip = new ZipInputStream(
+                    new BufferedInputStream(file, Constants.STL_DECOMPRESSION_INPUT_BUFFER_SIZE));
+            ZipEntry entry;
+
+            while ((entry = zip.getNextEntry()) != null)
+            {
+                if (isSTLEntry(entry))
+                {
+                    return zip;
+                }
+            }
+
+            throw new IllegalArgumentException(Constants.ZIP_WITHOUT_STL);
+        }
+        catch (IOException | RuntimeException exception)
+        {
+            file.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Prüft, ob ein Eintrag eines zip-Archivs eine STL-Datei ist.
+     */
+    private static boolean isSTLEntry(ZipEntry entry)
+    {
+        return !entry.isDirectory() &&
+                entry.getName().toLowerCase(Locale.ROOT).endsWith(Constants.FILENAME_VALID_FORMAT);
+    }
+
+    /**
+     * Liest entpackte ASCII-STL-Daten blockweise ein. Jeder Block wird bis zum letzten vollständigen "endfacet"
+     * gescannt; der Rest wird an den Anfang verschoben und mit dem nächsten Block fortgesetzt.
+     *
+     * @param header Die bereits gelesenen ersten Bytes.
+     */
+    private static Polyhedron readASCII(String filepath, InputStream input, byte[] header, LoadProgress progress)
+            throws IOException
+    {
+        byte[] keyword = Constants.STL_ASCII_KEYWORD_ENDFACET.getBytes(StandardCharsets.US_ASCII);
+        byte[] block = new byte[Constants.STL_DECOMPRESSION_CHUNK_SIZE];
+        TriangleBuffer buffer = new TriangleBuffer(Constants.STL_DECOMPRESSION_CHUNK_SIZE /
+                Constants.STL_ASCII_ESTIMATED_FACET_LENGTH);
+        String solidName = null;
+        long bytesRead = header.length;
+        int length = header.length;
+        MeshData meshData;
+
+        System.arraycopy(header, 0, block, 0, header.length);
+
+        try (MetricScope parseScope = Metrics.getInstance().startScope(Constants.METRIC_STL_PARSE))
+        {
+            boolean endOfStream = false;
+
+            while (!endOfStream)
+            {
+                progress.checkCancelled();
+                progress.update(LoadStage.READING_BYTES, bytesRead, -1);
+
+                int count = input.readNBytes(block, length, block.length - length);
+                endOfStream = length + count < block.length;
+                length += count;
+                bytesRead += count;
+
+                // Am Ende des Streams wird alles gescannt, damit unvollständige Facetten gemeldet werden
+                int scanEnd = endOfStream ? length : findEndOfLastFacet(block, length, keyword);
+
+                if (scanEnd < 0)
+                {
+                    // Eine einzelne Facette ist länger als der Block
+                    block = Arrays.copyOf(block, block.length * 2);
+                    continue;
+                }
+
+                ASCIISTLScanner scanner = new ASCIISTLScanner(ByteBuffer.wrap(block, 0, scanEnd), buffer);
+                scanner.scan();
+
+                if (solidName == null)
+                {
+                    solidName = scanner.getSolidName();
+                }
+
+                System.arraycopy(block, scanEnd, block, 0, length - scanEnd);
+                length -= scanEnd;
+            }
+
+            STLReader.recordParseThroughput(bytesRead, buffer.getNumberOfTriangles(), parseScope.getElapsedNanos());
+            Output.timePassed(parseScope.getElapsedMillis(), Constants.STL_PARSING);
+        }
+
+        try (MetricScope buildScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_BUILD))
+        {
+            progress.update(LoadStage.BUILDING_MESH, 0, -1);
+            meshData = TriangleBuffer.createMeshData(List.of(buffer));
+            Output.timePassed(buildScope.getElapsedMillis(), Constants.MESH_BUILDING);
+        }
+
+        return STLReader.createPolyhedron(meshData,
+                solidName == null || solidName.isEmpty() ? filepath : solidName, progress);
+    }
+
+    /**
+     * Sucht das letzte Schlüsselwort "endfacet" im Block.
+     *
+     * @return Die Position direkt dahinter oder -1, falls der Block keines enthält.
+     */
+    private static int findEndOfLastFacet(byte[] block, int length, byte[] keyword)
+    {
+        for (int i = length - keyword.length; i >= 0; i--)
+        {
+            if (Arrays.equals(block, i, i + keyword.length, keyword, 0, keyword.length))
+            {
+                return i + keyword.length;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Liest entpackte Binär-STL-Daten blockweise in eine Dreieckssuppe ein. Die Anzahl der Dreiecke im Header wird
+     * vor dem Anlegen der Arrays nur gegen die Obergrenze geprüft, da die Größe der entpackten Daten nicht sicher
+     * bekannt ist. Die Arrays werden daher zunächst nur so groß angelegt, wie die bekannte Größe der entpackten Daten
+     * bzw. ein Block zulässt, und erst mit den tatsächlich gelesenen Facetten vergrößert; ein beschädigter Header
+     * führt so nicht zu einer übergroßen Allokation, sondern zu einem zu früh endenden Stream.
+     *
+     * @param prefix Die bereits gelesenen ersten Bytes, mindestens der Header.
+     * @param uncompressedSize Die vermutete Größe der entpackten Daten oder -1.
+     * @throws IllegalArgumentException Wenn der Stream vor der letzten Facette endet oder der Header zu viele
+     * Dreiecke angibt.
+     */
+    private static Polyhedron readBinary(String filepath, InputStream input, byte[] prefix, long uncompressedSize,
+                                         LoadProgress progress, ParseBufferPool bufferPool) throws IOException
+    {
+        if (prefix.length < Constants.STL_BINARY_DATA_OFFSET)
+        {
+            throw new IllegalArgumentException(Constants.STL_BINARY_FILE_TOO_SHORT);
+        }
+
+        String headerName = new String(prefix, 0, Constants.STL_BINARY_HEADER_LENGTH, StandardCharsets.US_ASCII)
+                .trim();
+        long numberOfTriangles = Integer.toUnsignedLong(ByteBuffer.wrap(prefix).order(ByteOrder.LITTLE_ENDIAN)
+                .getInt(Constants.STL_BINARY_HEADER_LENGTH));
+
+        if (numberOfTriangles > Constants.STL_MAX_NUMBER_OF_TRIANGLES)
+        {
+            throw new IllegalArgumentException(Constants.STL_TOO_MANY_TRIANGLES);
+        }
+
+        int facetsPerBlock = Constants.STL_DECOMPRESSION_CHUNK_SIZE / Constants.STL_BINARY_FACET_LENGTH;
+        int triangles = (int) numberOfTriangles;
+        long expectedTriangles = uncompressedSize < Constants.STL_BINARY_DATA_OFFSET ? facetsPerBlock :
+                (uncompressedSize - Constants.STL_BINARY_DATA_OFFSET) / Constants.STL_BINARY_FACET_LENGTH;
+        int capacity = (int) Math.min(triangles, Math.max(expectedTriangles, facetsPerBlock));
+
+        float[] soup = bufferPool.acquire(capacity * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+        float[] normals = new float[capacity * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+        MeshData meshData;
+
+        try
+        {
+            try (MetricScope parseScope = Metrics.getInstance().startScope(Constants.METRIC_STL_PARSE))
+            {
+                // Bereits gelesene Bytes hinter dem Header bilden den Anfang des ersten Blocks
+                InputStream facets = new SequenceInputStream(new ByteArrayInputStream(prefix,
+                        Constants.STL_BINARY_DATA_OFFSET, prefix.length - Constants.STL_BINARY_DATA_OFFSET), input);
+                byte[] block = new byte[facetsPerBlock * Constants.STL_BINARY_FACET_LENGTH];
+
+                progress.update(LoadStage.PARSING_FACETS, 0, triangles);
+
+                for (int firstFacet = 0; firstFacet < triangles; firstFacet += facetsPerBlock)
+                {
+                    progress.checkCancelled();
+                    progress.update(LoadStage.PARSING_FACETS, firstFacet, triangles);
+
+                    int facetsInBlock = Math.min(facetsPerBlock, triangles - firstFacet);
+                    int blockLength = facetsInBlock * Constants.STL_BINARY_FACET_LENGTH;
+
+                    if (facets.readNBytes(block, 0, blockLength) < blockLength)
+                    {
+                        throw new IllegalArgumentException(Constants.STL_BINARY_FILE_TOO_SHORT);
+                    }
+
+                    if (firstFacet + facetsInBlock > capacity)
+                    {
+                        capacity = (int) Math.min(triangles, Math.max(capacity * 2L, firstFacet + facetsInBlock));
+                        float[] grownSoup = bufferPool.acquire(capacity * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+                        System.arraycopy(soup, 0, grownSoup, 0, firstFacet * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+                        bufferPool.release(soup);
+                        soup = grownSoup;
+                        normals = Arrays.copyOf(normals, capacity * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+                    }
+
+                    decodeBinaryFacets(ByteBuffer.wrap(block).order(ByteOrder.LITTLE_ENDIAN), facetsInBlock,
+                            firstFacet, soup, normals);
+                }
+
+                progress.checkCancelled();
+                progress.update(LoadStage.PARSING_FACETS, triangles, triangles);
+
+                long bytes = Constants.STL_BINARY_DATA_OFFSET + numberOfTriangles * Constants.STL_BINARY_FACET_LENGTH;
+                STLReader.recordParseThroughput(bytes, triangles, parseScope.getElapsedNanos());
+                Output.timePassed(parseScope.getElapsedMillis(), Constants.STL_PARSING);
+            }
+
+            try (MetricScope buildScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_BUILD))
+            {
+                progress.update(LoadStage.BUILDING_MESH, 0, -1);
+                meshData = MeshBuilder.createMeshData(soup, normals, triangles);
+                Output.timePassed(buildScope.getElapsedMillis(), Constants.MESH_BUILDING);
+            }
+        }
+        finally
+        {
+            bufferPool.release(soup);
+        }
+
+        return STLReader.createPolyhedron(meshData, headerName.isEmpty() ? filepath : headerName, progress);
+    }
+
+    /**
+     * Überträgt die Facetten eines Blocks in die primitiven Arrays.
+     *
+     * @param facets Der Block mit facetsInBlock vollständigen 50-Byte-Facetten in Little Endian.
+     * @param firstFacet Der Index der ersten Facette des Blocks.
+     */
+    private static void decodeBinaryFacets(ByteBuffer facets, int facetsInBlock, int firstFacet, float[] soup,
+                                           float[] normals)
+    {
+        int soupIndex = firstFacet * Constants.STL_FACET_NUMBER_OF_COORDINATES;
+        int normalIndex = firstFacet * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+        int byteOffset = 0;
+
+        for (int i = 0; i < facetsInBlock; i++)
+        {
+            // Normale, danach drei Eckpunkte; das Attribut-Short am Ende wird übersprungen
+            normals[normalIndex++] = facets.getFloat(byteOffset);
+            normals[normalIndex++] = facets.getFloat(byteOffset + Constants.STL_BINARY_NORMAL_Y_OFFSET);
+            normals[normalIndex++] = facets.getFloat(byteOffset + Constants.STL_BINARY_NORMAL_Z_OFFSET);
+
+            for (int j = Constants.STL_BINARY_VERTICES_OFFSET; j < Constants.STL_BINARY_VERTICES_END; j += Float.BYTES)
+            {
+                soup[soupIndex++] = facets.getFloat(byteOffset + j);
+            }
+
+            byteOffset += Constants.STL_BINARY_FACET_LENGTH;
+        }
+    }
+}
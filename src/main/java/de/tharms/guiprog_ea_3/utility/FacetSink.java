@@ -0,0 +1,19 @@
+package de.tharms.guiprog_ea_3.utility;
+
+/**
+ * Empfänger für einzeln eingelesene STL-Facetten.
+ * Die Werte einer Facette werden in einem wiederverwendeten Array übergeben, damit beim Einlesen keine Objekte
+ * pro Facette entstehen.
+ */
+@FunctionalInterface
+public interface FacetSink
+{
+    /**
+     * Nimmt eine vollständig eingelesene Facette entgegen.
+     *
+     * @param facet Zwölf Werte in der Reihenfolge des Binärformats: Normale (3), danach drei Eckpunkte (je 3).
+     * @Vorbedingung facet enthält mindestens zwölf Werte.
+     * @Nachbedingung Die Werte wurden übernommen; das Array darf danach vom Aufrufer überschrieben werden.
+     */
+    void acceptFacet(float[] facet);
+}
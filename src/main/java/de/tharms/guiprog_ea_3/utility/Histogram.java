@@ -0,0 +1,103 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Threadsicheres Histogramm für nicht-negative Messwerte.
+ * Die Werte werden in Buckets mit Zweierpotenz-Grenzen gezählt, sodass Perzentile ohne Speicherung einzelner
+ * Messwerte mit höchstens Faktor 2 Abweichung geschätzt werden können; Anzahl, Summe, Minimum und Maximum sind exakt.
+ */
+public class Histogram
+{
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+
+    /**
+     * Erfasst einen Messwert.
+     *
+     * @param value Der Messwert; negative Werte werden als 0 erfasst.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Anzahl, Summe, Minimum, Maximum und der passende Bucket wurden aktualisiert.
+     */
+    public void record(long value)
+    {
+        long clampedValue = Math.max(value, 0);
+
+        // Minimum und Maximum vor der Anzahl, damit ein gleichzeitiger Leser bei Anzahl > 0 gültige Grenzen sieht
+        min.accumulate(clampedValue);
+        max.accumulate(clampedValue);
+        sum.add(clampedValue);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(clampedValue));
+        count.increment();
+    }
+
+    /**
+     * Schätzt das Perzentil über die obere Grenze des Buckets, in den es fällt.
+     *
+     * @param percentile Das Perzentil zwischen 0 und 100.
+     * @return Der geschätzte Wert oder 0, falls noch nichts erfasst wurde.
+     * @Vorbedingung 0 <= percentile <= 100.
+     * @Nachbedingung Das Ergebnis liegt zwischen Minimum und Maximum, sofern beide schon erfasst sind.
+     */
+    public long getPercentile(double percentile)
+    {
+        long total = getCount();
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / Constants.METRIC_PERCENT));
+        long seen = 0;
+
+        for (int bucket = 0; bucket < buckets.length(); bucket++)
+        {
+            seen += buckets.get(bucket);
+
+            if (seen >= rank)
+            {
+                long upperBound = bucket == 0 ? 0 : bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                long lowest = getMin();
+                long highest = getMax();
+
+                // Beim gleichzeitigen Erfassen können die Grenzen kurzzeitig noch nicht zueinander passen
+                return lowest <= highest ? Math.clamp(upperBound, lowest, highest) : upperBound;
+            }
+        }
+
+        return getMax();
+    }
+
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    public long getSum()
+    {
+        return sum.sum();
+    }
+
+    public long getMin()
+    {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMax()
+    {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    public double getMean()
+    {
+        long total = getCount();
+        return total == 0 ? 0 : (double) getSum() / total;
+    }
+}
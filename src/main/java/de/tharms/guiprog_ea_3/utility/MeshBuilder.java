@@ -0,0 +1,113 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.*;
+
+import java.util.List;
+
+/**
+ * Diese Klasse erzeugt aus Dreieckssuppen oder {@link Face}-Listen ein indiziertes {@link MeshData}-Objekt,
+ * in dem jeder Eckpunkt nur einmal gespeichert ist.
+ */
+public class MeshBuilder
+{
+    /**
+     * Erzeugt ein indiziertes {@link MeshData}-Objekt aus einer Dreieckssuppe.
+     * Eckpunkte mit identischen Koordinaten werden zu einem Eckpunkt zusammengefasst; die Reihenfolge der
+     * eindeutigen Eckpunkte entspricht ihrem ersten Auftreten.
+     *
+     * @param soup Die Eckpunkte aller Dreiecke, neun Werte pro Dreieck.
+     * @param normals Die Normalen der Dreiecke, drei Werte pro Dreieck.
+     * @param numberOfTriangles Die Anzahl der Dreiecke.
+     * @return Ein {@link MeshData}-Objekt mit eindeutigen Positionen und Index-Puffer.
+     * @Vorbedingung soup enthält mindestens 9 * numberOfTriangles Werte.
+     * @Nachbedingung Das Ergebnis referenziert das übergebene Normalen-Array; soup wird nicht verändert.
+     */
+    public static MeshData createMeshData(float[] soup, float[] normals, int numberOfTriangles)
+    {
+        return createMeshData(soup, normals, numberOfTriangles, Constants.WELD_EXACT_TOLERANCE);
+    }
+
+    /**
+     * Erzeugt ein indiziertes {@link MeshData}-Objekt aus einer Dreieckssuppe und verschweißt dabei alle Eckpunkte,
+     * die in jeder Koordinate höchstens um die Toleranz voneinander abweichen, in einem einzigen Durchlauf über
+     * den {@link VertexWeldIndex}.
+     *
+     * @param soup Die Eckpunkte aller Dreiecke, neun Werte pro Dreieck.
+     * @param normals Die Normalen der Dreiecke, drei Werte pro Dreieck.
+     * @param numberOfTriangles Die Anzahl der Dreiecke.
+     * @param tolerance Die Schweißtoleranz; 0 verschweißt nur identische Koordinaten.
+     * @return Ein {@link MeshData}-Objekt mit eindeutigen Positionen und Index-Puffer.
+     * @Vorbedingung soup enthält mindestens 9 * numberOfTriangles Werte, tolerance >= 0.
+     * @Nachbedingung Das Ergebnis referenziert das übergebene Normalen-Array; soup wird nicht verändert.
+     */
+    public static MeshData createMeshData(float[] soup, float[] normals, int numberOfTriangles, float tolerance)
+    {
+        int numberOfCorners = numberOfTriangles * Constants.STL_NUMBER_OF_VERTICES;
+        int[] indices = new int[numberOfCorners];
+
+        // Geschlossene Dreiecksnetze besitzen etwa halb so viele Eckpunkte wie Dreiecke
+        VertexWeldIndex weldIndex = new VertexWeldIndex(numberOfTriangles / Constants.INDEX_TWO, tolerance);
+        weldIndex.weldAll(soup, numberOfCorners, indices);
+
+        return new MeshData(weldIndex.toPositions(), weldIndex.getNumberOfVertices(), indices, normals,
+                numberOfTriangles);
+    }
+
+    /**
+     * Erzeugt ein indiziertes {@link MeshData}-Objekt aus einer Liste von {@link Face}-Objekten.
+     * Polygone mit mehr als drei Eckpunkten werden als Fächer trianguliert.
+     *
+     * @param faces Die Flächen des Polyeders.
+     * @return Ein {@link MeshData}-Objekt mit eindeutigen Positionen und Index-Puffer.
+     * @Vorbedingung faces ist nicht null.
+     * @Nachbedingung Jedes Dreieck übernimmt die Normale seiner Ursprungsfläche.
+     */
+    public static MeshData createMeshData(List<Face> faces)
+    {
+        int numberOfTriangles = 0;
+        for (Face face : faces)
+        {
+            numberOfTriangles += Math.max(face.getPolygon().getEdges().size() - Constants.INDEX_TWO, 0);
+        }
+
+        float[] soup = new float[numberOfTriangles * Constants.STL_FACET_NUMBER_OF_COORDINATES];
+        float[] normals = new float[numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+        int soupIndex = 0;
+        int normalIndex = 0;
+
+        for (Face face : faces)
+        {
+            List<Vertex> vertices = face.getPolygon().getVertices();
+
+            for (int i = Constants.INDEX_ONE; i < vertices.size() - Constants.INDEX_ONE; i++)
+            {
+                soupIndex = putVertex(soup, soupIndex, vertices.getFirst());
+                soupIndex = putVertex(soup, soupIndex, vertices.get(i));
+                soupIndex = putVertex(soup, soupIndex, vertices.get(i + Constants.INDEX_ONE));
+
+                normals[normalIndex++] = face.getNormal().getX();
+                normals[normalIndex++] = face.getNormal().getY();
+                normals[normalIndex++] = face.getNormal().getZ();
+            }
+        }
+
+        return createMeshData(soup, normals, numberOfTriangles);
+    }
+
+    /**
+     * Schreibt die Koordinaten eines {@link Vertex} in die Dreieckssuppe.
+     *
+     * @param soup Die Dreieckssuppe.
+     * @param index Die Schreibposition.
+     * @param vertex Der zu schreibende Vertex.
+     * @return Die nächste Schreibposition.
+     */
+    private static int putVertex(float[] soup, int index, Vertex vertex)
+    {
+        soup[index++] = vertex.getX();
+        soup[index++] = vertex.getY();
+        soup[index++] = vertex.getZ();
+
+        return index;
+    }
+}
@@ -0,0 +1,369 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.MeshStatistics;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Lokaler Cache für bereits eingelesene und analysierte STL-Dateien. Pro Quelldatei wird eine Cache-Datei abgelegt,
+ * deren Name sich aus dem Hash des absoluten Pfades ergibt und die nur gültig ist, solange Größe und
+ * Änderungszeitpunkt der Quelldatei unverändert sind. Sie enthält das verschweißte Dreiecksnetz und die
+ * {@link MeshStatistics}, sodass beim erneuten Öffnen weder eingelesen, verschweißt noch analysiert werden muss.
+ * Übersteigen alle Cache-Dateien zusammen die maximale Größe, werden beim Ablegen die am längsten nicht verwendeten
+ * gelöscht. Alle Werte liegen in Little Endian vor:
+ * <pre>
+ * Kopf:   [Magic: 4][Version: 4][Quellgröße: 8][Quelländerung: 8][Ecken V: 4][Dreiecke T: 4][Kanten: 4]
+ *         [Namenslänge: 4][Oberfläche: 8][Volumen: 8][Bounding Box: 2 x 3 x 4][Schwerpunkt: 3 x 8][Flags: 4]
+ *         [reserviert: 4]
+ * Name:   [UTF-8, aufgefüllt auf ein Vielfaches von 8 Bytes]
+ * Daten:  [Positionen: 3V float][Indizes: 3T int][Normalen: 3T float]
+ * </pre>
+ * Beim Laden werden die Datenbereiche fensterweise gemappt und blockweise in die Arrays kopiert.
+ */
+public class MeshCache
+{
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * Erzeugt einen Cache im angegebenen Verzeichnis mit der Standardgröße {@link Constants#MESH_CACHE_MAX_BYTES};
+     * das Verzeichnis wird erst beim ersten Speichern angelegt.
+     *
+     * @param directory Das Verzeichnis der Cache-Dateien.
+     * @Vorbedingung directory darf nicht null sein.
+     * @Nachbedingung Der Cache ist bereit.
+     */
+    public MeshCache(Path directory)
+    {
+        this(directory, Constants.MESH_CACHE_MAX_BYTES);
+    }
+
+    /**
+     * Erzeugt einen Cache im angegebenen Verzeichnis mit fester maximaler Größe.
+     *
+     * @param directory Das Verzeichnis der Cache-Dateien.
+     * @param maxBytes Die Größe in Bytes, die alle Cache-Dateien zusammen höchstens belegen sollen.
+     * @Vorbedingung directory darf nicht null sein, maxBytes >= 0.
+     * @Nachbedingung Der Cache ist bereit.
+     */
+    public MeshCache(Path directory, long maxBytes)
+    {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Erzeugt einen Cache im Standardverzeichnis {@link Constants#MESH_CACHE_DIRECTORY} des Benutzerverzeichnisses.
+     *
+     * @return Der Cache.
+     */
+    public static MeshCache createDefault()
+    {
+        return new MeshCache(Path.of(System.getProperty(Constants.USER_HOME_PROPERTY),
+                Constants.MESH_CACHE_DIRECTORY));
+    }
+
+    /**
+     * Lädt ein Polyeder aus dem Cache, sofern für die Quelldatei ein gültiger Eintrag vorliegt.
+     *
+     * @param source Der Pfad der Quelldatei.
+     * @param sourceAttributes Die vor dem Laden gelesenen Attribute der Quelldatei.
+     * @return Das Polyeder samt {@link MeshStatistics} oder {@code null}, wenn kein Eintrag existiert oder der
+     * Eintrag zu einer anderen Version der Quelldatei gehört.
+     * @throws IOException Wenn eine vorhandene Cache-Datei nicht gelesen werden kann oder beschädigt ist.
+     * @Vorbedingung source und sourceAttributes dürfen nicht null sein.
+     * @Nachbedingung Der Inhalt der Cache-Datei wurde nicht verändert; bei einem Treffer ist ihr Änderungszeitpunkt
+     * als Zeitpunkt der letzten Verwendung aktualisiert.
+     */
+    public Polyhedron load(Path source, BasicFileAttributes sourceAttributes) throws IOException
+    {
+        Path cacheFile = getCacheFile(source);
+
+        if (!Files.isRegularFile(cacheFile))
+        {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(Constants.MESH_CACHE_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            ChannelArrays.readFully(channel, header, 0);
+            header.flip();
+
+            if (header.getInt() != Constants.MESH_CACHE_MAGIC || header.getInt() != Constants.MESH_CACHE_VERSION)
+            {
+                return null;
+            }
+
+            if (header.getLong() != sourceAttributes.size() ||
+                    header.getLong() != sourceAttributes.lastModifiedTime().toMillis())
+            {
+                return null;
+            }
+
+            int numberOfVertices = header.getInt();
+            int numberOfTriangles = header.getInt();
+            int numberOfEdges = header.getInt();
+            int nameLength = header.getInt();
+            double surfaceArea = header.getDouble();
+            double signedVolume = header.getDouble();
+            float[] boundsMin = {header.getFloat(), header.getFloat(), header.getFloat()};
+            float[] boundsMax = {header.getFloat(), header.getFloat(), header.getFloat()};
+            double[] centroid = {header.getDouble(), header.getDouble(), header.getDouble()};
+            boolean watertight = (header.getInt() & Constants.MESH_FILE_FLAG_WATERTIGHT) != 0;
+
+            // Größen vor dem Anlegen der Arrays prüfen, damit ein beschädigter Kopf keine riesigen Arrays erzeugt
+            if (numberOfVertices < 0 || numberOfTriangles < 0 || nameLength < 0 ||
+                    numberOfTriangles > Constants.STL_MAX_NUMBER_OF_TRIANGLES ||
+                    numberOfVertices > Constants.STL_MAX_NUMBER_OF_TRIANGLES * Constants.STL_NUMBER_OF_VERTICES ||
+                    channel.size() != getFileLength(nameLength, numberOfVertices, numberOfTriangles))
+            {
+                throw new IOException(Constants.MESH_CACHE_CORRUPT + cacheFile);
+            }
+
+            ByteBuffer nameBuffer = ByteBuffer.allocate(nameLength);
+            ChannelArrays.readFully(channel, nameBuffer, Constants.MESH_CACHE_HEADER_LENGTH);
+            String name = new String(nameBuffer.array(), StandardCharsets.UTF_8);
+
+            float[] positions = new float[numberOfVertices * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS];
+            int[] indices = new int[numberOfTriangles * Constants.STL_NUMBER_OF_VERTICES];
+            float[] normals = new float[numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+
+            long position = getDataOffset(nameLength);
+            position = ChannelArrays.readFloats(channel, position, positions);
+            position = ChannelArrays.readInts(channel, position, indices);
+            ChannelArrays.readFloats(channel, position, normals);
+
+            markUsed(cacheFile);
+
+            MeshData meshData = new MeshData(positions, numberOfVertices, indices, normals, numberOfTriangles);
+            MeshStatistics statistics = new MeshStatistics(surfaceArea, signedVolume, boundsMin, boundsMax,
+                    centroid, numberOfVertices, numberOfEdges, numberOfTriangles, watertight);
+
+            return new Polyhedron(meshData, statistics, name);
+        }
+    }
+
+    /**
+     * Legt ein Polyeder für eine Quelldatei im Cache ab. Die Cache-Datei wird zunächst unter einem temporären
+     * Namen geschrieben und erst vollständig an ihren Platz verschoben, sodass gleichzeitige Leser nie eine
+     * halb geschriebene Datei sehen.
+     *
+     * @param source Der Pfad der Quelldatei.
+     * @param sourceAttributes Die vor dem Einlesen gelesenen Attribute der Quelldatei.
+     * @param polyhedron Das aus der Quelldatei eingelesene Polyeder.
+     * @throws IOException Wenn die Cache-Datei nicht geschrieben werden kann.
+     * @Vorbedingung Alle Parameter sind nicht null; polyhedron wurde aus source in der durch sourceAttributes
+     * beschriebenen Version eingelesen.
+     * @Nachbedingung Ein folgendes {@link #load(Path, BasicFileAttributes)} mit denselben Attributen liefert das
+     * Polyeder aus dem Cache; die übrigen Cache-Dateien belegen zusammen mit ihm höchstens maxBytes, sofern es nicht
+     * allein größer ist.
+     */
+    public void store(Path source, BasicFileAttributes sourceAttributes, Polyhedron polyhedron) throws IOException
+    {
+        MeshData meshData = polyhedron.getMeshData();
+        MeshStatistics statistics = polyhedron.getStatistics();
+        byte[] name = polyhedron.getName().getBytes(StandardCharsets.UTF_8);
+
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, null, Constants.MESH_CACHE_TEMPORARY_SUFFIX);
+
+        try
+        {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE))
+            {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(Constants.MESH_FILE_WRITE_BUFFER_SIZE)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+
+                buffer.putInt(Constants.MESH_CACHE_MAGIC)
+                        .putInt(Constants.MESH_CACHE_VERSION)
+                        .putLong(sourceAttributes.size())
+                        .putLong(sourceAttributes.lastModifiedTime().toMillis())
+                        .putInt(meshData.getNumberOfVertices())
+                        .putInt(meshData.getNumberOfTriangles())
+                        .putInt(statistics.getNumberOfEdges())
+                        .putInt(name.length)
+                        .putDouble(statistics.getSurfaceArea())
+                        .putDouble(statistics.getSignedVolume());
+
+                for (float value : statistics.getBoundsMin())
+                {
+                    buffer.putFloat(value);
+                }
+
+                for (float value : statistics.getBoundsMax())
+                {
+                    buffer.putFloat(value);
+                }
+
+                for (double value : statistics.getCentroid())
+                {
+                    buffer.putDouble(value);
+                }
+
+                buffer.putInt(statistics.isWatertight() ? Constants.MESH_FILE_FLAG_WATERTIGHT : 0)
+                        .putInt(0);
+
+                ChannelArrays.writeFully(channel, buffer.flip());
+                // Den Namen samt Auffüllung schreiben, damit auch ein Netz ohne Dreiecke die volle Länge hat
+                ChannelArrays.writeFully(channel, ByteBuffer.wrap(Arrays.copyOf(name,
+                        (int) (getDataOffset(name.length) - Constants.MESH_CACHE_HEADER_LENGTH))));
+
+                ChannelArrays.writeFloats(channel, buffer, meshData.getPositions(),
+                        meshData.getNumberOfVertices() * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS);
+                ChannelArrays.writeInts(channel, buffer, meshData.getIndices(),
+                        meshData.getNumberOfTriangles() * Constants.STL_NUMBER_OF_VERTICES);
+                ChannelArrays.writeFloats(channel, buffer, meshData.getNormals(),
+                        meshData.getNumberOfTriangles() * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+            }
+
+            Files.move(temporaryFile, getCacheFile(source), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temporaryFile);
+        }
+
+        evict(getCacheFile(source));
+    }
+
+    /**
+     * Löscht die am längsten nicht verwendeten Cache-Dateien, bis alle zusammen höchstens maxBytes belegen.
+     * Die gerade abgelegte Datei bleibt immer erhalten.
+     *
+     * @param keep Die gerade abgelegte Cache-Datei.
+     * @throws IOException Wenn das Verzeichnis nicht gelesen oder eine Datei nicht gelöscht werden kann.
+     */
+    private void evict(Path keep) throws IOException
+    {
+        Map<Path, BasicFileAttributes> entries = new HashMap<>();
+        long totalBytes = 0;
+
+        try (Stream<Path> files = Files.list(directory))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                if (!file.toString().endsWith(Constants.MESH_CACHE_FILE_SUFFIX))
+                {
+                    continue;
+                }
+
+                try
+                {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    entries.put(file, attributes);
+                    totalBytes += attributes.size();
+                }
+                catch (NoSuchFileException noSuchFileException)
+                {
+                    // Von einem anderen Prozess bereits gelöscht
+                }
+            }
+        }
+
+        if (totalBytes <= maxBytes)
+        {
+            return;
+        }
+
+        List<Path> leastRecentlyUsed = new ArrayList<>(entries.keySet());
+        leastRecentlyUsed.sort(Comparator.comparing(file -> entries.get(file).lastModifiedTime()));
+
+        for (Path file : leastRecentlyUsed)
+        {
+            if (totalBytes <= maxBytes)
+            {
+                break;
+            }
+
+            if (!file.equals(keep) && Files.deleteIfExists(file))
+            {
+                totalBytes -= entries.get(file).size();
+            }
+        }
+    }
+
+    /**
+     * Setzt den Änderungszeitpunkt einer Cache-Datei auf jetzt, damit sie als zuletzt verwendet gilt. Schlägt das
+     * fehl, z. B. in einem schreibgeschützten Verzeichnis, bleibt das Laden davon unberührt.
+     */
+    private static void markUsed(Path cacheFile)
+    {
+        try
+        {
+            Files.setLastModifiedTime(cacheFile, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        catch (IOException ioException)
+        {
+            // Die Datei wird dann lediglich früher verdrängt
+        }
+    }
+
+    /**
+     * Liefert die Cache-Datei einer Quelldatei; ihr Name ist der SHA-256-Hash des absoluten Pfades.
+     *
+     * @param source Der Pfad der Quelldatei.
+     * @return Der Pfad der Cache-Datei, unabhängig davon, ob sie existiert.
+     */
+    public Path getCacheFile(Path source)
+    {
+        try
+        {
+            byte[] hash = MessageDigest.getInstance(Constants.MESH_CACHE_HASH_ALGORITHM).digest(
+                    source.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+
+            return directory.resolve(HexFormat.of().formatHex(hash) + Constants.MESH_CACHE_FILE_SUFFIX);
+        }
+        catch (NoSuchAlgorithmException noSuchAlgorithmException)
+        {
+            // SHA-256 muss von jeder Java-Plattform unterstützt werden
+            throw new IllegalStateException(noSuchAlgorithmException);
+        }
+    }
+
+    /**
+     * Liefert den Beginn der Datenbereiche hinter Kopf und Name; er ist auf 8 Bytes ausgerichtet.
+     */
+    private static long getDataOffset(int nameLength)
+    {
+        long end = (long) Constants.MESH_CACHE_HEADER_LENGTH + nameLength;
+        return (end + Constants.MESH_FILE_ALIGNMENT - 1) / Constants.MESH_FILE_ALIGNMENT *
+                Constants.MESH_FILE_ALIGNMENT;
+    }
+
+    /**
+     * Liefert die erwartete Länge einer Cache-Datei.
+     */
+    private static long getFileLength(int nameLength, long numberOfVertices, long numberOfTriangles)
+    {
+        long values = numberOfVertices * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS +
+                numberOfTriangles * (Constants.STL_NUMBER_OF_VERTICES + Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+
+        return getDataOffset(nameLength) + values * Float.BYTES;
+    }
+}
@@ -0,0 +1,76 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+/**
+ * Ein laufender, verschachtelbarer Zeitmessbereich. Wird innerhalb eines Bereichs ein weiterer Bereich auf demselben
+ * Thread geöffnet, setzt sich dessen Name aus dem Pfad des äußeren Bereichs und seinem eigenen Namen zusammen.
+ * Beim Schließen wird die gemessene Dauer in Nanosekunden als Timer in den {@link Metrics} erfasst.
+ */
+public class MetricScope implements AutoCloseable
+{
+    private final Metrics metrics;
+    private final MetricScope parent;
+    private final String path;
+    private final long startTime;
+    private long elapsedNanos = -1;
+
+    /**
+     * Erzeugt einen neuen Messbereich und startet die Zeitmessung.
+     *
+     * @param metrics Die Registry, in die beim Schließen geschrieben wird.
+     * @param parent Der umschließende Bereich oder {@code null}.
+     * @param path Der vollständige Pfad des Bereichs.
+     */
+    MetricScope(Metrics metrics, MetricScope parent, String path)
+    {
+        this.metrics = metrics;
+        this.parent = parent;
+        this.path = path;
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Beendet die Messung, erfasst die Dauer und stellt den umschließenden Bereich wieder her.
+     *
+     * @Vorbedingung Der Bereich wird auf dem Thread geschlossen, der ihn geöffnet hat.
+     * @Nachbedingung Die Dauer wurde genau einmal erfasst; weitere Aufrufe haben keine Wirkung.
+     */
+    @Override
+    public void close()
+    {
+        if (elapsedNanos >= 0)
+        {
+            return;
+        }
+
+        elapsedNanos = System.nanoTime() - startTime;
+        metrics.recordTime(path, elapsedNanos);
+        metrics.leaveScope(this, parent);
+    }
+
+    /**
+     * Liefert die bisher bzw. insgesamt vergangene Zeit in Nanosekunden.
+     *
+     * @return Die Dauer seit dem Öffnen oder, nach dem Schließen, die erfasste Dauer.
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startTime;
+    }
+
+    /**
+     * Liefert die bisher bzw. insgesamt vergangene Zeit in Millisekunden.
+     *
+     * @return Die Dauer in Millisekunden.
+     */
+    public long getElapsedMillis()
+    {
+        return getElapsedNanos() / Constants.NANOS_PER_MILLISECOND;
+    }
+
+    public String getPath()
+    {
+        return path;
+    }
+}
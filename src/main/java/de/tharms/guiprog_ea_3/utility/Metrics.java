@@ -0,0 +1,215 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Threadsichere Registry für benannte Timer, Zähler und Histogramme.
+ * Zeiten werden mit {@link System#nanoTime()} über {@link MetricScope}-Bereiche gemessen, die pro Thread verschachtelt
+ * werden können. Alle Werte lassen sich zur Laufzeit einzeln abfragen oder gesammelt als Text ausgeben.
+ * Die Registry ist als Singleton bereits beim Laden der Klasse erzeugt, sodass auch parallele Zugriffe dieselbe
+ * Instanz erhalten.
+ */
+public class Metrics
+{
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final Map<String, Histogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ThreadLocal<MetricScope> currentScope = new ThreadLocal<>();
+
+    //Konstruktor der Metrics-Klasse
+    private Metrics()
+    {}
+
+    /**
+     * Liefert die einzige Instanz der Registry.
+     *
+     * @return Die Singleton-Instanz.
+     */
+    public static Metrics getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Öffnet einen Messbereich auf dem aktuellen Thread. Ist bereits ein Bereich geöffnet, wird der neue Bereich
+     * unter dessen Pfad eingeordnet.
+     *
+     * @param name Der Name des Bereichs.
+     * @return Der laufende Messbereich, der mit try-with-resources geschlossen werden sollte.
+     * @Vorbedingung name darf nicht null sein.
+     * @Nachbedingung Der neue Bereich ist der aktuelle Bereich des Threads.
+     */
+    public MetricScope startScope(String name)
+    {
+        MetricScope parent = currentScope.get();
+        String path = parent == null ? name : parent.getPath() + Constants.METRIC_SCOPE_SEPARATOR + name;
+
+        MetricScope scope = new MetricScope(this, parent, path);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Erfasst eine gemessene Dauer unter dem angegebenen Timer.
+     *
+     * @param name Der Name des Timers.
+     * @param nanos Die Dauer in Nanosekunden.
+     */
+    public void recordTime(String name, long nanos)
+    {
+        timers.computeIfAbsent(name, key -> new Histogram()).record(nanos);
+    }
+
+    /**
+     * Erhöht einen Zähler.
+     *
+     * @param name Der Name des Zählers.
+     * @param amount Der zu addierende Betrag.
+     */
+    public void increment(String name, long amount)
+    {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Erfasst einen Wert in einem Histogramm.
+     *
+     * @param name Der Name des Histogramms.
+     * @param value Der Messwert.
+     */
+    public void record(String name, long value)
+    {
+        histograms.computeIfAbsent(name, key -> new Histogram()).record(value);
+    }
+
+    /**
+     * Erfasst einen Durchsatz (Menge pro Sekunde) in einem Histogramm.
+     *
+     * @param name Der Name des Histogramms.
+     * @param amount Die verarbeitete Menge, z. B. Bytes oder Dreiecke.
+     * @param nanos Die dafür benötigte Zeit in Nanosekunden.
+     * @Vorbedingung amount >= 0.
+     * @Nachbedingung Bei einer Dauer von 0 wird nichts erfasst.
+     */
+    public void recordRate(String name, long amount, long nanos)
+    {
+        if (nanos > 0)
+        {
+            record(name, (long) (amount * (double) Constants.NANOS_PER_SECOND / nanos));
+        }
+    }
+
+    /**
+     * Liefert einen Timer.
+     *
+     * @param name Der vollständige Pfad des Timers.
+     * @return Das Histogramm der Dauern in Nanosekunden oder {@code null}, falls nichts erfasst wurde.
+     */
+    public Histogram getTimer(String name)
+    {
+        return timers.get(name);
+    }
+
+    /**
+     * Liefert den Stand eines Zählers.
+     *
+     * @param name Der Name des Zählers.
+     * @return Der Zählerstand oder 0, falls der Zähler nicht existiert.
+     */
+    public long getCounter(String name)
+    {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Liefert ein Histogramm.
+     *
+     * @param name Der Name des Histogramms.
+     * @return Das Histogramm oder {@code null}, falls nichts erfasst wurde.
+     */
+    public Histogram getHistogram(String name)
+    {
+        return histograms.get(name);
+    }
+
+    /**
+     * Erzeugt eine nach Namen sortierte Textausgabe aller Timer, Zähler und Histogramme.
+     *
+     * @return Der aktuelle Stand aller Metriken.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Metriken werden nicht verändert.
+     */
+    public String dump()
+    {
+        StringBuilder builder = new StringBuilder(Constants.METRIC_DUMP_HEADER).append(System.lineSeparator());
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(timers).entrySet())
+        {
+            Histogram timer = entry.getValue();
+            builder.append(String.format(Constants.METRIC_DUMP_TIMER, entry.getKey(), timer.getCount(),
+                    toMillis(timer.getMean()), toMillis(timer.getPercentile(Constants.METRIC_PERCENTILE_MEDIAN)),
+                    toMillis(timer.getPercentile(Constants.METRIC_PERCENTILE_HIGH)), toMillis(timer.getMax())));
+        }
+
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet())
+        {
+            builder.append(String.format(Constants.METRIC_DUMP_COUNTER, entry.getKey(), entry.getValue().sum()));
+        }
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet())
+        {
+            Histogram histogram = entry.getValue();
+            builder.append(String.format(Constants.METRIC_DUMP_HISTOGRAM, entry.getKey(), histogram.getCount(),
+                    histogram.getMean(), histogram.getPercentile(Constants.METRIC_PERCENTILE_MEDIAN),
+                    histogram.getPercentile(Constants.METRIC_PERCENTILE_HIGH), histogram.getMax()));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Entfernt alle erfassten Metriken.
+     */
+    public void reset()
+    {
+        timers.clear();
+        counters.clear();
+        histograms.clear();
+    }
+
+    /**
+     * Stellt nach dem Schließen eines Bereichs den umschließenden Bereich wieder her.
+     *
+     * @param scope Der geschlossene Bereich.
+     * @param parent Der umschließende Bereich oder {@code null}.
+     */
+    void leaveScope(MetricScope scope, MetricScope parent)
+    {
+        if (currentScope.get() != scope)
+        {
+            return;
+        }
+
+        if (parent == null)
+        {
+            currentScope.remove();
+        }
+        else
+        {
+            currentScope.set(parent);
+        }
+    }
+
+    private static double toMillis(double nanos)
+    {
+        return nanos / Constants.NANOS_PER_MILLISECOND;
+    }
+}
@@ -0,0 +1,277 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.LoadProgress;
+import de.tharms.guiprog_ea_3.model.LoadStage;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.MeshFileInfo;
+import de.tharms.guiprog_ea_3.model.MeshStatistics;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+import de.tharms.guiprog_ea_3.view.Output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Liest und schreibt das eigene, indizierte Netzformat ({@link Constants#MESH_FILE_FORMAT}). Anders als STL wird
+ * jeder Eckpunkt nur einmal gespeichert und über einen Index-Puffer referenziert; Normalen sind optional. Der Kopf
+ * enthält die beim Schreiben bereits berechneten Kennwerte. Eine Datei ist damit etwa halb so groß wie die
+ * entsprechende Binär-STL-Datei und wird ohne Einlesen, Verschweißen und Analysieren geladen.
+ * Alle Werte liegen in Little Endian vor:
+ * <pre>
+ * Kopf:   [Magic: 4][Version: 4][Flags: 4][Ecken V: 4][Dreiecke T: 4][Kanten: 4][Namenslänge: 4][reserviert: 4]
+ *         [Oberfläche: 8][vorzeichenbehaftetes Volumen: 8][Bounding Box min: 3 x 4][Bounding Box max: 3 x 4]
+ *         [Schwerpunkt: 3 x 8]
+ * Name:   [UTF-8, aufgefüllt auf ein Vielfaches von 8 Bytes]
+ * Daten:  [Positionen: 3V float][Indizes: 3T int][Normalen: 3T float, nur mit Flag MESH_FILE_FLAG_NORMALS]
+ * </pre>
+ */
+public class NativeMeshFile
+{
+    /**
+     * Schreibt ein Polyeder im eigenen Netzformat. Die Arrays des Dreiecksnetzes werden blockweise über einen
+     * einzigen Puffer geschrieben, ohne sie zu kopieren.
+     *
+     * @param polyhedron Das zu schreibende Polyeder.
+     * @param target Der Pfad der Zieldatei; eine vorhandene Datei wird überschrieben.
+     * @param includeNormals {@code true}, um die Normalen mitzuschreiben; ohne Normalen werden sie beim Anzeigen
+     *                       aus den Eckpunkten berechnet.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     * @Vorbedingung polyhedron und target dürfen nicht null sein.
+     * @Nachbedingung Die Datei enthält das vollständige Dreiecksnetz und seine Kennwerte.
+     */
+    public static void write(Polyhedron polyhedron, Path target, boolean includeNormals) throws IOException
+    {
+        MeshData meshData = polyhedron.getMeshData();
+        MeshStatistics statistics = polyhedron.getStatistics();
+        byte[] name = polyhedron.getName().getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Constants.MESH_FILE_WRITE_BUFFER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(Constants.MESH_FILE_MAGIC)
+                    .putInt(Constants.MESH_FILE_VERSION)
+                    .putInt((includeNormals ? Constants.MESH_FILE_FLAG_NORMALS : 0) |
+                            (statistics.isWatertight() ? Constants.MESH_FILE_FLAG_WATERTIGHT : 0))
+                    .putInt(meshData.getNumberOfVertices())
+                    .putInt(meshData.getNumberOfTriangles())
+                    .putInt(statistics.getNumberOfEdges())
+                    .putInt(name.length)
+                    .putInt(0)
+                    .putDouble(statistics.getSurfaceArea())
+                    .putDouble(statistics.getSignedVolume());
+
+            for (float value : statistics.getBoundsMin())
+            {
+                buffer.putFloat(value);
+            }
+
+            for (float value : statistics.getBoundsMax())
+            {
+                buffer.putFloat(value);
+            }
+
+            for (double value : statistics.getCentroid())
+            {
+                buffer.putDouble(value);
+            }
+
+            ChannelArrays.writeFully(channel, buffer.flip());
+            // Den Namen samt Auffüllung schreiben, damit auch ein Netz ohne Dreiecke die volle Länge hat
+            ChannelArrays.writeFully(channel, ByteBuffer.wrap(Arrays.copyOf(name,
+                    (int) (getDataOffset(name.length) - Constants.MESH_FILE_HEADER_LENGTH))));
+
+            ChannelArrays.writeFloats(channel, buffer, meshData.getPositions(),
+                    meshData.getNumberOfVertices() * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS);
+            ChannelArrays.writeInts(channel, buffer, meshData.getIndices(),
+                    meshData.getNumberOfTriangles() * Constants.STL_NUMBER_OF_VERTICES);
+
+            if (includeNormals)
+            {
+                ChannelArrays.writeFloats(channel, buffer, meshData.getNormals(),
+                        meshData.getNumberOfTriangles() * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+            }
+        }
+    }
+
+    /**
+     * Liest nur den Kopf einer Netzdatei.
+     *
+     * @param filepath Der Pfad der Netzdatei.
+     * @return Die gespeicherten Anzahlen und Kennwerte.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn die Datei keine gültige Netzdatei ist oder ihre Größe nicht zum Kopf
+     * passt.
+     * @Vorbedingung filepath darf nicht null sein.
+     * @Nachbedingung Das Dreiecksnetz wurde nicht gelesen.
+     */
+    public static MeshFileInfo readInfo(String filepath) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ))
+        {
+            return readInfo(channel);
+        }
+    }
+
+    /**
+     * Lädt ein Polyeder aus einer Netzdatei. Positionen, Indizes und Normalen werden fensterweise gemappt und
+     * blockweise in die Arrays des {@link MeshData} kopiert, das unmittelbar an
+     * {@code MeshViewFactory.createMesh} übergeben werden kann. Einlesen, Verschweißen und Analysieren entfallen:
+     * Die {@link MeshStatistics} stammen aus dem Kopf; Topologie und Flächen der einzelnen Dreiecke werden erst bei
+     * Bedarf berechnet.
+     *
+     * @param filepath Der Pfad der Netzdatei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @return Das geladene Polyeder.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws IllegalArgumentException Wenn die Datei keine gültige Netzdatei ist oder ihre Größe nicht zum Kopf
+     * passt.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     * @Vorbedingung filepath und progress sind nicht null.
+     * @Nachbedingung Das Polyeder samt {@link MeshStatistics} ist erzeugt.
+     */
+    public static Polyhedron readPolyhedron(String filepath, LoadProgress progress) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ))
+        {
+            MeshFileInfo info = readInfo(channel);
+            MeshData meshData;
+            MeshStatistics statistics;
+
+            try (MetricScope parseScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_FILE_READ))
+            {
+                progress.update(LoadStage.READING_BYTES, 0, channel.size());
+
+                float[] positions = new float[info.numberOfVertices * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS];
+                int[] indices = new int[info.numberOfTriangles * Constants.STL_NUMBER_OF_VERTICES];
+                // Nullvektoren werden beim Anzeigen durch die aus den Eckpunkten berechneten Normalen ersetzt
+                float[] normals = new float[info.numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+
+                long position = getDataOffset(info.name.getBytes(StandardCharsets.UTF_8).length);
+                position = ChannelArrays.readFloats(channel, position, positions);
+                position = ChannelArrays.readInts(channel, position, indices);
+
+                if (info.hasNormals)
+                {
+                    ChannelArrays.readFloats(channel, position, normals);
+                }
+
+                validateIndices(indices, info.numberOfVertices);
+                progress.update(LoadStage.READING_BYTES, channel.size(), channel.size());
+
+                meshData = new MeshData(positions, info.numberOfVertices, indices, normals, info.numberOfTriangles);
+                statistics = new MeshStatistics(info.surfaceArea, info.signedVolume, info.boundsMin, info.boundsMax,
+                        info.centroid, info.numberOfVertices, info.numberOfEdges, info.numberOfTriangles,
+                        info.watertight);
+                Output.timePassed(parseScope.getElapsedMillis(), Constants.MESH_FILE_READING);
+            }
+
+            progress.checkCancelled();
+
+            return new Polyhedron(meshData, statistics, info.name);
+        }
+    }
+
+    /**
+     * Liest und prüft den Kopf einer Netzdatei. Die Anzahlen werden gegen die Dateigröße geprüft, bevor Arrays
+     * angelegt werden, sodass ein beschädigter Kopf keine übergroßen Arrays erzeugt.
+     */
+    private static MeshFileInfo readInfo(FileChannel channel) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(Constants.MESH_FILE_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (channel.size() < Constants.MESH_FILE_HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException(Constants.MESH_FILE_INVALID);
+        }
+
+        ChannelArrays.readFully(channel, header, 0);
+        header.flip();
+
+        if (header.getInt() != Constants.MESH_FILE_MAGIC || header.getInt() != Constants.MESH_FILE_VERSION)
+        {
+            throw new IllegalArgumentException(Constants.MESH_FILE_INVALID);
+        }
+
+        MeshFileInfo info = new MeshFileInfo();
+        int flags = header.getInt();
+        info.hasNormals = (flags & Constants.MESH_FILE_FLAG_NORMALS) != 0;
+        info.watertight = (flags & Constants.MESH_FILE_FLAG_WATERTIGHT) != 0;
+        info.numberOfVertices = header.getInt();
+        info.numberOfTriangles = header.getInt();
+        info.numberOfEdges = header.getInt();
+        int nameLength = header.getInt();
+        header.getInt();
+        info.surfaceArea = header.getDouble();
+        info.signedVolume = header.getDouble();
+        info.boundsMin = new float[]{header.getFloat(), header.getFloat(), header.getFloat()};
+        info.boundsMax = new float[]{header.getFloat(), header.getFloat(), header.getFloat()};
+        info.centroid = new double[]{header.getDouble(), header.getDouble(), header.getDouble()};
+
+        if (info.numberOfVertices < 0 || info.numberOfTriangles < 0 || nameLength < 0 ||
+                info.numberOfTriangles > Constants.STL_MAX_NUMBER_OF_TRIANGLES ||
+                info.numberOfVertices > Constants.STL_MAX_NUMBER_OF_TRIANGLES * Constants.STL_NUMBER_OF_VERTICES ||
+                channel.size() != getFileLength(nameLength, info.numberOfVertices, info.numberOfTriangles,
+                        info.hasNormals))
+        {
+            throw new IllegalArgumentException(Constants.MESH_FILE_INVALID);
+        }
+
+        ByteBuffer name = ByteBuffer.allocate(nameLength);
+        ChannelArrays.readFully(channel, name, Constants.MESH_FILE_HEADER_LENGTH);
+        info.name = new String(name.array(), StandardCharsets.UTF_8);
+
+        return info;
+    }
+
+    /**
+     * Prüft, dass jeder Index auf einen vorhandenen Eckpunkt verweist, damit eine beschädigte Datei nicht erst beim
+     * Anzeigen auffällt.
+     */
+    private static void validateIndices(int[] indices, int numberOfVertices)
+    {
+        for (int index : indices)
+        {
+            if (index < 0 || index >= numberOfVertices)
+            {
+                throw new IllegalArgumentException(Constants.MESH_FILE_INVALID);
+            }
+        }
+    }
+
+    /**
+     * Liefert den Beginn der Datenbereiche hinter Kopf und Name; er ist auf 8 Bytes ausgerichtet.
+     */
+    private static long getDataOffset(int nameLength)
+    {
+        long end = (long) Constants.MESH_FILE_HEADER_LENGTH + nameLength;
+        return (end + Constants.MESH_FILE_ALIGNMENT - 1) / Constants.MESH_FILE_ALIGNMENT *
+                Constants.MESH_FILE_ALIGNMENT;
+    }
+
+    /**
+     * Liefert die erwartete Länge einer Netzdatei.
+     */
+    private static long getFileLength(int nameLength, long numberOfVertices, long numberOfTriangles,
+                                      boolean hasNormals)
+    {
+        long values = numberOfVertices * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS +
+                numberOfTriangles * Constants.STL_NUMBER_OF_VERTICES;
+
+        if (hasNormals)
+        {
+            values += numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+        }
+
+        return getDataOffset(nameLength) + values * Float.BYTES;
+    }
+}
@@ -0,0 +1,123 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hält Dreieckssuppen (neun Werte pro Dreieck) zur Wiederverwendung bereit, die beim Einlesen einer STL-Datei nur
+ * bis zum Verschweißen benötigt werden. Werden viele Dateien nacheinander eingelesen, muss so nicht für jede Datei
+ * ein neues, oft mehrere hundert Megabyte großes Array angelegt und mit Nullen gefüllt werden.
+ * Die zurückgehaltenen Arrays sind in ihrer Gesamtgröße begrenzt. Alle Methoden sind threadsicher.
+ */
+public class ParseBufferPool
+{
+    /**
+     * Pool, der nichts zurückhält und jedes Array neu anlegt.
+     */
+    public static final ParseBufferPool NONE = new ParseBufferPool(0);
+
+    private final long maxRetainedBytes;
+    private final List<float[]> buffers = new ArrayList<>();
+    private long retainedBytes;
+
+    /**
+     * Erzeugt einen leeren Pool.
+     *
+     * @param maxRetainedBytes Die maximale Gesamtgröße der zurückgehaltenen Arrays in Bytes.
+     * @Vorbedingung maxRetainedBytes >= 0.
+     * @Nachbedingung Der Pool hält keine Arrays.
+     */
+    public ParseBufferPool(long maxRetainedBytes)
+    {
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * Liefert das kleinste zurückgehaltene Array mit mindestens der angegebenen Länge oder legt ein neues an.
+     * Der Inhalt eines wiederverwendeten Arrays ist undefiniert.
+     *
+     * @param minimumLength Die benötigte Länge.
+     * @return Ein Array mit mindestens minimumLength Werten, das bis zu {@link #release(float[])} exklusiv dem
+     * Aufrufer gehört.
+     * @Vorbedingung minimumLength >= 0.
+     * @Nachbedingung Das Array wird nicht mehr vom Pool zurückgehalten.
+     */
+    public float[] acquire(int minimumLength)
+    {
+        synchronized (buffers)
+        {
+            int bestIndex = -1;
+
+            for (int i = 0; i < buffers.size(); i++)
+            {
+                int length = buffers.get(i).length;
+
+                if (length >= minimumLength && (bestIndex < 0 || length < buffers.get(bestIndex).length))
+                {
+                    bestIndex = i;
+                }
+            }
+
+            if (bestIndex >= 0)
+            {
+                float[] buffer = buffers.remove(bestIndex);
+                retainedBytes -= (long) buffer.length * Float.BYTES;
+                Metrics.getInstance().increment(Constants.METRIC_STL_BUFFERS_REUSED, Constants.INDEX_ONE);
+                return buffer;
+            }
+        }
+
+        return new float[minimumLength];
+    }
+
+    /**
+     * Gibt ein Array an den Pool zurück. Übersteigt es die Grenze des Pools, werden kleinere Arrays verworfen,
+     * solange das neue Array dadurch Platz findet; andernfalls wird es selbst verworfen.
+     *
+     * @param buffer Das nicht mehr benötigte Array.
+     * @Vorbedingung buffer wird vom Aufrufer danach nicht mehr verwendet.
+     * @Nachbedingung Der Pool hält höchstens maxRetainedBytes Bytes.
+     */
+    public void release(float[] buffer)
+    {
+        long bufferBytes = (long) buffer.length * Float.BYTES;
+
+        if (bufferBytes > maxRetainedBytes || buffer.length == 0)
+        {
+            return;
+        }
+
+        synchronized (buffers)
+        {
+            // Große Arrays bevorzugen, da sie auch für kleinere Dateien passen
+            buffers.sort((first, second) -> Integer.compare(first.length, second.length));
+
+            while (retainedBytes + bufferBytes > maxRetainedBytes && !buffers.isEmpty() &&
+                    buffers.getFirst().length < buffer.length)
+            {
+                retainedBytes -= (long) buffers.removeFirst().length * Float.BYTES;
+            }
+
+            if (retainedBytes + bufferBytes <= maxRetainedBytes)
+            {
+                buffers.add(buffer);
+                retainedBytes += bufferBytes;
+            }
+        }
+    }
+
+    /**
+     * Liefert die Gesamtgröße der zurückgehaltenen Arrays.
+     *
+     * @return Die zurückgehaltenen Bytes.
+     */
+    public long getRetainedBytes()
+    {
+        synchronized (buffers)
+        {
+            return retainedBytes;
+        }
+    }
+}
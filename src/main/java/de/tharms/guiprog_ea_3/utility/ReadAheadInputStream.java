@@ -0,0 +1,229 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link InputStream}, der einen anderen Stream auf einem eigenen Thread in Blöcken vorausliest. So laufen z. B.
+ * das Entpacken einer Datei und das Einlesen der entpackten Daten gleichzeitig. Es werden höchstens
+ * numberOfChunks Blöcke angelegt und zwischen den beiden Threads wiederverwendet; der Speicherbedarf hängt daher
+ * nicht von der Länge des Streams ab.
+ * Ein Fehler des vorauslesenden Threads, auch eine unerwartete Laufzeitausnahme, wird beim Lesen des betroffenen
+ * Blocks geworfen.
+ */
+class ReadAheadInputStream extends InputStream
+{
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    // Markiert das Ende des Streams bzw. einen Lesefehler
+    private static final Chunk END_OF_STREAM = new Chunk(0);
+
+    private final InputStream source;
+    private final BlockingQueue<Chunk> emptyChunks;
+    private final BlockingQueue<Chunk> filledChunks;
+    private final Thread readerThread;
+
+    private volatile Throwable readFailure;
+    private Chunk currentChunk;
+    private int currentPosition;
+    private boolean ended;
+
+    /**
+     * Erzeugt den Stream und startet das Vorauslesen.
+     *
+     * @param source Der vorauszulesende Stream; er wird mit diesem Stream geschlossen.
+     * @param chunkSize Die Größe eines Blocks in Bytes.
+     * @param numberOfChunks Die Anzahl der Blöcke, die höchstens gleichzeitig gefüllt sein können.
+     * @Vorbedingung source darf nicht null sein, chunkSize > 0, numberOfChunks > 0.
+     * @Nachbedingung Der vorauslesende Thread läuft.
+     */
+    ReadAheadInputStream(InputStream source, int chunkSize, int numberOfChunks)
+    {
+        this.source = source;
+        this.emptyChunks = new ArrayBlockingQueue<>(numberOfChunks);
+        // Ein Platz mehr für die Endmarke, damit der vorauslesende Thread beim Einstellen nie blockiert
+        this.filledChunks = new ArrayBlockingQueue<>(numberOfChunks + Constants.INDEX_ONE);
+
+        for (int i = 0; i < numberOfChunks; i++)
+        {
+            emptyChunks.add(new Chunk(chunkSize));
+        }
+
+        readerThread = new Thread(this::readAhead,
+                Constants.STL_DECOMPRESSION_THREAD_NAME + THREAD_NUMBER.incrementAndGet());
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        byte[] single = new byte[Constants.INDEX_ONE];
+
+        return read(single, 0, Constants.INDEX_ONE) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException
+    {
+        if (length == 0)
+        {
+            return 0;
+        }
+
+        if (!nextChunkIfExhausted())
+        {
+            return -1;
+        }
+
+        int count = Math.min(length, currentChunk.length - currentPosition);
+        System.arraycopy(currentChunk.data, currentPosition, target, offset, count);
+        currentPosition += count;
+
+        return count;
+    }
+
+    /**
+     * Beendet das Vorauslesen und schließt den gelesenen Stream.
+     *
+     * @throws IOException Wenn der gelesene Stream nicht geschlossen werden kann.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        readerThread.interrupt();
+
+        try
+        {
+            readerThread.join();
+        }
+        catch (InterruptedException interruptedException)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            source.close();
+        }
+    }
+
+    /**
+     * Wechselt zum nächsten gefüllten Block, falls der aktuelle vollständig gelesen ist, und gibt den gelesenen
+     * Block zum erneuten Füllen frei.
+     *
+     * @return {@code false}, wenn der Stream zu Ende ist.
+     * @throws IOException Wenn der vorauslesende Thread einen Lesefehler hatte oder das Warten unterbrochen wurde;
+     * andere Fehler des vorauslesenden Threads werden unverändert weitergegeben.
+     */
+    private boolean nextChunkIfExhausted() throws IOException
+    {
+        if (currentChunk != null && currentPosition < currentChunk.length)
+        {
+            return true;
+        }
+
+        if (ended)
+        {
+            return false;
+        }
+
+        if (currentChunk != null)
+        {
+            emptyChunks.add(currentChunk);
+            currentChunk = null;
+        }
+
+        try
+        {
+            Chunk chunk = filledChunks.take();
+
+            if (chunk == END_OF_STREAM)
+            {
+                ended = true;
+
+                if (readFailure instanceof IOException ioException)
+                {
+                    throw ioException;
+                }
+
+                if (readFailure instanceof RuntimeException runtimeException)
+                {
+                    throw runtimeException;
+                }
+
+                if (readFailure instanceof Error error)
+                {
+                    throw error;
+                }
+
+                return false;
+            }
+
+            currentChunk = chunk;
+            currentPosition = 0;
+            return true;
+        }
+        catch (InterruptedException interruptedException)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Füllt freie Blöcke, bis der gelesene Stream zu Ende ist, ein Fehler auftritt oder der Thread unterbrochen wird.
+     * Die Endmarke wird in jedem Fall eingestellt, sonst würde der lesende Thread für immer warten.
+     */
+    private void readAhead()
+    {
+        try
+        {
+            while (true)
+            {
+                Chunk chunk = emptyChunks.take();
+                chunk.length = source.readNBytes(chunk.data, 0, chunk.data.length);
+
+                if (chunk.length > 0)
+                {
+                    filledChunks.add(chunk);
+                }
+
+                if (chunk.length < chunk.data.length)
+                {
+                    break;
+                }
+            }
+        }
+        catch (InterruptedException interruptedException)
+        {
+            // Der Stream wurde geschlossen
+        }
+        catch (Throwable failure)
+        {
+            readFailure = failure;
+        }
+        finally
+        {
+            filledChunks.add(END_OF_STREAM);
+        }
+    }
+
+    /**
+     * Ein wiederverwendeter Block mit der Anzahl seiner gültigen Bytes.
+     */
+    private static class Chunk
+    {
+        private final byte[] data;
+        private int length;
+
+        Chunk(int size)
+        {
+            this.data = new byte[size];
+        }
+    }
+}
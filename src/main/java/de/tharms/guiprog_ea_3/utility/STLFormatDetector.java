@@ -0,0 +1,104 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Erkennt, ob STL-Daten im ASCII- oder im Binärformat vorliegen. Viele Programme schreiben auch in den Header von
+ * Binärdateien "solid", daher genügt der Anfang des Headers allein nicht: Passt die im Header angegebene Anzahl an
+ * Dreiecken genau zur Dateigröße ({@code 84 + 50 · n}), ist die Datei binär. Andernfalls gilt sie nur dann als ASCII,
+ * wenn sie mit "solid" beginnt und der gelesene Anfang keine Steuerzeichen enthält, die in Text nicht vorkommen.
+ * Gelesen werden unabhängig von der Dateigröße höchstens {@link Constants#STL_FORMAT_SNIFF_LENGTH} Bytes.
+ */
+public class STLFormatDetector
+{
+    private static final byte[] KEYWORD_SOLID = Constants.STL_ASCII_KEYWORD_SOLID.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Erkennt das Format einer STL-Datei anhand ihrer Größe und ihres Anfangs.
+     *
+     * @param filepath Der Pfad zur STL-Datei.
+     * @return {@code true}, wenn die Datei im ASCII-Format vorliegt.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @Vorbedingung filepath darf nicht null sein.
+     * @Nachbedingung Die Datei wurde nicht verändert.
+     */
+    public static boolean isASCIISTL(String filepath) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ))
+        {
+            long fileSize = channel.size();
+            ByteBuffer prefix = ByteBuffer.allocate((int) Math.min(fileSize, Constants.STL_FORMAT_SNIFF_LENGTH));
+
+            while (prefix.hasRemaining() && channel.read(prefix, prefix.position()) > 0)
+            {
+                // Liest, bis der Anfang vollständig ist
+            }
+
+            return isASCIISTL(prefix.array(), prefix.position(), fileSize);
+        }
+    }
+
+    /**
+     * Erkennt das Format von STL-Daten anhand ihres Anfangs und, falls bekannt, ihrer Gesamtgröße.
+     *
+     * @param prefix Der Anfang der Daten.
+     * @param length Die Anzahl der gültigen Bytes in prefix.
+     * @param size Die Gesamtgröße der Daten in Bytes oder -1, falls sie unbekannt ist.
+     * @return {@code true}, wenn die Daten im ASCII-Format vorliegen.
+     * @Vorbedingung prefix enthält mindestens length Bytes.
+     * @Nachbedingung prefix wird nicht verändert.
+     */
+    public static boolean isASCIISTL(byte[] prefix, int length, long size)
+    {
+        if (size >= 0 && length >= Constants.STL_BINARY_DATA_OFFSET)
+        {
+            long numberOfTriangles = Integer.toUnsignedLong(ByteBuffer.wrap(prefix).order(ByteOrder.LITTLE_ENDIAN)
+                    .getInt(Constants.STL_BINARY_HEADER_LENGTH));
+
+            if (Constants.STL_BINARY_DATA_OFFSET + numberOfTriangles * Constants.STL_BINARY_FACET_LENGTH == size)
+            {
+                return false;
+            }
+        }
+
+        int start = 0;
+        while (start < length && isWhitespace(prefix[start]))
+        {
+            start++;
+        }
+
+        if (length - start < KEYWORD_SOLID.length ||
+                !Arrays.equals(prefix, start, start + KEYWORD_SOLID.length, KEYWORD_SOLID, 0, KEYWORD_SOLID.length))
+        {
+            return false;
+        }
+
+        // Binärdaten enthalten fast immer Nullbytes, z. B. im Attribut-Short jeder Facette
+        for (int i = start; i < length; i++)
+        {
+            if (prefix[i] >= 0 && prefix[i] < ' ' && !isWhitespace(prefix[i]))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Prüft, ob ein Byte in ASCII-STL als Leerraum gilt.
+     */
+    private static boolean isWhitespace(byte value)
+    {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r' || value == '\f';
+    }
+}
@@ -1,14 +1,23 @@
 package de.tharms.guiprog_ea_3.utility;
 
-import de.tharms.guiprog_ea_3.controller.PolyhedronController;
+import de.tharms.guiprog_ea_3.controller.ThreadController;
 import de.tharms.guiprog_ea_3.model.*;
 import de.tharms.guiprog_ea_3.view.Output;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Diese Klasse bietet Funktionen zum Einlesen und Verarbeiten von STL-Dateien
@@ -18,243 +27,482 @@ public class STLReader
 {
     /**
      * Liest eine ASCII-STL-Datei und wandelt sie in ein {@link Polyhedron}-Objekt um.
+     * Die Datei wird an Facettengrenzen in Byte-Bereiche aufgeteilt, die parallel im gemeinsamen Pool
+     * des {@link ThreadController} gemappt und mit dem {@link ASCIISTLScanner} direkt auf Byte-Ebene eingelesen
+     * werden.
      *
      * @param filepath Der Name der Datei.
      * @return Ein {@link Polyhedron}-Objekt, das aus den ASCII-Daten erzeugt wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
      *
      * @Vorbedingung filepath ist nicht null.
-     * @Nachbedingung Gibt ein korrekt erzeugtes {@link Polyhedron}-Objekt zurück.
+     * @Nachbedingung Gibt ein korrekt erzeugtes {@link Polyhedron}-Objekt zurück oder wirft eine
+     * IllegalArgumentException, wenn die Datei keine gültige ASCII-STL-Datei ist.
      */
-    public static Polyhedron createPolyhedronFromASCIISTL(String filepath)
+    public static Polyhedron createPolyhedronFromASCIISTL(String filepath) throws IOException
     {
-        List<Face> faces = new ArrayList<>();
-        String polyhedronName = filepath;
-        List<String[]> facesByLine = STLReader.prepareASCIISTL(FileReader.lineReader(filepath));
+        return createPolyhedronFromASCIISTL(filepath, LoadProgress.NONE);
+    }
 
-        if (Arrays.toString(facesByLine.getFirst()).contains(Constants.STL_ASCII_KEYWORD_SOLID))
-        {
-            polyhedronName = facesByLine.getFirst()[0].replaceFirst(
-                    Constants.STL_ASCII_SPLIT_NAME_REGEX, Constants.EMPTY_STRING);
-            facesByLine.removeFirst();
-        }
+    /**
+     * Liest eine ASCII-STL-Datei wie {@link #createPolyhedronFromASCIISTL(String)} ein und meldet dabei die
+     * gelesenen Bytes, die eingelesenen Facetten und den Aufbau des Dreiecksnetzes an eine {@link LoadProgress}.
+     * Ein angeforderter Abbruch wird nach jedem Bereich und zwischen den Stufen geprüft.
+     *
+     * @param filepath Der Name der Datei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @return Ein {@link Polyhedron}-Objekt, das aus den ASCII-Daten erzeugt wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     *
+     * @Vorbedingung filepath und progress sind nicht null.
+     * @Nachbedingung Gibt ein korrekt erzeugtes {@link Polyhedron}-Objekt zurück oder wirft eine
+     * IllegalArgumentException, wenn die Datei keine gültige ASCII-STL-Datei ist.
+     */
+    public static Polyhedron createPolyhedronFromASCIISTL(String filepath, LoadProgress progress) throws IOException
+    {
+        return createPolyhedronFromASCIISTL(filepath, progress, ParseBufferPool.NONE);
+    }
 
-        // Erstellen der Faces aus eingelesenen Zeilen
-        for (String[] face : facesByLine)
+    /**
+     * Liest eine ASCII-STL-Datei wie {@link #createPolyhedronFromASCIISTL(String, LoadProgress)} ein und entnimmt
+     * die zusammengefügte Dreieckssuppe einem {@link ParseBufferPool}, an den sie nach dem Verschweißen
+     * zurückgegeben wird.
+     *
+     * @param filepath Der Name der Datei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @param bufferPool Der Pool für die Dreieckssuppe.
+     * @return Ein {@link Polyhedron}-Objekt, das aus den ASCII-Daten erzeugt wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     *
+     * @Vorbedingung filepath, progress und bufferPool sind nicht null.
+     * @Nachbedingung Gibt ein korrekt erzeugtes {@link Polyhedron}-Objekt zurück oder wirft eine
+     * IllegalArgumentException, wenn die Datei keine gültige ASCII-STL-Datei ist.
+     */
+    public static Polyhedron createPolyhedronFromASCIISTL(String filepath, LoadProgress progress,
+                                                          ParseBufferPool bufferPool) throws IOException
+    {
+        try (FileChannel fileChannel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ))
         {
-            try
+            List<ASCIIChunkTask> tasks = new ArrayList<>();
+            List<TriangleBuffer> buffers = new ArrayList<>();
+            MeshData meshData;
+
+            try (MetricScope parseScope = Metrics.getInstance().startScope(Constants.METRIC_STL_PARSE))
             {
-                Face currentFace = new Face(
-                        new Triangle(
-                                createEdgesFromLines(face)),
-                                createNormalFromLine(face[0]));
+                AtomicLong bytesRead = new AtomicLong();
+                long fileSize = fileChannel.size();
+                long chunkStart = 0;
+
+                progress.update(LoadStage.READING_BYTES, 0, fileSize);
+
+                for (long chunkEnd : findChunkBoundaries(fileChannel))
+                {
+                    tasks.add(new ASCIIChunkTask(fileChannel, chunkStart, chunkEnd, progress, bytesRead, fileSize));
+                    chunkStart = chunkEnd;
+                }
+
+                for (ASCIIChunkTask task : tasks)
+                {
+                    ThreadController.getPool().execute(task);
+                }
+
+                long numberOfTriangles = 0;
+                for (ASCIIChunkTask task : tasks)
+                {
+                    TriangleBuffer buffer = task.join();
+                    buffers.add(buffer);
+                    numberOfTriangles += buffer.getNumberOfTriangles();
+                }
+
+                progress.checkCancelled();
+                progress.update(LoadStage.PARSING_FACETS, numberOfTriangles, numberOfTriangles);
 
-                faces.add(currentFace);
+                recordParseThroughput(fileSize, numberOfTriangles, parseScope.getElapsedNanos());
+                Output.timePassed(parseScope.getElapsedMillis(), Constants.STL_PARSING);
             }
-            catch (Exception e)
+
+            try (MetricScope buildScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_BUILD))
             {
-                e.printStackTrace();
+                progress.update(LoadStage.BUILDING_MESH, 0, -1);
+                meshData = TriangleBuffer.createMeshData(buffers, bufferPool);
+                Output.timePassed(buildScope.getElapsedMillis(), Constants.MESH_BUILDING);
             }
-        }
 
-        return new Polyhedron(faces, polyhedronName);
+            String solidName = tasks.getFirst().getSolidName();
+            String polyhedronName = solidName == null || solidName.isEmpty() ? filepath : solidName;
+
+            return createPolyhedron(meshData, polyhedronName, progress);
+        }
     }
 
     /**
-     * Erstellt drei {@link Edge}-Objekte aus einer Liste von ASCII-Zeilen.
-     *
-     * @param lines Die Zeilen, die ein Face beschreiben.
-     * @return Eine Liste mit genau drei {@link Edge}-Objekten.
+     * Teilt die Datei in ungefähr gleich große Bereiche auf, die jeweils direkt hinter einem "endfacet" enden.
+     * Die Bereichsgröße richtet sich nach der Parallelität des gemeinsamen Pools und ist nach oben begrenzt,
+     * sodass auch Dateien über 2 GB in mappbare Bereiche zerfallen.
      *
-     * @Vorbedingung lines != null && enthält gültige Vertex-Zeilen.
-     * @Nachbedingung Gibt eine Liste mit drei gültigen {@link Edge}-Objekten zurück.
+     * @param fileChannel Der geöffnete {@link FileChannel} der Datei.
+     * @return Die (exklusiven) Endpositionen der Bereiche in aufsteigender Reihenfolge; die letzte ist die Dateigröße.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @Vorbedingung fileChannel ist geöffnet.
+     * @Nachbedingung Jeder Bereich enthält nur vollständige Facetten.
      */
-    private static List<Edge> createEdgesFromLines(String[] lines)
+    static List<Long> findChunkBoundaries(FileChannel fileChannel) throws IOException
     {
-        List<Edge> edges = new ArrayList<>();
-        List<Vertex> vertices = new ArrayList<>();
-        String[] currentVertex;
+        long fileSize = fileChannel.size();
+        long targetChunks = (long) ThreadController.getPool().getParallelism() * Constants.STL_ASCII_CHUNKS_PER_THREAD;
+        long chunkSize = Math.clamp(fileSize / Math.max(targetChunks, 1),
+                Constants.STL_ASCII_MIN_CHUNK_SIZE, Constants.STL_ASCII_MAX_CHUNK_SIZE);
 
-        if (!lines[Constants.INDEX_ONE].startsWith(Constants.STL_ASCII_KEYWORD_OUTER_LOOP) &&
-                !lines[Constants.INDEX_FIVE].startsWith(Constants.STL_ASCII_KEYWORD_ENDLOOP))
+        List<Long> boundaries = new ArrayList<>();
+        long chunkStart = 0;
+
+        while (chunkStart < fileSize)
         {
-            throw new IllegalArgumentException(Constants.INVALID_FACE_VERTEX);
+            long chunkEnd = fileSize;
+
+            if (fileSize - chunkStart > chunkSize)
+            {
+                chunkEnd = findEndOfFacet(fileChannel, chunkStart + chunkSize);
+            }
+
+            boundaries.add(chunkEnd);
+            chunkStart = chunkEnd;
         }
 
-        for (String currentLine : lines)
+        return boundaries;
+    }
+
+    /**
+     * Sucht ab einer Position das nächste Schlüsselwort "endfacet" und liefert die Position direkt dahinter.
+     *
+     * @param fileChannel Der geöffnete {@link FileChannel} der Datei.
+     * @param from Die Position, ab der gesucht wird.
+     * @return Die Position hinter dem nächsten "endfacet" oder die Dateigröße, falls keines mehr folgt.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @Vorbedingung 0 <= from.
+     * @Nachbedingung Die Position des FileChannels bleibt unverändert.
+     */
+    private static long findEndOfFacet(FileChannel fileChannel, long from) throws IOException
+    {
+        byte[] keyword = Constants.STL_ASCII_KEYWORD_ENDFACET.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer window = ByteBuffer.allocate(Constants.STL_ASCII_BOUNDARY_SEARCH_WINDOW);
+        long windowStart = from;
+
+        while (windowStart < fileChannel.size())
         {
-            if (currentLine.startsWith(Constants.STL_ASCII_KEYWORD_VERTEX))
+            window.clear();
+            int bytesRead = fileChannel.read(window, windowStart);
+            if (bytesRead <= 0)
             {
-                // Extrahieren der Werte aus der Zeile
-                currentVertex = currentLine.trim().replaceFirst(Constants.STL_ASCII_SPLIT_VERTICES_REGEX,
-                        Constants.EMPTY_STRING).split(Constants.STL_ASCII_SPLIT_REGEX);
-
-                vertices.add(new Vertex(
-                        Float.parseFloat(currentVertex[Constants.INDEX_ZERO]),
-                        Float.parseFloat(currentVertex[Constants.INDEX_ONE]),
-                        Float.parseFloat(currentVertex[Constants.INDEX_TWO])));
+                break;
             }
+
+            for (int i = 0; i + keyword.length <= bytesRead; i++)
+            {
+                if (Arrays.equals(window.array(), i, i + keyword.length, keyword, 0, keyword.length))
+                {
+                    return windowStart + i + keyword.length;
+                }
+            }
+
+            // Überlappung, damit ein Schlüsselwort auf der Fenstergrenze nicht übersehen wird
+            windowStart += Math.max(bytesRead - keyword.length + 1, 1);
         }
 
-        edges.add(
-                new Edge(
-                        vertices.get(Constants.INDEX_ZERO),
-                        vertices.get(Constants.INDEX_ONE)));
-        edges.add(
-                new Edge(
-                        vertices.get(Constants.INDEX_ONE),
-                        vertices.get(Constants.INDEX_TWO)));
-        edges.add(
-                new Edge(
-                        vertices.get(Constants.INDEX_TWO),
-                        vertices.get(Constants.INDEX_ZERO)));
-
-        return edges;
+        return fileChannel.size();
     }
 
     /**
-     * Erstellt ein {@link Vector3D}-Objekt aus einer Zeile.
+     * Erzeugt das {@link Polyhedron} aus einem fertigen Dreiecksnetz, nachdem ein Abbruch ausgeschlossen wurde.
      *
-     * @param line Die Zeile, die die Werte für die Normale enthält.
-     * @return Ein {@link Vector3D}-Objekt mit den Werten der Zeile.
-     *
-     * @Vorbedingung line ist nicht null und enthält gültige Float-Werte.
-     * @Nachbedingung Gibt ein korrekt initialisiertes {@link Vector3D}-Objekt zurück.
+     * @param meshData Das verschweißte Dreiecksnetz.
+     * @param polyhedronName Der Name des Polyeders.
+     * @param progress Der Empfänger des Fortschritts.
+     * @return Das analysierte {@link Polyhedron}.
+     */
+    static Polyhedron createPolyhedron(MeshData meshData, String polyhedronName, LoadProgress progress)
+    {
+        progress.checkCancelled();
+        progress.update(LoadStage.ANALYZING, 0, -1);
+
+        return new Polyhedron(meshData, polyhedronName);
+    }
+
+    /**
+     * Fork-Join-Aufgabe, die einen Byte-Bereich einer ASCII-STL-Datei mappt und in einen
+     * {@link TriangleBuffer} einliest. Nach einem Abbruch wird der Bereich übersprungen.
      */
-    private static Vector3D createNormalFromLine(String line)
+    private static class ASCIIChunkTask extends RecursiveTask<TriangleBuffer>
     {
-        // Extrahieren der Werte aus der Zeile
-        String[] values = line.trim().replaceFirst(Constants.STL_ASCII_SPLIT_NORMAL_REGEX,
-                Constants.EMPTY_STRING).split(Constants.STL_ASCII_SPLIT_REGEX);
+        private static final long serialVersionUID = 1L;
+
+        // Die Aufgabe wird nie serialisiert; Kanal und Fortschritt leben nur während des Ladens
+        private final transient FileChannel fileChannel;
+        private final long start;
+        private final long end;
+        private final transient LoadProgress progress;
+        private final AtomicLong bytesRead;
+        private final long fileSize;
+        private String solidName;
 
-        try
+        ASCIIChunkTask(FileChannel fileChannel, long start, long end, LoadProgress progress, AtomicLong bytesRead,
+                       long fileSize)
         {
-            Vector3D normal = new Vector3D(
-                    Float.parseFloat(values[Constants.INDEX_ZERO]),
-                    Float.parseFloat(values[Constants.INDEX_ONE]),
-                    Float.parseFloat(values[Constants.INDEX_TWO]));
-            return normal;
+            this.fileChannel = fileChannel;
+            this.start = start;
+            this.end = end;
+            this.progress = progress;
+            this.bytesRead = bytesRead;
+            this.fileSize = fileSize;
         }
-        catch (NumberFormatException e)
+
+        @Override
+        protected TriangleBuffer compute()
         {
-            throw new IllegalArgumentException(Constants.INVALID_FACE_NORMAL);
+            if (progress.isCancelled())
+            {
+                return new TriangleBuffer(Constants.NUMBERS_ONE);
+            }
+
+            try
+            {
+                MappedByteBuffer chunk = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                int estimatedTriangles = (int) Math.max((end - start) / Constants.STL_ASCII_ESTIMATED_FACET_LENGTH,
+                        Constants.NUMBERS_ONE);
+
+                TriangleBuffer buffer = new TriangleBuffer(estimatedTriangles);
+                ASCIISTLScanner scanner = new ASCIISTLScanner(chunk, buffer);
+                scanner.scan();
+                solidName = scanner.getSolidName();
+
+                progress.update(LoadStage.READING_BYTES, bytesRead.addAndGet(end - start), fileSize);
+                return buffer;
+            }
+            catch (IOException ioException)
+            {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+
+        String getSolidName()
+        {
+            return solidName;
         }
     }
 
     /**
-     * Wandelt eine Liste von ASCII-Zeilen in eine Liste aus String-Arrays nach Faces um.
+     * Liest eine STL-Datei im Binärformat über {@link FileChannel#map} ein und wandelt diese in ein
+     * {@link Polyhedron}-Objekt um. Die Facetten werden fensterweise direkt aus dem gemappten Bereich in
+     * primitive Arrays übertragen, ohne pro Facette Objekte zu erzeugen, und anschließend zu einem indizierten
+     * {@link MeshData} verschweißt.
+     * Dateien über 2 GB werden in mehreren Fenstern gemappt.
      *
-     * @param fileDataByLines Die Zeilen der Datei als {@link ArrayList}.
-     * @return Eine Liste von String-Arrays, die jeweils ein Face darstellen.
+     * @param filepath Der Pfad zur Datei.
+     * @return Ein {@link Polyhedron}-Objekt, das aus den Binärdaten erzeugt wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
      *
-     * @Vorbedingung fileDataByLines ist nicht null und enthält gültige STL-Zeilen.
-     * @Nachbedingung Gibt eine Liste aus String-Arrays nach Faces zurück.
+     * @Vorbedingung filepath ist ungleich null und verweist auf eine gültige Binär-STL-Datei.
+     * @Nachbedingung Gibt ein vollständig aufgebautes {@link Polyhedron}-Objekt zurück oder wirft eine
+     * IllegalArgumentException, wenn die Anzahl der Dreiecke nicht zur Dateigröße passt.
      */
-    public static List<String[]> prepareASCIISTL(ArrayList<String> fileDataByLines)
+    public static Polyhedron createPolyhedronFromBinarySTL(String filepath) throws IOException
     {
-        List<String[]> faces = new ArrayList<>();
-        List<String> currentFace = null;
+        return createPolyhedronFromBinarySTL(filepath, LoadProgress.NONE);
+    }
 
-        faces.add(new String[]{fileDataByLines.getFirst().trim()});
+    /**
+     * Liest eine Binär-STL-Datei wie {@link #createPolyhedronFromBinarySTL(String)} ein und meldet dabei die
+     * eingelesenen Facetten und den Aufbau des Dreiecksnetzes an eine {@link LoadProgress}.
+     * Ein angeforderter Abbruch wird nach jedem Block von Facetten und zwischen den Stufen geprüft.
+     *
+     * @param filepath Der Pfad zur Datei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @return Ein {@link Polyhedron}-Objekt, das aus den Binärdaten erzeugt wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     *
+     * @Vorbedingung filepath und progress sind nicht null.
+     * @Nachbedingung Gibt ein vollständig aufgebautes {@link Polyhedron}-Objekt zurück oder wirft eine
+     * IllegalArgumentException, wenn die Anzahl der Dreiecke nicht zur Dateigröße passt.
+     */
+    public static Polyhedron createPolyhedronFromBinarySTL(String filepath, LoadProgress progress) throws IOException
+    {
+        return createPolyhedronFromBinarySTL(filepath, progress, ParseBufferPool.NONE);
+    }
 
-        for (String rawLine : fileDataByLines)
+    /**
+     * Liest eine Binär-STL-Datei wie {@link #createPolyhedronFromBinarySTL(String, LoadProgress)} ein und entnimmt
+     * die Dreieckssuppe einem {@link ParseBufferPool}, an den sie nach dem Verschweißen zurückgegeben wird.
+     *
+     * @param filepath Der Pfad zur Datei.
+     * @param progress Der Empfänger des Fortschritts.
+     * @param bufferPool Der Pool für die Dreieckssuppe.
+     * @return Ein {@link Polyhedron}-Objekt, das aus den Binärdaten erzeugt wurde.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann.
+     * @throws java.util.concurrent.CancellationException Wenn der Ladevorgang abgebrochen wurde.
+     *
+     * @Vorbedingung filepath, progress und bufferPool sind nicht null.
+     * @Nachbedingung Gibt ein vollständig aufgebautes {@link Polyhedron}-Objekt zurück oder wirft eine
+     * IllegalArgumentException, wenn die Anzahl der Dreiecke nicht zur Dateigröße passt.
+     */
+    public static Polyhedron createPolyhedronFromBinarySTL(String filepath, LoadProgress progress,
+                                                           ParseBufferPool bufferPool) throws IOException
+    {
+        try (FileChannel fileChannel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ))
         {
-            String line = rawLine.trim();
+            long fileSize = fileChannel.size();
 
-            if (line.startsWith(Constants.STL_ASCII_KEYWORD_FACET_NORMAL))
+            if (fileSize < Constants.STL_BINARY_DATA_OFFSET)
             {
-                currentFace = new ArrayList<>();
-                currentFace.add(line);
+                throw new IllegalArgumentException(Constants.STL_BINARY_FILE_TOO_SHORT);
             }
-            else if (line.startsWith(Constants.STL_ASCII_KEYWORD_VERTEX) |
-                    line.startsWith(Constants.STL_ASCII_KEYWORD_OUTER_LOOP) |
-                    line.startsWith(Constants.STL_ASCII_KEYWORD_ENDLOOP))
+
+            MappedByteBuffer headerBuffer = fileChannel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, Constants.STL_BINARY_DATA_OFFSET);
+            headerBuffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            byte[] header = new byte[Constants.STL_BINARY_HEADER_LENGTH];
+            headerBuffer.get(0, header);
+            String headerName = new String(header, StandardCharsets.US_ASCII).trim();
+
+            // Setzen des Polyeder-Namens
+            String polyhedronName = headerName.isEmpty() ? filepath : headerName;
+
+            long numberOfTriangles = Integer.toUnsignedLong(
+                    headerBuffer.getInt(Constants.STL_BINARY_HEADER_LENGTH));
+            validateNumberOfTriangles(numberOfTriangles, fileSize);
+
+            int triangles = (int) numberOfTriangles;
+            // Die Suppe wird nur bis zum Verschweißen benötigt, die Normalen übernimmt das MeshData
+            float[] soup = bufferPool.acquire(triangles * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+            float[] normals = new float[triangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+            MeshData meshData;
+
+            try
             {
-                if (currentFace != null)
+                try (MetricScope parseScope = Metrics.getInstance().startScope(Constants.METRIC_STL_PARSE))
                 {
-                    currentFace.add(line);
+                    readBinaryFacets(fileChannel, triangles, soup, normals, progress);
+                    recordParseThroughput(fileSize, triangles, parseScope.getElapsedNanos());
+                    Output.timePassed(parseScope.getElapsedMillis(), Constants.STL_PARSING);
                 }
-            }
-            else if (line.startsWith(Constants.STL_ASCII_KEYWORD_ENDFACET))
-            {
-                if (currentFace != null)
+
+                try (MetricScope buildScope = Metrics.getInstance().startScope(Constants.METRIC_MESH_BUILD))
                 {
-                    currentFace.add(line);
-                    faces.add(currentFace.toArray(new String[currentFace.size()]));
+                    progress.update(LoadStage.BUILDING_MESH, 0, -1);
+                    meshData = MeshBuilder.createMeshData(soup, normals, triangles);
+                    Output.timePassed(buildScope.getElapsedMillis(), Constants.MESH_BUILDING);
                 }
             }
+            finally
+            {
+                bufferPool.release(soup);
+            }
+
+            return createPolyhedron(meshData, polyhedronName, progress);
         }
-        return faces;
     }
 
     /**
-     * Liest eine STL-Datei im Binärformat ein und wandelt diese in ein {@link Polyhedron}-Objekt um.
-     *
-     * @param data Die Byte-Daten des Binärformats.
-     * @param filename Der Name der Datei.
-     * @return Ein {@link Polyhedron}-Objekt, das aus den Binärdaten erzeugt wurde.
+     * Erfasst die eingelesenen Bytes und Dreiecke sowie den Durchsatz eines Einlesevorgangs in den {@link Metrics}.
      *
-     * @Vorbedingung data ist ungleich null und data enthält gültige Binär-STL-Daten
-     * @Nachbedingung Gibt ein vollständig aufgebautes {@link Polyhedron}-Objekt zurück.
+     * @param bytes Die Anzahl der eingelesenen Bytes.
+     * @param numberOfTriangles Die Anzahl der eingelesenen Dreiecke.
+     * @param nanos Die Dauer des Einlesens in Nanosekunden.
      */
-    public static Polyhedron createPolyhedronFromBinarySTL(byte[] data, String filename)
+    static void recordParseThroughput(long bytes, long numberOfTriangles, long nanos)
     {
-        byte[] header = Arrays.copyOfRange(data, 0, Constants.STL_BINARY_HEADER_LENGTH);
+        Metrics metrics = Metrics.getInstance();
+
+        metrics.increment(Constants.METRIC_STL_BYTES, bytes);
+        metrics.increment(Constants.METRIC_STL_TRIANGLES, numberOfTriangles);
+        metrics.recordRate(Constants.METRIC_STL_BYTES_PER_SECOND, bytes, nanos);
+        metrics.recordRate(Constants.METRIC_STL_TRIANGLES_PER_SECOND, numberOfTriangles, nanos);
+    }
 
-        String headerName = new String(header).trim();
-        String polyhedronName;
+    /**
+     * Prüft, ob die im Header angegebene Anzahl an Dreiecken zur Dateigröße passt und in Arrays abbildbar ist.
+     *
+     * @param numberOfTriangles Die im Header angegebene Anzahl an Dreiecken.
+     * @param fileSize Die Größe der Datei in Bytes.
+     * @Vorbedingung numberOfTriangles >= 0.
+     * @Nachbedingung Wirft eine IllegalArgumentException, wenn die Datei zu kurz ist oder zu viele Dreiecke enthält.
+     */
+    private static void validateNumberOfTriangles(long numberOfTriangles, long fileSize)
+    {
+        long requiredSize = Constants.STL_BINARY_DATA_OFFSET + numberOfTriangles * Constants.STL_BINARY_FACET_LENGTH;
 
-        // Setzen des Polyeder-Namens
-        if (headerName.isEmpty())
-        {
-            polyhedronName = filename;
-        }
-        else
+        if (requiredSize > fileSize)
         {
-            polyhedronName = headerName;
+            throw new IllegalArgumentException(Constants.STL_BINARY_FILE_TOO_SHORT);
         }
 
-        // Überspringen des Headers und Erstellen des ByteBuffers
-        ByteBuffer byteBuffer = ByteBuffer
-                .wrap(data)
-                .order(ByteOrder.LITTLE_ENDIAN)
-                .position(Constants.STL_BINARY_HEADER_LENGTH);
-
-        int numberOfTriangles = byteBuffer.getInt();
-        List<Face> faces = new ArrayList<>(numberOfTriangles);
-
-        for (int i = 0; i < numberOfTriangles; i++)
+        if (numberOfTriangles > Constants.STL_MAX_NUMBER_OF_TRIANGLES)
         {
-            faces.add(createFaceFromByteBuffer(byteBuffer));
+            throw new IllegalArgumentException(Constants.STL_TOO_MANY_TRIANGLES);
         }
-
-        return new Polyhedron(faces, polyhedronName);
     }
 
     /**
-     * Liest aus dem aktuellen Buffer eine Dreiecks-Facette und erzeugt ein {@link Face}-Objekt.
-     * Dabei werden zuerst der Normalenvektor, dann drei Vertices und zuletzt das Attribut-Short übersprungen.
+     * Überträgt alle Facetten fensterweise aus der gemappten Datei in die primitiven Arrays.
+     * Jedes Fenster umfasst eine ganze Anzahl an Facetten, sodass keine Facette über eine Fenstergrenze reicht.
+     * Nach jeweils {@link Constants#STL_PROGRESS_FACET_STEP} Facetten wird der Fortschritt gemeldet und ein
+     * Abbruch geprüft.
      *
-     * @param byteBuffer Der auf das Binär-STL-Datenarray positionierte {@link ByteBuffer}.
-     * @return Ein neues {@link Face}-Objekt, bestehend aus einem {@link Triangle} und seiner Normalen.
-     *
-     * @Vorbedingung byteBuffer ist nicht null und auf die erste Facette positioniert.
-     * @Nachbedingung Der Buffer-Position steht direkt hinter der eingelesenen Facette (nach dem Attribut-Short).
+     * @param fileChannel Der geöffnete {@link FileChannel} der Datei.
+     * @param numberOfTriangles Die Anzahl der zu lesenden Dreiecke.
+     * @param soup Das Zielarray für die Eckpunkte, neun Werte pro Dreieck.
+     * @param normals Das Zielarray für die Normalen, drei Werte pro Dreieck.
+     * @param progress Der Empfänger des Fortschritts.
+     * @throws IOException Wenn ein Bereich der Datei nicht gemappt werden kann.
+     * @Vorbedingung Die Arrays sind groß genug für numberOfTriangles Dreiecke.
+     * @Nachbedingung Die Arrays enthalten die Werte aller Facetten in Dateireihenfolge.
      */
-    private static Face createFaceFromByteBuffer(ByteBuffer byteBuffer)
+    private static void readBinaryFacets(FileChannel fileChannel, int numberOfTriangles,
+                                         float[] soup, float[] normals, LoadProgress progress) throws IOException
     {
-        Vector3D normal = new Vector3D(
-                byteBuffer.getFloat(),
-                byteBuffer.getFloat(),
-                byteBuffer.getFloat()
-        );
+        progress.update(LoadStage.PARSING_FACETS, 0, numberOfTriangles);
+
+        int facetsPerWindow = Constants.STL_BINARY_MAPPING_WINDOW_SIZE / Constants.STL_BINARY_FACET_LENGTH;
+        int soupIndex = 0;
+        int normalIndex = 0;
+
+        for (int firstFacet = 0; firstFacet < numberOfTriangles; firstFacet += facetsPerWindow)
+        {
+            int facetsInWindow = Math.min(facetsPerWindow, numberOfTriangles - firstFacet);
+
+            MappedByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY,
+                    Constants.STL_BINARY_DATA_OFFSET + (long) firstFacet * Constants.STL_BINARY_FACET_LENGTH,
+                    (long) facetsInWindow * Constants.STL_BINARY_FACET_LENGTH);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+
+            int byteOffset = 0;
+            for (int i = 0; i < facetsInWindow; i++)
+            {
+                if (i % Constants.STL_PROGRESS_FACET_STEP == 0 && i > 0)
+                {
+                    progress.checkCancelled();
+                    progress.update(LoadStage.PARSING_FACETS, firstFacet + i, numberOfTriangles);
+                }
+
+                // Normale, danach drei Eckpunkte; das Attribut-Short am Ende wird übersprungen
+                normals[normalIndex++] = window.getFloat(byteOffset);
+                normals[normalIndex++] = window.getFloat(byteOffset + Constants.STL_BINARY_NORMAL_Y_OFFSET);
+                normals[normalIndex++] = window.getFloat(byteOffset + Constants.STL_BINARY_NORMAL_Z_OFFSET);
 
-        Vertex v0 = new Vertex(byteBuffer.getFloat(), byteBuffer.getFloat(), byteBuffer.getFloat());
-        Vertex v1 = new Vertex(byteBuffer.getFloat(), byteBuffer.getFloat(), byteBuffer.getFloat());
-        Vertex v2 = new Vertex(byteBuffer.getFloat(), byteBuffer.getFloat(), byteBuffer.getFloat());
+                for (int j = Constants.STL_BINARY_VERTICES_OFFSET; j < Constants.STL_BINARY_VERTICES_END;
+                     j += Float.BYTES)
+                {
+                    soup[soupIndex++] = window.getFloat(byteOffset + j);
+                }
 
-        // Attribute überspringen
-        byteBuffer.getShort();
+                byteOffset += Constants.STL_BINARY_FACET_LENGTH;
+            }
+        }
 
-        return new Face(new Triangle(v0, v1, v2), normal);
+        progress.checkCancelled();
+        progress.update(LoadStage.PARSING_FACETS, numberOfTriangles, numberOfTriangles);
     }
 }
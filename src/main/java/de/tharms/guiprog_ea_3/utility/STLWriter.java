@@ -0,0 +1,230 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.MeshData;
+import de.tharms.guiprog_ea_3.model.Polyhedron;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Schreibt STL-Dateien im Binärformat. Die Facetten werden über einen wiederverwendeten Direktpuffer blockweise in
+ * einen {@link FileChannel} geschrieben, ohne pro Facette Objekte zu erzeugen. Die Anzahl der Dreiecke und der Name
+ * werden erst nach der letzten Facette in den Header geschrieben, sodass auch Facetten unbekannter Anzahl direkt
+ * aus einem Parser weitergereicht werden können.
+ */
+public class STLWriter
+{
+    /**
+     * Schreibt ein Polyeder als Binär-STL-Datei.
+     *
+     * @param polyhedron Das zu schreibende Polyeder.
+     * @param target Der Pfad der Zieldatei; eine vorhandene Datei wird überschrieben.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     * @Vorbedingung polyhedron und target dürfen nicht null sein.
+     * @Nachbedingung Die Datei enthält alle Dreiecke des Polyeders mit ihren Normalen.
+     */
+    public static void writeBinarySTL(Polyhedron polyhedron, Path target) throws IOException
+    {
+        MeshData meshData = polyhedron.getMeshData();
+
+        writeBinarySTL(polyhedron.getName(), meshData.getPositions(), meshData.getIndices(), meshData.getNormals(),
+                meshData.getNumberOfTriangles(), target);
+    }
+
+    /**
+     * Schreibt ein indiziertes Dreiecksnetz aus primitiven Arrays als Binär-STL-Datei.
+     *
+     * @param name Der Name, der in den Header geschrieben wird; höchstens 80 ASCII-Zeichen werden übernommen.
+     * @param positions Die Eckpunkte, drei Werte pro Eckpunkt.
+     * @param indices Die Eckpunkt-Indizes, drei pro Dreieck.
+     * @param normals Die Normalen, drei Werte pro Dreieck.
+     * @param numberOfTriangles Die Anzahl der zu schreibenden Dreiecke.
+     * @param target Der Pfad der Zieldatei; eine vorhandene Datei wird überschrieben.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     * @Vorbedingung Die Arrays enthalten mindestens numberOfTriangles Dreiecke mit gültigen Indizes.
+     * @Nachbedingung Die Datei enthält numberOfTriangles Facetten in der Reihenfolge der Indizes.
+     */
+    public static void writeBinarySTL(String name, float[] positions, int[] indices, float[] normals,
+                                      int numberOfTriangles, Path target) throws IOException
+    {
+        float[] facet = new float[Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS +
+                Constants.STL_FACET_NUMBER_OF_COORDINATES];
+
+        try (FileChannel channel = openForWriting(target))
+        {
+            BinaryFacetWriter writer = new BinaryFacetWriter(channel);
+
+            for (int triangle = 0; triangle < numberOfTriangles; triangle++)
+            {
+                System.arraycopy(normals, triangle * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS, facet, 0,
+                        Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+
+                for (int vertex = 0; vertex < Constants.STL_NUMBER_OF_VERTICES; vertex++)
+                {
+                    int index = indices[triangle * Constants.STL_NUMBER_OF_VERTICES + vertex];
+
+                    System.arraycopy(positions, index * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS, facet,
+                            Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS +
+                                    vertex * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS,
+                            Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS);
+                }
+
+                writer.acceptFacet(facet);
+            }
+
+            writer.finish(name);
+        }
+        catch (UncheckedIOException uncheckedIOException)
+        {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    /**
+     * Wandelt eine ASCII-STL-Datei in eine Binär-STL-Datei um, ohne das Dreiecksnetz im Speicher aufzubauen.
+     * Die Quelldatei wird in Bereichen gemappt, die jeweils an Facettengrenzen enden; jede eingelesene Facette wird
+     * sofort in den Schreibpuffer übertragen. Der Speicherbedarf ist daher unabhängig von der Größe der Datei.
+     *
+     * @param source Der Pfad der ASCII-STL-Datei.
+     * @param target Der Pfad der Zieldatei; eine vorhandene Datei wird überschrieben.
+     * @return Die Anzahl der geschriebenen Dreiecke.
+     * @throws IOException Wenn eine der Dateien nicht gelesen bzw. geschrieben werden kann.
+     * @throws IllegalArgumentException Wenn die Quelldatei keine gültige ASCII-STL-Datei ist.
+     * @Vorbedingung source und target dürfen nicht null sein und verweisen auf verschiedene Dateien.
+     * @Nachbedingung Die Zieldatei enthält alle Facetten der Quelldatei in derselben Reihenfolge und den Namen des
+     * Solids im Header.
+     */
+    public static int convertASCIIToBinarySTL(String source, Path target) throws IOException
+    {
+        try (FileChannel input = FileChannel.open(Path.of(source), StandardOpenOption.READ);
+             FileChannel output = openForWriting(target))
+        {
+            BinaryFacetWriter writer = new BinaryFacetWriter(output);
+            String solidName = null;
+            long chunkStart = 0;
+
+            for (long chunkEnd : STLReader.findChunkBoundaries(input))
+            {
+                MappedByteBuffer chunk = input.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+                ASCIISTLScanner scanner = new ASCIISTLScanner(chunk, writer);
+                scanner.scan();
+
+                // Die solid-Zeile steht nur im ersten Bereich
+                if (solidName == null)
+                {
+                    solidName = scanner.getSolidName();
+                }
+
+                chunkStart = chunkEnd;
+            }
+
+            writer.finish(solidName == null ? "" : solidName);
+            return writer.getNumberOfFacets();
+        }
+        catch (UncheckedIOException uncheckedIOException)
+        {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    /**
+     * Öffnet eine Zieldatei zum Schreiben und leert sie.
+     */
+    private static FileChannel openForWriting(Path target) throws IOException
+    {
+        return FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * {@link FacetSink}, der jede Facette als 50-Byte-Datensatz in einen Puffer schreibt und diesen blockweise an
+     * einen {@link FileChannel} übergibt. Der Header wird beim Abschluss geschrieben.
+     */
+    private static class BinaryFacetWriter implements FacetSink
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(Constants.STL_BINARY_WRITE_BUFFER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private int numberOfFacets;
+
+        BinaryFacetWriter(FileChannel channel) throws IOException
+        {
+            this.channel = channel;
+            channel.position(Constants.STL_BINARY_DATA_OFFSET);
+        }
+
+        @Override
+        public void acceptFacet(float[] facet)
+        {
+            if (buffer.remaining() < Constants.STL_BINARY_FACET_LENGTH)
+            {
+                flush();
+            }
+
+            for (int i = 0; i < Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS +
+                    Constants.STL_FACET_NUMBER_OF_COORDINATES; i++)
+            {
+                buffer.putFloat(facet[i]);
+            }
+
+            // Attribut-Short ohne Bedeutung
+            buffer.putShort((short) 0);
+            numberOfFacets++;
+        }
+
+        /**
+         * Schreibt die gepufferten Facetten und danach den Header mit Name und Anzahl der Dreiecke.
+         *
+         * @param name Der Name für den Header.
+         * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+         */
+        void finish(String name) throws IOException
+        {
+            flush();
+
+            // Ein Binär-Header, der mit "solid" beginnt, würde beim Einlesen für ASCII gehalten
+            if (name.trim().startsWith(Constants.STL_ASCII_KEYWORD_SOLID))
+            {
+                name = Constants.STL_BINARY_NAME_PREFIX + name;
+            }
+
+            byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer header = ByteBuffer.allocate(Constants.STL_BINARY_DATA_OFFSET).order(ByteOrder.LITTLE_ENDIAN);
+
+            header.put(nameBytes, 0, Math.min(nameBytes.length, Constants.STL_BINARY_HEADER_LENGTH));
+            header.putInt(Constants.STL_BINARY_HEADER_LENGTH, numberOfFacets);
+
+            channel.position(0);
+            ChannelArrays.writeFully(channel, header.clear());
+        }
+
+        int getNumberOfFacets()
+        {
+            return numberOfFacets;
+        }
+
+        /**
+         * Schreibt den Inhalt des Puffers in die Datei und leert ihn.
+         */
+        private void flush()
+        {
+            try
+            {
+                ChannelArrays.writeFully(channel, buffer.flip());
+                buffer.clear();
+            }
+            catch (IOException ioException)
+            {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.MeshData;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wachsender, primitiver Puffer für Facetten, deren Anzahl vorab nicht bekannt ist.
+ * Eckpunkte werden als Dreieckssuppe (neun Werte pro Dreieck) und Normalen als drei Werte pro Dreieck gespeichert.
+ */
+public class TriangleBuffer implements FacetSink
+{
+    private float[] soup;
+    private float[] normals;
+    private int numberOfTriangles;
+
+    /**
+     * Erzeugt einen leeren {@link TriangleBuffer} mit Platz für die angegebene Anzahl an Dreiecken.
+     *
+     * @param initialCapacity Die anfängliche Kapazität in Dreiecken.
+     * @Vorbedingung initialCapacity > 0.
+     * @Nachbedingung Der Puffer ist leer.
+     */
+    public TriangleBuffer(int initialCapacity)
+    {
+        this.soup = new float[initialCapacity * Constants.STL_FACET_NUMBER_OF_COORDINATES];
+        this.normals = new float[initialCapacity * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+    }
+
+    /**
+     * Hängt eine Facette an den Puffer an und vergrößert ihn bei Bedarf um den Faktor 1,5.
+     *
+     * @param facet Normale (3) und drei Eckpunkte (je 3).
+     * @Vorbedingung facet enthält mindestens zwölf Werte.
+     * @Nachbedingung Der Puffer enthält ein Dreieck mehr.
+     */
+    @Override
+    public void acceptFacet(float[] facet)
+    {
+        if (numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS == normals.length)
+        {
+            grow();
+        }
+
+        System.arraycopy(facet, 0, normals, numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS,
+                Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+        System.arraycopy(facet, Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS, soup,
+                numberOfTriangles * Constants.STL_FACET_NUMBER_OF_COORDINATES,
+                Constants.STL_FACET_NUMBER_OF_COORDINATES);
+
+        numberOfTriangles++;
+    }
+
+    /**
+     * Fügt mehrere Puffer in ihrer Reihenfolge zu einem indizierten {@link MeshData} zusammen.
+     *
+     * @param buffers Die zusammenzufügenden Puffer.
+     * @return Ein {@link MeshData} mit allen Dreiecken der Puffer.
+     * @Vorbedingung buffers ist nicht null und enthält keine null-Elemente.
+     * @Nachbedingung Die Puffer sind geleert.
+     */
+    public static MeshData createMeshData(List<TriangleBuffer> buffers)
+    {
+        return createMeshData(buffers, ParseBufferPool.NONE);
+    }
+
+    /**
+     * Fügt mehrere Puffer wie {@link #createMeshData(List)} zusammen und entnimmt die dafür benötigte
+     * Dreieckssuppe einem {@link ParseBufferPool}, an den sie nach dem Verschweißen zurückgegeben wird.
+     * Jeder Puffer gibt seine Arrays frei, sobald er kopiert ist, damit die Teilpuffer samt ihrer Wachstumsreserve
+     * nicht neben der gesamten Dreieckssuppe und dem Verschweißen im Speicher bleiben.
+     *
+     * @param buffers Die zusammenzufügenden Puffer.
+     * @param bufferPool Der Pool für die zusammengefügte Dreieckssuppe.
+     * @return Ein {@link MeshData} mit allen Dreiecken der Puffer.
+     * @Vorbedingung buffers und bufferPool sind nicht null, buffers enthält keine null-Elemente.
+     * @Nachbedingung Die Puffer sind geleert.
+     */
+    public static MeshData createMeshData(List<TriangleBuffer> buffers, ParseBufferPool bufferPool)
+    {
+        long totalTriangles = 0;
+        for (TriangleBuffer buffer : buffers)
+        {
+            totalTriangles += buffer.numberOfTriangles;
+        }
+
+        if (totalTriangles > Constants.STL_MAX_NUMBER_OF_TRIANGLES)
+        {
+            throw new IllegalArgumentException(Constants.STL_TOO_MANY_TRIANGLES);
+        }
+
+        int numberOfTriangles = (int) totalTriangles;
+        float[] soup = bufferPool.acquire(numberOfTriangles * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+        float[] normals = new float[numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS];
+        int offset = 0;
+
+        try
+        {
+            for (TriangleBuffer buffer : buffers)
+            {
+                System.arraycopy(buffer.soup, 0, soup, offset * Constants.STL_FACET_NUMBER_OF_COORDINATES,
+                        buffer.numberOfTriangles * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+                System.arraycopy(buffer.normals, 0, normals, offset * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS,
+                        buffer.numberOfTriangles * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+                offset += buffer.numberOfTriangles;
+                buffer.clear();
+            }
+
+            return MeshBuilder.createMeshData(soup, normals, numberOfTriangles);
+        }
+        finally
+        {
+            bufferPool.release(soup);
+        }
+    }
+
+    /**
+     * Gibt die internen Arrays frei; der Puffer ist danach leer und kann erneut befüllt werden.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Der Puffer enthält keine Dreiecke und belegt keinen Platz für Dreiecke.
+     */
+    private void clear()
+    {
+        soup = new float[0];
+        normals = new float[0];
+        numberOfTriangles = 0;
+    }
+
+    /**
+     * Vergrößert die internen Arrays um den Faktor 1,5.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Kapazität ist gewachsen oder es wurde eine IllegalArgumentException geworfen.
+     */
+    private void grow()
+    {
+        long capacity = normals.length / Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS;
+        long newCapacity = Math.min(capacity + (capacity >> 1) + 1, Constants.STL_MAX_NUMBER_OF_TRIANGLES);
+
+        if (newCapacity <= capacity)
+        {
+            throw new IllegalArgumentException(Constants.STL_TOO_MANY_TRIANGLES);
+        }
+
+        soup = Arrays.copyOf(soup, (int) newCapacity * Constants.STL_FACET_NUMBER_OF_COORDINATES);
+        normals = Arrays.copyOf(normals, (int) newCapacity * Constants.STL_NORMAL_NUMBER_OF_DIMENSIONS);
+    }
+
+    public int getNumberOfTriangles()
+    {
+        return numberOfTriangles;
+    }
+}
@@ -0,0 +1,337 @@
+package de.tharms.guiprog_ea_3.utility;
+
+import de.tharms.guiprog_ea_3.model.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Primitiver Index zum Verschweißen von Eckpunkten mit offener Adressierung (lineares Sondieren).
+ * Im exakten Modus werden Eckpunkte über die Bitmuster ihrer Koordinaten verglichen, im toleranten Modus werden
+ * sie über ein räumliches Gitter mit der Toleranz als Zellgröße gesucht und gelten als gleich, wenn jede Koordinate
+ * höchstens um die Toleranz abweicht. Es werden weder Koordinaten geboxt noch Eintragsobjekte pro Eckpunkt angelegt.
+ */
+public class VertexWeldIndex
+{
+    private static final int EMPTY_SLOT = -1;
+
+    private final float tolerance;
+    private final double inverseCellSize;
+
+    private int[] table;
+    private int mask;
+    private float[] positions;
+    private int numberOfVertices;
+
+    /**
+     * Erzeugt einen exakten {@link VertexWeldIndex}.
+     *
+     * @param expectedVertices Die erwartete Anzahl eindeutiger Eckpunkte.
+     * @Vorbedingung expectedVertices >= 0.
+     * @Nachbedingung Der Index ist leer; nur bitgleiche Koordinaten (0.0 und -0.0 gelten als gleich) werden
+     * verschweißt.
+     */
+    public VertexWeldIndex(int expectedVertices)
+    {
+        this(expectedVertices, Constants.WELD_EXACT_TOLERANCE);
+    }
+
+    /**
+     * Erzeugt einen {@link VertexWeldIndex} mit der angegebenen Toleranz.
+     *
+     * @param expectedVertices Die erwartete Anzahl eindeutiger Eckpunkte.
+     * @param tolerance Die maximale Abweichung pro Koordinate; 0 wählt den exakten Modus.
+     * @Vorbedingung expectedVertices >= 0, tolerance >= 0 und endlich.
+     * @Nachbedingung Der Index ist leer.
+     */
+    public VertexWeldIndex(int expectedVertices, float tolerance)
+    {
+        if (!(tolerance >= 0) || Float.isInfinite(tolerance))
+        {
+            throw new IllegalArgumentException(Constants.INVALID_WELD_TOLERANCE);
+        }
+
+        this.tolerance = tolerance;
+        this.inverseCellSize = tolerance > 0 ? 1.0 / tolerance : 0;
+
+        int capacity = Integer.highestOneBit(Math.max(expectedVertices, Constants.WELD_MIN_CAPACITY) *
+                Constants.INDEX_TWO - 1) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(table, EMPTY_SLOT);
+        this.positions = new float[Math.max(expectedVertices, Constants.WELD_MIN_CAPACITY) *
+                Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS];
+    }
+
+    /**
+     * Sucht einen passenden Eckpunkt oder legt einen neuen an.
+     *
+     * @param x Die X-Koordinate.
+     * @param y Die Y-Koordinate.
+     * @param z Die Z-Koordinate.
+     * @return Der Index des (gegebenenfalls neu angelegten) eindeutigen Eckpunkts.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Neue Eckpunkte erhalten fortlaufende Indizes in der Reihenfolge ihres ersten Auftretens.
+     */
+    public int weld(float x, float y, float z)
+    {
+        int existing = tolerance > 0 ? findNear(x, y, z) : findExact(x, y, z);
+
+        if (existing != EMPTY_SLOT)
+        {
+            return existing;
+        }
+
+        return insert(x, y, z);
+    }
+
+    /**
+     * Verschweißt alle Ecken einer Dreieckssuppe in einem einzigen Durchlauf.
+     *
+     * @param soup Die Eckpunkte aller Dreiecke, drei Werte pro Ecke.
+     * @param numberOfCorners Die Anzahl der Ecken.
+     * @param indices Zielarray, erhält für jede Ecke den Index ihres eindeutigen Eckpunkts.
+     * @Vorbedingung soup enthält mindestens 3 * numberOfCorners Werte, indices mindestens numberOfCorners.
+     * @Nachbedingung Jede Ecke wurde genau einmal verschweißt.
+     */
+    public void weldAll(float[] soup, int numberOfCorners, int[] indices)
+    {
+        for (int corner = 0; corner < numberOfCorners; corner++)
+        {
+            int offset = corner * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+            indices[corner] = weld(soup[offset], soup[offset + 1], soup[offset + 2]);
+        }
+    }
+
+    /**
+     * Liefert die eindeutigen Eckpunkte in einem Array passender Länge.
+     *
+     * @return Drei Koordinaten pro eindeutigem Eckpunkt.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Das Array ist eine Kopie; spätere Aufrufe von weld ändern es nicht.
+     */
+    public float[] toPositions()
+    {
+        return Arrays.copyOf(positions, numberOfVertices * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS);
+    }
+
+    public int getNumberOfVertices()
+    {
+        return numberOfVertices;
+    }
+
+    public float getTolerance()
+    {
+        return tolerance;
+    }
+
+    /**
+     * Sucht einen Eckpunkt mit bitgleichen Koordinaten.
+     *
+     * @return Der Index des Eckpunkts oder {@link #EMPTY_SLOT}.
+     */
+    private int findExact(float x, float y, float z)
+    {
+        int bitsX = coordinateBits(x);
+        int bitsY = coordinateBits(y);
+        int bitsZ = coordinateBits(z);
+
+        for (int slot = hashExact(bitsX, bitsY, bitsZ) & mask; table[slot] != EMPTY_SLOT; slot = (slot + 1) & mask)
+        {
+            int offset = table[slot] * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+            if (coordinateBits(positions[offset]) == bitsX &&
+                    coordinateBits(positions[offset + 1]) == bitsY &&
+                    coordinateBits(positions[offset + 2]) == bitsZ)
+            {
+                return table[slot];
+            }
+        }
+
+        return EMPTY_SLOT;
+    }
+
+    /**
+     * Sucht in allen Gitterzellen, die der Toleranzwürfel um den Punkt berührt, nach dem ersten angelegten Eckpunkt
+     * innerhalb der Toleranz.
+     *
+     * @return Der Index des Eckpunkts oder {@link #EMPTY_SLOT}.
+     */
+    private int findNear(float x, float y, float z)
+    {
+        long minCellX = cell(x - tolerance), maxCellX = cell(x + tolerance);
+        long minCellY = cell(y - tolerance), maxCellY = cell(y + tolerance);
+        long minCellZ = cell(z - tolerance), maxCellZ = cell(z + tolerance);
+        int best = EMPTY_SLOT;
+
+        for (long cellX = minCellX; cellX <= maxCellX; cellX++)
+        {
+            for (long cellY = minCellY; cellY <= maxCellY; cellY++)
+            {
+                for (long cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+                {
+                    for (int slot = hashCell(cellX, cellY, cellZ) & mask; table[slot] != EMPTY_SLOT;
+                         slot = (slot + 1) & mask)
+                    {
+                        int candidate = table[slot];
+
+                        if ((best == EMPTY_SLOT || candidate < best) && isNear(candidate, x, y, z))
+                        {
+                            best = candidate;
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Legt einen neuen Eckpunkt an und trägt ihn in die Tabelle ein.
+     *
+     * @return Der Index des neuen Eckpunkts.
+     */
+    private int insert(float x, float y, float z)
+    {
+        if ((numberOfVertices + 1) * Constants.INDEX_TWO > table.length)
+        {
+            rehash(table.length << 1);
+        }
+
+        if ((numberOfVertices + 1) * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS > positions.length)
+        {
+            positions = Arrays.copyOf(positions, positions.length + (positions.length >> 1) +
+                    Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS);
+        }
+
+        int vertex = numberOfVertices++;
+        int offset = vertex * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+        positions[offset] = x;
+        positions[offset + 1] = y;
+        positions[offset + 2] = z;
+
+        putIntoTable(table, mask, vertex);
+        return vertex;
+    }
+
+    /**
+     * Vergrößert die Tabelle und trägt alle Eckpunkte neu ein.
+     *
+     * @param capacity Die neue Kapazität (Zweierpotenz).
+     */
+    private void rehash(int capacity)
+    {
+        int[] newTable = new int[capacity];
+        Arrays.fill(newTable, EMPTY_SLOT);
+
+        for (int vertex = 0; vertex < numberOfVertices; vertex++)
+        {
+            putIntoTable(newTable, capacity - 1, vertex);
+        }
+
+        table = newTable;
+        mask = capacity - 1;
+    }
+
+    /**
+     * Trägt einen Eckpunkt an der ersten freien Stelle seiner Sondierungsfolge ein.
+     */
+    private void putIntoTable(int[] targetTable, int targetMask, int vertex)
+    {
+        int slot = hashVertex(vertex) & targetMask;
+
+        while (targetTable[slot] != EMPTY_SLOT)
+        {
+            slot = (slot + 1) & targetMask;
+        }
+
+        targetTable[slot] = vertex;
+    }
+
+    /**
+     * Liefert den Hashwert eines bereits angelegten Eckpunkts im aktuellen Modus.
+     */
+    private int hashVertex(int vertex)
+    {
+        int offset = vertex * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+        float x = positions[offset];
+        float y = positions[offset + 1];
+        float z = positions[offset + 2];
+
+        if (tolerance > 0)
+        {
+            return hashCell(cell(x), cell(y), cell(z));
+        }
+
+        return hashExact(coordinateBits(x), coordinateBits(y), coordinateBits(z));
+    }
+
+    /**
+     * Prüft, ob ein Eckpunkt in jeder Koordinate höchstens um die Toleranz abweicht.
+     */
+    private boolean isNear(int vertex, float x, float y, float z)
+    {
+        int offset = vertex * Constants.STL_VERTEX_NUMBER_OF_DIMENSIONS;
+
+        return Math.abs(positions[offset] - x) <= tolerance &&
+                Math.abs(positions[offset + 1] - y) <= tolerance &&
+                Math.abs(positions[offset + 2] - z) <= tolerance;
+    }
+
+    /**
+     * Liefert die Gitterzelle einer Koordinate. Ist die Toleranz so klein gegenüber der Koordinate, dass die Zelle
+     * nicht mehr als long darstellbar wäre, liegt sie weit unter deren Auflösung und x - Toleranz und x + Toleranz
+     * fallen auf x selbst; dann dient wie im exakten Modus das Bitmuster der Koordinate als Zelle.
+     */
+    private long cell(float value)
+    {
+        double scaledValue = Math.floor(value * inverseCellSize);
+
+        if (!(Math.abs(scaledValue) <= Constants.WELD_MAX_CELL))
+        {
+            return coordinateBits(value);
+        }
+
+        return (long) scaledValue;
+    }
+
+    /**
+     * Liefert das Bitmuster einer Koordinate, wobei -0.0 auf 0.0 abgebildet wird.
+     */
+    private static int coordinateBits(float value)
+    {
+        return Float.floatToIntBits(value + 0.0f);
+    }
+
+    private static int hashExact(int bitsX, int bitsY, int bitsZ)
+    {
+        int hash = bitsX;
+        hash = hash * Constants.HASH_MULTIPLIER + bitsY;
+        hash = hash * Constants.HASH_MULTIPLIER + bitsZ;
+
+        return mix(hash);
+    }
+
+    private static int hashCell(long cellX, long cellY, long cellZ)
+    {
+        long hash = cellX;
+        hash = hash * Constants.HASH_MULTIPLIER + cellY;
+        hash = hash * Constants.HASH_MULTIPLIER + cellZ;
+
+        return mix((int) (hash ^ (hash >>> Integer.SIZE)));
+    }
+
+    /**
+     * Durchmischt die Bits eines Hashwerts (Finalizer von MurmurHash3).
+     */
+    private static int mix(int hash)
+    {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+
+        return hash;
+    }
+}
@@ -1,18 +1,40 @@
 package de.tharms.guiprog_ea_3.view;
 
-import de.tharms.guiprog_ea_3.controller.PolyhedronController;
+import com.google.gson.Gson;
+import de.tharms.guiprog_ea_3.model.AnalysisResult;
 import de.tharms.guiprog_ea_3.model.Constants;
+import de.tharms.guiprog_ea_3.model.ConversionResult;
 import de.tharms.guiprog_ea_3.model.Face;
+import de.tharms.guiprog_ea_3.model.MeshTopology;
+import de.tharms.guiprog_ea_3.model.OutputFormat;
 import de.tharms.guiprog_ea_3.model.Polyhedron;
 
 import java.net.SocketAddress;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Stellt Konsolenausgabe-Methoden für Status- und Ergebnisanzeigen des STL-Viewers bereit.
+ * Die Detailausgaben beim Laden einer Datei (Dateiname, Format, Zeiten, Euler-Charakteristik und Topologie) können
+ * abgeschaltet werden, damit z. B. die Stapelanalyse nur ihre Ergebniszeilen ausgibt.
  */
 public class Output
 {
+    private static volatile boolean loadingDetailsEnabled = true;
+    private static Gson gson;
+
+    /**
+     * Schaltet die Detailausgaben beim Laden von Dateien ein oder aus.
+     *
+     * @param enabled {@code false}, um die Detailausgaben zu unterdrücken.
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Detailausgaben erfolgen nur noch, wenn enabled gleich true ist.
+     */
+    public static void setLoadingDetailsEnabled(boolean enabled)
+    {
+        loadingDetailsEnabled = enabled;
+    }
+
     /**
      * Diese Methode begrüßt den Nutzer mit einem kurzen Willkommenstext und einem kleinen Kunstbild eines Flugzeuges.
      * @Vorbedingung keine
@@ -32,50 +54,38 @@ public class Output
      */
     public static void printFileReadingStart(String filepath)
     {
+        if (!loadingDetailsEnabled)
+        {
+            return;
+        }
+
         System.out.println(Constants.OUTPUT_READING_FILE_START_INFO);
         System.out.println(ColorCodes.BLUE + filepath + ColorCodes.RESET);
     }
 
-    /**
-     * Gibt eine Fehlermeldung aus, wenn eine Datei nicht gefunden wurde.
-     *
-     * @Vorbedingung Keine.
-     * @Nachbedingung Die Konsole enthält eine farbige Fehlermeldung für Datei-NotFound.
-     */
-    public static void fileNotFound()
-    {
-        System.out.println(ColorCodes.RED + Constants.FILE_NOT_FOUND + ColorCodes.RESET);
-    }
-
     /**
      * Gibt eine Teilliste der kleinsten und größten Flächen des Polyeders aus.
      *
-     * @param faces Eine {@link ArrayList} mit {@link Face}-Objekten, sortiert nach Fläche.
-     * @Vorbedingung faces darf nicht null sein.
-     * @Nachbedingung Die Konsole zeigt die ersten und letzten drei Flächenwerte an.
+     * @param smallestFaces Die kleinsten {@link Face}-Objekte, aufsteigend nach Fläche.
+     * @param largestFaces Die größten {@link Face}-Objekte, aufsteigend nach Fläche.
+     * @Vorbedingung smallestFaces und largestFaces dürfen nicht null sein.
+     * @Nachbedingung Die Konsole zeigt die kleinsten und größten Flächenwerte an.
      */
-    public static void partiallyPrintSortedList(ArrayList<Face> faces)
+    public static void partiallyPrintSortedList(List<Face> smallestFaces, List<Face> largestFaces)
     {
         System.out.println();
         System.out.println(Constants.OUTPUT_PARTIAL_SORTED_LIST);
-        for (int i = Constants.INDEX_ZERO; i < Constants.INDEX_THREE && i < faces.size(); i++)
-        {
-            System.out.println(Constants.OUTPUT_AREA +
-                    faces.get(i).getPolygon().calculateArea());
-        }
-        int start = faces.size() - Constants.INDEX_THREE;
 
-        if (start < Constants.INDEX_ZERO)
+        for (Face face : smallestFaces)
         {
-            start = Constants.INDEX_ZERO;
+            System.out.println(Constants.OUTPUT_AREA + face.getPolygon().calculateArea());
         }
 
         System.out.println(Constants.OUTPUT_SEPARATOR);
 
-        for (int i = start; i < faces.size(); i++)
+        for (Face face : largestFaces)
         {
-            System.out.println(Constants.OUTPUT_AREA +
-                    faces.get(i).getPolygon().calculateArea());
+            System.out.println(Constants.OUTPUT_AREA + face.getPolygon().calculateArea());
         }
     }
 
@@ -111,10 +121,32 @@ public class Output
      */
     public static void timePassed(long time, String action)
     {
+        if (!loadingDetailsEnabled)
+        {
+            return;
+        }
+
         System.out.println(String.format(Constants.OUTPUT_TIME_PASSED, action) + ColorCodes.YELLOW + time + ColorCodes.RESET +
                 Constants.OUTPUT_UNITS_MILLISECONDS);
     }
 
+    /**
+     * Meldet, dass eine unveränderte Datei aus dem Cache geladen wird.
+     *
+     * @Vorbedingung Keine.
+     * @Nachbedingung Die Konsole zeigt an, dass die Datei nicht eingelesen werden muss.
+     */
+    public static void printLoadedFromCache()
+    {
+        if (!loadingDetailsEnabled)
+        {
+            return;
+        }
+
+        System.out.println(Constants.OUTPUT_LOADED_FROM_CACHE);
+        System.out.println();
+    }
+
     /**
      * Gibt das Format der eingelesenen STL-Datei (ASCII oder Binary) aus.
      *
@@ -124,6 +156,11 @@ public class Output
      */
     public static void printFileFormat(boolean isASCII)
     {
+        if (!loadingDetailsEnabled)
+        {
+            return;
+        }
+
         if (isASCII)
         {
             System.out.println(String.format(Constants.STL_FILE_FORMAT,
@@ -187,6 +224,18 @@ public class Output
         System.out.println(Constants.SERVER_CONNECTION_FROM + socketAddress);
     }
 
+    /**
+     * Gibt aus, dass eine Verbindung zum Server beendet wurde.
+     *
+     * @param socketAddress Die Adresse des getrennten Clients.
+     * @Vorbedingung socketAddress darf nicht null sein.
+     * @Nachbedingung Die Konsole informiert über das Ende der Verbindung und die Adresse des Clients.
+     */
+    public static void printServerDisconnection(SocketAddress socketAddress)
+    {
+        System.out.println(Constants.SERVER_CONNECTION_CLOSED_FROM + socketAddress);
+    }
+
     /**
      * Gibt die Euler-Charakteristik des Polyeders aus.
      *
@@ -197,15 +246,184 @@ public class Output
      */
     public static void printEulerCharacteristicsInformation(Polyhedron polyhedron, int eulerCharacteristicValue)
     {
+        if (!loadingDetailsEnabled)
+        {
+            return;
+        }
+
         if (polyhedron != null && eulerCharacteristicValue == Constants.EULER_CHARACTERISTIC_CLOSED_POLYHEDRON)
         {
             System.out.println(String.format(Constants.POLYEDER_EULER_INFORMATION,
-                    PolyhedronController.isClosed(polyhedron), Constants.POLYEDER_EULER_CLOSED));
+                    eulerCharacteristicValue, Constants.POLYEDER_EULER_CLOSED));
         }
         else if (polyhedron != null)
         {
             System.out.println(String.format(Constants.POLYEDER_EULER_INFORMATION,
-                    PolyhedronController.isClosed(polyhedron), Constants.POLYEDER_EULER_OPEN));
+                    eulerCharacteristicValue, Constants.POLYEDER_EULER_OPEN));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Gibt den aktuellen Stand aller Metriken aus.
+     *
+     * @param metricsDump Die Textausgabe der Metriken.
+     * @Vorbedingung metricsDump darf nicht null sein.
+     * @Nachbedingung Die Konsole zeigt alle Timer, Zähler und Histogramme an.
+     */
+    public static void printMetrics(String metricsDump)
+    {
+        System.out.println();
+        System.out.print(metricsDump);
+    }
+
+    /**
+     * Gibt die topologischen Kennwerte des Polyeders aus.
+     *
+     * @param topology Die ermittelte {@link MeshTopology}.
+     * @Vorbedingung topology darf nicht null sein.
+     * @Nachbedingung Die Konsole informiert über Rand- und nicht-mannigfaltige Kanten, Schalen und Geschlecht.
+     */
+    public static void printTopologyInformation(MeshTopology topology)
+    {
+        if (!loadingDetailsEnabled)
+        {
+            return;
+        }
+
+        int genus = topology.getGenus();
+
+        System.out.println(String.format(Constants.POLYEDER_TOPOLOGY_INFORMATION,
+                topology.getNumberOfBoundaryEdges(), topology.getNumberOfNonManifoldEdges(),
+                topology.getNumberOfInconsistentEdges(), topology.getNumberOfShells(),
+                genus == Constants.TOPOLOGY_GENUS_UNDEFINED ? Constants.POLYEDER_TOPOLOGY_GENUS_UNDEFINED : genus));
+    }
+
+    /**
+     * Gibt den Kopf der Ergebnisausgabe der Stapelanalyse aus; nur CSV besitzt eine Kopfzeile.
+     *
+     * @param format Das Ausgabeformat.
+     * @Vorbedingung format darf nicht null sein.
+     * @Nachbedingung Bei CSV wurde die Kopfzeile ausgegeben.
+     */
+    public static void printAnalysisHeader(OutputFormat format)
+    {
+        if (format == OutputFormat.CSV)
+        {
+            System.out.println(Constants.ANALYSIS_CSV_HEADER);
+        }
+    }
+
+    /**
+     * Gibt das Ergebnis der Analyse einer Datei als eine Zeile im gewählten Format aus.
+     *
+     * @param result Das Analyseergebnis.
+     * @param format Das Ausgabeformat.
+     * @Vorbedingung result und format dürfen nicht null sein; Aufruf immer aus demselben Thread.
+     * @Nachbedingung Genau eine Zeile wurde ausgegeben.
+     */
+    public static void printAnalysisResult(AnalysisResult result, OutputFormat format)
+    {
+        if (format == OutputFormat.JSON)
+        {
+            if (gson == null)
+            {
+                gson = new Gson();
+            }
+
+            System.out.println(gson.toJson(result));
+        }
+        else if (result.isFailed())
+        {
+            System.out.println(String.format(Constants.ANALYSIS_CSV_ERROR_FORMAT,
+                    quoteCsv(result.file), result.millis, quoteCsv(result.error)));
+        }
+        else
+        {
+            System.out.println(String.format(Constants.ANALYSIS_CSV_FORMAT, quoteCsv(result.file),
+                    result.numberOfFaces, result.surfaceArea, result.volume, result.eulerCharacteristic,
+                    result.watertight, result.millis));
+        }
+    }
+
+    /**
+     * Gibt den Durchsatz eines Laufs der Stapelanalyse auf dem Fehlerkanal aus, damit die Ergebniszeilen auf der
+     * Standardausgabe unverändert weiterverarbeitet werden können.
+     *
+     * @param numberOfFiles Die Anzahl der Ergebniszeilen.
+     * @param failures Die Anzahl der fehlgeschlagenen Dateien und Pfade.
+     * @param numberOfTriangles Die Anzahl der Dreiecke aller erfolgreich analysierten Dateien.
+     * @param bytes Die Größe aller gelesenen Dateien in Bytes.
+     * @param nanos Die Dauer des Laufs in Nanosekunden.
+     * @Vorbedingung nanos > 0.
+     * @Nachbedingung Der Fehlerkanal zeigt Dateien, Dreiecke und Bytes pro Sekunde an.
+     */
+    public static void printAnalysisSummary(int numberOfFiles, int failures, long numberOfTriangles, long bytes,
+                                            long nanos)
+    {
+        double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(Constants.INDEX_ONE);
+        double mebibytes = bytes / (double) Constants.BYTES_PER_MIB;
+
+        System.err.println(String.format(Constants.ANALYSIS_SUMMARY, numberOfFiles, failures, numberOfTriangles,
+                mebibytes, seconds, numberOfFiles / seconds, numberOfTriangles / seconds, mebibytes / seconds));
+    }
+
+    /**
+     * Gibt das Ergebnis der Umwandlung einer Datei als eine Zeile aus.
+     *
+     * @param result Das Ergebnis der Umwandlung.
+     * @Vorbedingung result darf nicht null sein; Aufruf immer aus demselben Thread.
+     * @Nachbedingung Genau eine Zeile wurde ausgegeben.
+     */
+    public static void printConversionResult(ConversionResult result)
+    {
+        if (result.isFailed())
+        {
+            System.out.println(String.format(Constants.CONVERSION_FAILED, result.source, result.error));
+        }
+        else if (!result.converted)
+        {
+            System.out.println(String.format(Constants.CONVERSION_COPIED, result.source, result.target));
+        }
+        else
+        {
+            System.out.println(String.format(Constants.CONVERSION_RESULT, result.source, result.target,
+                    result.numberOfTriangles, result.sourceBytes / (double) Constants.BYTES_PER_MIB,
+                    result.targetBytes / (double) Constants.BYTES_PER_MIB, result.millis));
+        }
+    }
+
+    /**
+     * Gibt Umfang und Durchsatz eines Laufs der Stapelumwandlung auf dem Fehlerkanal aus.
+     *
+     * @param numberOfFiles Die Anzahl der Ergebniszeilen.
+     * @param converted Die Anzahl der umgewandelten Dateien.
+     * @param failures Die Anzahl der fehlgeschlagenen Dateien und Pfade.
+     * @param sourceBytes Die Größe aller erfolgreich verarbeiteten Quelldateien in Bytes.
+     * @param targetBytes Die Größe aller geschriebenen Zieldateien in Bytes.
+     * @param nanos Die Dauer des Laufs in Nanosekunden.
+     * @Vorbedingung nanos > 0.
+     * @Nachbedingung Der Fehlerkanal zeigt Dateien, Größen und Bytes pro Sekunde an.
+     */
+    public static void printConversionSummary(int numberOfFiles, int converted, int failures, long sourceBytes,
+                                              long targetBytes, long nanos)
+    {
+        double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(Constants.INDEX_ONE);
+        double sourceMebibytes = sourceBytes / (double) Constants.BYTES_PER_MIB;
+
+        System.err.println(String.format(Constants.CONVERSION_SUMMARY, numberOfFiles, converted, failures,
+                sourceMebibytes, targetBytes / (double) Constants.BYTES_PER_MIB, seconds,
+                sourceMebibytes / seconds));
+    }
+
+    /**
+     * Setzt einen Text für CSV in Anführungszeichen, sodass Kommas und Zeilenumbrüche darin erlaubt sind.
+     *
+     * @param text Der Text.
+     * @return Der in Anführungszeichen gesetzte Text mit verdoppelten Anführungszeichen.
+     */
+    private static String quoteCsv(String text)
+    {
+        return Constants.CSV_QUOTE + text.replace(Constants.CSV_QUOTE, Constants.CSV_ESCAPED_QUOTE) +
+                Constants.CSV_QUOTE;
+    }
+}